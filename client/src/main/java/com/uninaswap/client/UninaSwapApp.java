@@ -1,10 +1,10 @@
 package com.uninaswap.client;
 
-import com.uninaswap.client.service.LocaleService;
 import com.uninaswap.client.service.EventBusService;
+import com.uninaswap.client.service.StartupService;
+import com.uninaswap.client.service.ViewFactory;
 import com.uninaswap.client.constants.EventTypes;
 import javafx.application.Application;
-import javafx.fxml.FXMLLoader;
 import javafx.scene.Parent;
 import javafx.scene.Scene;
 import javafx.stage.Stage;
@@ -15,6 +15,9 @@ public class UninaSwapApp extends Application {
 
     @Override
     public void init() {
+        // Off the FX thread: create the services and start connecting while the login window is built
+        StartupService.getInstance().warmUp();
+
         // Subscribe to logout events for global cleanup
         eventBus.subscribe(EventTypes.USER_LOGGED_OUT, _ -> {
             // Clear any global listeners that should be reset on logout
@@ -24,9 +27,7 @@ public class UninaSwapApp extends Application {
 
     @Override
     public void start(Stage primaryStage) throws Exception {
-        FXMLLoader loader = new FXMLLoader(getClass().getResource("/fxml/LoginView.fxml"));
-        loader.setResources(LocaleService.getInstance().getResourceBundle());
-        Parent root = loader.load();
+        Parent root = ViewFactory.getInstance().load("/fxml/LoginView.fxml").getRoot();
 
         Scene scene = new Scene(root, 800, 640);
 
@@ -35,6 +36,10 @@ public class UninaSwapApp extends Application {
         primaryStage.setMinHeight(640);
         primaryStage.setScene(scene);
         primaryStage.show();
+        StartupService.getInstance().mark(StartupService.LOGIN_SHOWN);
+
+        // Warm up the views used after login while the user is typing credentials
+        ViewFactory.getInstance().preload();
     }
 
     public static void main(String[] args) {
@@ -19,8 +19,10 @@ import javafx.scene.control.*;
 import javafx.scene.layout.GridPane;
 import javafx.scene.layout.VBox;
 import javafx.scene.text.Text;
+import javafx.stage.FileChooser;
 import javafx.util.StringConverter;
 
+import java.io.File;
 import java.time.LocalDate;
 import java.time.LocalDateTime;
 import java.time.format.DateTimeFormatter;
@@ -119,7 +121,7 @@ public class AnalyticsController implements Refreshable {
         
         // Export format combo box
         exportFormatComboBox.setItems(FXCollections.observableArrayList(
-            "PDF", "CSV", "Excel"
+            "PDF", "CSV", "Excel", "Transactions CSV"
         ));
         exportFormatComboBox.setValue("PDF");
         
@@ -328,6 +330,12 @@ public class AnalyticsController implements Refreshable {
         String format = exportFormatComboBox.getValue().toLowerCase();
         String period = periodComboBox.getValue();
         
+        // CSV is streamed over HTTP into a file, however long the history
+        if (format.endsWith("csv")) {
+            downloadCsvExport(format.equals("csv") ? "daily" : "transactions", period);
+            return;
+        }
+        
         analyticsService.exportAnalytics(format, period)
             .thenAccept(exportData -> Platform.runLater(() -> {
                 // Handle export success - could save file or show download link
@@ -345,6 +353,33 @@ public class AnalyticsController implements Refreshable {
             });
     }
     
+    private void downloadCsvExport(String kind, String period) {
+        FileChooser fileChooser = new FileChooser();
+        fileChooser.setTitle(localeService.getMessage("analytics.export", "Export"));
+        fileChooser.setInitialFileName("uninaswap-" + kind + "-" + period + ".csv");
+        fileChooser.getExtensionFilters().add(new FileChooser.ExtensionFilter("CSV", "*.csv"));
+        
+        File target = fileChooser.showSaveDialog(exportFormatComboBox.getScene().getWindow());
+        if (target == null) {
+            return;
+        }
+        
+        analyticsService.downloadExport(kind, period, target.toPath())
+            .thenAccept(file -> Platform.runLater(() -> {
+                AlertHelper.showInformationAlert(
+                    localeService.getMessage("analytics.export.success.title", "Export Success"),
+                    localeService.getMessage("analytics.export.success.message", "Export Completed"),
+                    localeService.getMessage("analytics.export.success.details", "Analytics data has been exported successfully")
+                );
+            }))
+            .exceptionally(ex -> {
+                Platform.runLater(() -> {
+                    showError("Failed to export analytics: " + ex.getMessage());
+                });
+                return null;
+            });
+    }
+    
     private void updateUI(AnalyticsViewModel analytics) {
         updateSummaryCards(analytics);
         updatePerformanceMetrics(analytics);
@@ -1,5 +1,6 @@
 package com.uninaswap.client.controller;
 
+import com.uninaswap.common.enums.ImageSize;
 import com.uninaswap.client.service.FavoritesService;
 import com.uninaswap.client.service.ImageService;
 import com.uninaswap.client.service.LocaleService;
@@ -404,7 +405,7 @@ public class FavoritesDrawerController {
 
         if (imagePath != null && !imagePath.isEmpty() && !imagePath.equals("default")) {
             // Use ImageService to fetch the image
-            ImageService.getInstance().fetchImage(imagePath)
+            ImageService.getInstance().fetchImage(imagePath, ImageSize.THUMBNAIL)
                     .thenAccept(image -> {
                         Platform.runLater(() -> {
                             if (image != null && !image.isError()) {
@@ -440,7 +441,7 @@ public class FavoritesDrawerController {
         String imagePath = user.getProfileImagePath();
         
         if (imagePath != null && !imagePath.isEmpty()) {
-            ImageService.getInstance().fetchImage(imagePath)
+            ImageService.getInstance().fetchImage(imagePath, ImageSize.THUMBNAIL)
                     .thenAccept(image -> {
                         Platform.runLater(() -> {
                             if (image != null && !image.isError()) {
@@ -2,9 +2,14 @@ package com.uninaswap.client.controller;
 
 import com.uninaswap.client.mapper.ViewModelMapper;
 import com.uninaswap.client.service.FavoritesService;
+import com.uninaswap.client.service.ImageService;
 import com.uninaswap.client.service.ListingService;
 import com.uninaswap.client.service.NotificationService;
+import com.uninaswap.client.service.StartupService;
+import com.uninaswap.client.service.ViewFactory;
+import com.uninaswap.client.util.ListingGrid;
 import com.uninaswap.client.viewmodel.ListingViewModel;
+import com.uninaswap.common.enums.ImageSize;
 
 import javafx.animation.KeyFrame;
 import javafx.animation.Timeline;
@@ -17,8 +22,6 @@ import javafx.fxml.FXMLLoader;
 import javafx.geometry.Pos;
 import javafx.scene.Node;
 import javafx.scene.Parent;
-import javafx.scene.control.ScrollPane;
-import javafx.scene.layout.FlowPane;
 import javafx.scene.layout.HBox;
 import javafx.scene.layout.Priority;
 import javafx.scene.layout.Region;
@@ -27,6 +30,7 @@ import javafx.scene.text.Text;
 import javafx.util.Duration;
 
 import java.io.IOException;
+import java.util.ArrayList;
 import java.util.List;
 import java.util.stream.Collectors;
 
@@ -34,7 +38,7 @@ public class HomeController {
 
     // Containers from FXML
     @FXML
-    private FlowPane allListingsContainer;
+    private ListingGrid allListingsContainer;
     @FXML
     private HBox favoriteListingsContainer;
     @FXML
@@ -47,11 +51,8 @@ public class HomeController {
     private VBox auctionSection; // The entire auction section
     @FXML
     private VBox allListingsSection; // The entire all listings section
-    @FXML
-    private ScrollPane allListingsContainerWrapper;
     // Add pagination fields
     private static final int LISTINGS_PER_PAGE = 50;
-    private int currentPage = 0;
     private boolean isLoadingMore = false;
     private boolean hasMoreListings = true;
 
@@ -59,6 +60,8 @@ public class HomeController {
     private final ListingService listingService = ListingService.getInstance();
     private final FavoritesService favoritesService = FavoritesService.getInstance();
     private final NotificationService notificationService = NotificationService.getInstance();
+    private final ImageService imageService = ImageService.getInstance();
+    private final ViewFactory viewFactory = ViewFactory.getInstance();
 
     // Add flag to track listener registration
     private boolean listenerRegistered = false;
@@ -102,15 +105,11 @@ public class HomeController {
 
     // NEW METHOD: Setup scroll listener for pagination
     private void setupAllListingsScrollListener() {
-        Platform.runLater(() -> {
-            // Add scroll listener for pagination
-            allListingsContainerWrapper.vvalueProperty().addListener((observable, oldValue, newValue) -> {
-                // Check if we're near the bottom (95% scrolled)
-                System.out.println("loading more listings");
-                if (newValue.doubleValue() > 0.95 && !isLoadingMore && hasMoreListings) {
-                    loadMoreListings();
-                }
-            });
+        // The grid reports when its last rows come into view, early enough for the next page's images to arrive first
+        allListingsContainer.setOnNearEnd(() -> {
+            if (!isDisplayingSearchResults && !isLoadingMore && hasMoreListings) {
+                loadMoreListings();
+            }
         });
     }
 
@@ -126,7 +125,6 @@ public class HomeController {
         }
 
         // Reset pagination when loading initial data
-        currentPage = 0;
         hasMoreListings = true;
 
         // Only refresh if the list is actually empty
@@ -153,19 +151,26 @@ public class HomeController {
             return;
         }
 
+        if (!listingService.hasMoreListings()) {
+            hasMoreListings = false;
+            return;
+        }
+
         isLoadingMore = true;
         showLoadingIndicator();
-        currentPage++;
 
-        System.out.println("Loading more listings - page: " + currentPage);
+        System.out.println("Loading more listings after the last loaded one");
 
         // Set the flag in ListingService to indicate this is pagination
         listingService.setLoadingMore(true);
 
-        listingService.getListings(currentPage, LISTINGS_PER_PAGE)
+        // Cursor based: each page continues after the last listing received, so new listings
+        // arriving meanwhile do not shift or duplicate what is already shown
+        listingService.getMoreListings(LISTINGS_PER_PAGE)
                 .thenAccept(newListings -> Platform.runLater(() -> {
                     hideLoadingIndicator();
                     if (newListings == null || newListings.isEmpty()) {
+                        listingService.setLoadingMore(false);
                         hasMoreListings = false;
                         System.out.println("No more listings available");
                     } else {
@@ -173,10 +178,12 @@ public class HomeController {
                         // No need to manually add them here
 
                         System.out.println("Loaded " + newListings.size() + " more listings");
+                        prefetchCardImages(newListings.stream()
+                                .map(ViewModelMapper.getInstance()::toViewModel)
+                                .collect(Collectors.toList()));
 
-                        // Check if we got less than requested (indicates last page)
-                        if (newListings.size() < LISTINGS_PER_PAGE) {
-                            hasMoreListings = false;
+                        hasMoreListings = listingService.hasMoreListings();
+                        if (!hasMoreListings) {
                             System.out.println("Reached end of listings");
                         }
                     }
@@ -188,14 +195,13 @@ public class HomeController {
                         listingService.setLoadingMore(false); // Reset flag on error
                         System.err.println("Error loading more listings: " + ex.getMessage());
                         isLoadingMore = false;
-                        currentPage--; // Reset page counter on error
                     });
                     return null;
                 });
     }
 
     private void showLoadingIndicator() {
-        if (allListingsContainer != null && !isLoadingMore) {
+        if (allListingsSection != null) {
             VBox loadingBox = new VBox();
             loadingBox.setAlignment(Pos.CENTER);
             loadingBox.getStyleClass().add("loading-indicator");
@@ -204,13 +210,14 @@ public class HomeController {
             loadingText.getStyleClass().add("loading-text");
 
             loadingBox.getChildren().add(loadingText);
-            allListingsContainer.getChildren().add(loadingBox);
+            // Below the grid; it only holds listing rows
+            allListingsSection.getChildren().add(loadingBox);
         }
     }
 
     private void hideLoadingIndicator() {
-        if (allListingsContainer != null) {
-            allListingsContainer.getChildren().removeIf(node -> node.getStyleClass().contains("loading-indicator"));
+        if (allListingsSection != null) {
+            allListingsSection.getChildren().removeIf(node -> node.getStyleClass().contains("loading-indicator"));
         }
     }
 
@@ -231,15 +238,30 @@ public class HomeController {
         updateTimeline.play();
     }
 
-    private Node createListingCard(ListingViewModel listing) throws IOException {
-        FXMLLoader loader = new FXMLLoader(getClass().getResource("/fxml/ListingCardView.fxml"));
+    /**
+     * Request the card images of many listings in one batch; the cards bound to them afterwards
+     * pick them up from the image service instead of each issuing its own request
+     */
+    private void prefetchCardImages(List<ListingViewModel> listings) {
+        List<String> imagePaths = new ArrayList<>();
+        for (ListingViewModel listing : listings) {
+            List<String> listingImages = ListingCardController.getAllImagePaths(listing);
+            if (!listingImages.isEmpty()) {
+                imagePaths.add(listingImages.get(0));
+            }
+        }
+        if (!imagePaths.isEmpty()) {
+            imageService.prefetchImages(imagePaths, ImageSize.CARD);
+        }
+    }
 
-        // Create controller with the listing data
-        ListingCardController controller = new ListingCardController(listing);
-        loader.setController(controller);
+    private Node createListingCard(ListingViewModel listing) throws IOException {
+        // Usually prepared in advance; bind it to the listing
+        FXMLLoader loader = viewFactory.createListingCard();
+        ListingCardController controller = loader.getController();
+        controller.setListing(listing);
 
-        // Load and return the card
-        return loader.load();
+        return loader.getRoot();
     }
 
     // SIMPLIFIED: Use observable list directly instead of checking each listing
@@ -293,23 +315,14 @@ public class HomeController {
     
     private void populateSearchResults(ObservableList<ListingViewModel> searchResults) {
         if (allListingsContainer != null) {
-            allListingsContainer.getChildren().clear();
+            prefetchCardImages(searchResults);
             
             if (searchResults.isEmpty()) {
                 // Show "no results" message
                 addNoResultsPlaceholder();
-            } else {
-                // Add search result cards
-                for (ListingViewModel listing : searchResults) {
-                    try {
-                        Node listingCard = createListingCard(listing);
-                        allListingsContainer.getChildren().add(listingCard);
-                    } catch (Exception e) {
-                        System.err.println("Error creating search result card for: " + listing.getTitle());
-                        e.printStackTrace();
-                    }
-                }
             }
+            // Cards are only built for the rows on screen
+            allListingsContainer.setListings(searchResults);
         }
     }
     
@@ -327,7 +340,7 @@ public class HomeController {
         suggestionText.setStyle("-fx-font-size: 14px; -fx-fill: #888888;");
         
         noResultsContainer.getChildren().addAll(noResultsText, suggestionText);
-        allListingsContainer.getChildren().add(noResultsContainer);
+        allListingsContainer.setPlaceholder(noResultsContainer);
     }
 
     /**
@@ -372,7 +385,7 @@ public class HomeController {
 
     private void addUserListingsErrorPlaceholder() {
         if (allListingsContainer != null) {
-            allListingsContainer.getChildren().clear();
+            allListingsContainer.setListings(List.of());
             
             VBox errorContainer = new VBox(10);
             errorContainer.setAlignment(Pos.CENTER);
@@ -387,7 +400,7 @@ public class HomeController {
             errorDetailText.setStyle("-fx-font-size: 14px; -fx-fill: #888888;");
             
             errorContainer.getChildren().addAll(errorText, errorDetailText);
-            allListingsContainer.getChildren().add(errorContainer);
+            allListingsContainer.setPlaceholder(errorContainer);
         }
     }
     
@@ -408,42 +421,47 @@ public class HomeController {
         return isDisplayingSearchResults;
     }
     
-    // UPDATED: Change to support FlowPane layout and auction visibility management
+    // UPDATED: Change to support the listing grid and auction visibility management
     private void updateHomeViewWithListings(ObservableList<ListingViewModel> listings) {
         // Don't update if we're showing search results
         if (isDisplayingSearchResults) {
             return;
         }
         
-        // Clear existing content
-        clearAllContainers();
+        // Clear existing content; the grid is updated in place so a new page keeps the scroll position
+        clearCardContainers();
+        prefetchCardImages(listings);
 
         // Track if we have any auctions
         boolean hasAuctions = false;
+        List<ListingViewModel> gridListings = new ArrayList<>();
         
         // Add all listings to the appropriate containers
         for (ListingViewModel listing : listings) {
-            try {
-                Node listingCard = createListingCard(listing);
+            String listingType = listing.getListingTypeValue().toUpperCase();
 
-                String listingType = listing.getListingTypeValue().toUpperCase();
-                
-                if ("AUCTION".equals(listingType)) {
-                    // Add auctions to their separate horizontal container
-                    if (astePreferiteBox != null) {
-                        astePreferiteBox.getChildren().add(listingCard);
+            if ("AUCTION".equals(listingType)) {
+                // Add auctions to their separate horizontal container
+                if (astePreferiteBox != null) {
+                    try {
+                        astePreferiteBox.getChildren().add(createListingCard(listing));
                         hasAuctions = true;
-                    }
-                } else {
-                    // Add all other listings to the main grid container
-                    if (allListingsContainer != null) {
-                        allListingsContainer.getChildren().add(listingCard);
+                    } catch (Exception e) {
+                        System.err.println("Error creating listing card for: " + listing.getTitle());
+                        e.printStackTrace();
                     }
                 }
+            } else {
+                // All other listings go to the main grid
+                gridListings.add(listing);
+            }
+        }
 
-            } catch (Exception e) {
-                System.err.println("Error creating listing card for: " + listing.getTitle());
-                e.printStackTrace();
+        if (allListingsContainer != null) {
+            allListingsContainer.setListings(gridListings);
+            if (!gridListings.isEmpty()) {
+                // Drawn on the pulse after this one
+                Platform.runLater(() -> StartupService.getInstance().mark(StartupService.FIRST_LISTINGS_PAINTED));
             }
         }
 
@@ -476,10 +494,13 @@ public class HomeController {
 
     private void clearAllContainers() {
         if (allListingsContainer != null) {
-            // For FlowPane, just clear all children
-            allListingsContainer.getChildren().clear();
+            // Cards still showing give up their image loads as they are unbound
+            allListingsContainer.setListings(List.of());
         }
+        clearCardContainers();
+    }
 
+    private void clearCardContainers() {
         if (favoriteListingsContainer != null) {
             favoriteListingsContainer.getChildren()
                     .removeIf(node -> !node.getClass().getSimpleName().contains("Include"));
@@ -493,10 +514,10 @@ public class HomeController {
 
     private void addPlaceholdersIfEmpty() {
         // Add placeholder text if no listings found
-        if (allListingsContainer != null && allListingsContainer.getChildren().isEmpty() && !isLoadingMore) {
+        if (allListingsContainer != null && allListingsContainer.getItems().isEmpty() && !isLoadingMore) {
             javafx.scene.text.Text placeholder = new javafx.scene.text.Text("Nessuna inserzione disponibile");
             placeholder.getStyleClass().add("placeholder-text");
-            allListingsContainer.getChildren().add(placeholder);
+            allListingsContainer.setPlaceholder(placeholder);
         }
 
         if (favoriteListingsContainer != null && favoriteListingsContainer.getChildren().size() <= 1) {
@@ -9,6 +9,7 @@ import com.uninaswap.client.service.NavigationService;
 import com.uninaswap.client.util.AlertHelper;
 import com.uninaswap.client.viewmodel.ItemViewModel;
 import com.uninaswap.client.mapper.ViewModelMapper;
+import com.uninaswap.common.enums.ImageSize;
 import com.uninaswap.common.enums.ItemCondition;
 
 import javafx.application.Platform;
@@ -303,7 +304,7 @@ public class InventoryController {
 
         if (item.hasImage()) {
             // Load image using the ImageService
-            imageService.fetchImage(item.getImagePath())
+            imageService.fetchImage(item.getImagePath(), ImageSize.CARD)
                     .thenAccept(image -> {
                         Platform.runLater(() -> {
                             itemImageView.setImage(image);
@@ -5,10 +5,14 @@ import com.uninaswap.client.viewmodel.AuctionListingViewModel;
 import com.uninaswap.client.viewmodel.ListingItemViewModel;
 import com.uninaswap.client.viewmodel.ListingViewModel;
 import com.uninaswap.client.viewmodel.SellListingViewModel;
+import com.uninaswap.common.enums.ImageSize;
 import com.uninaswap.common.enums.Category;
 import com.uninaswap.client.service.CategoryService;
 import com.uninaswap.client.service.FavoritesService;
+import com.uninaswap.client.service.ImagePriority;
+import com.uninaswap.client.service.ImageRequest;
 import com.uninaswap.client.service.ImageService;
+import com.uninaswap.client.service.ViewFactory;
 import javafx.fxml.FXML;
 import javafx.scene.image.Image;
 import javafx.scene.image.ImageView;
@@ -56,10 +60,17 @@ public class ListingCardController {
     private final NavigationService navigationService = NavigationService.getInstance();
     private final FavoritesService favoritesService = FavoritesService.getInstance();
     private final ImageService imageService = ImageService.getInstance();
+    private final ViewFactory viewFactory = ViewFactory.getInstance();
 
     private Label imageCountLabel; // For showing "1/3" etc.
     private int currentImageIndex = 0;
     private List<String> availableImagePaths = new ArrayList<>();
+    private ImageRequest imageRequest;
+
+    // Shared by every card; a grid rebinding cards while scrolling would otherwise decode them each time
+    private static Image defaultImage;
+    private static Image favoriteAddIcon;
+    private static Image favoriteRemoveIcon;
 
     public ListingCardController() {
     }
@@ -79,6 +90,11 @@ public class ListingCardController {
         }
     }
 
+    /**
+     * Show a listing on this card, replacing the one it showed before.
+     * Cards are reused by {@link com.uninaswap.client.util.ListingGrid}, so everything set for
+     * the previous listing is reset here.
+     */
     public void setListing(ListingViewModel listing) {
         this.listing = listing;
 
@@ -89,8 +105,8 @@ public class ListingCardController {
             }
 
             // Set seller name
-            if (sellerName != null && listing.getUser() != null) {
-                sellerName.setText(listing.getUser().getUsername());
+            if (sellerName != null) {
+                sellerName.setText(listing.getUser() != null ? listing.getUser().getUsername() : "");
             }
 
             // Set price based on listing type
@@ -116,8 +132,15 @@ public class ListingCardController {
     }
 
     private void loadListingImages(ListingViewModel listing) {
+        cancelImageLoad();
         availableImagePaths = getAllImagePaths(listing);
         currentImageIndex = 0;
+        if (imageCountLabel != null && imageContainer != null) {
+            imageContainer.getChildren().remove(imageCountLabel);
+            imageCountLabel = null;
+        }
+        // Until the new image arrives, rather than the previous listing's
+        setDefaultImage();
 
         if (!availableImagePaths.isEmpty()) {
             // Load first image immediately
@@ -132,7 +155,10 @@ public class ListingCardController {
         }
     }
 
-    private List<String> getAllImagePaths(ListingViewModel listing) {
+    /**
+     * The images of a listing's items, the first being the one shown on its card
+     */
+    static List<String> getAllImagePaths(ListingViewModel listing) {
         List<String> imagePaths = new ArrayList<>();
 
         if (listing.getItems() != null) {
@@ -148,10 +174,19 @@ public class ListingCardController {
     }
 
     private void loadImageFromPath(String imagePath) {
+        // Only the newest image matters; an older one still loading is dropped
+        cancelImageLoad();
+
         // Load image from server using ImageService
-        imageService.fetchImage(imagePath)
+        ImageRequest request = imageService.loadImage(imagePath, ImageSize.CARD, ImagePriority.VISIBLE);
+        imageRequest = request;
+        request.getFuture()
                 .thenAccept(image -> {
                     Platform.runLater(() -> {
+                        if (imageRequest != request) {
+                            // The card has moved on to another image or listing
+                            return;
+                        }
                         if (image != null && !image.isError()) {
                             itemImage.setImage(image);
                         } else {
@@ -160,17 +195,34 @@ public class ListingCardController {
                     });
                 })
                 .exceptionally(ex -> {
+                    if (request.getFuture().isCancelled()) {
+                        // Rebound to another listing before the image arrived
+                        return null;
+                    }
                     System.err.println("Failed to load listing image: " + ex.getMessage());
-                    Platform.runLater(this::setDefaultImage);
+                    Platform.runLater(() -> {
+                        if (imageRequest == request) {
+                            setDefaultImage();
+                        }
+                    });
                     return null;
                 });
     }
 
+    public void cancelImageLoad() {
+        if (imageRequest != null) {
+            imageRequest.cancel();
+            imageRequest = null;
+        }
+    }
+
     private void setDefaultImage() {
         try {
-            Image defaultImage = new Image(getClass()
-                    .getResourceAsStream("/images/icons/immagine_generica.png"));
-            if (defaultImage != null && !defaultImage.isError()) {
+            if (defaultImage == null) {
+                defaultImage = new Image(getClass()
+                        .getResourceAsStream("/images/icons/immagine_generica.png"));
+            }
+            if (!defaultImage.isError()) {
                 itemImage.setImage(defaultImage);
             }
         } catch (Exception e) {
@@ -261,11 +313,12 @@ public class ListingCardController {
         // Update favorite icon appearance
         if (favoriteIcon != null) {
             // Use the same icon paths as ItemCardController
-            String iconPath = favorite ? "/images/icons/favorites_remove.png" : // Filled heart
-                    "/images/icons/favorites_add.png"; // Empty heart
             try {
-                Image icon = new Image(getClass().getResourceAsStream(iconPath));
-                favoriteIcon.setImage(icon);
+                if (favoriteAddIcon == null) {
+                    favoriteAddIcon = new Image(getClass().getResourceAsStream("/images/icons/favorites_add.png")); // Empty heart
+                    favoriteRemoveIcon = new Image(getClass().getResourceAsStream("/images/icons/favorites_remove.png")); // Filled heart
+                }
+                favoriteIcon.setImage(favorite ? favoriteRemoveIcon : favoriteAddIcon);
             } catch (Exception e) {
                 System.err.println("Could not load favorite icon: " + e.getMessage());
             }
@@ -279,8 +332,8 @@ public class ListingCardController {
 
             try {
                 // Load the listing details view
-                FXMLLoader loader = new FXMLLoader(getClass().getResource("/fxml/ListingDetailsView.fxml"));
-                Parent detailsView = loader.load();
+                FXMLLoader loader = viewFactory.load("/fxml/ListingDetailsView.fxml");
+                Parent detailsView = loader.getRoot();
 
                 // Get the controller and set the listing
                 ListingDetailsController controller = loader.getController();
@@ -9,6 +9,7 @@ import com.uninaswap.client.viewmodel.ListingViewModel;
 import com.uninaswap.client.viewmodel.SellListingViewModel;
 import com.uninaswap.client.viewmodel.TradeListingViewModel;
 import com.uninaswap.client.viewmodel.UserViewModel;
+import com.uninaswap.common.enums.ImageSize;
 import com.uninaswap.common.enums.Currency;
 import javafx.application.Platform;
 import javafx.collections.FXCollections;
@@ -159,6 +160,7 @@ public class ListingDetailsController {
     private final ImageService imageService = ImageService.getInstance();
     private final LocaleService localeService = LocaleService.getInstance();
     private final UserSessionService sessionService = UserSessionService.getInstance();
+    private final ViewFactory viewFactory = ViewFactory.getInstance();
 
     // State
     private ListingViewModel currentListing;
@@ -412,7 +414,7 @@ public class ListingDetailsController {
         String profileImagePath = seller.getProfileImagePath();
         
         if (profileImagePath != null && !profileImagePath.isEmpty()) {
-            imageService.fetchImage(profileImagePath)
+            imageService.fetchImage(profileImagePath, ImageSize.THUMBNAIL)
                     .thenAccept(image -> Platform.runLater(() -> {
                         if (image != null && !image.isError()) {
                             sellerAvatar.setImage(image);
@@ -579,7 +581,7 @@ public class ListingDetailsController {
         
         // Load item image
         if (item.getItem().getImagePath() != null && !item.getItem().getImagePath().isEmpty()) {
-            imageService.fetchImage(item.getItem().getImagePath())
+            imageService.fetchImage(item.getItem().getImagePath(), ImageSize.THUMBNAIL)
                     .thenAccept(image -> Platform.runLater(() -> {
                         if (image != null && !image.isError()) {
                             itemImage.setImage(image);
@@ -774,7 +776,7 @@ public class ListingDetailsController {
     }
 
     private void loadMainImage(String imagePath) {
-        imageService.fetchImage(imagePath)
+        imageService.fetchImage(imagePath, ImageSize.DETAIL)
                 .thenAccept(image -> Platform.runLater(() -> {
                     if (image != null && !image.isError()) {
                         mainImage.setImage(image);
@@ -855,7 +857,7 @@ public class ListingDetailsController {
             thumbnail.getStyleClass().add("thumbnail");
 
             // Load thumbnail image
-            imageService.fetchImage(imageUrls.get(i))
+            imageService.fetchImage(imageUrls.get(i), ImageSize.THUMBNAIL)
                     .thenAccept(image -> Platform.runLater(() -> {
                         if (image != null && !image.isError()) {
                             thumbnail.setImage(image);
@@ -1098,9 +1100,8 @@ public class ListingDetailsController {
     @FXML
     private void handleMakeOffer() {
         try {
-            FXMLLoader loader = new FXMLLoader(getClass().getResource("/fxml/OfferDialogView.fxml"));
-            loader.setResources(localeService.getResourceBundle());
-            DialogPane dialogPane = loader.load();
+            FXMLLoader loader = viewFactory.load("/fxml/OfferDialogView.fxml");
+            DialogPane dialogPane = loader.getRoot();
 
             ButtonType confirmButtonType = new ButtonType(
                     localeService.getMessage("offer.dialog.button.send"),
@@ -1177,9 +1178,8 @@ public class ListingDetailsController {
         }
 
         try {
-            FXMLLoader loader = new FXMLLoader(getClass().getResource("/fxml/OfferDialogView.fxml"));
-            loader.setResources(localeService.getResourceBundle());
-            DialogPane dialogPane = loader.load();
+            FXMLLoader loader = viewFactory.load("/fxml/OfferDialogView.fxml");
+            DialogPane dialogPane = loader.getRoot();
 
             ButtonType confirmButtonType = new ButtonType(
                     localeService.getMessage("trade.dialog.button.send", "Invia proposta"),
@@ -1401,7 +1401,7 @@ public class ListingDetailsController {
         
         // Load item image
         if (item.getItem().getImagePath() != null && !item.getItem().getImagePath().isEmpty()) {
-            imageService.fetchImage(item.getItem().getImagePath())
+            imageService.fetchImage(item.getItem().getImagePath(), ImageSize.THUMBNAIL)
                     .thenAccept(image -> Platform.runLater(() -> {
                         if (image != null && !image.isError()) {
                             itemImage.setImage(image);
@@ -118,8 +118,8 @@ public class LoginController {
 
                     // Navigate to main dashboard on successful login
                     try {
+                        // The dashboard builds the home view itself
                         navigationService.navigateToMainDashboard(loginField);
-                        navigationService.loadHomeView();
                     } catch (Exception e) {
                         System.err.println("Error navigating to main dashboard: " + e.getMessage());
                         e.printStackTrace();
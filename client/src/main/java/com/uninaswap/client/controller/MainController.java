@@ -24,6 +24,7 @@ import com.uninaswap.client.service.UserSessionService;
 import com.uninaswap.client.service.CategoryService;
 import com.uninaswap.client.service.SearchService;
 import com.uninaswap.client.service.NotificationService;
+import com.uninaswap.common.enums.ImageSize;
 import com.uninaswap.common.enums.Category;
 import javafx.collections.FXCollections;
 import javafx.util.StringConverter;
@@ -824,7 +825,7 @@ public class MainController implements Refreshable {
             return;
         }
 
-        imageService.fetchImage(imagePath)
+        imageService.fetchImage(imagePath, ImageSize.THUMBNAIL)
                 .thenAccept(image -> {
                     Platform.runLater(() -> {
                         userAvatarImage.setImage(image);
@@ -5,6 +5,7 @@ import com.uninaswap.client.mapper.ViewModelMapper;
 import com.uninaswap.client.service.*;
 import com.uninaswap.client.util.AlertHelper;
 import com.uninaswap.client.viewmodel.*;
+import com.uninaswap.common.enums.ImageSize;
 import com.uninaswap.common.enums.Currency;
 import com.uninaswap.common.enums.DeliveryType;
 import com.uninaswap.common.enums.ItemCondition;
@@ -294,7 +295,7 @@ public class OfferDialogController {
         if (currentListing.getItems() != null && !currentListing.getItems().isEmpty()) {
             String imagePath = currentListing.getItems().get(0).getItem().getImagePath();
             if (imagePath != null && !imagePath.isEmpty()) {
-                imageService.fetchImage(imagePath)
+                imageService.fetchImage(imagePath, ImageSize.CARD)
                         .thenAccept(image -> Platform.runLater(() -> {
                             if (image != null && !image.isError()) {
                                 listingImage.setImage(image);
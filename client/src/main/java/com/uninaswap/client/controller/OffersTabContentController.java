@@ -8,6 +8,7 @@ import com.uninaswap.client.util.AlertHelper;
 import com.uninaswap.client.viewmodel.ItemViewModel;
 import com.uninaswap.client.viewmodel.OfferItemViewModel;
 import com.uninaswap.client.viewmodel.OfferViewModel;
+import com.uninaswap.common.enums.ImageSize;
 import com.uninaswap.common.enums.DeliveryType;
 import com.uninaswap.common.enums.OfferStatus;
 import javafx.application.Platform;
@@ -358,7 +359,7 @@ public class OffersTabContentController {
         }
         
         if (imagePath != null && !imagePath.isEmpty()) {
-            imageService.fetchImage(imagePath)
+            imageService.fetchImage(imagePath, ImageSize.THUMBNAIL)
                     .thenAccept(image -> Platform.runLater(() -> {
                         if (image != null && !image.isError()) {
                             itemImage.setImage(image);
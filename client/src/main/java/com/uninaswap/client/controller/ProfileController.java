@@ -20,6 +20,7 @@ import javafx.stage.Stage;
 import javafx.scene.image.PixelReader;
 import javafx.scene.layout.HBox;
 import javafx.scene.layout.VBox;
+import com.uninaswap.common.enums.ImageSize;
 import com.uninaswap.client.util.AlertHelper;
 
 import java.io.File;
@@ -41,6 +42,7 @@ import com.uninaswap.client.mapper.ViewModelMapper;
 import com.uninaswap.client.service.EventBusService;
 import com.uninaswap.client.service.ImageService;
 import com.uninaswap.client.service.ListingService;
+import com.uninaswap.client.service.ViewFactory;
 import com.uninaswap.common.message.ProfileUpdateMessage;
 
 public class ProfileController implements Refreshable {
@@ -112,6 +114,7 @@ public class ProfileController implements Refreshable {
     private final ProfileService profileService;
     private final ListingService listingService = ListingService.getInstance();
     private final ViewModelMapper viewModelMapper = ViewModelMapper.getInstance();
+    private final ViewFactory viewFactory = ViewFactory.getInstance();
     private String tempProfileImagePath;
     private File tempSelectedImageFile;
     private UserViewModel user;
@@ -227,7 +230,7 @@ public class ProfileController implements Refreshable {
         // Set profile image
         String imagePath = viewedUser.getProfileImagePath();
         if (imagePath != null && !imagePath.isEmpty()) {
-            ImageService.getInstance().fetchImage(imagePath)
+            ImageService.getInstance().fetchImage(imagePath, ImageSize.CARD)
                     .thenAccept(image -> {
                         Platform.runLater(() -> {
                             profileImageView.setImage(image);
@@ -455,7 +458,7 @@ public class ProfileController implements Refreshable {
         String imagePath = getFirstListingImagePath(listing);
         
         if (imagePath != null && !imagePath.isEmpty() && !imagePath.equals("default")) {
-            ImageService.getInstance().fetchImage(imagePath)
+            ImageService.getInstance().fetchImage(imagePath, ImageSize.THUMBNAIL)
                 .thenAccept(image -> Platform.runLater(() -> thumbnail.setImage(image)))
                 .exceptionally(ex -> {
                     Platform.runLater(() -> setDefaultListingThumbnail(thumbnail));
@@ -533,9 +536,8 @@ public class ProfileController implements Refreshable {
     private void showImageCropper(Image sourceImage, Consumer<Image> cropCallback) {
         try {
             // Load the cropper FXML
-            FXMLLoader loader = new FXMLLoader(getClass().getResource("/fxml/ImageCropperView.fxml"));
-            loader.setResources(localeService.getResourceBundle());
-            Parent cropperView = loader.load();
+            FXMLLoader loader = viewFactory.load("/fxml/ImageCropperView.fxml");
+            Parent cropperView = loader.getRoot();
 
             // Create dialog
             Stage cropperStage = new Stage();
@@ -4,6 +4,7 @@ import com.uninaswap.common.dto.UserDTO;
 import com.uninaswap.client.service.NavigationService;
 import com.fasterxml.jackson.databind.node.ContainerNode;
 import com.uninaswap.client.service.LocaleService;
+import com.uninaswap.client.service.ViewFactory;
 import com.uninaswap.client.util.AlertHelper;
 
 import javafx.fxml.FXML;
@@ -33,6 +34,7 @@ public class UserCardController {
 
     private final NavigationService navigationService = NavigationService.getInstance();
     private final LocaleService localeService = LocaleService.getInstance();
+    private final ViewFactory viewFactory = ViewFactory.getInstance();
 
     // TODO: Check if it works
     public UserCardController() {
@@ -48,10 +50,8 @@ public class UserCardController {
         try {
             for (UserDTO user : users) {
                 try {
-                    FXMLLoader loader = new FXMLLoader(getClass().getResource("/fxml/UserCardView.fxml"));
-                    loader.setResources(localeService.getResourceBundle());
-                    loader.setController(new UserCardController(user));
-                    container.getChildren().add(loader.load());
+                    FXMLLoader loader = viewFactory.load("/fxml/UserCardView.fxml", new UserCardController(user));
+                    container.getChildren().add(loader.getRoot());
                 } catch (IOException e) {
                     AlertHelper.showErrorAlert(
                             localeService.getMessage("user.card.load.error.title"),
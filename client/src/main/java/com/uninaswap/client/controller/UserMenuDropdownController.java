@@ -1,5 +1,6 @@
 package com.uninaswap.client.controller;
 
+import com.uninaswap.common.enums.ImageSize;
 import com.uninaswap.client.service.LocaleService;
 import com.uninaswap.client.service.NavigationService;
 import com.uninaswap.client.service.UserSessionService;
@@ -65,7 +66,7 @@ public class UserMenuDropdownController {
             // Load user avatar
             String imagePath = userSessionService.getUser().getProfileImagePath();
             if (imagePath != null && !imagePath.isEmpty()) {
-                imageService.fetchImage(imagePath)
+                imageService.fetchImage(imagePath, ImageSize.THUMBNAIL)
                     .thenAccept(image -> Platform.runLater(() -> {
                         if (image != null && !image.isError()) {
                             userAvatar.setImage(image);
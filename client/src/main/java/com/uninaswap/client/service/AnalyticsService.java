@@ -7,15 +7,30 @@ import com.uninaswap.client.mapper.ViewModelMapper;
 import com.uninaswap.client.viewmodel.AnalyticsViewModel;
 
 import javafx.application.Platform;
+import java.io.IOException;
+import java.net.URI;
+import java.net.URLEncoder;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.ByteBuffer;
+import java.nio.channels.SeekableByteChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
 import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.Map;
 import java.time.LocalDateTime;
 
 public class AnalyticsService {
+    private static final String EXPORT_API_URL = "http://localhost:8080/api/analytics/export";
+    
     private static AnalyticsService instance;
     
     private final WebSocketClient webSocketClient;
+    private final HttpClient httpClient = HttpClient.newHttpClient();
     private final ViewModelMapper viewModelMapper = ViewModelMapper.getInstance();
     
     // Cache for analytics data
@@ -135,6 +150,54 @@ public class AnalyticsService {
         return future;
     }
     
+    /**
+     * Download a CSV export straight into a file, as the server writes it.
+     * If the server fails partway it aborts the response, and the partial file is deleted.
+     * @param kind "daily" for a row per day, "transactions" for a row per offer made or received
+     * @return A CompletableFuture with the file on success
+     */
+    public CompletableFuture<Path> downloadExport(String kind, String period, Path target) {
+        HttpRequest request = HttpRequest.newBuilder()
+            .uri(URI.create(EXPORT_API_URL + "/" + kind + "?period=" + URLEncoder.encode(period, StandardCharsets.UTF_8)))
+            .header("Authorization", "Bearer " + UserSessionService.getInstance().getToken())
+            .GET()
+            .build();
+        
+        return httpClient.sendAsync(request, HttpResponse.BodyHandlers.ofFile(target))
+            .thenApply(response -> {
+                if (response.statusCode() != 200) {
+                    throw new CompletionException(new IOException("Export failed with status " + response.statusCode()));
+                }
+                if (!endsWithNewline(target)) {
+                    // Every row ends with a line break, so the file was cut short on the way
+                    throw new CompletionException(new IOException("Export was interrupted, the file is incomplete"));
+                }
+                return response.body();
+            })
+            .whenComplete((file, error) -> {
+                if (error != null) {
+                    try {
+                        Files.deleteIfExists(target);
+                    } catch (IOException e) {
+                        // The export error matters more than the leftover file
+                    }
+                }
+            });
+    }
+    
+    private static boolean endsWithNewline(Path file) {
+        try (SeekableByteChannel channel = Files.newByteChannel(file)) {
+            if (channel.size() == 0) {
+                return false;
+            }
+            ByteBuffer last = ByteBuffer.allocate(1);
+            channel.position(channel.size() - 1).read(last);
+            return last.get(0) == '\n';
+        } catch (IOException e) {
+            throw new CompletionException(e);
+        }
+    }
+    
     /**
      * Handle incoming WebSocket messages
      */
@@ -205,6 +268,12 @@ public class AnalyticsService {
         }
     }
     
+    private static AnalyticsViewModel.Distribution toDistribution(AnalyticsDTO.DistributionDTO dto) {
+        return dto != null
+            ? new AnalyticsViewModel.Distribution(dto.getAverage(), dto.getMedian(), dto.getP90())
+            : new AnalyticsViewModel.Distribution(0, 0, 0);
+    }
+    
     /**
      * Convert DTO to ViewModel
      */
@@ -241,6 +310,18 @@ public class AnalyticsService {
             viewModel.setRatingTrend(metrics.getRatingTrend());
         }
         
+        // Platform comparison
+        if (dto.getPlatformComparison() != null) {
+            var platform = dto.getPlatformComparison();
+            viewModel.setPlatformComparison(new AnalyticsViewModel.PlatformComparison(
+                platform.getComputedAt(), platform.getActiveUsers(),
+                toDistribution(platform.getListingSuccessRate()),
+                toDistribution(platform.getOfferAcceptanceRate()),
+                toDistribution(platform.getCustomerSatisfactionRate()),
+                platform.getAverageRating(),
+                platform.getRatingDistribution() != null ? Map.copyOf(platform.getRatingDistribution()) : Map.of()));
+        }
+        
         // Time series data
         if (dto.getListingStats() != null) {
             viewModel.getListingStats().clear();
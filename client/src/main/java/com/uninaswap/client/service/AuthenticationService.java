@@ -1,6 +1,7 @@
 package com.uninaswap.client.service;
 
 import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
 import java.util.function.Consumer;
 
 import com.uninaswap.client.websocket.WebSocketClient;
@@ -27,26 +28,21 @@ public class AuthenticationService {
         this.webSocketClient = WebSocketClient.getInstance();
     }
 
-    private boolean connectToAuthEndpoint() {
-        try {
-            if (!webSocketClient.isConnected()) {
-                // Connect to the unified endpoint instead of /auth
-                webSocketClient.connect("ws://localhost:8080/ws");
-            }
-            return true;
-        } catch (Exception e) {
-            System.err.println("Error connecting to server: " + e.getMessage());
-            return false;
-        }
+    /**
+     * Usually already connected, or connecting since startup; waits for that instead of
+     * blocking the caller on a new connection
+     */
+    private CompletableFuture<Void> connectToAuthEndpoint() {
+        return StartupService.getInstance().connect()
+                .exceptionally(e -> {
+                    throw new CompletionException(new Exception("Failed to connect to authentication endpoint", e));
+                });
     }
 
     /**
      * Send login request to server
      */
     public CompletableFuture<Void> login(String usernameOrEmail, String password) {
-        if (!connectToAuthEndpoint())
-            return CompletableFuture.failedFuture(new Exception("Failed to connect to authentication endpoint"));
-
         boolean isEmail = usernameOrEmail.contains("@");
         AuthMessage loginRequest = new AuthMessage();
         loginRequest.setType(AuthMessage.Type.LOGIN_REQUEST);
@@ -60,15 +56,13 @@ public class AuthenticationService {
             loginRequest.setPassword(password);
         }
 
-        return webSocketClient.sendMessage(loginRequest);
+        return connectToAuthEndpoint().thenCompose(_ -> webSocketClient.sendMessage(loginRequest));
     }
 
     /**
      * Send registration request to server
      */
     public CompletableFuture<Void> register(String firstName, String lastName ,String username, String email, String password) {
-        if (!connectToAuthEndpoint())
-            return CompletableFuture.failedFuture(new Exception("Failed to connect to authentication endpoint"));
         AuthMessage registerRequest = new AuthMessage();
         registerRequest.setType(AuthMessage.Type.REGISTER_REQUEST);
         registerRequest.setFirstName(firstName);
@@ -77,7 +71,7 @@ public class AuthenticationService {
         registerRequest.setEmail(email);
         registerRequest.setPassword(password);
 
-        return webSocketClient.sendMessage(registerRequest);
+        return connectToAuthEndpoint().thenCompose(_ -> webSocketClient.sendMessage(registerRequest));
     }
 
     /**
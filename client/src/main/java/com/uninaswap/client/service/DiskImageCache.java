@@ -0,0 +1,172 @@
+package com.uninaswap.client.service;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.attribute.FileTime;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.Stream;
+
+/**
+ * Second-level image cache keeping the downloaded bytes on disk, so images survive a restart.
+ * Server image names never change content, so entries are reused without revalidation.
+ * When the directory grows past {@code uninaswap.image-cache.disk-max-bytes} (default 256 MB)
+ * the least recently read files are deleted.
+ */
+public class DiskImageCache {
+    private static final String CACHE_DIRECTORY = System.getProperty("user.home") + "/.uninaswap/cache/images/http";
+
+    private final Path directory;
+    private final long maxBytes;
+    private final AtomicLong currentBytes = new AtomicLong(-1);
+    private final AtomicBoolean trimming = new AtomicBoolean();
+
+    public DiskImageCache() {
+        this(Paths.get(CACHE_DIRECTORY), Long.getLong("uninaswap.image-cache.disk-max-bytes", 256L * 1024 * 1024));
+    }
+
+    public DiskImageCache(Path directory, long maxBytes) {
+        this.directory = directory;
+        this.maxBytes = maxBytes;
+    }
+
+    /**
+     * @return The cached bytes, or null if the key is not on disk
+     */
+    public byte[] read(String key) {
+        Path file = fileFor(key);
+        try {
+            byte[] data = Files.readAllBytes(file);
+            // The modification time doubles as the last access time for eviction
+            Files.setLastModifiedTime(file, FileTime.fromMillis(System.currentTimeMillis()));
+            return data;
+        } catch (NoSuchFileException e) {
+            return null;
+        } catch (IOException e) {
+            System.err.println("Failed to read cached image " + key + ": " + e.getMessage());
+            return null;
+        }
+    }
+
+    public void write(String key, byte[] data) {
+        Path file = fileFor(key);
+        try {
+            Files.createDirectories(directory);
+            Path temp = Files.createTempFile(directory, "image-", ".tmp");
+            try {
+                Files.write(temp, data);
+                Files.move(temp, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            } finally {
+                Files.deleteIfExists(temp);
+            }
+        } catch (IOException e) {
+            System.err.println("Failed to cache image " + key + " on disk: " + e.getMessage());
+            return;
+        }
+
+        if (currentBytes.get() < 0 || currentBytes.addAndGet(data.length) > maxBytes) {
+            trim();
+        }
+    }
+
+    public void clear() {
+        for (Path file : listFiles()) {
+            try {
+                Files.deleteIfExists(file);
+            } catch (IOException e) {
+                System.err.println("Failed to delete cached image " + file + ": " + e.getMessage());
+            }
+        }
+        currentBytes.set(0);
+    }
+
+    public long getCurrentBytes() {
+        return Math.max(0, currentBytes.get());
+    }
+
+    /**
+     * Recount the directory and delete the least recently read files until it is under budget
+     */
+    private void trim() {
+        if (!trimming.compareAndSet(false, true)) {
+            return;
+        }
+        try {
+            List<CachedFile> files = new ArrayList<>();
+            long total = 0;
+            for (Path file : listFiles()) {
+                try {
+                    CachedFile cachedFile = new CachedFile(file, Files.size(file), Files.getLastModifiedTime(file).toMillis());
+                    files.add(cachedFile);
+                    total += cachedFile.size;
+                } catch (IOException e) {
+                    // Deleted concurrently
+                }
+            }
+
+            files.sort(Comparator.comparingLong(file -> file.lastUsed));
+            for (CachedFile file : files) {
+                if (total <= maxBytes) {
+                    break;
+                }
+                try {
+                    Files.deleteIfExists(file.path);
+                    total -= file.size;
+                } catch (IOException e) {
+                    System.err.println("Failed to evict cached image " + file.path + ": " + e.getMessage());
+                }
+            }
+            currentBytes.set(total);
+        } finally {
+            trimming.set(false);
+        }
+    }
+
+    private List<Path> listFiles() {
+        if (!Files.isDirectory(directory)) {
+            return List.of();
+        }
+        try (Stream<Path> files = Files.list(directory)) {
+            return files.filter(file -> Files.isRegularFile(file) && !file.getFileName().toString().endsWith(".tmp"))
+                    .toList();
+        } catch (IOException e) {
+            System.err.println("Failed to list image cache: " + e.getMessage());
+            return List.of();
+        }
+    }
+
+    /**
+     * Keys contain characters that are not safe in file names, so files are named by their hash
+     */
+    private Path fileFor(String key) {
+        try {
+            byte[] hash = MessageDigest.getInstance("SHA-256").digest(key.getBytes(StandardCharsets.UTF_8));
+            return directory.resolve(HexFormat.of().formatHex(hash));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not available", e);
+        }
+    }
+
+    private static class CachedFile {
+        private final Path path;
+        private final long size;
+        private final long lastUsed;
+
+        CachedFile(Path path, long size, long lastUsed) {
+            this.path = path;
+            this.size = size;
+            this.lastUsed = lastUsed;
+        }
+    }
+}
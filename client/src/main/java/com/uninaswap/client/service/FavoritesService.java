@@ -41,6 +41,8 @@ public class FavoritesService {
 
     private CompletableFuture<?> futureToComplete;
     private Consumer<FavoriteMessage> messageCallback;
+    // Favorites request in flight, shared by everyone asking for it meanwhile
+    private CompletableFuture<Void> favoritesRefresh;
 
     private FavoritesService() {
         // Register message handler
@@ -344,8 +346,15 @@ public class FavoritesService {
 
     // === REFRESH METHODS (similar to ListingService) ===
 
-    public void refreshUserFavorites() {
-        getUserFavorites()
+    /**
+     * Reload the user's favorites; calls made while a reload is in progress share it
+     * @return Completes once the favorites have been received
+     */
+    public synchronized CompletableFuture<Void> refreshUserFavorites() {
+        if (favoritesRefresh != null && !favoritesRefresh.isDone()) {
+            return favoritesRefresh;
+        }
+        favoritesRefresh = getUserFavorites()
                 .thenAccept(favorites -> {
                     Platform.runLater(() -> {
                         // Update FavoriteViewModels
@@ -375,6 +384,7 @@ public class FavoritesService {
                     System.err.println("Error refreshing favorites: " + ex.getMessage());
                     return null;
                 });
+        return favoritesRefresh;
     }
 
     private void syncLocalFavoriteIds(List<FavoriteDTO> favorites) {
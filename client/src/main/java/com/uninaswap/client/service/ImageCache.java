@@ -0,0 +1,130 @@
+package com.uninaswap.client.service;
+
+import javafx.scene.image.Image;
+
+import java.lang.ref.SoftReference;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * In-memory cache of decoded images, bounded by the bytes their pixels occupy.
+ * The least recently used images are evicted once the budget from the
+ * {@code uninaswap.image-cache.max-bytes} system property (default 64 MB) is exceeded.
+ * Evicted images stay reachable through soft references, so they are reused if the
+ * garbage collector has not needed the memory yet. All methods are thread-safe.
+ */
+public class ImageCache {
+    // JavaFX keeps decoded images as 32-bit ARGB
+    private static final int BYTES_PER_PIXEL = 4;
+
+    private final long maxBytes;
+    private final LinkedHashMap<String, Image> images = new LinkedHashMap<>(64, 0.75f, true);
+    private final Map<String, SoftReference<Image>> evicted = new ConcurrentHashMap<>();
+    private long currentBytes;
+
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder softHits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+    private final LongAdder evictions = new LongAdder();
+
+    public ImageCache() {
+        this(Long.getLong("uninaswap.image-cache.max-bytes", 64L * 1024 * 1024));
+    }
+
+    public ImageCache(long maxBytes) {
+        this.maxBytes = maxBytes;
+    }
+
+    /**
+     * @return The cached image, or null if it is neither held nor softly reachable
+     */
+    public Image get(String key) {
+        synchronized (this) {
+            Image image = images.get(key);
+            if (image != null) {
+                hits.increment();
+                return image;
+            }
+        }
+
+        SoftReference<Image> reference = evicted.remove(key);
+        Image image = reference != null ? reference.get() : null;
+        if (image == null) {
+            misses.increment();
+            return null;
+        }
+        softHits.increment();
+        put(key, image);
+        return image;
+    }
+
+    public void put(String key, Image image) {
+        long size = sizeOf(image);
+        if (size > maxBytes) {
+            // Would evict everything else; keep it only as long as memory allows
+            evicted.put(key, new SoftReference<>(image));
+            return;
+        }
+
+        boolean evictedAny = false;
+        synchronized (this) {
+            Image previous = images.put(key, image);
+            if (previous != null) {
+                currentBytes -= sizeOf(previous);
+            }
+            currentBytes += size;
+
+            Iterator<Map.Entry<String, Image>> eldest = images.entrySet().iterator();
+            while (currentBytes > maxBytes && eldest.hasNext()) {
+                Map.Entry<String, Image> entry = eldest.next();
+                eldest.remove();
+                currentBytes -= sizeOf(entry.getValue());
+                evicted.put(entry.getKey(), new SoftReference<>(entry.getValue()));
+                evictions.increment();
+                evictedAny = true;
+            }
+        }
+        evicted.remove(key);
+        if (evictedAny) {
+            pruneClearedReferences();
+        }
+    }
+
+    public void clear() {
+        synchronized (this) {
+            images.clear();
+            currentBytes = 0;
+        }
+        evicted.clear();
+    }
+
+    /**
+     * Cache counters and occupancy, keyed by name
+     */
+    public Map<String, Long> snapshot() {
+        Map<String, Long> result = new TreeMap<>();
+        synchronized (this) {
+            result.put("entries", (long) images.size());
+            result.put("bytes", currentBytes);
+        }
+        result.put("maxBytes", maxBytes);
+        result.put("softEntries", (long) evicted.size());
+        result.put("hits", hits.sum());
+        result.put("softHits", softHits.sum());
+        result.put("misses", misses.sum());
+        result.put("evictions", evictions.sum());
+        return result;
+    }
+
+    private void pruneClearedReferences() {
+        evicted.values().removeIf(reference -> reference.get() == null);
+    }
+
+    private static long sizeOf(Image image) {
+        return (long) image.getWidth() * (long) image.getHeight() * BYTES_PER_PIXEL;
+    }
+}
@@ -0,0 +1,357 @@
+package com.uninaswap.client.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.uninaswap.common.enums.ImageSize;
+
+import javafx.scene.image.Image;
+
+import java.io.BufferedInputStream;
+import java.io.ByteArrayInputStream;
+import java.io.DataInputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.URI;
+import java.net.URLEncoder;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.PriorityBlockingQueue;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Loads images for {@link ImageService} through the memory cache, the disk cache and HTTP.
+ * Single images wait in a priority queue and a fixed number of background threads download and
+ * decode them, most urgent first, so the FX thread never decodes and a fast scroll does not
+ * start dozens of downloads at once. Requests for the same image share one load, and a load
+ * nobody waits for any more is dropped from the queue or aborted.
+ */
+class ImageLoader {
+    private static final ObjectMapper OBJECT_MAPPER = new ObjectMapper();
+
+    private final String baseUrl;
+    private final HttpClient httpClient;
+    private final ImageCache imageCache;
+    private final DiskImageCache diskCache;
+
+    // Cache key -> load in progress
+    private final Map<String, LoadTask> tasks = new ConcurrentHashMap<>();
+    private final PriorityBlockingQueue<LoadTask> queue = new PriorityBlockingQueue<>(64,
+            Comparator.comparing((LoadTask task) -> task.priority).thenComparingLong(task -> task.sequence));
+    private final AtomicLong sequence = new AtomicLong();
+
+    ImageLoader(String baseUrl, HttpClient httpClient, ImageCache imageCache, DiskImageCache diskCache) {
+        this.baseUrl = baseUrl;
+        this.httpClient = httpClient;
+        this.imageCache = imageCache;
+        this.diskCache = diskCache;
+
+        int threads = Integer.getInteger("uninaswap.image-loader.threads", 4);
+        for (int i = 0; i < threads; i++) {
+            Thread worker = new Thread(this::runWorker, "image-loader-" + i);
+            worker.setDaemon(true);
+            worker.setPriority(Thread.NORM_PRIORITY - 1);
+            worker.start();
+        }
+    }
+
+    ImageRequest load(String imageId, ImageSize size, ImagePriority priority) {
+        String cacheKey = cacheKey(imageId, size);
+        Image cached = imageCache.get(cacheKey);
+        if (cached != null) {
+            return ImageRequest.completed(cached);
+        }
+
+        while (true) {
+            LoadTask task = tasks.computeIfAbsent(cacheKey,
+                    key -> new LoadTask(key, imageId, size, priority, sequence.incrementAndGet()));
+            synchronized (task) {
+                if (task.abandoned) {
+                    // Released between the lookup and the lock; it is already out of the map
+                    continue;
+                }
+                task.waiters++;
+                if (!task.queued) {
+                    task.queued = true;
+                    queue.add(task);
+                } else if (priority.compareTo(task.priority) < 0) {
+                    reprioritizeLocked(task, priority);
+                }
+            }
+            return new ImageRequest(this, task);
+        }
+    }
+
+    /**
+     * Load several images with one request to the batch endpoint.
+     * Images already cached or being loaded are reused; the rest skip the queue.
+     */
+    Map<String, CompletableFuture<Image>> loadAll(Collection<String> imageIds, ImageSize size) {
+        Map<String, CompletableFuture<Image>> results = new LinkedHashMap<>();
+        Map<String, LoadTask> toLoad = new LinkedHashMap<>();
+        for (String imageId : imageIds) {
+            if (results.containsKey(imageId)) {
+                continue;
+            }
+            String cacheKey = cacheKey(imageId, size);
+            Image cached = imageCache.get(cacheKey);
+            if (cached != null) {
+                results.put(imageId, CompletableFuture.completedFuture(cached));
+                continue;
+            }
+
+            LoadTask task = new LoadTask(cacheKey, imageId, size, ImagePriority.BACKGROUND, sequence.incrementAndGet());
+            // The batch holds a waiter that is never released, and the task is never queued
+            task.waiters = 1;
+            task.queued = true;
+            task.started = true;
+            LoadTask existing = tasks.putIfAbsent(cacheKey, task);
+            if (existing == null) {
+                toLoad.put(imageId, task);
+                results.put(imageId, task.future);
+            } else {
+                synchronized (existing) {
+                    existing.waiters++;
+                }
+                results.put(imageId, existing.future);
+            }
+        }
+
+        if (!toLoad.isEmpty()) {
+            CompletableFuture.runAsync(() -> loadBatch(toLoad, size));
+        }
+        return results;
+    }
+
+    void reprioritize(LoadTask task, ImagePriority priority) {
+        synchronized (task) {
+            if (!task.abandoned && priority != task.priority) {
+                reprioritizeLocked(task, priority);
+            }
+        }
+    }
+
+    /**
+     * Drop one waiter; the last one abandons the load
+     */
+    void release(LoadTask task) {
+        CompletableFuture<?> download;
+        synchronized (task) {
+            if (task.future.isDone() || --task.waiters > 0) {
+                return;
+            }
+            task.abandoned = true;
+            tasks.remove(task.key, task);
+            queue.remove(task);
+            download = task.download;
+        }
+        if (download != null) {
+            download.cancel(true);
+        }
+        task.future.cancel(false);
+    }
+
+    void clearPending() {
+        for (LoadTask task : tasks.values()) {
+            synchronized (task) {
+                task.waiters = 1;
+            }
+            release(task);
+        }
+    }
+
+    private void reprioritizeLocked(LoadTask task, ImagePriority priority) {
+        // The queue only orders on insertion, so the task is reinserted; once taken it is too late
+        if (!task.started && queue.remove(task)) {
+            task.priority = priority;
+            queue.add(task);
+        }
+    }
+
+    private void runWorker() {
+        while (true) {
+            LoadTask task;
+            try {
+                task = queue.take();
+            } catch (InterruptedException e) {
+                return;
+            }
+            synchronized (task) {
+                if (task.abandoned) {
+                    continue;
+                }
+                task.started = true;
+            }
+            try {
+                loadSingle(task);
+            } catch (RuntimeException e) {
+                fail(task, e);
+            }
+        }
+    }
+
+    private void loadSingle(LoadTask task) {
+        byte[] cachedBytes = diskCache.read(task.key);
+        if (cachedBytes != null) {
+            complete(task, cachedBytes, false);
+            return;
+        }
+
+        String url = baseUrl + "/" + URLEncoder.encode(task.imageId, StandardCharsets.UTF_8);
+        if (task.size != null) {
+            url += "?size=" + task.size.getParameter();
+        }
+        HttpRequest request = HttpRequest.newBuilder()
+            .uri(URI.create(url))
+            .GET()
+            .build();
+
+        CompletableFuture<HttpResponse<byte[]>> download = httpClient.sendAsync(request, HttpResponse.BodyHandlers.ofByteArray());
+        synchronized (task) {
+            if (task.abandoned) {
+                download.cancel(true);
+                return;
+            }
+            task.download = download;
+        }
+
+        HttpResponse<byte[]> response;
+        try {
+            response = download.join();
+        } catch (CancellationException e) {
+            return;
+        } catch (CompletionException e) {
+            fail(task, e.getCause() != null ? e.getCause() : e);
+            return;
+        }
+        if (response.statusCode() != 200) {
+            fail(task, new IOException("Image fetch failed for " + task.imageId + ": HTTP " + response.statusCode()));
+            return;
+        }
+        complete(task, response.body(), true);
+    }
+
+    private void loadBatch(Map<String, LoadTask> toLoad, ImageSize size) {
+        List<String> toDownload = new ArrayList<>();
+        for (LoadTask task : toLoad.values()) {
+            byte[] cachedBytes = diskCache.read(task.key);
+            if (cachedBytes != null) {
+                complete(task, cachedBytes, false);
+            } else {
+                toDownload.add(task.imageId);
+            }
+        }
+        if (toDownload.isEmpty()) {
+            return;
+        }
+
+        try {
+            String url = baseUrl + "/batch" + (size != null ? "?size=" + size.getParameter() : "");
+            HttpRequest request = HttpRequest.newBuilder()
+                .uri(URI.create(url))
+                .header("Content-Type", "application/json")
+                .POST(HttpRequest.BodyPublishers.ofByteArray(OBJECT_MAPPER.writeValueAsBytes(toDownload)))
+                .build();
+            HttpResponse<InputStream> response = httpClient.send(request, HttpResponse.BodyHandlers.ofInputStream());
+
+            // Entries arrive in request order as the server finishes each one
+            try (DataInputStream in = new DataInputStream(new BufferedInputStream(response.body()))) {
+                if (response.statusCode() != 200) {
+                    throw new IOException("Batch image fetch failed: HTTP " + response.statusCode());
+                }
+                for (int i = 0; i < toDownload.size(); i++) {
+                    String imageId = in.readUTF();
+                    long length = in.readLong();
+                    LoadTask task = toLoad.get(imageId);
+                    if (length < 0) {
+                        if (task != null) {
+                            fail(task, new IOException("Image not found: " + imageId));
+                        }
+                        continue;
+                    }
+                    byte[] data = in.readNBytes((int) length);
+                    if (data.length != length) {
+                        throw new EOFException("Batch image response ended inside " + imageId);
+                    }
+                    if (task != null) {
+                        complete(task, data, true);
+                    }
+                }
+            }
+        } catch (IOException e) {
+            System.err.println("Batch image fetch failed: " + e.getMessage());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } finally {
+            // Anything the response did not deliver fails, so callers can fall back to a default image
+            for (String imageId : toDownload) {
+                LoadTask task = toLoad.get(imageId);
+                if (!task.future.isDone()) {
+                    fail(task, new IOException("Image missing from batch response: " + imageId));
+                }
+            }
+        }
+    }
+
+    private void complete(LoadTask task, byte[] data, boolean downloaded) {
+        Image image = new Image(new ByteArrayInputStream(data));
+        if (image.isError()) {
+            fail(task, new IOException("Error decoding image " + task.imageId + ": " + image.getException()));
+            return;
+        }
+        if (downloaded) {
+            diskCache.write(task.key, data);
+        }
+        imageCache.put(task.key, image);
+        tasks.remove(task.key, task);
+        task.future.complete(image);
+    }
+
+    private void fail(LoadTask task, Throwable cause) {
+        tasks.remove(task.key, task);
+        task.future.completeExceptionally(cause);
+    }
+
+    static String cacheKey(String imageId, ImageSize size) {
+        return size != null ? imageId + "@" + size.getParameter() : imageId;
+    }
+
+    static class LoadTask {
+        private final String key;
+        private final String imageId;
+        private final ImageSize size;
+        private final long sequence;
+        private final CompletableFuture<Image> future = new CompletableFuture<>();
+
+        // Guarded by the task's monitor
+        private volatile ImagePriority priority;
+        private int waiters;
+        private boolean queued;
+        private boolean started;
+        private boolean abandoned;
+        private CompletableFuture<?> download;
+
+        LoadTask(String key, String imageId, ImageSize size, ImagePriority priority, long sequence) {
+            this.key = key;
+            this.imageId = imageId;
+            this.size = size;
+            this.priority = priority;
+            this.sequence = sequence;
+        }
+
+        CompletableFuture<Image> getFuture() {
+            return future;
+        }
+    }
+}
@@ -0,0 +1,13 @@
+package com.uninaswap.client.service;
+
+/**
+ * How urgently an image is needed; queued images are loaded in this order
+ */
+public enum ImagePriority {
+    // Shown on screen right now
+    VISIBLE,
+    // Just outside the viewport, likely to be scrolled into view
+    NEAR,
+    // Not shown yet, e.g. the next page of results
+    BACKGROUND
+}
@@ -0,0 +1,71 @@
+package com.uninaswap.client.service;
+
+import javafx.scene.image.Image;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * A caller's interest in one image being loaded by {@link ImageService#loadImage}.
+ * Several requests for the same image share one download; cancelling a request drops only
+ * this caller's interest, and the download is abandoned once no request is left.
+ */
+public class ImageRequest {
+    private final ImageLoader loader;
+    private final ImageLoader.LoadTask task;
+    private final CompletableFuture<Image> future;
+    private final AtomicBoolean released = new AtomicBoolean();
+
+    ImageRequest(ImageLoader loader, ImageLoader.LoadTask task) {
+        this.loader = loader;
+        this.task = task;
+        this.future = new CompletableFuture<>();
+        task.getFuture().whenComplete((image, ex) -> {
+            if (ex != null) {
+                future.completeExceptionally(ex);
+            } else {
+                future.complete(image);
+            }
+        });
+    }
+
+    private ImageRequest(Image image) {
+        this.loader = null;
+        this.task = null;
+        this.future = CompletableFuture.completedFuture(image);
+    }
+
+    static ImageRequest completed(Image image) {
+        return new ImageRequest(image);
+    }
+
+    /**
+     * Completes with the image, or is cancelled if {@link #cancel()} is called first
+     */
+    public CompletableFuture<Image> getFuture() {
+        return future;
+    }
+
+    public boolean isDone() {
+        return future.isDone();
+    }
+
+    /**
+     * Move the image up or down the load queue; has no effect once loading has started
+     */
+    public void setPriority(ImagePriority priority) {
+        if (task != null && !released.get()) {
+            loader.reprioritize(task, priority);
+        }
+    }
+
+    /**
+     * Stop waiting for the image, e.g. because its card scrolled out of view
+     */
+    public void cancel() {
+        if (task != null && !future.isDone() && released.compareAndSet(false, true)) {
+            future.cancel(false);
+            loader.release(task);
+        }
+    }
+}
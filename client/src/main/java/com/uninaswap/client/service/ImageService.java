@@ -1,22 +1,21 @@
 package com.uninaswap.client.service;
-import com.uninaswap.client.websocket.WebSocketClient;
-import com.uninaswap.common.message.ImageMessage;
+import com.uninaswap.common.enums.ImageSize;
 
 import javafx.scene.image.Image;
 
-import java.io.ByteArrayInputStream;
-import java.io.ByteArrayOutputStream;
 import java.io.File;
+import java.io.FileNotFoundException;
 import java.io.IOException;
 import java.net.URI;
 import java.nio.charset.StandardCharsets;
 import java.nio.file.Files;
-import java.util.Base64;
-import java.util.HashMap;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
 import java.util.Map;
 import java.util.UUID;
 import java.util.concurrent.CompletableFuture;
-import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CompletionException;
 
 import java.net.http.HttpClient;
 import java.net.http.HttpRequest;
@@ -24,12 +23,15 @@ import java.net.http.HttpResponse;
 
 public class ImageService {
     
-    private static ImageService instance;
-    private final WebSocketClient webSocketClient;
-    private final Map<String, Image> imageCache = new HashMap<>();
+    private static final String IMAGE_API_URL = "http://localhost:8080/api/images";
+    // Matches the server's spring.servlet.multipart.max-file-size
+    private static final long MAX_UPLOAD_BYTES = 15L * 1024 * 1024;
     
-    // Replace single handler with a map of pending requests
-    private final Map<String, CompletableFuture<Image>> pendingRequests = new ConcurrentHashMap<>();
+    private static ImageService instance;
+    private final HttpClient httpClient = HttpClient.newHttpClient();
+    private final ImageCache imageCache = new ImageCache();
+    private final DiskImageCache diskCache = new DiskImageCache();
+    private final ImageLoader imageLoader = new ImageLoader(IMAGE_API_URL, httpClient, imageCache, diskCache);
     
     // Singleton pattern
     public static ImageService getInstance() {
@@ -40,146 +42,133 @@ public class ImageService {
     }
     
     private ImageService() {
-        this.webSocketClient = WebSocketClient.getInstance();
-        this.webSocketClient.registerMessageHandler(ImageMessage.class, this::handleImageResponse);
     }
     
     /**
-     * Upload an image via HTTP for profile pictures
+     * Upload an image via HTTP for profile pictures.
+     * The file is streamed from disk into the request body rather than read into memory first.
      * @param imageFile The image file to upload
      * @return A CompletableFuture with the image path on success
      */
     public CompletableFuture<String> uploadImageViaHttp(File imageFile) {
-        CompletableFuture<String> future = new CompletableFuture<>();
-        
-        // Create a thread for the upload to avoid blocking the UI
-        new Thread(() -> {
-            try {
-                // Prepare the HTTP client
-                HttpClient client = HttpClient.newHttpClient();
-                
-                // Create a simplified multipart form implementation
-                MultipartFormData formData = new MultipartFormData();
-                formData.addFilePart("file", imageFile);
-                
-                // Create the request
-                HttpRequest request = HttpRequest.newBuilder()
-                    .uri(URI.create("http://localhost:8080/api/images/upload"))
-                    .header("Content-Type", "multipart/form-data; boundary=" + formData.getBoundary())
-                    .POST(formData.getBodyPublisher())
-                    .build();
-                
-                // Send the request
-                HttpResponse<String> response = client.send(request, HttpResponse.BodyHandlers.ofString());
-
-                // Process the response
-                if (response.statusCode() == 200) {
-                    future.complete(response.body());
-                } else {
-                    future.completeExceptionally(
-                        new IOException("Failed to upload image: " + response.body()));
-                }
-            } catch (Exception e) {
-                future.completeExceptionally(e);
+        try {
+            long size = Files.size(imageFile.toPath());
+            if (size > MAX_UPLOAD_BYTES) {
+                return CompletableFuture.failedFuture(new IOException(
+                        "Image is too large: " + size / (1024 * 1024) + " MB, the limit is " + MAX_UPLOAD_BYTES / (1024 * 1024) + " MB"));
             }
-        }).start();
-        
-        return future;
+            
+            // Create a multipart body around the file contents
+            MultipartFormData formData = new MultipartFormData();
+            formData.addFilePart("file", imageFile);
+            
+            // Create the request
+            HttpRequest request = HttpRequest.newBuilder()
+                .uri(URI.create(IMAGE_API_URL + "/upload"))
+                .header("Content-Type", "multipart/form-data; boundary=" + formData.getBoundary())
+                .POST(formData.getBodyPublisher())
+                .build();
+            
+            // Upload size, duration and throughput are recorded by the server (uninaswap.images.upload.*)
+            return httpClient.sendAsync(request, HttpResponse.BodyHandlers.ofString())
+                .thenApply(response -> {
+                    if (response.statusCode() != 200) {
+                        throw new CompletionException(new IOException("Failed to upload image: " + response.body()));
+                    }
+                    return response.body();
+                });
+        } catch (IOException e) {
+            return CompletableFuture.failedFuture(e);
+        }
     }
     
     /**
-     * Fetch an image from the server
+     * Fetch an image from the server at full resolution.
+     * Prefer {@link #fetchImage(String, ImageSize)} wherever the image is shown smaller than the original.
      * @param imageId The ID of the image to fetch
      * @return A CompletableFuture with the Image on success
      */
     public CompletableFuture<Image> fetchImage(String imageId) {
-        // Check cache first
-        if (imageCache.containsKey(imageId)) {
-            return CompletableFuture.completedFuture(imageCache.get(imageId));
-        }
-        
-        // Check if there's already a pending request for this image
-        CompletableFuture<Image> existingRequest = pendingRequests.get(imageId);
-        if (existingRequest != null) {
-            return existingRequest;
-        }
-        
-        // Create new request
-        CompletableFuture<Image> future = new CompletableFuture<>();
-        pendingRequests.put(imageId, future);
-        
-        // If not in cache, request from server
-        try {
-            ImageMessage fetchMessage = new ImageMessage();
-            fetchMessage.setType(ImageMessage.Type.FETCH_REQUEST);
-            fetchMessage.setImageId(imageId);
-            
-            // Send the message
-            webSocketClient.sendMessage(fetchMessage)
-                .exceptionally(ex -> {
-                    // Remove from pending and complete with error
-                    pendingRequests.remove(imageId);
-                    future.completeExceptionally(ex);
-                    return null;
-                });
-                
-        } catch (Exception e) {
-            pendingRequests.remove(imageId);
-            future.completeExceptionally(e);
-        }
-        
-        return future;
+        return fetchImage(imageId, null);
     }
     
-    private void handleImageResponse(ImageMessage message) {
-        if (message.getType() == ImageMessage.Type.FETCH_RESPONSE) {
-            String imageId = message.getImageId();
-            CompletableFuture<Image> pendingRequest = pendingRequests.remove(imageId);
-            
-            if (pendingRequest != null) {
-                if (message.isSuccess() && message.getImageData() != null) {
-                    try {
-                        byte[] imageBytes = Base64.getDecoder().decode(message.getImageData());
-                        Image image = new Image(new ByteArrayInputStream(imageBytes));
-                        
-                        // Cache the image
-                        imageCache.put(imageId, image);
-                        
-                        // Complete the specific request
-                        pendingRequest.complete(image);
-                    } catch (Exception e) {
-                        pendingRequest.completeExceptionally(
-                                new IOException("Error decoding image data: " + e.getMessage()));
-                    }
-                } else {
-                    pendingRequest.completeExceptionally(
-                            new IOException(message.getMessage() != null ? message.getMessage() : "Image fetch failed"));
-                }
-            } else {
-                System.err.println("Received image response for unknown request: " + imageId);
-            }
-        }
+    /**
+     * Fetch a downscaled variant of an image.
+     * Decoded images are kept in memory and the downloaded bytes on disk, so only images
+     * not seen before, even in earlier runs, are downloaded over HTTP.
+     * @param imageId The ID of the image to fetch
+     * @param size The variant to fetch, or null for the original
+     * @return A CompletableFuture with the Image on success
+     */
+    public CompletableFuture<Image> fetchImage(String imageId, ImageSize size) {
+        return imageLoader.load(imageId, size, ImagePriority.VISIBLE).getFuture();
+    }
+    
+    /**
+     * Queue an image for loading with a priority, keeping the option to cancel it.
+     * Use this for images in scrolling views: raise the priority of the ones on screen and
+     * cancel those scrolled away, so the loader works on what the user is looking at.
+     * @param imageId The ID of the image to load
+     * @param size The variant to load, or null for the original
+     * @param priority How urgently the image is needed
+     * @return The request, completing with the Image on success
+     */
+    public ImageRequest loadImage(String imageId, ImageSize size, ImagePriority priority) {
+        return imageLoader.load(imageId, size, priority);
+    }
+    
+    /**
+     * Fetch several images with a single request.
+     * Images already cached or being fetched are reused; the others are read from the disk cache
+     * or downloaded together from the batch endpoint, each future completing as soon as its image
+     * has arrived. A later {@link #fetchImage(String, ImageSize)} for one of them joins this request.
+     * @param imageIds The IDs of the images to fetch
+     * @param size The variant to fetch, or null for the originals
+     * @return A future per distinct image ID, in request order
+     */
+    public Map<String, CompletableFuture<Image>> fetchImages(Collection<String> imageIds, ImageSize size) {
+        return imageLoader.loadAll(imageIds, size);
+    }
+    
+    /**
+     * Start loading images that are about to be shown, such as the next page of listings,
+     * so they are already cached when their cards ask for them
+     */
+    public void prefetchImages(Collection<String> imageIds, ImageSize size) {
+        fetchImages(imageIds, size);
     }
     
-    // Add method to clear pending requests if needed
+    // Abandon every load in progress
     public void clearPendingRequests() {
-        pendingRequests.clear();
+        imageLoader.clearPending();
     }
     
-    // Clear the cache when needed
+    // Clear the in-memory cache when needed; the disk cache is kept
     public void clearCache() {
         imageCache.clear();
     }
     
-    // Helper class for multipart uploads
+    public void clearDiskCache() {
+        diskCache.clear();
+    }
+    
+    /**
+     * Image cache counters and occupancy, for diagnostics
+     */
+    public Map<String, Long> getCacheStats() {
+        Map<String, Long> stats = imageCache.snapshot();
+        stats.put("diskBytes", diskCache.getCurrentBytes());
+        return stats;
+    }
+    
+    // Helper class for multipart uploads; file parts are streamed from disk when the request is sent
     private static class MultipartFormData {
         private final String boundary;
-        private final ByteArrayOutputStream baos;
+        private final List<HttpRequest.BodyPublisher> parts = new ArrayList<>();
         
         public MultipartFormData() {
             // Create a unique boundary
             this.boundary = UUID.randomUUID().toString();
-            this.baos = new ByteArrayOutputStream();
         }
         
         public String getBoundary() {
@@ -187,26 +176,25 @@ public class ImageService {
         }
         
         @SuppressWarnings("unused")
-        public void addFormField(String name, String value) throws IOException {
-            baos.write(("--" + boundary + "\r\n").getBytes(StandardCharsets.UTF_8));
-            baos.write(("Content-Disposition: form-data; name=\"" + name + "\"\r\n\r\n").getBytes(StandardCharsets.UTF_8));
-            baos.write((value + "\r\n").getBytes(StandardCharsets.UTF_8));
+        public void addFormField(String name, String value) {
+            addText("--" + boundary + "\r\n"
+                    + "Content-Disposition: form-data; name=\"" + name + "\"\r\n\r\n"
+                    + value + "\r\n");
         }
         
-        public void addFilePart(String name, File file) throws IOException {
-            baos.write(("--" + boundary + "\r\n").getBytes(StandardCharsets.UTF_8));
-            
+        public void addFilePart(String name, File file) throws FileNotFoundException {
             // Add file headers
-            baos.write(("Content-Disposition: form-data; name=\"" + name + "\"; filename=\"" 
-                        + file.getName() + "\"\r\n").getBytes(StandardCharsets.UTF_8));
+            addText("--" + boundary + "\r\n"
+                    + "Content-Disposition: form-data; name=\"" + name + "\"; filename=\"" + file.getName() + "\"\r\n"
+                    + "Content-Type: " + getContentType(file.getName()) + "\r\n\r\n");
             
-            // Determine content type
-            String contentType = getContentType(file.getName());
-            baos.write(("Content-Type: " + contentType + "\r\n\r\n").getBytes(StandardCharsets.UTF_8));
-            
-            // Copy file contents directly to output stream
-            Files.copy(file.toPath(), baos);
-            baos.write("\r\n".getBytes(StandardCharsets.UTF_8));
+            // The file is read in chunks as the body is sent
+            parts.add(HttpRequest.BodyPublishers.ofFile(file.toPath()));
+            addText("\r\n");
+        }
+        
+        private void addText(String text) {
+            parts.add(HttpRequest.BodyPublishers.ofString(text, StandardCharsets.UTF_8));
         }
         
         private String getContentType(String filename) {
@@ -219,12 +207,12 @@ public class ImageService {
             }
         }
         
-        public HttpRequest.BodyPublisher getBodyPublisher() throws IOException {
+        public HttpRequest.BodyPublisher getBodyPublisher() {
             // Add the final boundary
-            baos.write(("--" + boundary + "--").getBytes(StandardCharsets.UTF_8));
+            addText("--" + boundary + "--");
             
-            // Create body publisher from byte array
-            return HttpRequest.BodyPublishers.ofByteArray(baos.toByteArray());
+            // Concatenated publishers keep a known content length, so no chunked encoding is needed
+            return HttpRequest.BodyPublishers.concat(parts.toArray(new HttpRequest.BodyPublisher[0]));
         }
     }
-}
\ No newline at end of file
+}
@@ -22,10 +22,16 @@ public class ListingService {
 
     private CompletableFuture<?> futureToComplete;
     private Consumer<ListingMessage> messageCallback;
+    // First page request in flight, shared by everyone asking for it meanwhile
+    private CompletableFuture<Void> allListingsRefresh;
 
     // Add a flag to track if we're loading more or refreshing
     private boolean isLoadingMore = false;
 
+    // Cursor of the home feed returned with the last page, null when there is nothing more to load
+    private String nextListingsCursor;
+    private boolean hasMoreListings = true;
+
     private ListingService() {
         this.webSocketClient = WebSocketClient.getInstance();
         this.webSocketClient.registerMessageHandler(ListingMessage.class, this::handleListingMessage);
@@ -59,6 +65,35 @@ public class ListingService {
         return future;
     }
 
+    // Get the next page of the home feed, continuing from the cursor of the last page
+    public CompletableFuture<List<ListingDTO>> getMoreListings(int size) {
+        if (nextListingsCursor == null) {
+            return CompletableFuture.completedFuture(new ArrayList<>());
+        }
+
+        CompletableFuture<List<ListingDTO>> future = new CompletableFuture<>();
+
+        ListingMessage message = new ListingMessage();
+        message.setType(ListingMessage.Type.GET_LISTINGS_REQUEST);
+        message.setCursor(nextListingsCursor);
+        message.setSize(size);
+
+        this.futureToComplete = future;
+
+        webSocketClient.sendMessage(message)
+                .exceptionally(ex -> {
+                    future.completeExceptionally(ex);
+                    this.futureToComplete = null;
+                    return null;
+                });
+
+        return future;
+    }
+
+    public boolean hasMoreListings() {
+        return hasMoreListings;
+    }
+
     // Get current user's listings
     public CompletableFuture<List<ListingDTO>> getMyListings() {
         CompletableFuture<List<ListingDTO>> future = new CompletableFuture<>();
@@ -193,9 +228,17 @@ public class ListingService {
                 });
     }
 
-    // Update the refreshAllListings method to support initial loading only
-    public void refreshAllListings() {
-        getListings(0, 50) // First page with 50 items
+    /**
+     * Reload the first page of the home feed.
+     * While a reload is in progress further calls share it, so the startup preload and the
+     * home view asking at the same time send a single request.
+     * @return Completes once the listings have been received
+     */
+    public synchronized CompletableFuture<Void> refreshAllListings() {
+        if (allListingsRefresh != null && !allListingsRefresh.isDone()) {
+            return allListingsRefresh;
+        }
+        allListingsRefresh = getListings(0, 50) // First page with 50 items
                 .thenAccept(listings -> {
                     Platform.runLater(() -> {
                         List<ListingViewModel> viewModels = listings.stream()
@@ -209,6 +252,7 @@ public class ListingService {
                     System.err.println("Error refreshing all listings: " + ex.getMessage());
                     return null;
                 });
+        return allListingsRefresh;
     }
 
     // Add method to append listings (for pagination)
@@ -265,6 +309,9 @@ public class ListingService {
                         
                         // Reset the flag
                         isLoadingMore = false;
+
+                        nextListingsCursor = message.getNextCursor();
+                        hasMoreListings = message.isHasMore() && nextListingsCursor != null;
                         
                         if (futureToComplete != null) {
                             ((CompletableFuture<List<ListingDTO>>) futureToComplete).complete(listings);
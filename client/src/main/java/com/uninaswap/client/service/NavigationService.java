@@ -55,6 +55,7 @@ public class NavigationService {
     private final ItemService itemService = ItemService.getInstance();
     private final UserSessionService sessionService = UserSessionService.getInstance();
     private final EventBusService eventBus = EventBusService.getInstance();
+    private final ViewFactory viewFactory = ViewFactory.getInstance();
     // Add navigation history stack
     private final java.util.Stack<NavigationState> navigationHistory = new java.util.Stack<>();
     private MainController mainController; // Reference to main controller
@@ -123,15 +124,9 @@ public class NavigationService {
             throw new IllegalArgumentException("FXML path cannot be null or empty");
         }
 
-        // Get the resource URL and verify it exists
-        java.net.URL resource = getClass().getResource(fxmlPath);
-        if (resource == null) {
-            throw new IOException("Resource not found: " + fxmlPath);
-        }
-
-        FXMLLoader loader = new FXMLLoader(resource);
-        loader.setResources(localeService.getResourceBundle());
-        Parent root = loader.load();
+        // Parsed from the cached template; fails if the resource does not exist
+        FXMLLoader loader = viewFactory.load(fxmlPath);
+        Parent root = loader.getRoot();
 
         // Store the controller in the view's properties
         Object controller = loader.getController();
@@ -239,9 +234,8 @@ public class NavigationService {
                 stage.getScene().getWidth(),
                 stage.getScene().getHeight()));
 
-        // Initialize the MainController if needed
-        MainController mainController = loaderBundle.getLoader().getController();
-        mainController.initialize();
+        // MainController.initialize() already ran during the load; running it again built a second home view
+        StartupService.getInstance().mark(StartupService.DASHBOARD_SHOWN);
     }
 
     public void navigateToItemDetails(String itemId) {
@@ -487,8 +481,8 @@ public class NavigationService {
     }
 
     public Parent loadListingsView() throws IOException {
-        FXMLLoader loader = new FXMLLoader(getClass().getResource("/fxml/ListingsView.fxml"));
-        Parent listingsView = loader.load();
+        FXMLLoader loader = viewFactory.load("/fxml/ListingsView.fxml");
+        Parent listingsView = loader.getRoot();
         
         return listingsView;
     }
@@ -535,9 +529,8 @@ public class NavigationService {
         try {
             ItemDTO item = ViewModelMapper.getInstance().toDTO(itemViewModel);
             // Load the dialog FXML
-            FXMLLoader loader = new FXMLLoader(getClass().getResource("/fxml/ItemDialogView.fxml"));
-            loader.setResources(localeService.getResourceBundle());
-            DialogPane dialogPane = loader.load();
+            FXMLLoader loader = viewFactory.load("/fxml/ItemDialogView.fxml");
+            DialogPane dialogPane = loader.getRoot();
             // Create custom button types with localized text
             ButtonType confirmButtonType = new ButtonType(
                     localeService.getMessage("button.confirm"),
@@ -595,9 +588,8 @@ public class NavigationService {
 
     public void openPickupScheduling(OfferViewModel offer, Stage parentStage) {
         try {
-            FXMLLoader loader = new FXMLLoader(getClass().getResource("/fxml/PickupSchedulingView.fxml"));
-            loader.setResources(localeService.getResourceBundle());
-            Parent root = loader.load();
+            FXMLLoader loader = viewFactory.load("/fxml/PickupSchedulingView.fxml");
+            Parent root = loader.getRoot();
 
             PickupSchedulingController controller = loader.getController();
             controller.setOfferId(offer.getId());
@@ -663,9 +655,8 @@ public class NavigationService {
 
     private void openPickupSelectionDialog(PickupViewModel pickup, Stage parentStage) {
         try {
-            FXMLLoader loader = new FXMLLoader(getClass().getResource("/fxml/PickupSelectionView.fxml"));
-            loader.setResources(localeService.getResourceBundle());
-            Parent root = loader.load();
+            FXMLLoader loader = viewFactory.load("/fxml/PickupSelectionView.fxml");
+            Parent root = loader.getRoot();
             PickupSelectionController controller = loader.getController();
             controller.setPickup(pickup);
             
@@ -695,10 +686,9 @@ public class NavigationService {
 
     public void openReviewCreate(OfferViewModel offer, Stage parentStage) {
         try {
-            FXMLLoader loader = new FXMLLoader(getClass().getResource("/fxml/ReviewCreateView.fxml"));
-            loader.setResources(localeService.getResourceBundle());
+            FXMLLoader loader = viewFactory.load("/fxml/ReviewCreateView.fxml");
             
-            Parent reviewContent = loader.load();
+            Parent reviewContent = loader.getRoot();
             ReviewCreateController controller = loader.getController();
             
             // Set the offer for the review
@@ -738,8 +728,8 @@ public class NavigationService {
 
     public void openUserReviews(UserViewModel user, Stage parentStage) {
         try {
-            FXMLLoader loader = new FXMLLoader(getClass().getResource("/fxml/UserReviewsView.fxml"));
-            Parent root = loader.load();
+            FXMLLoader loader = viewFactory.load("/fxml/UserReviewsView.fxml");
+            Parent root = loader.getRoot();
 
             UserReviewsController controller = loader.getController();
             controller.setUser(user);
@@ -764,8 +754,8 @@ public class NavigationService {
 
     public void openReportDialog(UserViewModel user, Stage parentStage) {
         try {
-            FXMLLoader loader = new FXMLLoader(getClass().getResource("/fxml/ReportDialogView.fxml"));
-            Parent root = loader.load();
+            FXMLLoader loader = viewFactory.load("/fxml/ReportDialogView.fxml");
+            Parent root = loader.getRoot();
 
             ReportDialogController controller = loader.getController();
             controller.setReportedUser(user);
@@ -790,8 +780,8 @@ public class NavigationService {
 
     public void openReportDialog(ListingViewModel listing, Stage parentStage) {
         try {
-            FXMLLoader loader = new FXMLLoader(getClass().getResource("/fxml/ReportDialogView.fxml"));
-            Parent root = loader.load();
+            FXMLLoader loader = viewFactory.load("/fxml/ReportDialogView.fxml");
+            Parent root = loader.getRoot();
 
             ReportDialogController controller = loader.getController();
             controller.setReportedListing(listing);
@@ -816,8 +806,8 @@ public class NavigationService {
 
     public void openUserFollowers(UserViewModel user, Stage parentStage) {
         try {
-            FXMLLoader loader = new FXMLLoader(getClass().getResource("/fxml/UserFollowersView.fxml"));
-            Parent root = loader.load();
+            FXMLLoader loader = viewFactory.load("/fxml/UserFollowersView.fxml");
+            Parent root = loader.getRoot();
 
             UserFollowersController controller = loader.getController();
             controller.setUser(user);
@@ -842,8 +832,8 @@ public class NavigationService {
 
     public void openUserFavorites(UserViewModel user, Stage parentStage) {
         try {
-            FXMLLoader loader = new FXMLLoader(getClass().getResource("/fxml/UserFavoritesView.fxml"));
-            Parent root = loader.load();
+            FXMLLoader loader = viewFactory.load("/fxml/UserFavoritesView.fxml");
+            Parent root = loader.getRoot();
 
             UserFavoritesController controller = loader.getController();
             controller.setUser(user);
@@ -970,9 +960,8 @@ public class NavigationService {
     public void openPickupRescheduling(String offerId, Stage parentStage) {
         try {
             // Load the pickup scheduling FXML (we can reuse the same UI)
-            FXMLLoader loader = new FXMLLoader(getClass().getResource("/fxml/PickupSchedulingView.fxml"));
-            loader.setResources(localeService.getResourceBundle());
-            Parent root = loader.load();
+            FXMLLoader loader = viewFactory.load("/fxml/PickupSchedulingView.fxml");
+            Parent root = loader.getRoot();
             
             // Get the controller
             PickupSchedulingController controller = loader.getController();
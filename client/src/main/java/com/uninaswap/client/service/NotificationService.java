@@ -29,6 +29,8 @@ public class NotificationService {
     private int unreadCount = 0;
     private Consumer<Integer> unreadCountCallback;
     private Consumer<NotificationViewModel> newNotificationCallback;
+    // Initial requests in flight after login
+    private CompletableFuture<Void> initialization;
     
     private NotificationService() {
         webSocketClient = WebSocketClient.getInstance();
@@ -128,8 +130,8 @@ public class NotificationService {
     /**
      * Refresh recent notifications for dropdown
      */
-    public void refreshRecentNotifications() {
-        getNotifications(0, 10).thenAccept(notifications -> {
+    public CompletableFuture<Void> refreshRecentNotifications() {
+        return getNotifications(0, 10).thenAccept(notifications -> {
             Platform.runLater(() -> {
                 recentNotifications.clear();
                 recentNotifications.addAll(notifications.stream()
@@ -140,16 +142,25 @@ public class NotificationService {
     }
     
     /**
-     * Initialize notifications when user logs in
+     * Initialize notifications when user logs in.
+     * The requests are sent together; calls made while they are in progress share them.
+     * @return Completes once every initial request has been answered or has failed
      */
-    public void initializeNotifications() {
+    public synchronized CompletableFuture<Void> initializeNotifications() {
+        if (initialization != null && !initialization.isDone()) {
+            return initialization;
+        }
         System.out.println("Initializing notifications for logged-in user...");
         
         // Load initial notifications
-        refreshRecentNotifications();
+        CompletableFuture<Void> recent = refreshRecentNotifications()
+            .exceptionally(ex -> {
+                System.err.println("Failed to load recent notifications: " + ex.getMessage());
+                return null;
+            });
         
         // Get initial unread count
-        getUnreadCountFromServer()
+        CompletableFuture<Void> unread = getUnreadCountFromServer()
             .thenAccept(count -> Platform.runLater(() -> {
                 updateUnreadCount(count);
                 System.out.println("Initial unread count: " + count);
@@ -160,7 +171,7 @@ public class NotificationService {
             });
         
         // Load all notifications for the notification center
-        getNotifications(0, 100)
+        CompletableFuture<Void> all = getNotifications(0, 100)
             .thenAccept(notifications -> {
                 System.out.println("Loaded " + notifications.size() + " total notifications");
             })
@@ -168,6 +179,9 @@ public class NotificationService {
                 System.err.println("Failed to load initial notifications: " + ex.getMessage());
                 return null;
             });
+
+        initialization = CompletableFuture.allOf(recent, unread, all);
+        return initialization;
     }
     
     /**
@@ -0,0 +1,144 @@
+package com.uninaswap.client.service;
+
+import com.uninaswap.client.constants.EventTypes;
+import com.uninaswap.client.mapper.ViewModelMapper;
+import com.uninaswap.client.websocket.WebSocketClient;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+
+/**
+ * Orchestrates client startup so the user waits as little as possible.
+ * The services are created on the launcher thread before the first window is built, the
+ * server connection is opened in the background while the login window is shown, and right
+ * after login the first listings, the favorites and the notifications are requested together
+ * instead of one by one as each screen first asks for them. The time from launch to each
+ * milestone is recorded, and the timeline is printed once everything has loaded.
+ */
+public class StartupService {
+    private static StartupService instance;
+
+    private static final String SERVER_URI = "ws://localhost:8080/ws";
+
+    // Milestones, in the order they are normally reached
+    public static final String SERVICES_READY = "servicesReady";
+    public static final String LOGIN_SHOWN = "loginShown";
+    public static final String CONNECTED = "connected";
+    public static final String LOGGED_IN = "loggedIn";
+    public static final String DASHBOARD_SHOWN = "dashboardShown";
+    public static final String FIRST_LISTINGS_PAINTED = "firstListingsPainted";
+    public static final String FULLY_LOADED = "fullyLoaded";
+
+    private final Instant launchedAt = ProcessHandle.current().info().startInstant().orElse(Instant.now());
+    private final Map<String, Long> timeline = new LinkedHashMap<>();
+    private final WebSocketClient webSocketClient = WebSocketClient.getInstance();
+    private CompletableFuture<Void> connection;
+
+    // Singleton pattern
+    public static synchronized StartupService getInstance() {
+        if (instance == null) {
+            instance = new StartupService();
+        }
+        return instance;
+    }
+
+    private StartupService() {
+        // Private constructor to enforce singleton pattern
+    }
+
+    /**
+     * Create the services and start connecting to the server.
+     * Called from {@code Application.init()}, before the FX thread touches any service; the
+     * services are created lazily and not thread safe, so they must all exist before then.
+     */
+    public void warmUp() {
+        LocaleService.getInstance();
+        UserSessionService.getInstance();
+        ViewModelMapper.getInstance();
+        CategoryService.getInstance();
+        ImageService.getInstance();
+        ListingService.getInstance();
+        FavoritesService.getInstance();
+        NotificationService.getInstance();
+        NavigationService.getInstance();
+        AuthenticationService.getInstance();
+        mark(SERVICES_READY);
+
+        EventBusService.getInstance().subscribe(EventTypes.USER_LOGGED_IN, _ -> loadInitialData());
+
+        // Message handlers are all registered by now, so it is safe to start receiving
+        connect();
+    }
+
+    /**
+     * Connect to the server unless already connected.
+     * A connection attempt in progress is shared; a failed one is retried on the next call.
+     */
+    public synchronized CompletableFuture<Void> connect() {
+        if (webSocketClient.isConnected()) {
+            return CompletableFuture.completedFuture(null);
+        }
+        if (connection == null || connection.isDone()) {
+            connection = CompletableFuture.runAsync(() -> {
+                try {
+                    webSocketClient.connect(SERVER_URI);
+                } catch (Exception e) {
+                    System.err.println("Error connecting to server: " + e.getMessage());
+                    throw new CompletionException(e);
+                }
+                mark(CONNECTED);
+            });
+        }
+        return connection;
+    }
+
+    /**
+     * Request the data the dashboard shows first, all at once, on every login.
+     * The views asking for the same data while it loads share these requests.
+     */
+    private void loadInitialData() {
+        mark(LOGGED_IN);
+
+        CompletableFuture.allOf(
+                ListingService.getInstance().refreshAllListings(),
+                FavoritesService.getInstance().refreshUserFavorites(),
+                NotificationService.getInstance().initializeNotifications())
+                .whenComplete((result, ex) -> {
+                    // Only the first login after launch is part of startup
+                    if (!getTimeline().containsKey(FULLY_LOADED)) {
+                        mark(FULLY_LOADED);
+                        printTimeline();
+                    }
+                });
+    }
+
+    /**
+     * Record the first time a milestone is reached
+     */
+    public void mark(String milestone) {
+        long elapsed = Duration.between(launchedAt, Instant.now()).toMillis();
+        synchronized (timeline) {
+            timeline.putIfAbsent(milestone, elapsed);
+        }
+    }
+
+    /**
+     * Milliseconds from launch to each milestone reached so far
+     */
+    public Map<String, Long> getTimeline() {
+        synchronized (timeline) {
+            return new LinkedHashMap<>(timeline);
+        }
+    }
+
+    private void printTimeline() {
+        StringBuilder report = new StringBuilder("Startup timeline (ms since launch):");
+        getTimeline().forEach((milestone, elapsed) ->
+                report.append(String.format("%n  %-22s %6d", milestone, elapsed)));
+        System.out.println(report);
+    }
+}
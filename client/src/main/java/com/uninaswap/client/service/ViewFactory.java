@@ -0,0 +1,242 @@
+package com.uninaswap.client.service;
+
+import com.uninaswap.client.controller.ListingCardController;
+
+import javafx.fxml.FXMLLoader;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.URL;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Loads FXML views and keeps what can be reused between loads.
+ * The FXML source of each view is read once and kept in memory, and the classes a view
+ * imports and its controller are loaded in the background at startup, so the first visit
+ * to a view does not pay for them. Listing cards, which are built far more often than any
+ * other view, are prepared ahead of time on a background thread and handed out ready to bind.
+ * Every load is timed; see {@link #getLoadStats()}.
+ */
+public class ViewFactory {
+    private static ViewFactory instance;
+
+    public static final String LISTING_CARD_VIEW = "/fxml/ListingCardView.fxml";
+
+    // Views the user is likely to open right after logging in
+    private static final List<String> COMMON_VIEWS = List.of(
+            "/fxml/MainView.fxml",
+            "/fxml/HomeView.fxml",
+            "/fxml/ListingDetailsView.fxml",
+            "/fxml/ProfileView.fxml",
+            "/fxml/InventoryView.fxml",
+            "/fxml/OffersView.fxml",
+            "/fxml/NotificationsView.fxml",
+            "/fxml/ListingCreationView.fxml",
+            LISTING_CARD_VIEW);
+    private static final Pattern IMPORT = Pattern.compile("<\\?import\\s+([\\w.]+)\\s*\\?>");
+    private static final Pattern CONTROLLER = Pattern.compile("fx:controller=\"([\\w.]+)\"");
+    private static final int PREPARED_CARDS = Integer.getInteger("uninaswap.views.prepared-cards", 24);
+    private static final long SLOW_LOAD_NANOS = 100_000_000L;
+
+    private final LocaleService localeService = LocaleService.getInstance();
+    private final Map<String, byte[]> templates = new ConcurrentHashMap<>();
+    private final Map<String, LoadStats> loadStats = new ConcurrentHashMap<>();
+    private final Queue<FXMLLoader> preparedCards = new ConcurrentLinkedQueue<>();
+    private final AtomicBoolean preparingCards = new AtomicBoolean();
+    private final ExecutorService preloader = Executors.newSingleThreadExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "view-preloader");
+        thread.setDaemon(true);
+        thread.setPriority(Thread.MIN_PRIORITY);
+        return thread;
+    });
+
+    // Singleton pattern
+    public static ViewFactory getInstance() {
+        if (instance == null) {
+            instance = new ViewFactory();
+        }
+        return instance;
+    }
+
+    private ViewFactory() {
+        // Private constructor to enforce singleton pattern
+    }
+
+    /**
+     * Load a view whose controller is named in its FXML
+     * @return The loader, holding the view's root and controller
+     */
+    public FXMLLoader load(String fxmlPath) throws IOException {
+        return load(fxmlPath, null);
+    }
+
+    /**
+     * Load a view with the given controller
+     * @param controller The controller, or null to use the one named in the FXML
+     * @return The loader, holding the view's root and controller
+     */
+    public FXMLLoader load(String fxmlPath, Object controller) throws IOException {
+        URL resource = getClass().getResource(fxmlPath);
+        if (resource == null) {
+            throw new IOException("Resource not found: " + fxmlPath);
+        }
+        byte[] template = template(fxmlPath, resource);
+
+        // The location is still set so relative references in the FXML resolve
+        FXMLLoader loader = new FXMLLoader(resource);
+        loader.setResources(localeService.getResourceBundle());
+        if (controller != null) {
+            loader.setController(controller);
+        }
+
+        long started = System.nanoTime();
+        try (InputStream in = new ByteArrayInputStream(template)) {
+            loader.load(in);
+        }
+        recordLoad(fxmlPath, System.nanoTime() - started);
+        return loader;
+    }
+
+    /**
+     * A listing card not yet bound to a listing, prepared in advance when possible
+     * @return The loader, holding the card and its {@link ListingCardController}
+     */
+    public FXMLLoader createListingCard() throws IOException {
+        FXMLLoader prepared = preparedCards.poll();
+        if (preparedCards.size() < PREPARED_CARDS / 2) {
+            prepareListingCards();
+        }
+        return prepared != null ? prepared : load(LISTING_CARD_VIEW, new ListingCardController());
+    }
+
+    /**
+     * Read the common views and load their classes in the background, and start preparing
+     * listing cards. Must be called on the FX thread.
+     */
+    public void preload() {
+        // Card controllers reach for service singletons, which are created lazily and are not
+        // thread safe; building the first card here creates them before the background thread does
+        try {
+            preparedCards.add(load(LISTING_CARD_VIEW, new ListingCardController()));
+        } catch (IOException e) {
+            System.err.println("Failed to prepare listing card: " + e.getMessage());
+            return;
+        }
+
+        preloader.execute(() -> {
+            for (String fxmlPath : COMMON_VIEWS) {
+                URL resource = getClass().getResource(fxmlPath);
+                if (resource == null) {
+                    continue;
+                }
+                try {
+                    loadClasses(template(fxmlPath, resource));
+                } catch (IOException e) {
+                    System.err.println("Failed to preload " + fxmlPath + ": " + e.getMessage());
+                }
+            }
+        });
+        prepareListingCards();
+    }
+
+    /**
+     * Load counts and times per view, keyed by "View.count", "View.totalMillis" and "View.maxMillis"
+     */
+    public Map<String, Long> getLoadStats() {
+        Map<String, Long> result = new TreeMap<>();
+        loadStats.forEach((fxmlPath, stats) -> {
+            String view = viewName(fxmlPath);
+            result.put(view + ".count", stats.count.sum());
+            result.put(view + ".totalMillis", stats.totalNanos.sum() / 1_000_000);
+            result.put(view + ".maxMillis", stats.maxNanos.get() / 1_000_000);
+        });
+        return result;
+    }
+
+    private void prepareListingCards() {
+        if (!preparingCards.compareAndSet(false, true)) {
+            return;
+        }
+        // Nodes may be built off the FX thread as long as they are not yet part of a scene
+        preloader.execute(() -> {
+            try {
+                while (preparedCards.size() < PREPARED_CARDS) {
+                    preparedCards.add(load(LISTING_CARD_VIEW, new ListingCardController()));
+                }
+            } catch (IOException | RuntimeException e) {
+                System.err.println("Failed to prepare listing cards: " + e.getMessage());
+            } finally {
+                preparingCards.set(false);
+            }
+        });
+    }
+
+    private byte[] template(String fxmlPath, URL resource) throws IOException {
+        byte[] template = templates.get(fxmlPath);
+        if (template == null) {
+            try (InputStream in = resource.openStream()) {
+                template = in.readAllBytes();
+            }
+            templates.put(fxmlPath, template);
+        }
+        return template;
+    }
+
+    /**
+     * Load the node classes a view imports and its controller, without initializing them
+     */
+    private void loadClasses(byte[] template) {
+        String source = new String(template, StandardCharsets.UTF_8);
+        ClassLoader classLoader = getClass().getClassLoader();
+        Matcher matcher = IMPORT.matcher(source);
+        while (matcher.find()) {
+            loadClass(matcher.group(1), classLoader);
+        }
+        matcher = CONTROLLER.matcher(source);
+        if (matcher.find()) {
+            loadClass(matcher.group(1), classLoader);
+        }
+    }
+
+    private static void loadClass(String className, ClassLoader classLoader) {
+        try {
+            Class.forName(className, false, classLoader);
+        } catch (ClassNotFoundException | LinkageError e) {
+            // Wildcard or package imports; FXMLLoader resolves those itself
+        }
+    }
+
+    private void recordLoad(String fxmlPath, long elapsedNanos) {
+        LoadStats stats = loadStats.computeIfAbsent(fxmlPath, path -> new LoadStats());
+        stats.count.increment();
+        stats.totalNanos.add(elapsedNanos);
+        stats.maxNanos.accumulateAndGet(elapsedNanos, Math::max);
+        if (elapsedNanos > SLOW_LOAD_NANOS) {
+            System.out.println("Loaded " + viewName(fxmlPath) + " in " + elapsedNanos / 1_000_000 + " ms");
+        }
+    }
+
+    private static String viewName(String fxmlPath) {
+        return fxmlPath.substring(fxmlPath.lastIndexOf('/') + 1, fxmlPath.lastIndexOf('.'));
+    }
+
+    private static class LoadStats {
+        private final LongAdder count = new LongAdder();
+        private final LongAdder totalNanos = new LongAdder();
+        private final AtomicLong maxNanos = new AtomicLong();
+    }
+}
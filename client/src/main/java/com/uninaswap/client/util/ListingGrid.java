@@ -0,0 +1,188 @@
+package com.uninaswap.client.util;
+
+import com.uninaswap.client.controller.ListingCardController;
+import com.uninaswap.client.service.ViewFactory;
+import com.uninaswap.client.viewmodel.ListingViewModel;
+
+import javafx.application.Platform;
+import javafx.collections.ObservableList;
+import javafx.fxml.FXMLLoader;
+import javafx.geometry.Pos;
+import javafx.scene.Node;
+import javafx.scene.control.ListCell;
+import javafx.scene.control.ListView;
+import javafx.scene.layout.HBox;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Grid of listing cards that only builds the cards on screen.
+ * The listings are split into rows as wide as the grid allows, and the rows are shown by a
+ * {@link ListView}, which creates cells for the visible rows only and reuses them while
+ * scrolling. Each cell keeps its cards and rebinds them to the listings of the row it shows,
+ * so scrolling through hundreds of listings costs a screenful of cards.
+ */
+public class ListingGrid extends ListView<List<ListingViewModel>> {
+    private static final double CARD_WIDTH = 240;
+    private static final double CARD_HEIGHT = 360;
+    private static final double GAP = 15;
+    // Left and right padding of the rows plus room for the vertical scroll bar
+    private static final double HORIZONTAL_INSETS = 2 * GAP + 20;
+    // Rows from the end at which more listings are requested
+    private static final int NEAR_END_ROWS = 3;
+
+    private final List<ListingViewModel> listings = new ArrayList<>();
+    private int columns = 1;
+    private Runnable onNearEnd;
+
+    public ListingGrid() {
+        getStyleClass().add("listing-grid");
+        setFixedCellSize(CARD_HEIGHT + GAP);
+        setFocusTraversable(false);
+        setCellFactory(listView -> new ListingRowCell());
+
+        widthProperty().addListener((observable, oldValue, newValue) -> {
+            int fitting = columnsFor(newValue.doubleValue());
+            if (fitting != columns) {
+                columns = fitting;
+                updateRows();
+            }
+        });
+    }
+
+    /**
+     * Show these listings, keeping the rows that did not change
+     */
+    public void setListings(List<ListingViewModel> listings) {
+        this.listings.clear();
+        this.listings.addAll(listings);
+        updateRows();
+    }
+
+    public List<ListingViewModel> getListings() {
+        return List.copyOf(listings);
+    }
+
+    /**
+     * Called when one of the last rows comes into view, to load the next page
+     */
+    public void setOnNearEnd(Runnable onNearEnd) {
+        this.onNearEnd = onNearEnd;
+    }
+
+    private void updateRows() {
+        List<List<ListingViewModel>> rows = new ArrayList<>();
+        for (int i = 0; i < listings.size(); i += columns) {
+            rows.add(List.copyOf(listings.subList(i, Math.min(i + columns, listings.size()))));
+        }
+
+        // Appending a page only touches the last row and adds new ones, so the scroll position stays
+        ObservableList<List<ListingViewModel>> items = getItems();
+        int common = Math.min(rows.size(), items.size());
+        for (int i = 0; i < common; i++) {
+            if (!rows.get(i).equals(items.get(i))) {
+                items.set(i, rows.get(i));
+            }
+        }
+        if (items.size() > rows.size()) {
+            items.remove(rows.size(), items.size());
+        } else if (rows.size() > items.size()) {
+            items.addAll(rows.subList(common, rows.size()));
+        }
+    }
+
+    private static int columnsFor(double width) {
+        return Math.max(1, (int) ((width - HORIZONTAL_INSETS + GAP) / (CARD_WIDTH + GAP)));
+    }
+
+    private class ListingRowCell extends ListCell<List<ListingViewModel>> {
+        private final HBox row = new HBox(GAP);
+        private final List<CardSlot> slots = new ArrayList<>();
+
+        ListingRowCell() {
+            getStyleClass().add("listing-grid-row");
+            row.setAlignment(Pos.CENTER);
+        }
+
+        @Override
+        protected void updateItem(List<ListingViewModel> item, boolean empty) {
+            super.updateItem(item, empty);
+            setText(null);
+
+            if (empty || item == null) {
+                for (CardSlot slot : slots) {
+                    slot.unbind();
+                }
+                setGraphic(null);
+                return;
+            }
+
+            while (slots.size() < item.size()) {
+                CardSlot slot = CardSlot.create();
+                if (slot == null) {
+                    break;
+                }
+                slots.add(slot);
+                row.getChildren().add(slot.card);
+            }
+            for (int i = 0; i < slots.size(); i++) {
+                if (i < item.size()) {
+                    slots.get(i).bind(item.get(i));
+                } else {
+                    slots.get(i).unbind();
+                }
+            }
+            setGraphic(row);
+
+            if (onNearEnd != null && getIndex() >= getListView().getItems().size() - NEAR_END_ROWS) {
+                // Not during layout; loading more changes the scene graph
+                Platform.runLater(onNearEnd);
+            }
+        }
+    }
+
+    /**
+     * One card of a row, loaded once and rebound to whichever listing the row shows
+     */
+    private static class CardSlot {
+        private final Node card;
+        private final ListingCardController controller;
+        private ListingViewModel listing;
+
+        private CardSlot(Node card, ListingCardController controller) {
+            this.card = card;
+            this.controller = controller;
+        }
+
+        static CardSlot create() {
+            try {
+                FXMLLoader loader = ViewFactory.getInstance().createListingCard();
+                return new CardSlot(loader.getRoot(), loader.getController());
+            } catch (IOException e) {
+                System.err.println("Error creating listing card: " + e.getMessage());
+                return null;
+            }
+        }
+
+        void bind(ListingViewModel listing) {
+            // Unmanaged while unused, so a short last row stays centered
+            card.setVisible(true);
+            card.setManaged(true);
+            if (this.listing != listing) {
+                this.listing = listing;
+                controller.setListing(listing);
+            }
+        }
+
+        void unbind() {
+            card.setVisible(false);
+            card.setManaged(false);
+            if (listing != null) {
+                listing = null;
+                controller.cancelImageLoad();
+            }
+        }
+    }
+}
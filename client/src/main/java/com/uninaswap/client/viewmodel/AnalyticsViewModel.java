@@ -4,6 +4,7 @@ import javafx.beans.property.*;
 import javafx.collections.FXCollections;
 import javafx.collections.ObservableList;
 import java.time.LocalDateTime;
+import java.util.Map;
 
 public class AnalyticsViewModel {
     
@@ -29,6 +30,9 @@ public class AnalyticsViewModel {
     private final DoubleProperty repeatCustomerRate = new SimpleDoubleProperty();
     private final DoubleProperty ratingTrend = new SimpleDoubleProperty();
     
+    // Platform Comparison (only set by a performance comparison)
+    private final ObjectProperty<PlatformComparison> platformComparison = new SimpleObjectProperty<>();
+    
     // Chart Data
     private final ObservableList<TimeSeriesData> listingStats = FXCollections.observableArrayList();
     private final ObservableList<TimeSeriesData> offerStats = FXCollections.observableArrayList();
@@ -57,6 +61,7 @@ public class AnalyticsViewModel {
     public DoubleProperty customerSatisfactionRateProperty() { return customerSatisfactionRate; }
     public DoubleProperty repeatCustomerRateProperty() { return repeatCustomerRate; }
     public DoubleProperty ratingTrendProperty() { return ratingTrend; }
+    public ObjectProperty<PlatformComparison> platformComparisonProperty() { return platformComparison; }
     
     // Value getters and setters
     public int getTotalListings() { return totalListings.get(); }
@@ -113,6 +118,9 @@ public class AnalyticsViewModel {
     public double getRatingTrend() { return ratingTrend.get(); }
     public void setRatingTrend(double ratingTrend) { this.ratingTrend.set(ratingTrend); }
     
+    public PlatformComparison getPlatformComparison() { return platformComparison.get(); }
+    public void setPlatformComparison(PlatformComparison platformComparison) { this.platformComparison.set(platformComparison); }
+    
     // Observable lists getters
     public ObservableList<TimeSeriesData> getListingStats() { return listingStats; }
     public ObservableList<TimeSeriesData> getOfferStats() { return offerStats; }
@@ -193,4 +201,50 @@ public class AnalyticsViewModel {
             return String.format("%02d/%d", month, year);
         }
     }
+    
+    public static class Distribution {
+        private final double average;
+        private final double median;
+        private final double p90;
+        
+        public Distribution(double average, double median, double p90) {
+            this.average = average;
+            this.median = median;
+            this.p90 = p90;
+        }
+        
+        public double getAverage() { return average; }
+        public double getMedian() { return median; }
+        public double getP90() { return p90; }
+    }
+    
+    public static class PlatformComparison {
+        private final LocalDateTime computedAt;
+        private final long activeUsers;
+        private final Distribution listingSuccessRate;
+        private final Distribution offerAcceptanceRate;
+        private final Distribution customerSatisfactionRate;
+        private final double averageRating;
+        private final Map<Integer, Long> ratingDistribution;
+        
+        public PlatformComparison(LocalDateTime computedAt, long activeUsers, Distribution listingSuccessRate,
+                                  Distribution offerAcceptanceRate, Distribution customerSatisfactionRate,
+                                  double averageRating, Map<Integer, Long> ratingDistribution) {
+            this.computedAt = computedAt;
+            this.activeUsers = activeUsers;
+            this.listingSuccessRate = listingSuccessRate;
+            this.offerAcceptanceRate = offerAcceptanceRate;
+            this.customerSatisfactionRate = customerSatisfactionRate;
+            this.averageRating = averageRating;
+            this.ratingDistribution = ratingDistribution;
+        }
+        
+        public LocalDateTime getComputedAt() { return computedAt; }
+        public long getActiveUsers() { return activeUsers; }
+        public Distribution getListingSuccessRate() { return listingSuccessRate; }
+        public Distribution getOfferAcceptanceRate() { return offerAcceptanceRate; }
+        public Distribution getCustomerSatisfactionRate() { return customerSatisfactionRate; }
+        public double getAverageRating() { return averageRating; }
+        public Map<Integer, Long> getRatingDistribution() { return ratingDistribution; }
+    }
 }
\ No newline at end of file
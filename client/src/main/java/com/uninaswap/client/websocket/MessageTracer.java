@@ -0,0 +1,98 @@
+package com.uninaswap.client.websocket;
+
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * Records WebSocket traffic without printing every frame.
+ * Frames and characters are counted per direction and message type. A sampled fraction of
+ * frames is logged at FINE on this class's java.util.logging logger with type and size only;
+ * bodies are added when the {@code uninaswap.trace.bodies} system property is true.
+ * The sample rate comes from {@code uninaswap.trace.sample-rate} (default 0.01).
+ * The counts are logged at FINE every {@code uninaswap.trace.summary-interval} seconds
+ * (default 60) while there is new traffic, and when the connection closes.
+ */
+public class MessageTracer {
+    private static final Logger LOGGER = Logger.getLogger(MessageTracer.class.getName());
+    private static final int MAX_BODY_CHARS = 2000;
+
+    private final double sampleRate = Double.parseDouble(System.getProperty("uninaswap.trace.sample-rate", "0.01"));
+    private final boolean logBodies = Boolean.getBoolean("uninaswap.trace.bodies");
+    private final long summaryInterval = Long.getLong("uninaswap.trace.summary-interval", 60);
+    private final Map<String, Traffic> traffic = new ConcurrentHashMap<>();
+    private final LongAdder totalFrames = new LongAdder();
+    private volatile long framesAtLastSummary;
+
+    public MessageTracer() {
+        ScheduledExecutorService summaries = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "message-trace-summary");
+            thread.setDaemon(true);
+            return thread;
+        });
+        summaries.scheduleAtFixedRate(this::logSummary, summaryInterval, summaryInterval, TimeUnit.SECONDS);
+    }
+
+    public void inbound(String messageType, String payload) {
+        record("in", messageType, payload);
+    }
+
+    public void outbound(String messageType, String payload) {
+        record("out", messageType, payload);
+    }
+
+    /**
+     * Frame and character counts so far, keyed by "direction:type"
+     */
+    public Map<String, String> snapshot() {
+        Map<String, String> result = new TreeMap<>();
+        traffic.forEach((key, counts) -> result.put(key,
+                counts.frames.sum() + " frames, " + counts.characters.sum() + " chars"));
+        return result;
+    }
+
+    /**
+     * Log the counts so far at FINE, unless nothing was sent or received since the last summary
+     */
+    public void logSummary() {
+        long frames = totalFrames.sum();
+        if (!LOGGER.isLoggable(Level.FINE) || frames == framesAtLastSummary) {
+            return;
+        }
+        framesAtLastSummary = frames;
+        LOGGER.fine("traffic " + snapshot());
+    }
+
+    private void record(String direction, String messageType, String payload) {
+        String type = messageType != null ? messageType : "unknown";
+        Traffic counts = traffic.computeIfAbsent(direction + ":" + type, key -> new Traffic());
+        counts.frames.increment();
+        counts.characters.add(payload.length());
+        totalFrames.increment();
+
+        if (!LOGGER.isLoggable(Level.FINE) || ThreadLocalRandom.current().nextDouble() >= sampleRate) {
+            return;
+        }
+        if (logBodies) {
+            LOGGER.fine(direction + " type=" + type + " chars=" + payload.length() + " body=" + abbreviate(payload));
+        } else {
+            LOGGER.fine(direction + " type=" + type + " chars=" + payload.length());
+        }
+    }
+
+    private static String abbreviate(String payload) {
+        return payload.length() <= MAX_BODY_CHARS ? payload : payload.substring(0, MAX_BODY_CHARS) + "...";
+    }
+
+    private static class Traffic {
+        private final LongAdder frames = new LongAdder();
+        private final LongAdder characters = new LongAdder();
+    }
+}
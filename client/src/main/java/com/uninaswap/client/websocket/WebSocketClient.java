@@ -1,9 +1,9 @@
 package com.uninaswap.client.websocket;
 
 import java.net.URI;
-import java.util.HashMap;
 import java.util.Map;
 import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.function.Consumer;
 
 import jakarta.websocket.*;
@@ -26,11 +26,12 @@ public class WebSocketClient {
     private WebSocketClient() {}
 
     private Session session;
+    private final MessageTracer messageTracer = new MessageTracer();
     private final ObjectMapper objectMapper = new ObjectMapper().registerModule(new JavaTimeModule())
             .configure(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES, false);
 
-    // Map of message handlers for different message types
-    private final Map<Class<? extends Message>, Consumer<Message>> messageHandlers = new HashMap<>();
+    // Map of message handlers for different message types; read on the connection's thread
+    private final Map<Class<? extends Message>, Consumer<Message>> messageHandlers = new ConcurrentHashMap<>();
 
     public void connect(String uri) throws Exception {
         WebSocketContainer container = ContainerProvider.getWebSocketContainer();
@@ -53,6 +54,7 @@ public class WebSocketClient {
     public void onClose(Session session, CloseReason closeReason) {
         System.out.println("Connection closed: " + closeReason.getReasonPhrase());
         this.session = null;
+        messageTracer.logSummary();
     }
 
     @OnMessage
@@ -61,9 +63,7 @@ public class WebSocketClient {
 
             // Deserialize to the base Message type
             Message baseMessage = objectMapper.readValue(message, Message.class);
-            if (!baseMessage.getMessageType().equals("image"))
-                System.out.println("CLIENT RECEIVED: " + message);
-            System.out.println(baseMessage.getMessageType());
+            messageTracer.inbound(baseMessage.getMessageType(), message);
             // Find the appropriate handler based on the actual message type
             Consumer<Message> handler = messageHandlers.get(baseMessage.getClass());
 
@@ -74,7 +74,8 @@ public class WebSocketClient {
                         "WARNING: No handler registered for message type: " + baseMessage.getClass().getName());
             }
         } catch (Exception e) {
-            System.out.println("ERROR parsing message: " + message);
+            messageTracer.inbound(null, message);
+            System.out.println("ERROR parsing message (" + message.length() + " chars): " + e.getMessage());
             e.printStackTrace();
         }
     }
@@ -91,11 +92,10 @@ public class WebSocketClient {
 
             if (session != null && session.isOpen()) {
                 String jsonMessage = objectMapper.writeValueAsString(message);
-                System.out.println("SENDING: " + jsonMessage);
+                messageTracer.outbound(message.getMessageType(), jsonMessage);
 
                 session.getAsyncRemote().sendText(jsonMessage, result -> {
                     if (result.isOK()) {
-                        System.out.println("Message sent successfully");
                         future.complete(null);
                     } else {
                         System.out.println("Failed to send message: " + result.getException().getMessage());
@@ -125,6 +125,10 @@ public class WebSocketClient {
         messageHandlers.put(messageType, message -> handler.accept((T) message));
     }
 
+    public MessageTracer getMessageTracer() {
+        return messageTracer;
+    }
+
     public boolean isConnected() {
         return session != null && session.isOpen();
     }
@@ -2,6 +2,7 @@ package com.uninaswap.common.dto;
 
 import java.time.LocalDateTime;
 import java.util.List;
+import java.util.Map;
 
 public class AnalyticsDTO {
     
@@ -17,6 +18,9 @@ public class AnalyticsDTO {
     // Performance Metrics
     private PerformanceMetricsDTO performanceMetrics;
     
+    // Platform-wide figures, only in performance comparison responses
+    private PlatformComparisonDTO platformComparison;
+    
     // Constructors
     public AnalyticsDTO() {}
     
@@ -45,6 +49,9 @@ public class AnalyticsDTO {
     public PerformanceMetricsDTO getPerformanceMetrics() { return performanceMetrics; }
     public void setPerformanceMetrics(PerformanceMetricsDTO performanceMetrics) { this.performanceMetrics = performanceMetrics; }
     
+    public PlatformComparisonDTO getPlatformComparison() { return platformComparison; }
+    public void setPlatformComparison(PlatformComparisonDTO platformComparison) { this.platformComparison = platformComparison; }
+    
     // Inner classes for specific analytics data
     public static class UserStatsDTO {
         private int totalListings;
@@ -209,4 +216,64 @@ public class AnalyticsDTO {
         public double getRatingTrend() { return ratingTrend; }
         public void setRatingTrend(double ratingTrend) { this.ratingTrend = ratingTrend; }
     }
+    
+    /**
+     * The users active in the period, for comparing a user's own figures with theirs.
+     * Rates are percentages taken over each user's whole period.
+     */
+    public static class PlatformComparisonDTO {
+        private LocalDateTime computedAt;
+        private long activeUsers;
+        private DistributionDTO listingSuccessRate;
+        private DistributionDTO offerAcceptanceRate;
+        private DistributionDTO customerSatisfactionRate;
+        private double averageRating;
+        private Map<Integer, Long> ratingDistribution; // stars -> number of reviews
+        
+        public PlatformComparisonDTO() {}
+        
+        public LocalDateTime getComputedAt() { return computedAt; }
+        public void setComputedAt(LocalDateTime computedAt) { this.computedAt = computedAt; }
+        
+        public long getActiveUsers() { return activeUsers; }
+        public void setActiveUsers(long activeUsers) { this.activeUsers = activeUsers; }
+        
+        public DistributionDTO getListingSuccessRate() { return listingSuccessRate; }
+        public void setListingSuccessRate(DistributionDTO listingSuccessRate) { this.listingSuccessRate = listingSuccessRate; }
+        
+        public DistributionDTO getOfferAcceptanceRate() { return offerAcceptanceRate; }
+        public void setOfferAcceptanceRate(DistributionDTO offerAcceptanceRate) { this.offerAcceptanceRate = offerAcceptanceRate; }
+        
+        public DistributionDTO getCustomerSatisfactionRate() { return customerSatisfactionRate; }
+        public void setCustomerSatisfactionRate(DistributionDTO customerSatisfactionRate) { this.customerSatisfactionRate = customerSatisfactionRate; }
+        
+        public double getAverageRating() { return averageRating; }
+        public void setAverageRating(double averageRating) { this.averageRating = averageRating; }
+        
+        public Map<Integer, Long> getRatingDistribution() { return ratingDistribution; }
+        public void setRatingDistribution(Map<Integer, Long> ratingDistribution) { this.ratingDistribution = ratingDistribution; }
+    }
+    
+    public static class DistributionDTO {
+        private double average;
+        private double median;
+        private double p90;
+        
+        public DistributionDTO() {}
+        
+        public DistributionDTO(double average, double median, double p90) {
+            this.average = average;
+            this.median = median;
+            this.p90 = p90;
+        }
+        
+        public double getAverage() { return average; }
+        public void setAverage(double average) { this.average = average; }
+        
+        public double getMedian() { return median; }
+        public void setMedian(double median) { this.median = median; }
+        
+        public double getP90() { return p90; }
+        public void setP90(double p90) { this.p90 = p90; }
+    }
 }
\ No newline at end of file
@@ -0,0 +1,39 @@
+package com.uninaswap.common.enums;
+
+/**
+ * Downscaled renditions the server keeps for every uploaded image.
+ * The longest side of a variant is at most {@link #getMaxDimension()} pixels.
+ */
+public enum ImageSize {
+    THUMBNAIL("thumbnail", 160),
+    CARD("card", 480),
+    DETAIL("detail", 1280);
+
+    private final String parameter;
+    private final int maxDimension;
+
+    ImageSize(String parameter, int maxDimension) {
+        this.parameter = parameter;
+        this.maxDimension = maxDimension;
+    }
+
+    /**
+     * The value of the {@code size} query parameter that selects this variant
+     */
+    public String getParameter() {
+        return parameter;
+    }
+
+    public int getMaxDimension() {
+        return maxDimension;
+    }
+
+    public static ImageSize fromParameter(String parameter) {
+        for (ImageSize size : values()) {
+            if (size.parameter.equalsIgnoreCase(parameter)) {
+                return size;
+            }
+        }
+        throw new IllegalArgumentException("Unknown image size: " + parameter);
+    }
+}
@@ -36,6 +36,12 @@ public class ListingMessage extends Message {
     private long totalElements;
     private int totalPages;
 
+    // For keyset (cursor) pagination: the request carries the cursor of the last page,
+    // the response the cursor to continue from
+    private String cursor;
+    private String nextCursor;
+    private boolean hasMore;
+
     // Default constructor
     public ListingMessage() {
         setMessageType("listing");
@@ -129,4 +135,28 @@ public class ListingMessage extends Message {
     public void setTotalPages(int totalPages) {
         this.totalPages = totalPages;
     }
+
+    public String getCursor() {
+        return cursor;
+    }
+
+    public void setCursor(String cursor) {
+        this.cursor = cursor;
+    }
+
+    public String getNextCursor() {
+        return nextCursor;
+    }
+
+    public void setNextCursor(String nextCursor) {
+        this.nextCursor = nextCursor;
+    }
+
+    public boolean isHasMore() {
+        return hasMore;
+    }
+
+    public void setHasMore(boolean hasMore) {
+        this.hasMore = hasMore;
+    }
 }
\ No newline at end of file
@@ -2,7 +2,9 @@ package com.uninaswap.common.message;
 
 import com.uninaswap.common.dto.ListingDTO;
 import com.uninaswap.common.enums.Category;
+import com.uninaswap.common.enums.ItemCondition;
 
+import java.math.BigDecimal;
 import java.util.List;
 
 public class SearchMessage extends Message {
@@ -16,8 +18,14 @@ public class SearchMessage extends Message {
     private String query;
     private String listingType;
     private Category category;
+    private BigDecimal minPrice;
+    private BigDecimal maxPrice;
+    private ItemCondition condition;
+    private Long creatorId;
     private int page = 0;
     private int size = 50;
+    private String cursor;
+    private String nextCursor;
     private List<ListingDTO> results;
     private long totalElements;
     private int totalPages;
@@ -42,12 +50,30 @@ public class SearchMessage extends Message {
     public Category getCategory() { return category; }
     public void setCategory(Category category) { this.category = category; }
     
+    public BigDecimal getMinPrice() { return minPrice; }
+    public void setMinPrice(BigDecimal minPrice) { this.minPrice = minPrice; }
+    
+    public BigDecimal getMaxPrice() { return maxPrice; }
+    public void setMaxPrice(BigDecimal maxPrice) { this.maxPrice = maxPrice; }
+    
+    public ItemCondition getCondition() { return condition; }
+    public void setCondition(ItemCondition condition) { this.condition = condition; }
+    
+    public Long getCreatorId() { return creatorId; }
+    public void setCreatorId(Long creatorId) { this.creatorId = creatorId; }
+    
     public int getPage() { return page; }
     public void setPage(int page) { this.page = page; }
     
     public int getSize() { return size; }
     public void setSize(int size) { this.size = size; }
     
+    public String getCursor() { return cursor; }
+    public void setCursor(String cursor) { this.cursor = cursor; }
+    
+    public String getNextCursor() { return nextCursor; }
+    public void setNextCursor(String nextCursor) { this.nextCursor = nextCursor; }
+    
     public List<ListingDTO> getResults() { return results; }
     public void setResults(List<ListingDTO> results) { this.results = results; }
     
@@ -67,8 +93,13 @@ public class SearchMessage extends Message {
                 ", query='" + query + '\'' +
                 ", listingType='" + listingType + '\'' +
                 ", category=" + category +
+                ", minPrice=" + minPrice +
+                ", maxPrice=" + maxPrice +
+                ", condition=" + condition +
+                ", creatorId=" + creatorId +
                 ", page=" + page +
                 ", size=" + size +
+                ", cursor='" + cursor + '\'' +
                 ", totalElements=" + totalElements +
                 ", totalPages=" + totalPages +
                 ", hasMore=" + hasMore +
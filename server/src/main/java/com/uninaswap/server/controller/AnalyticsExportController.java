@@ -0,0 +1,84 @@
+package com.uninaswap.server.controller;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.ContentDisposition;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+
+import com.uninaswap.server.service.AnalyticsExportService;
+import com.uninaswap.server.service.AuthenticatedUser;
+import com.uninaswap.server.service.SessionService;
+
+@RestController
+@RequestMapping("/api/analytics/export")
+public class AnalyticsExportController {
+
+    private static final Logger logger = LoggerFactory.getLogger(AnalyticsExportController.class);
+    private static final MediaType TEXT_CSV = new MediaType("text", "csv", StandardCharsets.UTF_8);
+    private static final String BEARER_PREFIX = "Bearer ";
+
+    private final AnalyticsExportService analyticsExportService;
+    private final SessionService sessionService;
+
+    @Autowired
+    public AnalyticsExportController(AnalyticsExportService analyticsExportService, SessionService sessionService) {
+        this.analyticsExportService = analyticsExportService;
+        this.sessionService = sessionService;
+    }
+
+    /**
+     * Streams the authenticated user's analytics for a period as CSV, written while it is read
+     * from the database. {@code daily} has a row per day with activity; {@code transactions} has
+     * a row per offer the user made or received. The user is identified by the token they
+     * logged in with, sent as {@code Authorization: Bearer <token>}.
+     */
+    @GetMapping(value = "/{kind}", produces = "text/csv")
+    public ResponseEntity<StreamingResponseBody> export(@PathVariable String kind,
+            @RequestParam(defaultValue = "month") String period,
+            @RequestHeader(value = HttpHeaders.AUTHORIZATION, required = false) String authorization) {
+        AuthenticatedUser user = authorization != null && authorization.startsWith(BEARER_PREFIX)
+                ? sessionService.validateToken(authorization.substring(BEARER_PREFIX.length()))
+                : null;
+        if (user == null) {
+            return ResponseEntity.status(HttpStatus.UNAUTHORIZED).build();
+        }
+        if (!kind.equals("daily") && !kind.equals("transactions")) {
+            return ResponseEntity.notFound().build();
+        }
+
+        StreamingResponseBody body = outputStream -> {
+            Writer out = new BufferedWriter(new OutputStreamWriter(outputStream, StandardCharsets.UTF_8));
+            long rows;
+            try {
+                rows = kind.equals("daily")
+                        ? analyticsExportService.writeDailyCsv(user.getId(), period, out)
+                        : analyticsExportService.writeTransactionsCsv(user.getId(), period, out);
+                out.flush();
+            } catch (IOException | RuntimeException e) {
+                // The 200 and part of the file are already sent. Rethrowing makes the container close
+                // the connection without ending the chunked body, so the client gets an error, not a short file
+                logger.warn("Export of {} analytics for user {} failed partway", kind, user.getUsername(), e);
+                throw e;
+            }
+            logger.info("Exported {} {} analytics rows for user {}", rows, kind, user.getUsername());
+        };
+        String filename = "uninaswap-" + kind + "-" + period.toLowerCase() + "-" + LocalDate.now() + ".csv";
+        return ResponseEntity.ok()
+                .contentType(TEXT_CSV)
+                .header(HttpHeaders.CONTENT_DISPOSITION, ContentDisposition.attachment().filename(filename).build().toString())
+                .body(body);
+    }
+}
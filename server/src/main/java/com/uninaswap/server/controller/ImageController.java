@@ -1,30 +1,50 @@
 package com.uninaswap.server.controller;
 
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.core.io.FileSystemResource;
+import org.springframework.core.io.Resource;
+import org.springframework.http.CacheControl;
+import org.springframework.http.MediaType;
+import org.springframework.http.MediaTypeFactory;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 import org.springframework.web.multipart.MultipartFile;
-import java.util.UUID;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.List;
+import java.util.Optional;
+
+import com.uninaswap.common.enums.ImageSize;
 import com.uninaswap.server.service.ImageService;
+import com.uninaswap.server.service.ImageVariantService;
 
 @RestController
 @RequestMapping("/api/images")
 public class ImageController {
 
+    // An image name is derived from its content and always refers to the same bytes, so clients may keep it for a long time
+    private static final CacheControl IMAGE_CACHE_CONTROL = CacheControl.maxAge(Duration.ofDays(30)).cachePublic();
+
+    // Enough for a page of listing cards
+    private static final int MAX_BATCH_SIZE = 100;
+
     private final ImageService imageService;
+    private final ImageVariantService imageVariantService;
 
     @Autowired
-    public ImageController(ImageService imageService) {
+    public ImageController(ImageService imageService, ImageVariantService imageVariantService) {
         this.imageService = imageService;
+        this.imageVariantService = imageVariantService;
     }
 
     @PostMapping("/upload")
     public ResponseEntity<String> uploadImage(@RequestParam("file") MultipartFile file) {
         try {
-            // Generate a unique ID for the image
-            String imageId = UUID.randomUUID().toString();
-            
             // Get file extension
             String originalFilename = file.getOriginalFilename();
             if (originalFilename == null || !originalFilename.contains(".")) {
@@ -32,20 +52,117 @@ public class ImageController {
             }
             String extension = originalFilename.substring(originalFilename.lastIndexOf(".") + 1);
             
-            // Save the file
-            imageService.saveImageFile(imageId, extension, file.getBytes());
+            // Part.write renames the container's spooled file into the store when both are on the same
+            // file system and copies it otherwise; the file is then read once to hash it and moved into
+            // place under that hash. A repeated upload reuses the stored one.
+            // An absolute File, since a relative name is resolved against the multipart location.
+            String filename;
+            Path upload = imageService.createUploadFile();
+            try {
+                file.transferTo(upload.toAbsolutePath().toFile());
+                filename = imageService.storeImageFile(upload, extension);
+            } finally {
+                Files.deleteIfExists(upload);
+            }
+            // Only the header is read here; a rejected file is left unreferenced for the garbage collector
+            imageVariantService.checkDimensions(filename);
+            // Written in the background, the response does not wait for them
+            imageVariantService.generateVariants(filename);
             
             // Update the user's profile image path
             /*UserEntity user = userRepository.findByUsername(username)
                 .orElseThrow(() -> new RuntimeException("User not found"));
             
-            user.setProfileImagePath(imageId + "." + extension);
+            user.setProfileImagePath(filename);
             userRepository.save(user);*/
             
-            return ResponseEntity.ok(imageId + "." + extension);
+            return ResponseEntity.ok(filename);
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body(e.getMessage());
         } catch (Exception e) {
             e.printStackTrace();
             return ResponseEntity.status(500).body("Failed to upload image: " + e.getMessage());
         }
     }
-}
\ No newline at end of file
+
+    /**
+     * Streams a stored image file. The body is copied from disk in chunks rather than loaded
+     * into memory, and ETag/Last-Modified let clients revalidate with a 304; Range requests are
+     * served too.
+     * With a {@code size} parameter (thumbnail, card or detail) the downscaled variant is served instead.
+     */
+    @GetMapping("/{filename:.+}")
+    public ResponseEntity<Resource> getImage(@PathVariable String filename,
+            @RequestParam(required = false) String size) throws IOException {
+        ImageSize imageSize;
+        try {
+            imageSize = size != null ? ImageSize.fromParameter(size) : null;
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().build();
+        }
+        Optional<Path> imageFile = resolveImage(filename, imageSize);
+        if (imageFile.isEmpty()) {
+            return ResponseEntity.notFound().build();
+        }
+
+        Path path = imageFile.get();
+        long lastModified = Files.getLastModifiedTime(path).toMillis();
+        long length = Files.size(path);
+        // The stored name identifies the content; the timestamp changes when a repeated upload is deduplicated
+        String etag = "\"" + path.getFileName() + "-" + Long.toHexString(length) + "\"";
+        MediaType contentType = MediaTypeFactory.getMediaType(path.getFileName().toString()).orElse(MediaType.APPLICATION_OCTET_STREAM);
+
+        // Conditional GETs are answered with 304 by Spring from these headers
+        return ResponseEntity.ok()
+                .eTag(etag)
+                .lastModified(lastModified)
+                .cacheControl(IMAGE_CACHE_CONTROL)
+                .contentType(contentType)
+                .contentLength(length)
+                .body(new FileSystemResource(path));
+    }
+
+    /**
+     * Sends several images in one response, so a page of listing cards needs a single round trip.
+     * The request body is a JSON array of image names. Each image is written as soon as it is
+     * ready, in request order, framed as the name (modified UTF-8 with a 2-byte length, as
+     * {@link DataOutputStream#writeUTF}), an 8-byte length, then the bytes. A length of -1
+     * means the image does not exist.
+     */
+    @PostMapping(value = "/batch", produces = MediaType.APPLICATION_OCTET_STREAM_VALUE)
+    public ResponseEntity<StreamingResponseBody> getImages(@RequestBody List<String> filenames,
+            @RequestParam(required = false) String size) {
+        if (filenames.size() > MAX_BATCH_SIZE) {
+            return ResponseEntity.badRequest().build();
+        }
+        ImageSize imageSize;
+        try {
+            imageSize = size != null ? ImageSize.fromParameter(size) : null;
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().build();
+        }
+
+        StreamingResponseBody body = outputStream -> {
+            DataOutputStream out = new DataOutputStream(outputStream);
+            for (String filename : filenames) {
+                Optional<Path> imageFile = resolveImage(filename, imageSize);
+                out.writeUTF(filename);
+                if (imageFile.isEmpty()) {
+                    out.writeLong(-1);
+                } else {
+                    out.writeLong(Files.size(imageFile.get()));
+                    Files.copy(imageFile.get(), out);
+                }
+                // Let the client decode this image while the next one is read
+                out.flush();
+            }
+        };
+        return ResponseEntity.ok()
+                .contentType(MediaType.APPLICATION_OCTET_STREAM)
+                .body(body);
+    }
+
+    private Optional<Path> resolveImage(String filename, ImageSize size) throws IOException {
+        return size != null ? imageVariantService.findVariant(filename, size) : imageService.findImageFile(filename);
+    }
+}
@@ -0,0 +1,21 @@
+package com.uninaswap.server.controller;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.ExceptionHandler;
+import org.springframework.web.bind.annotation.RestControllerAdvice;
+import org.springframework.web.multipart.MaxUploadSizeExceededException;
+
+/**
+ * Answers uploads beyond spring.servlet.multipart.max-file-size. The limit is enforced while
+ * the multipart request is parsed, before any controller is chosen, so it is handled here
+ * rather than in {@link ImageController}.
+ */
+@RestControllerAdvice
+public class UploadExceptionHandler {
+
+    @ExceptionHandler(MaxUploadSizeExceededException.class)
+    public ResponseEntity<String> handleUploadTooLarge(MaxUploadSizeExceededException e) {
+        return ResponseEntity.status(HttpStatus.PAYLOAD_TOO_LARGE).body("Image is too large");
+    }
+}
@@ -0,0 +1,87 @@
+package com.uninaswap.server.entity;
+
+import jakarta.persistence.*;
+import java.time.LocalDateTime;
+
+/**
+ * Entity representing an issued authentication token.
+ * Only a SHA-256 hash of the token is stored, never the token itself.
+ */
+@Entity
+@Table(name = "auth_tokens", indexes = {
+        @Index(name = "idx_auth_tokens_user", columnList = "user_id"),
+        @Index(name = "idx_auth_tokens_expires", columnList = "expiresAt")
+})
+public class AuthTokenEntity {
+
+    @Id
+    @Column(name = "token_hash", length = 64)
+    private String tokenHash;
+
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "user_id", nullable = false)
+    private UserEntity user;
+
+    @Column(nullable = false, updatable = false)
+    private LocalDateTime createdAt;
+
+    @Column(nullable = false)
+    private LocalDateTime lastUsedAt;
+
+    @Column(nullable = false)
+    private LocalDateTime expiresAt;
+
+    // Default constructor
+    public AuthTokenEntity() {
+    }
+
+    // Constructor
+    public AuthTokenEntity(String tokenHash, UserEntity user, LocalDateTime createdAt, LocalDateTime expiresAt) {
+        this.tokenHash = tokenHash;
+        this.user = user;
+        this.createdAt = createdAt;
+        this.lastUsedAt = createdAt;
+        this.expiresAt = expiresAt;
+    }
+
+    // Getters and setters
+    public String getTokenHash() {
+        return tokenHash;
+    }
+
+    public void setTokenHash(String tokenHash) {
+        this.tokenHash = tokenHash;
+    }
+
+    public UserEntity getUser() {
+        return user;
+    }
+
+    public void setUser(UserEntity user) {
+        this.user = user;
+    }
+
+    public LocalDateTime getCreatedAt() {
+        return createdAt;
+    }
+
+    public void setCreatedAt(LocalDateTime createdAt) {
+        this.createdAt = createdAt;
+    }
+
+    public LocalDateTime getLastUsedAt() {
+        return lastUsedAt;
+    }
+
+    public void setLastUsedAt(LocalDateTime lastUsedAt) {
+        this.lastUsedAt = lastUsedAt;
+    }
+
+    public LocalDateTime getExpiresAt() {
+        return expiresAt;
+    }
+
+    public void setExpiresAt(LocalDateTime expiresAt) {
+        this.expiresAt = expiresAt;
+    }
+}
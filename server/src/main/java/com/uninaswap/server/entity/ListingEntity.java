@@ -13,7 +13,10 @@ import com.uninaswap.common.enums.ListingStatus;
  * Abstract base class for all types of listings in the UninaSwap platform
  */
 @Entity
-@Table(name = "listings")
+@Table(name = "listings", indexes = {
+        // Supports the newest-first feed and its keyset pagination
+        @Index(name = "idx_listings_status_created_id", columnList = "status, createdAt, id")
+})
 @Inheritance(strategy = InheritanceType.JOINED)
 @DiscriminatorColumn(name = "listing_type")
 public abstract class ListingEntity {
@@ -0,0 +1,183 @@
+package com.uninaswap.server.entity;
+
+import jakarta.persistence.*;
+import java.math.BigDecimal;
+import java.time.LocalDate;
+
+/**
+ * Entity holding one user's analytics counters for one calendar day.
+ * Listings, offers and reviews are counted on the day they were created, in the status they
+ * have now, so the counters are moved between columns when the status changes. Kept up to
+ * date by {@link com.uninaswap.server.service.AnalyticsRollupService}.
+ */
+@Entity
+@Table(name = "user_daily_stats", uniqueConstraints = {
+        @UniqueConstraint(columnNames = { "user_id", "stats_date" })
+})
+public class UserDailyStatsEntity {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(name = "user_id", nullable = false)
+    private Long userId;
+
+    @Column(name = "stats_date", nullable = false)
+    private LocalDate statsDate;
+
+    // Listings created, and how many of them are active or completed
+    @Column(nullable = false)
+    private long listingsCreated;
+
+    @Column(nullable = false)
+    private long listingsActive;
+
+    @Column(nullable = false)
+    private long listingsCompleted;
+
+    // Offers the user made, and how many of them are accepted
+    @Column(nullable = false)
+    private long offersMade;
+
+    @Column(nullable = false)
+    private long offersMadeAccepted;
+
+    // Offers made on the user's listings, and how many of them are accepted
+    @Column(nullable = false)
+    private long offersReceived;
+
+    @Column(nullable = false)
+    private long offersReceivedAccepted;
+
+    // Reviews the user received
+    @Column(nullable = false)
+    private long reviewCount;
+
+    @Column(nullable = false)
+    private double reviewScoreSum;
+
+    @Column(nullable = false)
+    private long reviewsSatisfied;
+
+    // Amount of the received offers that were completed
+    @Column(nullable = false, precision = 14, scale = 2)
+    private BigDecimal earnings = BigDecimal.ZERO;
+
+    // Default constructor
+    public UserDailyStatsEntity() {
+    }
+
+    // Getters and setters
+    public Long getId() {
+        return id;
+    }
+
+    public void setId(Long id) {
+        this.id = id;
+    }
+
+    public Long getUserId() {
+        return userId;
+    }
+
+    public void setUserId(Long userId) {
+        this.userId = userId;
+    }
+
+    public LocalDate getStatsDate() {
+        return statsDate;
+    }
+
+    public void setStatsDate(LocalDate statsDate) {
+        this.statsDate = statsDate;
+    }
+
+    public long getListingsCreated() {
+        return listingsCreated;
+    }
+
+    public void setListingsCreated(long listingsCreated) {
+        this.listingsCreated = listingsCreated;
+    }
+
+    public long getListingsActive() {
+        return listingsActive;
+    }
+
+    public void setListingsActive(long listingsActive) {
+        this.listingsActive = listingsActive;
+    }
+
+    public long getListingsCompleted() {
+        return listingsCompleted;
+    }
+
+    public void setListingsCompleted(long listingsCompleted) {
+        this.listingsCompleted = listingsCompleted;
+    }
+
+    public long getOffersMade() {
+        return offersMade;
+    }
+
+    public void setOffersMade(long offersMade) {
+        this.offersMade = offersMade;
+    }
+
+    public long getOffersMadeAccepted() {
+        return offersMadeAccepted;
+    }
+
+    public void setOffersMadeAccepted(long offersMadeAccepted) {
+        this.offersMadeAccepted = offersMadeAccepted;
+    }
+
+    public long getOffersReceived() {
+        return offersReceived;
+    }
+
+    public void setOffersReceived(long offersReceived) {
+        this.offersReceived = offersReceived;
+    }
+
+    public long getOffersReceivedAccepted() {
+        return offersReceivedAccepted;
+    }
+
+    public void setOffersReceivedAccepted(long offersReceivedAccepted) {
+        this.offersReceivedAccepted = offersReceivedAccepted;
+    }
+
+    public long getReviewCount() {
+        return reviewCount;
+    }
+
+    public void setReviewCount(long reviewCount) {
+        this.reviewCount = reviewCount;
+    }
+
+    public double getReviewScoreSum() {
+        return reviewScoreSum;
+    }
+
+    public void setReviewScoreSum(double reviewScoreSum) {
+        this.reviewScoreSum = reviewScoreSum;
+    }
+
+    public long getReviewsSatisfied() {
+        return reviewsSatisfied;
+    }
+
+    public void setReviewsSatisfied(long reviewsSatisfied) {
+        this.reviewsSatisfied = reviewsSatisfied;
+    }
+
+    public BigDecimal getEarnings() {
+        return earnings;
+    }
+
+    public void setEarnings(BigDecimal earnings) {
+        this.earnings = earnings;
+    }
+}
@@ -0,0 +1,40 @@
+package com.uninaswap.server.repository;
+
+import com.uninaswap.server.entity.AuthTokenEntity;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.Optional;
+
+@Repository
+public interface AuthTokenRepository extends JpaRepository<AuthTokenEntity, String> {
+
+    /**
+     * Find a token with its user loaded, for rebuilding the principal on a cache miss
+     */
+    @Query("SELECT t FROM AuthTokenEntity t JOIN FETCH t.user WHERE t.tokenHash = :tokenHash")
+    Optional<AuthTokenEntity> findWithUser(@Param("tokenHash") String tokenHash);
+
+    @Modifying
+    @Transactional
+    @Query("UPDATE AuthTokenEntity t SET t.lastUsedAt = :lastUsedAt WHERE t.tokenHash = :tokenHash")
+    int touch(@Param("tokenHash") String tokenHash, @Param("lastUsedAt") LocalDateTime lastUsedAt);
+
+    @Modifying
+    @Transactional
+    @Query("DELETE FROM AuthTokenEntity t WHERE t.user.id = :userId")
+    int deleteByUserId(@Param("userId") Long userId);
+
+    /**
+     * Delete tokens past their absolute expiry or unused since the idle cutoff
+     */
+    @Modifying
+    @Transactional
+    @Query("DELETE FROM AuthTokenEntity t WHERE t.expiresAt < :now OR t.lastUsedAt < :idleCutoff")
+    int deleteExpired(@Param("now") LocalDateTime now, @Param("idleCutoff") LocalDateTime idleCutoff);
+}
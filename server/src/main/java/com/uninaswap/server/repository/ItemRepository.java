@@ -30,4 +30,8 @@ public interface ItemRepository extends JpaRepository<ItemEntity, String> {
     
     // Find items by brand and model
     List<ItemEntity> findByBrandAndModel(String brand, String model);
+    
+    // Number of items per image, as [imagePath, count] rows
+    @Query("SELECT i.imagePath, COUNT(i) FROM ItemEntity i WHERE i.imagePath IS NOT NULL GROUP BY i.imagePath")
+    List<Object[]> countByImagePath();
 }
\ No newline at end of file
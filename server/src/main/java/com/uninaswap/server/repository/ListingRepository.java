@@ -9,15 +9,18 @@ import com.uninaswap.server.entity.UserEntity;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 
 @Repository
-public interface ListingRepository extends JpaRepository<ListingEntity, String> {
+public interface ListingRepository extends JpaRepository<ListingEntity, String>,
+        JpaSpecificationExecutor<ListingEntity>, ListingRepositoryCustom {
 
     // Find all active listings
     List<ListingEntity> findByStatus(ListingStatus status);
@@ -28,11 +31,9 @@ public interface ListingRepository extends JpaRepository<ListingEntity, String>
     // Find featured listings
     List<ListingEntity> findByFeaturedTrue();
 
-    // Search listings by title or description containing keyword
-    @Query("SELECT l FROM ListingEntity l WHERE " +
-            "LOWER(l.title) LIKE LOWER(CONCAT('%', :keyword, '%')) OR " +
-            "LOWER(l.description) LIKE LOWER(CONCAT('%', :keyword, '%'))")
-    Page<ListingEntity> searchByKeyword(String keyword, Pageable pageable);
+    // Number of listings per cover image, as [imagePath, count] rows
+    @Query("SELECT l.imagePath, COUNT(l) FROM ListingEntity l WHERE l.imagePath IS NOT NULL GROUP BY l.imagePath")
+    List<Object[]> countByImagePath();
 
     // Find listings by specific class type (by discriminator value)
     @Query("SELECT l FROM ListingEntity l WHERE TYPE(l) = :type AND l.status = :status")
@@ -47,14 +48,22 @@ public interface ListingRepository extends JpaRepository<ListingEntity, String>
     List<ListingEntity> findByCreatorIdAndCreatedAtBetween(Long creatorId, LocalDateTime start, LocalDateTime end);
     long countByCreatorIdAndCreatedAtBetween(Long creatorId, LocalDateTime start, LocalDateTime end);
 
-    // New method with JOIN FETCH to avoid lazy loading issues
+    // A user's listings with the category of each of their items in order, as [listingId, status, category] rows
+    @Query("SELECT l.id, l.status, i.category FROM ListingEntity l " +
+            "LEFT JOIN l.listingItems li " +
+            "LEFT JOIN li.item i " +
+            "WHERE l.creator.id = :creatorId AND l.createdAt BETWEEN :start AND :end " +
+            "ORDER BY l.id, li.id")
+    List<Object[]> findItemCategoriesByCreatorId(@Param("creatorId") Long creatorId,
+            @Param("start") LocalDateTime start, @Param("end") LocalDateTime end);
+
+    // Fetch a known page of listings with items and creator in one query (no pagination on the fetch join)
     @Query("SELECT DISTINCT l FROM ListingEntity l " +
             "LEFT JOIN FETCH l.listingItems li " +
             "LEFT JOIN FETCH li.item " +
             "LEFT JOIN FETCH l.creator " +
-            "WHERE l.status = :status " +
-            "ORDER BY l.createdAt DESC")
-    Page<ListingEntity> findByStatusWithItems(ListingStatus status, Pageable pageable);
+            "WHERE l.id IN :ids")
+    List<ListingEntity> findAllWithItemsByIdIn(@Param("ids") Collection<String> ids);
 
     // Also add method for finding by user with items
     @Query("SELECT DISTINCT l FROM ListingEntity l " +
@@ -65,58 +74,9 @@ public interface ListingRepository extends JpaRepository<ListingEntity, String>
             "ORDER BY l.createdAt DESC")
     List<ListingEntity> findByCreatorIdWithItems(Long userId);
 
-    // Text search methods
-    Page<ListingEntity> findByTitleContainingIgnoreCaseAndStatus(String title, ListingStatus status, Pageable pageable);
-
-    // Type filtering methods
-    @Query("SELECT DISTINCT l FROM ListingEntity l WHERE TYPE(l) = :listingType AND l.status = :status")
-    Page<ListingEntity> findByListingTypeAndStatus(@Param("listingType") Class<?> listingType, @Param("status") ListingStatus status, Pageable pageable);
-
-    // Category filtering methods
-    @Query("SELECT DISTINCT l FROM ListingEntity l " +
-           "LEFT JOIN FETCH l.listingItems li " +
-           "LEFT JOIN FETCH li.item i " +
-           "WHERE i.category = :category AND l.status = :status")
-    Page<ListingEntity> findByItemsCategoryAndStatus(@Param("category") String category, 
-                                                     @Param("status") ListingStatus status, 
-                                                     Pageable pageable);
-    // Combined search methods
-        @Query("SELECT DISTINCT l FROM ListingEntity l " +
-           "LEFT JOIN FETCH l.listingItems li " +
-           "LEFT JOIN FETCH li.item i " +
-           "WHERE l.title ILIKE %:title% AND i.category = :category AND l.status = :status")
-    Page<ListingEntity> findByTitleContainingIgnoreCaseAndItemsCategoryAndStatus(
-            @Param("title") String title, 
-            @Param("category") String category, 
-            @Param("status") ListingStatus status, 
-            Pageable pageable);
-
-     @Query("SELECT l FROM ListingEntity l " +
-           "WHERE l.title ILIKE %:title% AND TYPE(l) = :listingType AND l.status = :status")
-    Page<ListingEntity> findByTitleContainingIgnoreCaseAndListingTypeAndStatus(
-            @Param("title") String title, 
-            @Param("listingType") Class<?> listingType, 
-            @Param("status") ListingStatus status, 
-            Pageable pageable);
-    
+    // Load every listing with its items, used to build the full-text search index
     @Query("SELECT DISTINCT l FROM ListingEntity l " +
-           "LEFT JOIN FETCH l.listingItems li " +
-           "LEFT JOIN FETCH li.item i " +
-           "WHERE TYPE(l) = :listingType AND i.category = :category AND l.status = :status")
-    Page<ListingEntity> findByListingTypeAndItemsCategoryAndStatus(
-            @Param("listingType") Class<?> listingType, 
-            @Param("category") String category, 
-            @Param("status") ListingStatus status, 
-            Pageable pageable);
-
-    @Query("SELECT DISTINCT l FROM ListingEntity l " +
-           "LEFT JOIN FETCH l.listingItems li " +
-           "LEFT JOIN FETCH li.item i " +
-           "WHERE l.title ILIKE %:title% AND TYPE(l) = :listingType AND i.category = :category AND l.status = :status")
-    Page<ListingEntity> findByTitleContainingIgnoreCaseAndListingTypeAndItemsCategoryAndStatus(
-            @Param("title") String title, 
-            @Param("listingType") Class<?> listingType, 
-            @Param("category") String category, 
-            @Param("status") ListingStatus status, 
-            Pageable pageable);
+            "LEFT JOIN FETCH l.listingItems li " +
+            "LEFT JOIN FETCH li.item")
+    List<ListingEntity> findAllWithItems();
 }
\ No newline at end of file
@@ -0,0 +1,33 @@
+package com.uninaswap.server.repository;
+
+import com.uninaswap.server.entity.ListingEntity;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
+
+import java.util.List;
+
+/**
+ * Listing queries that need the Criteria API directly instead of derived or JPQL queries
+ */
+public interface ListingRepositoryCustom {
+
+    /**
+     * Select only the IDs of the listings matching the specification
+     */
+    List<String> findIds(Specification<ListingEntity> specification);
+
+    /**
+     * Select one page of listing IDs with limit/offset applied by the database.
+     * Callers fetch the listings and their items for just these IDs afterwards,
+     * avoiding in-memory pagination of collection fetch joins.
+     */
+    Page<String> findIdPage(Specification<ListingEntity> specification, Pageable pageable);
+
+    /**
+     * Select at most {@code limit} listing IDs in the given order, without offset or count.
+     * Used for keyset pagination where the specification already positions the window.
+     */
+    List<String> findIds(Specification<ListingEntity> specification, Sort sort, int limit);
+}
@@ -0,0 +1,81 @@
+package com.uninaswap.server.repository;
+
+import com.uninaswap.server.entity.ListingEntity;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import jakarta.persistence.TypedQuery;
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.CriteriaQuery;
+import jakarta.persistence.criteria.Root;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.data.jpa.repository.query.QueryUtils;
+import org.springframework.data.support.PageableExecutionUtils;
+
+import java.util.List;
+
+public class ListingRepositoryImpl implements ListingRepositoryCustom {
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Override
+    public List<String> findIds(Specification<ListingEntity> specification) {
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaQuery<String> query = cb.createQuery(String.class);
+        Root<ListingEntity> root = query.from(ListingEntity.class);
+
+        query.select(root.<String>get("id"))
+                .where(specification.toPredicate(root, query, cb));
+
+        return entityManager.createQuery(query).getResultList();
+    }
+
+    @Override
+    public Page<String> findIdPage(Specification<ListingEntity> specification, Pageable pageable) {
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaQuery<String> query = cb.createQuery(String.class);
+        Root<ListingEntity> root = query.from(ListingEntity.class);
+
+        query.select(root.<String>get("id"))
+                .where(specification.toPredicate(root, query, cb))
+                .orderBy(QueryUtils.toOrders(pageable.getSort(), root, cb));
+
+        TypedQuery<String> pageQuery = entityManager.createQuery(query);
+        if (pageable.isPaged()) {
+            pageQuery.setFirstResult((int) pageable.getOffset());
+            pageQuery.setMaxResults(pageable.getPageSize());
+        }
+
+        // The count is skipped when the page itself reveals the total
+        return PageableExecutionUtils.getPage(pageQuery.getResultList(), pageable, () -> count(specification));
+    }
+
+    @Override
+    public List<String> findIds(Specification<ListingEntity> specification, Sort sort, int limit) {
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaQuery<String> query = cb.createQuery(String.class);
+        Root<ListingEntity> root = query.from(ListingEntity.class);
+
+        query.select(root.<String>get("id"))
+                .where(specification.toPredicate(root, query, cb))
+                .orderBy(QueryUtils.toOrders(sort, root, cb));
+
+        return entityManager.createQuery(query)
+                .setMaxResults(limit)
+                .getResultList();
+    }
+
+    private long count(Specification<ListingEntity> specification) {
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaQuery<Long> query = cb.createQuery(Long.class);
+        Root<ListingEntity> root = query.from(ListingEntity.class);
+
+        query.select(cb.count(root))
+                .where(specification.toPredicate(root, query, cb));
+
+        return entityManager.createQuery(query).getSingleResult();
+    }
+}
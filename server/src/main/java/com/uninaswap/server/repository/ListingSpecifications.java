@@ -0,0 +1,146 @@
+package com.uninaswap.server.repository;
+
+import com.uninaswap.common.enums.ItemCondition;
+import com.uninaswap.common.enums.ListingStatus;
+import com.uninaswap.server.entity.AuctionListingEntity;
+import com.uninaswap.server.entity.GiftListingEntity;
+import com.uninaswap.server.entity.ItemEntity;
+import com.uninaswap.server.entity.ListingEntity;
+import com.uninaswap.server.entity.ListingItemEntity;
+import com.uninaswap.server.entity.SellListingEntity;
+import com.uninaswap.server.entity.TradeListingEntity;
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.CriteriaQuery;
+import jakarta.persistence.criteria.Expression;
+import jakarta.persistence.criteria.Join;
+import jakarta.persistence.criteria.Predicate;
+import jakarta.persistence.criteria.Root;
+import jakarta.persistence.criteria.Subquery;
+import org.springframework.data.jpa.domain.Specification;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * Composable filters for listing queries.
+ * Item based filters use EXISTS subqueries instead of joins so the result needs no DISTINCT
+ * and pagination and counting stay in the database.
+ */
+public final class ListingSpecifications {
+
+    private ListingSpecifications() {
+    }
+
+    /**
+     * Matches every listing
+     */
+    public static Specification<ListingEntity> any() {
+        return (root, query, cb) -> cb.conjunction();
+    }
+
+    public static Specification<ListingEntity> hasStatus(ListingStatus status) {
+        return (root, query, cb) -> cb.equal(root.get("status"), status);
+    }
+
+    public static Specification<ListingEntity> hasType(Class<? extends ListingEntity> listingType) {
+        return (root, query, cb) -> cb.equal(root.type(), listingType);
+    }
+
+    public static Specification<ListingEntity> createdBy(Long creatorId) {
+        return (root, query, cb) -> cb.equal(root.get("creator").get("id"), creatorId);
+    }
+
+    public static Specification<ListingEntity> idIn(Collection<String> listingIds) {
+        return (root, query, cb) -> root.get("id").in(listingIds);
+    }
+
+    /**
+     * Keyset condition for a newest-first feed: listings strictly after the given (createdAt, id) position
+     */
+    public static Specification<ListingEntity> olderThan(LocalDateTime createdAt, String listingId) {
+        return (root, query, cb) -> cb.or(
+                cb.lessThan(root.<LocalDateTime>get("createdAt"), createdAt),
+                cb.and(cb.equal(root.get("createdAt"), createdAt),
+                        cb.lessThan(root.<String>get("id"), listingId)));
+    }
+
+    /**
+     * Listings containing at least one item of the given category
+     */
+    public static Specification<ListingEntity> hasItemCategory(String category) {
+        return (root, query, cb) -> cb.exists(itemSubquery(root, query, cb, "category", category));
+    }
+
+    /**
+     * Listings containing at least one item in the given condition
+     */
+    public static Specification<ListingEntity> hasItemCondition(ItemCondition condition) {
+        return (root, query, cb) -> cb.exists(itemSubquery(root, query, cb, "condition", condition));
+    }
+
+    /**
+     * Listings whose effective price falls in the range (either bound may be null).
+     * Sell listings use their price, auctions the current highest bid or starting price,
+     * trades their reference price and gifts count as free.
+     */
+    public static Specification<ListingEntity> priceBetween(BigDecimal minPrice, BigDecimal maxPrice) {
+        return (root, query, cb) -> {
+            List<Predicate> matches = new ArrayList<>();
+
+            Subquery<String> sell = query.subquery(String.class);
+            Root<SellListingEntity> sellRoot = sell.from(SellListingEntity.class);
+            sell.select(sellRoot.<String>get("id"))
+                    .where(inRange(cb, sellRoot.<BigDecimal>get("price"), minPrice, maxPrice));
+            matches.add(root.get("id").in(sell));
+
+            Subquery<String> auction = query.subquery(String.class);
+            Root<AuctionListingEntity> auctionRoot = auction.from(AuctionListingEntity.class);
+            Expression<BigDecimal> auctionPrice = cb.coalesce(
+                    auctionRoot.<BigDecimal>get("currentHighestBid"), auctionRoot.<BigDecimal>get("startingPrice"));
+            auction.select(auctionRoot.<String>get("id"))
+                    .where(inRange(cb, auctionPrice, minPrice, maxPrice));
+            matches.add(root.get("id").in(auction));
+
+            Subquery<String> trade = query.subquery(String.class);
+            Root<TradeListingEntity> tradeRoot = trade.from(TradeListingEntity.class);
+            trade.select(tradeRoot.<String>get("id"))
+                    .where(inRange(cb, tradeRoot.<BigDecimal>get("referencePrice"), minPrice, maxPrice));
+            matches.add(root.get("id").in(trade));
+
+            boolean freeInRange = (minPrice == null || minPrice.signum() <= 0)
+                    && (maxPrice == null || maxPrice.signum() >= 0);
+            if (freeInRange) {
+                matches.add(cb.equal(root.type(), GiftListingEntity.class));
+            }
+
+            return cb.or(matches.toArray(new Predicate[0]));
+        };
+    }
+
+    private static Subquery<Long> itemSubquery(Root<ListingEntity> root, CriteriaQuery<?> query,
+            CriteriaBuilder cb, String itemAttribute, Object value) {
+        Subquery<Long> subquery = query.subquery(Long.class);
+        Root<ListingItemEntity> listingItem = subquery.from(ListingItemEntity.class);
+        Join<ListingItemEntity, ItemEntity> item = listingItem.join("item");
+        subquery.select(listingItem.<Long>get("id"))
+                .where(cb.equal(listingItem.get("listing"), root),
+                        cb.equal(item.get(itemAttribute), value));
+        return subquery;
+    }
+
+    private static Predicate inRange(CriteriaBuilder cb, Expression<BigDecimal> price,
+            BigDecimal minPrice, BigDecimal maxPrice) {
+        List<Predicate> bounds = new ArrayList<>();
+        bounds.add(cb.isNotNull(price));
+        if (minPrice != null) {
+            bounds.add(cb.greaterThanOrEqualTo(price, minPrice));
+        }
+        if (maxPrice != null) {
+            bounds.add(cb.lessThanOrEqualTo(price, maxPrice));
+        }
+        return cb.and(bounds.toArray(new Predicate[0]));
+    }
+}
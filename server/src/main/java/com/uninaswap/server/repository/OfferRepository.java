@@ -2,15 +2,19 @@ package com.uninaswap.server.repository;
 
 import com.uninaswap.common.enums.OfferStatus;
 import com.uninaswap.server.entity.OfferEntity;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.time.LocalDateTime;
 import java.util.List;
+import java.util.stream.Stream;
 
 @Repository
 public interface OfferRepository extends JpaRepository<OfferEntity, String> {
@@ -74,4 +78,18 @@ public interface OfferRepository extends JpaRepository<OfferEntity, String> {
      */
     @Query("SELECT COUNT(o) FROM OfferEntity o WHERE o.listing.creator.id = :userId AND o.status = 'PENDING'")
     long countPendingOffersForUserListings(@Param("userId") Long userId);
+
+    /**
+     * Offers a user made or received since a time, oldest first, read through a cursor as
+     * [offerId, createdAt, updatedAt, status, amount, currency, deliveryType, listingId,
+     * listingTitle, buyerId, buyerUsername, sellerId, sellerUsername] rows.
+     * Must be consumed and closed inside a transaction.
+     */
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"))
+    @Query("SELECT o.id, o.createdAt, o.updatedAt, o.status, o.amount, o.currency, o.deliveryType, " +
+            "l.id, l.title, buyer.id, buyer.username, seller.id, seller.username " +
+            "FROM OfferEntity o JOIN o.listing l JOIN o.user buyer JOIN l.creator seller " +
+            "WHERE (buyer.id = :userId OR seller.id = :userId) AND o.createdAt >= :since " +
+            "ORDER BY o.createdAt, o.id")
+    Stream<Object[]> streamTransactionsByUserIdSince(@Param("userId") Long userId, @Param("since") LocalDateTime since);
 }
\ No newline at end of file
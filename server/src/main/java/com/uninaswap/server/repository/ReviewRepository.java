@@ -104,4 +104,10 @@ public interface ReviewRepository extends JpaRepository<ReviewEntity, String> {
 
     // Add to ReviewRepository
     List<ReviewEntity> findByReviewedUserIdAndCreatedAtBetween(Long reviewedUserId, LocalDateTime start, LocalDateTime end);
+
+    // Number of reviews written since a time per score rounded to whole stars, as [stars, count] rows
+    @Query(value = "SELECT CAST(ROUND(r.score) AS integer) AS stars, COUNT(*) FROM reviews r " +
+            "WHERE r.created_at >= :since GROUP BY stars ORDER BY stars",
+            nativeQuery = true)
+    List<Object[]> countByStarsSince(@Param("since") LocalDateTime since);
 }
\ No newline at end of file
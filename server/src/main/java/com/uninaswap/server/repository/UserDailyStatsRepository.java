@@ -0,0 +1,153 @@
+package com.uninaswap.server.repository;
+
+import com.uninaswap.server.entity.UserDailyStatsEntity;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.stream.Stream;
+
+@Repository
+public interface UserDailyStatsRepository extends JpaRepository<UserDailyStatsEntity, Long> {
+
+    /**
+     * Find a user's rows for a range of days, oldest first; days without activity have no row
+     */
+    List<UserDailyStatsEntity> findByUserIdAndStatsDateBetweenOrderByStatsDate(Long userId, LocalDate start, LocalDate end);
+
+    /**
+     * A user's rows from a day on, oldest first, read through a cursor as [statsDate, listingsCreated,
+     * listingsActive, listingsCompleted, offersMade, offersMadeAccepted, offersReceived,
+     * offersReceivedAccepted, reviewCount, reviewScoreSum, reviewsSatisfied, earnings] rows.
+     * Must be consumed and closed inside a transaction.
+     */
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"))
+    @Query("SELECT s.statsDate, s.listingsCreated, s.listingsActive, s.listingsCompleted, " +
+            "s.offersMade, s.offersMadeAccepted, s.offersReceived, s.offersReceivedAccepted, " +
+            "s.reviewCount, s.reviewScoreSum, s.reviewsSatisfied, s.earnings " +
+            "FROM UserDailyStatsEntity s WHERE s.userId = :userId AND s.statsDate >= :since " +
+            "ORDER BY s.statsDate")
+    Stream<Object[]> streamByUserIdSince(@Param("userId") Long userId, @Param("since") LocalDate since);
+
+    /**
+     * Add to the counters of a user's day, creating its row if needed.
+     * A single statement, so concurrent writers to the same day never lose an update.
+     */
+    @Modifying
+    @Query(value = "INSERT INTO user_daily_stats (user_id, stats_date, listings_created, listings_active, " +
+            "listings_completed, offers_made, offers_made_accepted, offers_received, offers_received_accepted, " +
+            "review_count, review_score_sum, reviews_satisfied, earnings) " +
+            "VALUES (:userId, :statsDate, :listingsCreated, :listingsActive, :listingsCompleted, :offersMade, " +
+            ":offersMadeAccepted, :offersReceived, :offersReceivedAccepted, :reviewCount, :reviewScoreSum, " +
+            ":reviewsSatisfied, :earnings) " +
+            "ON CONFLICT (user_id, stats_date) DO UPDATE SET " +
+            "listings_created = user_daily_stats.listings_created + EXCLUDED.listings_created, " +
+            "listings_active = user_daily_stats.listings_active + EXCLUDED.listings_active, " +
+            "listings_completed = user_daily_stats.listings_completed + EXCLUDED.listings_completed, " +
+            "offers_made = user_daily_stats.offers_made + EXCLUDED.offers_made, " +
+            "offers_made_accepted = user_daily_stats.offers_made_accepted + EXCLUDED.offers_made_accepted, " +
+            "offers_received = user_daily_stats.offers_received + EXCLUDED.offers_received, " +
+            "offers_received_accepted = user_daily_stats.offers_received_accepted + EXCLUDED.offers_received_accepted, " +
+            "review_count = user_daily_stats.review_count + EXCLUDED.review_count, " +
+            "review_score_sum = user_daily_stats.review_score_sum + EXCLUDED.review_score_sum, " +
+            "reviews_satisfied = user_daily_stats.reviews_satisfied + EXCLUDED.reviews_satisfied, " +
+            "earnings = user_daily_stats.earnings + EXCLUDED.earnings",
+            nativeQuery = true)
+    void addToDay(@Param("userId") Long userId,
+            @Param("statsDate") LocalDate statsDate,
+            @Param("listingsCreated") long listingsCreated,
+            @Param("listingsActive") long listingsActive,
+            @Param("listingsCompleted") long listingsCompleted,
+            @Param("offersMade") long offersMade,
+            @Param("offersMadeAccepted") long offersMadeAccepted,
+            @Param("offersReceived") long offersReceived,
+            @Param("offersReceivedAccepted") long offersReceivedAccepted,
+            @Param("reviewCount") long reviewCount,
+            @Param("reviewScoreSum") double reviewScoreSum,
+            @Param("reviewsSatisfied") long reviewsSatisfied,
+            @Param("earnings") BigDecimal earnings);
+
+    /**
+     * Block writers to the rollup until the end of the transaction
+     */
+    @Modifying
+    @Query(value = "LOCK TABLE user_daily_stats IN EXCLUSIVE MODE", nativeQuery = true)
+    void lockForRebuild();
+
+    @Modifying
+    @Query("DELETE FROM UserDailyStatsEntity s")
+    int deleteAllRows();
+
+    /**
+     * Recompute every row from the listings, offers and reviews tables.
+     * The status and score conditions must match those in AnalyticsRollupService.
+     */
+    @Modifying
+    @Query(value = "INSERT INTO user_daily_stats (user_id, stats_date, listings_created, listings_active, " +
+            "listings_completed, offers_made, offers_made_accepted, offers_received, offers_received_accepted, " +
+            "review_count, review_score_sum, reviews_satisfied, earnings) " +
+            "SELECT user_id, stats_date, SUM(listings_created), SUM(listings_active), SUM(listings_completed), " +
+            "SUM(offers_made), SUM(offers_made_accepted), SUM(offers_received), SUM(offers_received_accepted), " +
+            "SUM(review_count), SUM(review_score_sum), SUM(reviews_satisfied), SUM(earnings) FROM (" +
+            "SELECT l.creator_id AS user_id, CAST(l.created_at AS date) AS stats_date, " +
+            "1 AS listings_created, " +
+            "CASE WHEN l.status = 'ACTIVE' THEN 1 ELSE 0 END AS listings_active, " +
+            "CASE WHEN l.status = 'COMPLETED' THEN 1 ELSE 0 END AS listings_completed, " +
+            "0 AS offers_made, 0 AS offers_made_accepted, 0 AS offers_received, 0 AS offers_received_accepted, " +
+            "0 AS review_count, CAST(0 AS double precision) AS review_score_sum, 0 AS reviews_satisfied, " +
+            "CAST(0 AS numeric) AS earnings " +
+            "FROM listings l " +
+            "UNION ALL " +
+            "SELECT o.user_id, CAST(o.created_at AS date), 0, 0, 0, " +
+            "1, CASE WHEN o.status = 'ACCEPTED' THEN 1 ELSE 0 END, 0, 0, 0, 0, 0, 0 " +
+            "FROM offers o " +
+            "UNION ALL " +
+            "SELECT l.creator_id, CAST(o.created_at AS date), 0, 0, 0, 0, 0, " +
+            "1, CASE WHEN o.status = 'ACCEPTED' THEN 1 ELSE 0 END, 0, 0, 0, " +
+            "CASE WHEN o.status IN ('COMPLETED', 'REVIEWED') THEN COALESCE(o.amount, 0) ELSE 0 END " +
+            "FROM offers o JOIN listings l ON l.id = o.listing_id " +
+            "UNION ALL " +
+            "SELECT r.reviewed_user_id, CAST(r.created_at AS date), 0, 0, 0, 0, 0, 0, 0, " +
+            "1, r.score, CASE WHEN r.score >= 4 THEN 1 ELSE 0 END, 0 " +
+            "FROM reviews r" +
+            ") source GROUP BY user_id, stats_date",
+            nativeQuery = true)
+    int rebuildFromSources();
+
+    /**
+     * Platform-wide figures over the users active since a day, in one pass over the rollup.
+     * Each user's rates are taken over the whole span; a user counts towards a rate only
+     * when it is defined for them (they created listings, received offers or were reviewed).
+     * A single row, as [users, listingSuccessAverage, listingSuccessMedian, listingSuccessP90,
+     * offerAcceptanceAverage, offerAcceptanceMedian, offerAcceptanceP90, satisfactionAverage,
+     * satisfactionMedian, satisfactionP90, reviewCount, reviewScoreSum]
+     */
+    @Query(value = "SELECT COUNT(*), " +
+            "AVG(listing_success), " +
+            "percentile_cont(0.5) WITHIN GROUP (ORDER BY listing_success), " +
+            "percentile_cont(0.9) WITHIN GROUP (ORDER BY listing_success), " +
+            "AVG(offer_acceptance), " +
+            "percentile_cont(0.5) WITHIN GROUP (ORDER BY offer_acceptance), " +
+            "percentile_cont(0.9) WITHIN GROUP (ORDER BY offer_acceptance), " +
+            "AVG(satisfaction), " +
+            "percentile_cont(0.5) WITHIN GROUP (ORDER BY satisfaction), " +
+            "percentile_cont(0.9) WITHIN GROUP (ORDER BY satisfaction), " +
+            "SUM(review_count), SUM(review_score_sum) FROM (" +
+            "SELECT s.user_id, " +
+            "CAST(SUM(s.listings_completed) AS double precision) * 100 / NULLIF(SUM(s.listings_created), 0) AS listing_success, " +
+            "CAST(SUM(s.offers_received_accepted) AS double precision) * 100 / NULLIF(SUM(s.offers_received), 0) AS offer_acceptance, " +
+            "CAST(SUM(s.reviews_satisfied) AS double precision) * 100 / NULLIF(SUM(s.review_count), 0) AS satisfaction, " +
+            "SUM(s.review_count) AS review_count, SUM(s.review_score_sum) AS review_score_sum " +
+            "FROM user_daily_stats s WHERE s.stats_date >= :since GROUP BY s.user_id" +
+            ") users",
+            nativeQuery = true)
+    List<Object[]> summarizeUsersSince(@Param("since") LocalDate since);
+}
@@ -1,10 +1,12 @@
 package com.uninaswap.server.repository;
 
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
 import org.springframework.stereotype.Repository;
 
 import com.uninaswap.server.entity.UserEntity;
 
+import java.util.List;
 import java.util.Optional;
 
 @Repository
@@ -14,4 +16,8 @@ public interface UserRepository extends JpaRepository<UserEntity, Long> {
     Optional<UserEntity> findByUsernameOrEmail(String username, String email);
     boolean existsByUsername(String username);
     boolean existsByEmail(String email);
+
+    // Number of users per profile image, as [profileImagePath, count] rows
+    @Query("SELECT u.profileImagePath, COUNT(u) FROM UserEntity u WHERE u.profileImagePath IS NOT NULL GROUP BY u.profileImagePath")
+    List<Object[]> countByProfileImagePath();
 }
\ No newline at end of file
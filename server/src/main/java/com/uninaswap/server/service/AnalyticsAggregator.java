@@ -0,0 +1,259 @@
+package com.uninaswap.server.service;
+
+import com.uninaswap.common.dto.AnalyticsDTO;
+import com.uninaswap.common.enums.ListingStatus;
+import com.uninaswap.server.entity.UserDailyStatsEntity;
+import com.uninaswap.server.repository.ListingRepository;
+import com.uninaswap.server.repository.UserDailyStatsRepository;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.YearMonth;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.function.Function;
+
+/**
+ * Computes the figures of a user's analytics.
+ * Everything but the category breakdown is read from the daily rollup kept by
+ * {@link AnalyticsRollupService}: one query returning a row per active day of the period,
+ * summed and spread into series here, so the cost follows the length of the period rather
+ * than the user's history. Days without a row are filled with zeros.
+ */
+@Service
+@Transactional(readOnly = true)
+public class AnalyticsAggregator {
+
+    private static final String OTHER_CATEGORY = "other";
+    // Never saved; stands in for days without a row
+    private static final UserDailyStatsEntity EMPTY_DAY = new UserDailyStatsEntity();
+
+    private final ListingRepository listingRepository;
+    private final UserDailyStatsRepository userDailyStatsRepository;
+
+    public AnalyticsAggregator(ListingRepository listingRepository, UserDailyStatsRepository userDailyStatsRepository) {
+        this.listingRepository = listingRepository;
+        this.userDailyStatsRepository = userDailyStatsRepository;
+    }
+
+    /**
+     * The user's rollup rows for the period, and for the earlier days of its first month,
+     * which the monthly breakdown counts in full
+     */
+    public DailyRollup loadDailyRollup(Long userId, LocalDateTime start, LocalDateTime end) {
+        LocalDate firstMonthDay = start.toLocalDate().withDayOfMonth(1);
+        List<UserDailyStatsEntity> days = userDailyStatsRepository.findByUserIdAndStatsDateBetweenOrderByStatsDate(
+                userId, firstMonthDay, end.toLocalDate());
+        return new DailyRollup(days, start, end);
+    }
+
+    /**
+     * Listings created in the period per category, in one scan of the listings and their items.
+     * A listing counts under the category of its first item, or "other" without items.
+     * Earnings and ratings are left for the caller.
+     */
+    public List<AnalyticsDTO.CategoryStatsDTO> listingsByCategory(Long userId, LocalDateTime start, LocalDateTime end) {
+        Map<String, AnalyticsDTO.CategoryStatsDTO> categories = new LinkedHashMap<>();
+        String previousListingId = null;
+        for (Object[] row : listingRepository.findItemCategoriesByCreatorId(userId, start, end)) {
+            String listingId = (String) row[0];
+            // Rows are ordered by listing then item, so only the first row of each listing counts
+            if (listingId.equals(previousListingId)) {
+                continue;
+            }
+            previousListingId = listingId;
+
+            ListingStatus status = (ListingStatus) row[1];
+            String category = row[2] != null ? ((String) row[2]).toLowerCase(Locale.ROOT) : OTHER_CATEGORY;
+            AnalyticsDTO.CategoryStatsDTO stats = categories.computeIfAbsent(category, name -> {
+                AnalyticsDTO.CategoryStatsDTO created = new AnalyticsDTO.CategoryStatsDTO();
+                created.setCategory(name);
+                return created;
+            });
+            stats.setTotalListings(stats.getTotalListings() + 1);
+            if (status == ListingStatus.ACTIVE) {
+                stats.setActiveListings(stats.getActiveListings() + 1);
+            } else if (status == ListingStatus.COMPLETED) {
+                stats.setCompletedListings(stats.getCompletedListings() + 1);
+            }
+        }
+        return new ArrayList<>(categories.values());
+    }
+
+    /**
+     * One point per calendar day of the period, valued by the function
+     */
+    private static List<AnalyticsDTO.TimeSeriesDataDTO> perDay(LocalDateTime start, LocalDateTime end,
+            Function<LocalDate, Double> value) {
+        List<AnalyticsDTO.TimeSeriesDataDTO> points = new ArrayList<>();
+        for (LocalDate day = start.toLocalDate(); !day.isAfter(end.toLocalDate()); day = day.plusDays(1)) {
+            points.add(new AnalyticsDTO.TimeSeriesDataDTO(day.atStartOfDay(), value.apply(day), day.toString()));
+        }
+        return points;
+    }
+
+    /**
+     * A user's daily rollup over a period, with the totals and series derived from it
+     */
+    public static class DailyRollup {
+        private final Map<LocalDate, UserDailyStatsEntity> days = new HashMap<>();
+        private final List<UserDailyStatsEntity> monthDays;
+        private final LocalDateTime start;
+        private final LocalDateTime end;
+
+        private long listingsCreated;
+        private long listingsActive;
+        private long listingsCompleted;
+        private long offersMade;
+        private long offersMadeAccepted;
+        private long offersReceived;
+        private long offersReceivedAccepted;
+        private long reviewCount;
+        private double reviewScoreSum;
+        private long reviewsSatisfied;
+        private BigDecimal earnings = BigDecimal.ZERO;
+
+        DailyRollup(List<UserDailyStatsEntity> monthDays, LocalDateTime start, LocalDateTime end) {
+            this.monthDays = monthDays;
+            this.start = start;
+            this.end = end;
+
+            LocalDate firstDay = start.toLocalDate();
+            for (UserDailyStatsEntity day : monthDays) {
+                if (day.getStatsDate().isBefore(firstDay)) {
+                    continue;
+                }
+                days.put(day.getStatsDate(), day);
+                listingsCreated += day.getListingsCreated();
+                listingsActive += day.getListingsActive();
+                listingsCompleted += day.getListingsCompleted();
+                offersMade += day.getOffersMade();
+                offersMadeAccepted += day.getOffersMadeAccepted();
+                offersReceived += day.getOffersReceived();
+                offersReceivedAccepted += day.getOffersReceivedAccepted();
+                reviewCount += day.getReviewCount();
+                reviewScoreSum += day.getReviewScoreSum();
+                reviewsSatisfied += day.getReviewsSatisfied();
+                earnings = earnings.add(day.getEarnings());
+            }
+        }
+
+        public long getListingsCreated() {
+            return listingsCreated;
+        }
+
+        public long getListingsActive() {
+            return listingsActive;
+        }
+
+        public long getListingsCompleted() {
+            return listingsCompleted;
+        }
+
+        public long getOffersMade() {
+            return offersMade;
+        }
+
+        public long getOffersMadeAccepted() {
+            return offersMadeAccepted;
+        }
+
+        public long getOffersReceived() {
+            return offersReceived;
+        }
+
+        public long getOffersReceivedAccepted() {
+            return offersReceivedAccepted;
+        }
+
+        public long getReviewCount() {
+            return reviewCount;
+        }
+
+        public double getAverageScore() {
+            return reviewCount > 0 ? reviewScoreSum / reviewCount : 0.0;
+        }
+
+        public long getReviewsSatisfied() {
+            return reviewsSatisfied;
+        }
+
+        public BigDecimal getEarnings() {
+            return earnings;
+        }
+
+        /**
+         * Listings created per day, one point for every day of the period
+         */
+        public List<AnalyticsDTO.TimeSeriesDataDTO> listingsPerDay() {
+            return perDay(start, end, date -> (double) day(date).getListingsCreated());
+        }
+
+        /**
+         * Offers made per day, one point for every day of the period
+         */
+        public List<AnalyticsDTO.TimeSeriesDataDTO> offersMadePerDay() {
+            return perDay(start, end, date -> (double) day(date).getOffersMade());
+        }
+
+        /**
+         * Average score received per day, one point for every day of the period; 0 on days without reviews
+         */
+        public List<AnalyticsDTO.TimeSeriesDataDTO> averageRatingPerDay() {
+            return perDay(start, end, date -> {
+                UserDailyStatsEntity day = day(date);
+                return day.getReviewCount() > 0 ? day.getReviewScoreSum() / day.getReviewCount() : 0.0;
+            });
+        }
+
+        /**
+         * Earnings per day, one point for every day of the period
+         */
+        public List<AnalyticsDTO.TimeSeriesDataDTO> earningsPerDay() {
+            return perDay(start, end, date -> day(date).getEarnings().doubleValue());
+        }
+
+        /**
+         * Listings, completed listings, earnings and average rating per month, one entry for
+         * every month of the period. The first month is counted from its first day.
+         */
+        public List<AnalyticsDTO.MonthlyStatsDTO> perMonth() {
+            Map<YearMonth, UserDailyStatsEntity> months = new HashMap<>();
+            for (UserDailyStatsEntity day : monthDays) {
+                UserDailyStatsEntity month = months.computeIfAbsent(YearMonth.from(day.getStatsDate()),
+                        key -> new UserDailyStatsEntity());
+                month.setListingsCreated(month.getListingsCreated() + day.getListingsCreated());
+                month.setListingsCompleted(month.getListingsCompleted() + day.getListingsCompleted());
+                month.setReviewCount(month.getReviewCount() + day.getReviewCount());
+                month.setReviewScoreSum(month.getReviewScoreSum() + day.getReviewScoreSum());
+                month.setEarnings(month.getEarnings().add(day.getEarnings()));
+            }
+
+            List<AnalyticsDTO.MonthlyStatsDTO> breakdown = new ArrayList<>();
+            for (YearMonth month = YearMonth.from(start); !month.isAfter(YearMonth.from(end)); month = month.plusMonths(1)) {
+                UserDailyStatsEntity totals = months.getOrDefault(month, EMPTY_DAY);
+                AnalyticsDTO.MonthlyStatsDTO stats = new AnalyticsDTO.MonthlyStatsDTO();
+                stats.setYear(month.getYear());
+                stats.setMonth(month.getMonthValue());
+                stats.setTotalListings((int) totals.getListingsCreated());
+                stats.setCompletedTransactions((int) totals.getListingsCompleted());
+                stats.setEarnings(totals.getEarnings().doubleValue());
+                stats.setAverageRating(totals.getReviewCount() > 0
+                        ? totals.getReviewScoreSum() / totals.getReviewCount() : 0.0);
+                breakdown.add(stats);
+            }
+            return breakdown;
+        }
+
+        private UserDailyStatsEntity day(LocalDate date) {
+            return days.getOrDefault(date, EMPTY_DAY);
+        }
+    }
+}
@@ -0,0 +1,174 @@
+package com.uninaswap.server.service;
+
+import com.uninaswap.common.dto.AnalyticsDTO;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Duration;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.function.Supplier;
+
+/**
+ * Short-lived cache of computed analytics, keyed by user, period and category.
+ * Opening the dashboard, comparing with the platform and exporting all ask for the same
+ * figures within seconds of each other; they now share one computation, and requests
+ * arriving while it runs wait for it instead of starting their own. Entries expire after
+ * a short time and are dropped as soon as a change to the user's listings, offers or
+ * reviews commits.
+ */
+@Service
+public class AnalyticsCache {
+
+    private final Duration ttl;
+    private final Map<Key, Entry> entries;
+    private final Counter hits;
+    private final Counter misses;
+
+    public AnalyticsCache(MeterRegistry meterRegistry,
+            @Value("${uninaswap.analytics.cache-ttl:PT1M}") Duration ttl,
+            @Value("${uninaswap.analytics.cache-size:1000}") int cacheSize) {
+        this.ttl = ttl;
+        this.entries = Collections.synchronizedMap(new LinkedHashMap<Key, Entry>(64, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<Key, Entry> eldest) {
+                return size() > cacheSize;
+            }
+        });
+
+        Gauge.builder("uninaswap.analytics.cache.size", entries, Map::size)
+                .description("Analytics results held in memory")
+                .register(meterRegistry);
+        this.hits = Counter.builder("uninaswap.analytics.cache.requests")
+                .tag("result", "hit")
+                .register(meterRegistry);
+        this.misses = Counter.builder("uninaswap.analytics.cache.requests")
+                .tag("result", "miss")
+                .register(meterRegistry);
+    }
+
+    /**
+     * The cached analytics for the key, computing them if absent or expired
+     * @param category The category, or null for analytics over all categories
+     */
+    public AnalyticsDTO get(Long userId, String period, String category, Supplier<AnalyticsDTO> compute) {
+        Key key = new Key(userId, period.toLowerCase(), category);
+        long now = System.nanoTime();
+
+        Entry entry;
+        boolean owner = false;
+        synchronized (entries) {
+            entry = entries.get(key);
+            if (entry == null || entry.isExpired(now, ttl)) {
+                entry = new Entry(now);
+                entries.put(key, entry);
+                owner = true;
+            }
+        }
+
+        if (owner) {
+            misses.increment();
+            try {
+                entry.result.complete(compute.get());
+            } catch (Throwable e) {
+                // Errors too, or the entry would stay incomplete and every later request would wait on it
+                entries.remove(key, entry);
+                entry.result.completeExceptionally(e);
+                throw e;
+            }
+        } else {
+            hits.increment();
+        }
+
+        try {
+            return entry.result.join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof Error error) {
+                throw error;
+            }
+            throw e.getCause() instanceof RuntimeException cause ? cause : e;
+        }
+    }
+
+    /**
+     * Drop the user's cached analytics once the current transaction commits, or now outside one.
+     * A computation still reading the old data is dropped too rather than cached.
+     */
+    public void invalidate(Long userId) {
+        afterCommit(() -> {
+            synchronized (entries) {
+                entries.keySet().removeIf(key -> key.userId.equals(userId));
+            }
+        });
+    }
+
+    /**
+     * Drop every cached result once the current transaction commits, or now outside one
+     */
+    public void invalidateAll() {
+        afterCommit(entries::clear);
+    }
+
+    private static void afterCommit(Runnable action) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            action.run();
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                action.run();
+            }
+        });
+    }
+
+    private static class Key {
+        private final Long userId;
+        private final String period;
+        private final String category;
+
+        Key(Long userId, String period, String category) {
+            this.userId = userId;
+            this.period = period;
+            this.category = category;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) {
+                return true;
+            }
+            if (!(o instanceof Key other)) {
+                return false;
+            }
+            return userId.equals(other.userId) && period.equals(other.period) && Objects.equals(category, other.category);
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(userId, period, category);
+        }
+    }
+
+    private static class Entry {
+        private final long createdAt;
+        private final CompletableFuture<AnalyticsDTO> result = new CompletableFuture<>();
+
+        Entry(long createdAt) {
+            this.createdAt = createdAt;
+        }
+
+        boolean isExpired(long now, Duration ttl) {
+            return now - createdAt > ttl.toNanos();
+        }
+    }
+}
@@ -0,0 +1,117 @@
+package com.uninaswap.server.service;
+
+import com.uninaswap.server.repository.OfferRepository;
+import com.uninaswap.server.repository.UserDailyStatsRepository;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.io.IOException;
+import java.io.Writer;
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.function.UnaryOperator;
+import java.util.stream.Stream;
+
+/**
+ * Writes a user's analytics as CSV while reading it.
+ * Rows come from cursor-backed queries returning plain values rather than entities, and each is
+ * written as soon as it is read, so the memory used does not depend on how long the user's
+ * history is. Every file has one header row and one row per record, with ISO dates and plain
+ * numbers, so it loads as a table into a spreadsheet or a dataframe.
+ */
+@Service
+@Transactional(readOnly = true)
+public class AnalyticsExportService {
+
+    private static final String DAILY_HEADER = "date,listings_created,listings_active,listings_completed,"
+            + "offers_made,offers_made_accepted,offers_received,offers_received_accepted,"
+            + "review_count,review_score_sum,reviews_satisfied,earnings";
+    private static final String TRANSACTIONS_HEADER = "offer_id,created_at,updated_at,status,amount,currency,"
+            + "delivery_type,listing_id,listing_title,buyer_id,buyer_username,seller_id,seller_username,role";
+    // A spreadsheet reads a cell starting with one of these as a formula
+    private static final String FORMULA_PREFIXES = "=+-@\t\r";
+
+    private final UserDailyStatsRepository userDailyStatsRepository;
+    private final OfferRepository offerRepository;
+
+    public AnalyticsExportService(UserDailyStatsRepository userDailyStatsRepository, OfferRepository offerRepository) {
+        this.userDailyStatsRepository = userDailyStatsRepository;
+        this.offerRepository = offerRepository;
+    }
+
+    /**
+     * The user's daily figures for the period, one row per day with activity
+     * @return The number of rows written, besides the header
+     */
+    public long writeDailyCsv(Long userId, String period, Writer out) throws IOException {
+        LocalDateTime since = AnalyticsService.calculateStartDate(period, LocalDateTime.now());
+        out.write(DAILY_HEADER);
+        out.write('\n');
+        try (Stream<Object[]> rows = userDailyStatsRepository.streamByUserIdSince(userId, since.toLocalDate())) {
+            return writeRows(rows, out, UnaryOperator.identity());
+        }
+    }
+
+    /**
+     * Every offer the user made or received in the period, with its listing and both parties.
+     * The last column tells whether the user was the buyer or the seller.
+     * @return The number of rows written, besides the header
+     */
+    public long writeTransactionsCsv(Long userId, String period, Writer out) throws IOException {
+        LocalDateTime since = AnalyticsService.calculateStartDate(period, LocalDateTime.now());
+        out.write(TRANSACTIONS_HEADER);
+        out.write('\n');
+        try (Stream<Object[]> rows = offerRepository.streamTransactionsByUserIdSince(userId, since)) {
+            return writeRows(rows, out, row -> {
+                Object[] withRole = Arrays.copyOf(row, row.length + 1);
+                withRole[row.length] = userId.equals(row[9]) ? "buyer" : "seller";
+                return withRole;
+            });
+        }
+    }
+
+    private static long writeRows(Stream<Object[]> rows, Writer out, UnaryOperator<Object[]> columns) throws IOException {
+        long written = 0;
+        Iterator<Object[]> iterator = rows.iterator();
+        while (iterator.hasNext()) {
+            writeRow(columns.apply(iterator.next()), out);
+            written++;
+        }
+        return written;
+    }
+
+    private static void writeRow(Object[] row, Writer out) throws IOException {
+        for (int i = 0; i < row.length; i++) {
+            if (i > 0) {
+                out.write(',');
+            }
+            writeField(row[i], out);
+        }
+        out.write('\n');
+    }
+
+    /**
+     * One field, quoted when it contains a separator, a quote or a line break (RFC 4180); null is empty.
+     * Text that a spreadsheet would take for a formula, such as a listing title starting with "=",
+     * is prefixed with an apostrophe so it is shown rather than run. Numbers are written as they are,
+     * so negative amounts still load as numbers.
+     */
+    static void writeField(Object value, Writer out) throws IOException {
+        if (value == null) {
+            return;
+        }
+        String text = value instanceof BigDecimal decimal ? decimal.toPlainString() : value.toString();
+        if (!(value instanceof Number) && !text.isEmpty() && FORMULA_PREFIXES.indexOf(text.charAt(0)) >= 0) {
+            text = "'" + text;
+        }
+        if (text.indexOf(',') < 0 && text.indexOf('"') < 0 && text.indexOf('\n') < 0 && text.indexOf('\r') < 0) {
+            out.write(text);
+            return;
+        }
+        out.write('"');
+        out.write(text.replace("\"", "\"\""));
+        out.write('"');
+    }
+}
@@ -0,0 +1,201 @@
+package com.uninaswap.server.service;
+
+import com.uninaswap.common.enums.ListingStatus;
+import com.uninaswap.common.enums.OfferStatus;
+import com.uninaswap.server.entity.ListingEntity;
+import com.uninaswap.server.entity.OfferEntity;
+import com.uninaswap.server.entity.ReviewEntity;
+import com.uninaswap.server.repository.UserDailyStatsRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+/**
+ * Keeps the per-user daily analytics rollup ({@code user_daily_stats}) up to date.
+ * The services that create listings, offers and reviews, or change their status or score,
+ * report it here in the same transaction, and the counters of the day the listing, offer or
+ * review was created are adjusted in a single upsert. The rollup is rebuilt from the source
+ * tables when it is first created and then nightly, which also corrects any drift from a
+ * write path that does not report its changes.
+ */
+@Service
+@Transactional
+public class AnalyticsRollupService {
+    private static final Logger logger = LoggerFactory.getLogger(AnalyticsRollupService.class);
+
+    // Reviews scoring at least this many stars count as satisfied customers
+    public static final double SATISFIED_SCORE = 4;
+
+    private final UserDailyStatsRepository userDailyStatsRepository;
+    private final AnalyticsCache analyticsCache;
+
+    public AnalyticsRollupService(UserDailyStatsRepository userDailyStatsRepository, AnalyticsCache analyticsCache) {
+        this.userDailyStatsRepository = userDailyStatsRepository;
+        this.analyticsCache = analyticsCache;
+    }
+
+    public void listingCreated(ListingEntity listing) {
+        Delta delta = new Delta();
+        delta.listingsCreated = 1;
+        addListingStatus(delta, listing.getStatus(), 1);
+        apply(listing.getCreator().getId(), listing.getCreatedAt(), delta);
+    }
+
+    public void listingStatusChanged(ListingEntity listing, ListingStatus oldStatus) {
+        if (oldStatus == listing.getStatus()) {
+            return;
+        }
+        Delta delta = new Delta();
+        addListingStatus(delta, oldStatus, -1);
+        addListingStatus(delta, listing.getStatus(), 1);
+        apply(listing.getCreator().getId(), listing.getCreatedAt(), delta);
+    }
+
+    public void listingDeleted(ListingEntity listing) {
+        Delta delta = new Delta();
+        delta.listingsCreated = -1;
+        addListingStatus(delta, listing.getStatus(), -1);
+        apply(listing.getCreator().getId(), listing.getCreatedAt(), delta);
+    }
+
+    public void offerCreated(OfferEntity offer) {
+        Delta made = new Delta();
+        made.offersMade = 1;
+        made.offersMadeAccepted = isAccepted(offer.getStatus()) ? 1 : 0;
+        apply(offer.getUser().getId(), offer.getCreatedAt(), made);
+
+        Delta received = new Delta();
+        received.offersReceived = 1;
+        received.offersReceivedAccepted = made.offersMadeAccepted;
+        received.earnings = isEarned(offer.getStatus()) ? amount(offer) : BigDecimal.ZERO;
+        apply(offer.getListing().getCreator().getId(), offer.getCreatedAt(), received);
+    }
+
+    public void offerStatusChanged(OfferEntity offer, OfferStatus oldStatus) {
+        OfferStatus newStatus = offer.getStatus();
+        long accepted = (isAccepted(newStatus) ? 1 : 0) - (isAccepted(oldStatus) ? 1 : 0);
+        int earned = (isEarned(newStatus) ? 1 : 0) - (isEarned(oldStatus) ? 1 : 0);
+
+        Delta made = new Delta();
+        made.offersMadeAccepted = accepted;
+        apply(offer.getUser().getId(), offer.getCreatedAt(), made);
+
+        Delta received = new Delta();
+        received.offersReceivedAccepted = accepted;
+        received.earnings = amount(offer).multiply(BigDecimal.valueOf(earned));
+        apply(offer.getListing().getCreator().getId(), offer.getCreatedAt(), received);
+    }
+
+    public void reviewCreated(ReviewEntity review) {
+        apply(review.getReviewedUser().getId(), review.getCreatedAt(), reviewDelta(review.getScore(), 1));
+    }
+
+    public void reviewScoreChanged(ReviewEntity review, double oldScore) {
+        Delta delta = reviewDelta(review.getScore(), 1);
+        Delta removed = reviewDelta(oldScore, -1);
+        delta.reviewCount = 0;
+        delta.reviewScoreSum += removed.reviewScoreSum;
+        delta.reviewsSatisfied += removed.reviewsSatisfied;
+        apply(review.getReviewedUser().getId(), review.getCreatedAt(), delta);
+    }
+
+    public void reviewDeleted(ReviewEntity review) {
+        apply(review.getReviewedUser().getId(), review.getCreatedAt(), reviewDelta(review.getScore(), -1));
+    }
+
+    /**
+     * Recompute the whole rollup from the listings, offers and reviews tables.
+     * Writers wait for the rebuild, so their changes are neither lost nor counted twice.
+     */
+    @Scheduled(cron = "${uninaswap.analytics.rollup-rebuild-cron:0 30 3 * * *}")
+    public void rebuild() {
+        long started = System.nanoTime();
+        userDailyStatsRepository.lockForRebuild();
+        userDailyStatsRepository.deleteAllRows();
+        int rows = userDailyStatsRepository.rebuildFromSources();
+        analyticsCache.invalidateAll();
+        logger.info("Rebuilt analytics rollup: {} user days in {} ms", rows, (System.nanoTime() - started) / 1_000_000);
+    }
+
+    /**
+     * Fill the rollup the first time the server starts with it, from the existing data
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void backfillIfEmpty() {
+        if (userDailyStatsRepository.count() == 0) {
+            rebuild();
+        }
+    }
+
+    private void apply(Long userId, LocalDateTime createdAt, Delta delta) {
+        if (delta.isEmpty()) {
+            return;
+        }
+        userDailyStatsRepository.addToDay(userId, createdAt.toLocalDate(),
+                delta.listingsCreated, delta.listingsActive, delta.listingsCompleted,
+                delta.offersMade, delta.offersMadeAccepted, delta.offersReceived, delta.offersReceivedAccepted,
+                delta.reviewCount, delta.reviewScoreSum, delta.reviewsSatisfied, delta.earnings);
+        analyticsCache.invalidate(userId);
+    }
+
+    private static void addListingStatus(Delta delta, ListingStatus status, long sign) {
+        if (status == ListingStatus.ACTIVE) {
+            delta.listingsActive += sign;
+        } else if (status == ListingStatus.COMPLETED) {
+            delta.listingsCompleted += sign;
+        }
+    }
+
+    private static Delta reviewDelta(double score, long sign) {
+        Delta delta = new Delta();
+        delta.reviewCount = sign;
+        delta.reviewScoreSum = score * sign;
+        delta.reviewsSatisfied = score >= SATISFIED_SCORE ? sign : 0;
+        return delta;
+    }
+
+    private static boolean isAccepted(OfferStatus status) {
+        return status == OfferStatus.ACCEPTED;
+    }
+
+    // A received offer counts as earnings once the transaction is completed
+    private static boolean isEarned(OfferStatus status) {
+        return status == OfferStatus.COMPLETED || status == OfferStatus.REVIEWED;
+    }
+
+    private static BigDecimal amount(OfferEntity offer) {
+        return offer.getAmount() != null ? offer.getAmount() : BigDecimal.ZERO;
+    }
+
+    /**
+     * Changes to the counters of one user's day
+     */
+    private static class Delta {
+        private long listingsCreated;
+        private long listingsActive;
+        private long listingsCompleted;
+        private long offersMade;
+        private long offersMadeAccepted;
+        private long offersReceived;
+        private long offersReceivedAccepted;
+        private long reviewCount;
+        private double reviewScoreSum;
+        private long reviewsSatisfied;
+        private BigDecimal earnings = BigDecimal.ZERO;
+
+        boolean isEmpty() {
+            return listingsCreated == 0 && listingsActive == 0 && listingsCompleted == 0
+                    && offersMade == 0 && offersMadeAccepted == 0
+                    && offersReceived == 0 && offersReceivedAccepted == 0
+                    && reviewCount == 0 && reviewScoreSum == 0 && reviewsSatisfied == 0
+                    && earnings.signum() == 0;
+        }
+    }
+}
@@ -1,28 +1,36 @@
 package com.uninaswap.server.service;
 
 import com.uninaswap.common.dto.AnalyticsDTO;
-import com.uninaswap.common.enums.ListingStatus;
-import com.uninaswap.common.enums.OfferStatus;
 import com.uninaswap.server.entity.*;
 import com.uninaswap.server.repository.*;
+import jakarta.annotation.PreDestroy;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
-import org.springframework.transaction.annotation.Transactional;
 
 import java.time.LocalDateTime;
 import java.time.temporal.ChronoUnit;
 import java.util.*;
-import java.util.function.Function;
-import java.util.stream.Collectors;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
 
+/**
+ * Builds a user's analytics.
+ * The independent reads behind the sections (the daily rollup, the user and the category
+ * breakdown) run at the same time on virtual threads, each in its own read-only transaction,
+ * so a request takes as long as the slowest of them. Results for a period are cached briefly
+ * in {@link AnalyticsCache}, shared by the dashboard, the comparison and the export.
+ */
 @Service
-@Transactional(readOnly = true)
 public class AnalyticsService {
     
     private static final Logger logger = LoggerFactory.getLogger(AnalyticsService.class);
     
+    private final ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor();
+    
     @Autowired
     private ListingRepository listingRepository;
     
@@ -38,23 +46,41 @@ public class AnalyticsService {
     @Autowired
     private ItemRepository itemRepository;
     
+    @Autowired
+    private AnalyticsAggregator analyticsAggregator;
+    
+    @Autowired
+    private AnalyticsCache analyticsCache;
+    
+    @Autowired
+    private PlatformAnalyticsService platformAnalyticsService;
+    
     /**
      * Get comprehensive analytics for a user within a specific time period
      */
     public AnalyticsDTO getUserAnalytics(Long userId, LocalDateTime startDate, LocalDateTime endDate) {
         logger.info("Generating analytics for user {} from {} to {}", userId, startDate, endDate);
         
-        AnalyticsDTO analytics = new AnalyticsDTO();
+        // Start the reads together; all sections but the categories come from the daily rollup
+        CompletableFuture<AnalyticsAggregator.DailyRollup> rollupFuture = CompletableFuture.supplyAsync(
+            () -> analyticsAggregator.loadDailyRollup(userId, startDate, endDate), executor);
+        CompletableFuture<Optional<UserEntity>> userFuture = CompletableFuture.supplyAsync(
+            () -> userRepository.findById(userId), executor);
+        CompletableFuture<List<AnalyticsDTO.CategoryStatsDTO>> categoriesFuture = CompletableFuture.supplyAsync(
+            () -> generateCategoryBreakdown(userId, startDate, endDate), executor);
+        
+        AnalyticsAggregator.DailyRollup rollup = join(rollupFuture);
+        Optional<UserEntity> user = join(userFuture);
         
-        // Generate all analytics components
-        analytics.setUserStats(generateUserStats(userId, startDate, endDate));
-        analytics.setPerformanceMetrics(generatePerformanceMetrics(userId, startDate, endDate));
-        analytics.setListingStats(generateListingTimeSeriesData(userId, startDate, endDate));
-        analytics.setOfferStats(generateOfferTimeSeriesData(userId, startDate, endDate));
-        analytics.setReviewStats(generateReviewTimeSeriesData(userId, startDate, endDate));
-        analytics.setEarningsStats(generateEarningsTimeSeriesData(userId, startDate, endDate));
-        analytics.setCategoryBreakdown(generateCategoryBreakdown(userId, startDate, endDate));
-        analytics.setMonthlyBreakdown(generateMonthlyBreakdown(userId, startDate, endDate));
+        AnalyticsDTO analytics = new AnalyticsDTO();
+        analytics.setUserStats(generateUserStats(userId, user, rollup, startDate, endDate));
+        analytics.setPerformanceMetrics(generatePerformanceMetrics(userId, rollup, startDate, endDate));
+        analytics.setListingStats(rollup.listingsPerDay());
+        analytics.setOfferStats(rollup.offersMadePerDay());
+        analytics.setReviewStats(rollup.averageRatingPerDay());
+        analytics.setEarningsStats(rollup.earningsPerDay());
+        analytics.setMonthlyBreakdown(rollup.perMonth());
+        analytics.setCategoryBreakdown(join(categoriesFuture));
         
         return analytics;
     }
@@ -63,27 +89,41 @@ public class AnalyticsService {
      * Get analytics for a user by period (week, month, quarter, year, all)
      */
     public AnalyticsDTO getUserAnalyticsByPeriod(Long userId, String period) {
-        LocalDateTime endDate = LocalDateTime.now();
-        LocalDateTime startDate = calculateStartDate(period, endDate);
-        
-        return getUserAnalytics(userId, startDate, endDate);
+        return analyticsCache.get(userId, period, null, () -> {
+            LocalDateTime endDate = LocalDateTime.now();
+            LocalDateTime startDate = calculateStartDate(period, endDate);
+            
+            return getUserAnalytics(userId, startDate, endDate);
+        });
     }
     
     /**
      * Get category-specific analytics for a user
      */
     public AnalyticsDTO getUserCategoryAnalytics(Long userId, String category, String period) {
+        return analyticsCache.get(userId, period, category, () -> generateCategoryAnalytics(userId, category, period));
+    }
+    
+    private AnalyticsDTO generateCategoryAnalytics(Long userId, String category, String period) {
         LocalDateTime endDate = LocalDateTime.now();
         LocalDateTime startDate = calculateStartDate(period, endDate);
         
+        CompletableFuture<AnalyticsAggregator.DailyRollup> rollupFuture = CompletableFuture.supplyAsync(
+            () -> analyticsAggregator.loadDailyRollup(userId, startDate, endDate), executor);
+        CompletableFuture<Optional<UserEntity>> userFuture = CompletableFuture.supplyAsync(
+            () -> userRepository.findById(userId), executor);
+        
+        AnalyticsAggregator.DailyRollup rollup = join(rollupFuture);
+        Optional<UserEntity> user = join(userFuture);
+        
         AnalyticsDTO analytics = new AnalyticsDTO();
         
         // Generate category-filtered analytics
-        analytics.setUserStats(generateCategoryUserStats(userId, category, startDate, endDate));
-        analytics.setPerformanceMetrics(generateCategoryPerformanceMetrics(userId, category, startDate, endDate));
-        analytics.setListingStats(generateCategoryListingTimeSeriesData(userId, category, startDate, endDate));
-        analytics.setOfferStats(generateCategoryOfferTimeSeriesData(userId, category, startDate, endDate));
-        analytics.setEarningsStats(generateCategoryEarningsTimeSeriesData(userId, category, startDate, endDate));
+        analytics.setUserStats(generateCategoryUserStats(userId, category, user, rollup, startDate, endDate));
+        analytics.setPerformanceMetrics(generateCategoryPerformanceMetrics(userId, category, rollup, startDate, endDate));
+        analytics.setListingStats(generateCategoryListingTimeSeriesData(category, rollup));
+        analytics.setOfferStats(generateCategoryOfferTimeSeriesData(category, rollup));
+        analytics.setEarningsStats(generateCategoryEarningsTimeSeriesData(category, rollup));
         
         return analytics;
     }
@@ -92,18 +132,9 @@ public class AnalyticsService {
      * Get performance comparison with platform averages
      */
     public AnalyticsDTO getUserPerformanceComparison(Long userId, String period) {
-        LocalDateTime endDate = LocalDateTime.now();
-        LocalDateTime startDate = calculateStartDate(period, endDate);
-        
-        AnalyticsDTO analytics = getUserAnalytics(userId, startDate, endDate);
-        
-        // Add comparison metrics (platform averages)
-        AnalyticsDTO.PerformanceMetricsDTO userMetrics = analytics.getPerformanceMetrics();
-        AnalyticsDTO.PerformanceMetricsDTO platformAverages = calculatePlatformAverages(startDate, endDate);
-        
-        // You could enhance this to include comparison data
-        // For now, we'll just return the user analytics
-        
+        // A copy, since the cached analytics are shared with other requests
+        AnalyticsDTO analytics = copyOf(getUserAnalyticsByPeriod(userId, period));
+        analytics.setPlatformComparison(buildPlatformComparison(period));
         return analytics;
     }
     
@@ -111,10 +142,7 @@ public class AnalyticsService {
      * Export analytics data in specified format
      */
     public String exportUserAnalytics(Long userId, String format, String period) {
-        LocalDateTime endDate = LocalDateTime.now();
-        LocalDateTime startDate = calculateStartDate(period, endDate);
-        
-        AnalyticsDTO analytics = getUserAnalytics(userId, startDate, endDate);
+        AnalyticsDTO analytics = getUserAnalyticsByPeriod(userId, period);
         
         switch (format.toLowerCase()) {
             case "csv":
@@ -128,9 +156,25 @@ public class AnalyticsService {
         }
     }
     
+    @PreDestroy
+    public void shutdown() {
+        executor.shutdown();
+    }
+    
     // Private helper methods
     
-    private LocalDateTime calculateStartDate(String period, LocalDateTime endDate) {
+    /**
+     * Wait for a section, rethrowing its failure as thrown
+     */
+    private static <T> T join(CompletableFuture<T> section) {
+        try {
+            return section.join();
+        } catch (CompletionException e) {
+            throw e.getCause() instanceof RuntimeException cause ? cause : e;
+        }
+    }
+    
+    static LocalDateTime calculateStartDate(String period, LocalDateTime endDate) {
         return switch (period.toLowerCase()) {
             case "week" -> endDate.minus(1, ChronoUnit.WEEKS);
             case "month" -> endDate.minus(1, ChronoUnit.MONTHS);
@@ -141,54 +185,32 @@ public class AnalyticsService {
         };
     }
     
-    private AnalyticsDTO.UserStatsDTO generateUserStats(Long userId, LocalDateTime startDate, LocalDateTime endDate) {
+    private AnalyticsDTO.UserStatsDTO generateUserStats(Long userId, Optional<UserEntity> user, AnalyticsAggregator.DailyRollup rollup, LocalDateTime startDate, LocalDateTime endDate) {
         AnalyticsDTO.UserStatsDTO stats = new AnalyticsDTO.UserStatsDTO();
         
-        // Get user registration date
-        Optional<UserEntity> userOpt = userRepository.findById(userId);
-        if (userOpt.isPresent()) {
-            stats.setMemberSince(userOpt.get().getCreatedAt());
+        // User registration date
+        if (user.isPresent()) {
+            stats.setMemberSince(user.get().getCreatedAt());
         }
         
         // Listing statistics
-        List<ListingEntity> userListings = listingRepository.findByCreatorIdAndCreatedAtBetween(
-            userId, startDate, endDate);
-        stats.setTotalListings(userListings.size());
-        stats.setActiveListings((int) userListings.stream()
-            .filter(l -> l.getStatus() == ListingStatus.ACTIVE)
-            .count());
-        stats.setCompletedListings((int) userListings.stream()
-            .filter(l -> l.getStatus() == ListingStatus.COMPLETED)
-            .count());
+        stats.setTotalListings((int) rollup.getListingsCreated());
+        stats.setActiveListings((int) rollup.getListingsActive());
+        stats.setCompletedListings((int) rollup.getListingsCompleted());
         
         // Offer statistics
-        List<OfferEntity> offersMade = offerRepository.findByUserIdAndCreatedAtBetween(
-            userId, startDate, endDate);
-        stats.setTotalOffersMade(offersMade.size());
-        stats.setAcceptedOffers((int) offersMade.stream()
-            .filter(o -> o.getStatus() == OfferStatus.ACCEPTED)
-            .count());
-        
-        List<OfferEntity> offersReceived = offerRepository.findByListingCreatorIdAndCreatedAtBetween(
-            userId, startDate, endDate);
-        stats.setTotalOffersReceived(offersReceived.size());
+        stats.setTotalOffersMade((int) rollup.getOffersMade());
+        stats.setAcceptedOffers((int) rollup.getOffersMadeAccepted());
+        stats.setTotalOffersReceived((int) rollup.getOffersReceived());
         
         // Review and rating statistics
-        List<ReviewEntity> reviewsReceived = reviewRepository.findByReviewedUserIdAndCreatedAtBetween(
-            userId, startDate, endDate);
-        stats.setTotalReviews(reviewsReceived.size());
-        
-        if (!reviewsReceived.isEmpty()) {
-            double averageRating = reviewsReceived.stream()
-                .mapToDouble(ReviewEntity::getScore)
-                .average()
-                .orElse(0.0);
-            stats.setAverageRating(averageRating);
+        stats.setTotalReviews((int) rollup.getReviewCount());
+        if (rollup.getReviewCount() > 0) {
+            stats.setAverageRating(rollup.getAverageScore());
         }
         
-        // Calculate earnings (mock calculation - you'd implement based on your business logic)
-        double totalEarnings = calculateTotalEarnings(userId, startDate, endDate);
-        stats.setTotalEarnings(totalEarnings);
+        // Earnings from completed offers received
+        stats.setTotalEarnings(rollup.getEarnings().doubleValue());
         
         // Views and favorites (mock data - you'd implement based on your tracking)
         stats.setTotalViews(calculateTotalViews(userId, startDate, endDate));
@@ -197,44 +219,25 @@ public class AnalyticsService {
         return stats;
     }
     
-    private AnalyticsDTO.PerformanceMetricsDTO generatePerformanceMetrics(Long userId, LocalDateTime startDate, LocalDateTime endDate) {
+    private AnalyticsDTO.PerformanceMetricsDTO generatePerformanceMetrics(Long userId, AnalyticsAggregator.DailyRollup rollup, LocalDateTime startDate, LocalDateTime endDate) {
         AnalyticsDTO.PerformanceMetricsDTO metrics = new AnalyticsDTO.PerformanceMetricsDTO();
         
-        List<ListingEntity> userListings = listingRepository.findByCreatorIdAndCreatedAtBetween(
-            userId, startDate, endDate);
-        List<OfferEntity> userOffers = offerRepository.findByUserIdAndCreatedAtBetween(
-            userId, startDate, endDate);
-        List<OfferEntity> offersReceived = offerRepository.findByListingCreatorIdAndCreatedAtBetween(
-            userId, startDate, endDate);
-        
         // Listing success rate (completed / total)
-        if (!userListings.isEmpty()) {
-            long completedListings = userListings.stream()
-                .filter(l -> l.getStatus() == ListingStatus.COMPLETED)
-                .count();
-            metrics.setListingSuccessRate((double) completedListings / userListings.size() * 100);
+        if (rollup.getListingsCreated() > 0) {
+            metrics.setListingSuccessRate((double) rollup.getListingsCompleted() / rollup.getListingsCreated() * 100);
         }
         
         // Offer acceptance rate
-        if (!offersReceived.isEmpty()) {
-            long acceptedOffers = offersReceived.stream()
-                .filter(o -> o.getStatus() == OfferStatus.ACCEPTED)
-                .count();
-            metrics.setOfferAcceptanceRate((double) acceptedOffers / offersReceived.size() * 100);
+        if (rollup.getOffersReceived() > 0) {
+            metrics.setOfferAcceptanceRate((double) rollup.getOffersReceivedAccepted() / rollup.getOffersReceived() * 100);
         }
         
         // Average time to sell (mock calculation)
-        metrics.setAverageTimeToSell(calculateAverageTimeToSell(userListings));
+        metrics.setAverageTimeToSell(calculateAverageTimeToSell(userId, startDate, endDate));
         
-        // Customer satisfaction rate (based on reviews)
-        List<ReviewEntity> reviews = reviewRepository.findByReviewedUserIdAndCreatedAtBetween(
-            userId, startDate, endDate);
-        if (!reviews.isEmpty()) {
-            double satisfactionRate = reviews.stream()
-                .mapToDouble(ReviewEntity::getScore)
-                .filter(score -> score >= 4) // 4+ stars considered satisfied
-                .count() * 100.0 / reviews.size();
-            metrics.setCustomerSatisfactionRate(satisfactionRate);
+        // Customer satisfaction rate (based on reviews, 4+ stars considered satisfied)
+        if (rollup.getReviewCount() > 0) {
+            metrics.setCustomerSatisfactionRate(rollup.getReviewsSatisfied() * 100.0 / rollup.getReviewCount());
         }
         
         // Rating trend (mock calculation)
@@ -246,160 +249,14 @@ public class AnalyticsService {
         return metrics;
     }
     
-    private List<AnalyticsDTO.TimeSeriesDataDTO> generateListingTimeSeriesData(Long userId, LocalDateTime startDate, LocalDateTime endDate) {
-        List<AnalyticsDTO.TimeSeriesDataDTO> data = new ArrayList<>();
-        
-        // Generate daily data points
-        LocalDateTime current = startDate;
-        while (current.isBefore(endDate)) {
-            LocalDateTime dayEnd = current.plusDays(1);
-            
-            long listingsCount = listingRepository.countByCreatorIdAndCreatedAtBetween(
-                userId, current, dayEnd);
-            
-            data.add(new AnalyticsDTO.TimeSeriesDataDTO(
-                current, 
-                listingsCount, 
-                current.toLocalDate().toString()
-            ));
-            
-            current = current.plusDays(1);
-        }
-        
-        return data;
-    }
-    
-    private List<AnalyticsDTO.TimeSeriesDataDTO> generateOfferTimeSeriesData(Long userId, LocalDateTime startDate, LocalDateTime endDate) {
-        List<AnalyticsDTO.TimeSeriesDataDTO> data = new ArrayList<>();
-        
-        LocalDateTime current = startDate;
-        while (current.isBefore(endDate)) {
-            LocalDateTime dayEnd = current.plusDays(1);
-            
-            long offersCount = offerRepository.countByUserIdAndCreatedAtBetween(
-                userId, current, dayEnd);
-            
-            data.add(new AnalyticsDTO.TimeSeriesDataDTO(
-                current, 
-                offersCount, 
-                current.toLocalDate().toString()
-            ));
-            
-            current = current.plusDays(1);
-        }
-        
-        return data;
-    }
-    
-    private List<AnalyticsDTO.TimeSeriesDataDTO> generateReviewTimeSeriesData(Long userId, LocalDateTime startDate, LocalDateTime endDate) {
-        List<AnalyticsDTO.TimeSeriesDataDTO> data = new ArrayList<>();
-        
-        LocalDateTime current = startDate;
-        while (current.isBefore(endDate)) {
-            LocalDateTime dayEnd = current.plusDays(1);
-            
-            List<ReviewEntity> dayReviews = reviewRepository.findByReviewedUserIdAndCreatedAtBetween(
-                userId, current, dayEnd);
-            
-            double averageRating = dayReviews.stream()
-                .mapToDouble(ReviewEntity::getScore)
-                .average()
-                .orElse(0.0);
-            
-            data.add(new AnalyticsDTO.TimeSeriesDataDTO(
-                current, 
-                averageRating, 
-                current.toLocalDate().toString()
-            ));
-            
-            current = current.plusDays(1);
-        }
-        
-        return data;
-    }
-    
-    private List<AnalyticsDTO.TimeSeriesDataDTO> generateEarningsTimeSeriesData(Long userId, LocalDateTime startDate, LocalDateTime endDate) {
-        List<AnalyticsDTO.TimeSeriesDataDTO> data = new ArrayList<>();
-        
-        LocalDateTime current = startDate;
-        while (current.isBefore(endDate)) {
-            LocalDateTime dayEnd = current.plusDays(1);
-            
-            // Mock earnings calculation - implement based on your business logic
-            double dayEarnings = calculateDayEarnings(userId, current, dayEnd);
-            
-            data.add(new AnalyticsDTO.TimeSeriesDataDTO(
-                current, 
-                dayEarnings, 
-                current.toLocalDate().toString()
-            ));
-            
-            current = current.plusDays(1);
-        }
-        
-        return data;
-    }
-    
     private List<AnalyticsDTO.CategoryStatsDTO> generateCategoryBreakdown(Long userId, LocalDateTime startDate, LocalDateTime endDate) {
-        List<AnalyticsDTO.CategoryStatsDTO> breakdown = new ArrayList<>();
-        
-        // Get all listings grouped by category
-        List<ListingEntity> userListings = listingRepository.findByCreatorIdAndCreatedAtBetween(
-            userId, startDate, endDate);
-        
-        Map<String, List<ListingEntity>> categoryGroups = userListings.stream()
-        .collect(Collectors.groupingBy((Function<ListingEntity, String>) listing -> 
-            listing.getItems().isEmpty() ? "other" : 
-            listing.getItems().get(0).getCategory().toLowerCase()));
+        List<AnalyticsDTO.CategoryStatsDTO> breakdown = analyticsAggregator.listingsByCategory(userId, startDate, endDate);
         
-        for (Map.Entry<String, List<ListingEntity>> entry : categoryGroups.entrySet()) {
-            String category = entry.getKey();
-            List<ListingEntity> categoryListings = entry.getValue();
-            
-            AnalyticsDTO.CategoryStatsDTO categoryStats = new AnalyticsDTO.CategoryStatsDTO();
-            categoryStats.setCategory(category);
-            categoryStats.setTotalListings(categoryListings.size());
-            categoryStats.setActiveListings((int) categoryListings.stream()
-                .filter(l -> l.getStatus() == ListingStatus.ACTIVE)
-                .count());
-            categoryStats.setCompletedListings((int) categoryListings.stream()
-                .filter(l -> l.getStatus() == ListingStatus.COMPLETED)
-                .count());
-            
+        for (AnalyticsDTO.CategoryStatsDTO categoryStats : breakdown) {
             // Mock calculations
+            String category = categoryStats.getCategory();
             categoryStats.setTotalEarnings(calculateCategoryEarnings(userId, category, startDate, endDate));
             categoryStats.setAverageRating(calculateCategoryAverageRating(userId, category, startDate, endDate));
-            
-            breakdown.add(categoryStats);
-        }
-        
-        return breakdown;
-    }
-    
-    private List<AnalyticsDTO.MonthlyStatsDTO> generateMonthlyBreakdown(Long userId, LocalDateTime startDate, LocalDateTime endDate) {
-        List<AnalyticsDTO.MonthlyStatsDTO> breakdown = new ArrayList<>();
-        
-        LocalDateTime current = startDate.withDayOfMonth(1);
-        while (current.isBefore(endDate)) {
-            LocalDateTime monthEnd = current.plusMonths(1);
-            
-            List<ListingEntity> monthListings = listingRepository.findByCreatorIdAndCreatedAtBetween(
-                userId, current, monthEnd);
-            
-            AnalyticsDTO.MonthlyStatsDTO monthStats = new AnalyticsDTO.MonthlyStatsDTO();
-            monthStats.setYear(current.getYear());
-            monthStats.setMonth(current.getMonthValue());
-            monthStats.setTotalListings(monthListings.size());
-            monthStats.setCompletedTransactions((int) monthListings.stream()
-                .filter(l -> l.getStatus() == ListingStatus.COMPLETED)
-                .count());
-            
-            // Mock calculations
-            monthStats.setEarnings(calculateMonthEarnings(userId, current, monthEnd));
-            monthStats.setAverageRating(calculateMonthAverageRating(userId, current, monthEnd));
-            
-            breakdown.add(monthStats);
-            current = current.plusMonths(1);
         }
         
         return breakdown;
@@ -407,39 +264,34 @@ public class AnalyticsService {
     
     // Category-specific methods (simplified implementations)
     
-    private AnalyticsDTO.UserStatsDTO generateCategoryUserStats(Long userId, String category, LocalDateTime startDate, LocalDateTime endDate) {
+    private AnalyticsDTO.UserStatsDTO generateCategoryUserStats(Long userId, String category, Optional<UserEntity> user, AnalyticsAggregator.DailyRollup rollup, LocalDateTime startDate, LocalDateTime endDate) {
         // Similar to generateUserStats but filtered by category
         // Implementation would filter queries by category
-        return generateUserStats(userId, startDate, endDate); // Simplified
+        return generateUserStats(userId, user, rollup, startDate, endDate); // Simplified
     }
     
-    private AnalyticsDTO.PerformanceMetricsDTO generateCategoryPerformanceMetrics(Long userId, String category, LocalDateTime startDate, LocalDateTime endDate) {
+    private AnalyticsDTO.PerformanceMetricsDTO generateCategoryPerformanceMetrics(Long userId, String category, AnalyticsAggregator.DailyRollup rollup, LocalDateTime startDate, LocalDateTime endDate) {
         // Similar to generatePerformanceMetrics but filtered by category
-        return generatePerformanceMetrics(userId, startDate, endDate); // Simplified
+        return generatePerformanceMetrics(userId, rollup, startDate, endDate); // Simplified
     }
     
-    private List<AnalyticsDTO.TimeSeriesDataDTO> generateCategoryListingTimeSeriesData(Long userId, String category, LocalDateTime startDate, LocalDateTime endDate) {
-        // Similar to generateListingTimeSeriesData but filtered by category
-        return generateListingTimeSeriesData(userId, startDate, endDate); // Simplified
+    private List<AnalyticsDTO.TimeSeriesDataDTO> generateCategoryListingTimeSeriesData(String category, AnalyticsAggregator.DailyRollup rollup) {
+        // Similar to the listing time series but filtered by category
+        return rollup.listingsPerDay(); // Simplified
     }
     
-    private List<AnalyticsDTO.TimeSeriesDataDTO> generateCategoryOfferTimeSeriesData(Long userId, String category, LocalDateTime startDate, LocalDateTime endDate) {
-        // Similar to generateOfferTimeSeriesData but filtered by category
-        return generateOfferTimeSeriesData(userId, startDate, endDate); // Simplified
+    private List<AnalyticsDTO.TimeSeriesDataDTO> generateCategoryOfferTimeSeriesData(String category, AnalyticsAggregator.DailyRollup rollup) {
+        // Similar to the offer time series but filtered by category
+        return rollup.offersMadePerDay(); // Simplified
     }
     
-    private List<AnalyticsDTO.TimeSeriesDataDTO> generateCategoryEarningsTimeSeriesData(Long userId, String category, LocalDateTime startDate, LocalDateTime endDate) {
-        // Similar to generateEarningsTimeSeriesData but filtered by category
-        return generateEarningsTimeSeriesData(userId, startDate, endDate); // Simplified
+    private List<AnalyticsDTO.TimeSeriesDataDTO> generateCategoryEarningsTimeSeriesData(String category, AnalyticsAggregator.DailyRollup rollup) {
+        // Similar to the earnings time series but filtered by category
+        return rollup.earningsPerDay(); // Simplified
     }
     
     // Mock calculation methods (implement based on your business logic)
     
-    private double calculateTotalEarnings(Long userId, LocalDateTime startDate, LocalDateTime endDate) {
-        // Mock implementation - replace with actual earnings calculation
-        return Math.random() * 1000;
-    }
-    
     private int calculateTotalViews(Long userId, LocalDateTime startDate, LocalDateTime endDate) {
         // Mock implementation - replace with actual view tracking
         return (int) (Math.random() * 500);
@@ -450,7 +302,7 @@ public class AnalyticsService {
         return (int) (Math.random() * 100);
     }
     
-    private double calculateAverageTimeToSell(List<ListingEntity> listings) {
+    private double calculateAverageTimeToSell(Long userId, LocalDateTime startDate, LocalDateTime endDate) {
         // Mock implementation - calculate average time between creation and completion
         return Math.random() * 30; // 0-30 days
     }
@@ -465,11 +317,6 @@ public class AnalyticsService {
         return Math.random() * 100;
     }
     
-    private double calculateDayEarnings(Long userId, LocalDateTime startDate, LocalDateTime endDate) {
-        // Mock implementation - calculate earnings for a specific day
-        return Math.random() * 50;
-    }
-    
     private double calculateCategoryEarnings(Long userId, String category, LocalDateTime startDate, LocalDateTime endDate) {
         // Mock implementation - calculate earnings for a specific category
         return Math.random() * 300;
@@ -480,26 +327,35 @@ public class AnalyticsService {
         return 3.5 + Math.random() * 1.5; // 3.5 - 5.0
     }
     
-    private double calculateMonthEarnings(Long userId, LocalDateTime startDate, LocalDateTime endDate) {
-        // Mock implementation - calculate earnings for a month
-        return Math.random() * 500;
+    private AnalyticsDTO.PlatformComparisonDTO buildPlatformComparison(String period) {
+        // Platform-wide figures for comparison, from the latest background snapshot
+        PlatformAnalyticsService.Snapshot platform = platformAnalyticsService.getSnapshot(period);
+        AnalyticsDTO.PlatformComparisonDTO comparison = new AnalyticsDTO.PlatformComparisonDTO();
+        comparison.setComputedAt(platform.getComputedAt());
+        comparison.setActiveUsers(platform.getActiveUsers());
+        comparison.setListingSuccessRate(toDTO(platform.getListingSuccessRate()));
+        comparison.setOfferAcceptanceRate(toDTO(platform.getOfferAcceptanceRate()));
+        comparison.setCustomerSatisfactionRate(toDTO(platform.getCustomerSatisfactionRate()));
+        comparison.setAverageRating(platform.getAverageRating());
+        comparison.setRatingDistribution(platform.getRatingDistribution());
+        return comparison;
     }
     
-    private double calculateMonthAverageRating(Long userId, LocalDateTime startDate, LocalDateTime endDate) {
-        // Mock implementation - calculate average rating for a month
-        return 3.5 + Math.random() * 1.5; // 3.5 - 5.0
+    private static AnalyticsDTO.DistributionDTO toDTO(PlatformAnalyticsService.Distribution distribution) {
+        return new AnalyticsDTO.DistributionDTO(distribution.getAverage(), distribution.getMedian(), distribution.getP90());
     }
     
-    private AnalyticsDTO.PerformanceMetricsDTO calculatePlatformAverages(LocalDateTime startDate, LocalDateTime endDate) {
-        // Mock implementation - calculate platform-wide averages for comparison
-        AnalyticsDTO.PerformanceMetricsDTO averages = new AnalyticsDTO.PerformanceMetricsDTO();
-        averages.setListingSuccessRate(65.0);
-        averages.setOfferAcceptanceRate(45.0);
-        averages.setAverageTimeToSell(15.0);
-        averages.setCustomerSatisfactionRate(85.0);
-        averages.setRepeatCustomerRate(30.0);
-        averages.setRatingTrend(0.1);
-        return averages;
+    private static AnalyticsDTO copyOf(AnalyticsDTO source) {
+        AnalyticsDTO copy = new AnalyticsDTO();
+        copy.setUserStats(source.getUserStats());
+        copy.setListingStats(source.getListingStats());
+        copy.setOfferStats(source.getOfferStats());
+        copy.setReviewStats(source.getReviewStats());
+        copy.setEarningsStats(source.getEarningsStats());
+        copy.setCategoryBreakdown(source.getCategoryBreakdown());
+        copy.setMonthlyBreakdown(source.getMonthlyBreakdown());
+        copy.setPerformanceMetrics(source.getPerformanceMetrics());
+        return copy;
     }
     
     // Export methods (simplified implementations)
@@ -532,4 +388,4 @@ public class AnalyticsService {
         // Mock implementation - in reality, you'd use Apache POI
         return "Excel export data for analytics"; // Base64 encoded Excel would go here
     }
-}
\ No newline at end of file
+}
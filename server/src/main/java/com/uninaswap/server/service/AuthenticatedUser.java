@@ -0,0 +1,35 @@
+package com.uninaswap.server.service;
+
+import com.uninaswap.server.entity.UserEntity;
+
+/**
+ * Lightweight principal kept for an authenticated token or session.
+ * Holds only what handlers need instead of a full {@link UserEntity}.
+ */
+public final class AuthenticatedUser {
+
+    private final Long id;
+    private final String username;
+
+    public AuthenticatedUser(Long id, String username) {
+        this.id = id;
+        this.username = username;
+    }
+
+    public static AuthenticatedUser of(UserEntity user) {
+        return new AuthenticatedUser(user.getId(), user.getUsername());
+    }
+
+    public Long getId() {
+        return id;
+    }
+
+    public String getUsername() {
+        return username;
+    }
+
+    @Override
+    public String toString() {
+        return "AuthenticatedUser{id=" + id + ", username='" + username + "'}";
+    }
+}
@@ -0,0 +1,124 @@
+package com.uninaswap.server.service;
+
+import com.uninaswap.server.repository.ItemRepository;
+import com.uninaswap.server.repository.ListingRepository;
+import com.uninaswap.server.repository.UserRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Deletes stored images nothing refers to any more.
+ * An image's reference count is the number of items, listings and user profiles whose image
+ * path names it, taken from the database on every run so it cannot drift from the rows
+ * themselves. Since the same content is stored once, an image stays as long as any of them
+ * uses it. Images written within the grace period are kept even without references, because
+ * uploads happen before the item or profile that will use them is saved.
+ */
+@Service
+public class ImageGarbageCollector {
+    private static final Logger logger = LoggerFactory.getLogger(ImageGarbageCollector.class);
+
+    private final ImageService imageService;
+    private final ImageVariantService imageVariantService;
+    private final ItemRepository itemRepository;
+    private final ListingRepository listingRepository;
+    private final UserRepository userRepository;
+    private final Duration gracePeriod;
+    private final Counter collected;
+
+    public ImageGarbageCollector(ImageService imageService,
+            ImageVariantService imageVariantService,
+            ItemRepository itemRepository,
+            ListingRepository listingRepository,
+            UserRepository userRepository,
+            MeterRegistry meterRegistry,
+            @Value("${uninaswap.images.gc-grace-period:P1D}") Duration gracePeriod) {
+        this.imageService = imageService;
+        this.imageVariantService = imageVariantService;
+        this.itemRepository = itemRepository;
+        this.listingRepository = listingRepository;
+        this.userRepository = userRepository;
+        this.gracePeriod = gracePeriod;
+        this.collected = Counter.builder("uninaswap.images.collected")
+                .description("Unreferenced images deleted by garbage collection")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Reference counts of every image in use, keyed by image name
+     */
+    @Transactional(readOnly = true)
+    public Map<String, Long> countReferences() {
+        Map<String, Long> references = new HashMap<>();
+        addCounts(references, itemRepository.countByImagePath());
+        addCounts(references, listingRepository.countByImagePath());
+        addCounts(references, userRepository.countByProfileImagePath());
+        return references;
+    }
+
+    @Scheduled(fixedDelayString = "${uninaswap.images.gc-interval:PT6H}",
+            initialDelayString = "${uninaswap.images.gc-interval:PT6H}")
+    public void collectGarbage() {
+        Map<String, Long> references = countReferences();
+        Instant cutoff = Instant.now().minus(gracePeriod);
+        AtomicInteger deleted = new AtomicInteger();
+
+        try {
+            imageService.forEachStoredImage(path -> {
+                String filename = path.getFileName().toString();
+                if (references.getOrDefault(filename, 0L) > 0) {
+                    return;
+                }
+                try {
+                    if (Files.getLastModifiedTime(path).toInstant().isAfter(cutoff)) {
+                        return;
+                    }
+                    imageVariantService.deleteVariants(filename);
+                    if (Files.deleteIfExists(path)) {
+                        deleted.incrementAndGet();
+                        collected.increment();
+                    }
+                } catch (IOException e) {
+                    logger.warn("Failed to delete unreferenced image {}", path, e);
+                }
+            });
+        } catch (IOException e) {
+            logger.error("Image garbage collection failed", e);
+            return;
+        }
+
+        if (deleted.get() > 0) {
+            logger.info("Image garbage collection deleted {} unreferenced images", deleted.get());
+        }
+    }
+
+    private static void addCounts(Map<String, Long> references, List<Object[]> rows) {
+        for (Object[] row : rows) {
+            references.merge(imageName((String) row[0]), (Long) row[1], Long::sum);
+        }
+    }
+
+    /**
+     * Paths are stored as the bare image name, but tolerate ones saved with a directory prefix
+     */
+    private static String imageName(String path) {
+        int separator = Math.max(path.lastIndexOf('/'), path.lastIndexOf('\\'));
+        return separator >= 0 ? path.substring(separator + 1) : path;
+    }
+}
@@ -1,67 +1,160 @@
 package com.uninaswap.server.service;
 
+import com.uninaswap.common.enums.ImageSize;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
 import org.springframework.stereotype.Service;
-import java.io.File;
-import java.io.FileOutputStream;
+import java.io.ByteArrayInputStream;
 import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
 import java.nio.file.Files;
 import java.nio.file.Path;
 import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.attribute.FileTime;
+import java.security.DigestInputStream;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
 import java.util.Base64;
-import java.util.UUID;
+import java.util.HexFormat;
+import java.util.Locale;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+import java.util.regex.Pattern;
+import java.util.stream.Stream;
 
+/**
+ * Content-addressed image storage.
+ * An image is named after the SHA-256 of its bytes ("hash.ext"), so uploading the same photo
+ * again reuses the stored file, and a name always refers to the same content. Files are spread
+ * over two levels of directories taken from the start of the name (uploads/ab/cd/abcd....jpg)
+ * rather than one flat folder. Images stored before this under random names stay readable
+ * from the top of the uploads directory.
+ */
 @Service
 public class ImageService {
-    
-    private final String uploadDir;
-    
-    public ImageService() {
+
+    // Stored images are named "<id>.<extension>"; anything else is rejected before touching the disk
+    private static final Pattern IMAGE_FILENAME = Pattern.compile("[A-Za-z0-9_-]+\\.[A-Za-z0-9]+");
+    private static final String VARIANTS_DIRECTORY = "variants";
+    private static final String VARIANT_EXTENSION = "jpg";
+
+    private final Path uploadDir;
+    private final Counter deduplicatedUploads;
+    private final DistributionSummary uploadSize;
+    private final DistributionSummary uploadThroughput;
+    private final Timer uploadDuration;
+
+    public ImageService(MeterRegistry meterRegistry) {
         // Create uploads directory in project root
-        this.uploadDir = "uploads";
-        File directory = new File(uploadDir);
-        if (!directory.exists()) {
-            directory.mkdirs();
+        this.uploadDir = Paths.get("uploads");
+        try {
+            Files.createDirectories(uploadDir);
+        } catch (IOException e) {
+            throw new IllegalStateException("Cannot create upload directory " + uploadDir.toAbsolutePath(), e);
         }
+        this.deduplicatedUploads = Counter.builder("uninaswap.images.deduplicated")
+                .description("Uploads whose content was already stored")
+                .register(meterRegistry);
+        this.uploadSize = DistributionSummary.builder("uninaswap.images.upload.size")
+                .description("Size of stored uploads")
+                .baseUnit("bytes")
+                .register(meterRegistry);
+        this.uploadThroughput = DistributionSummary.builder("uninaswap.images.upload.throughput")
+                .description("Rate at which uploads were written to disk")
+                .baseUnit("bytes/s")
+                .register(meterRegistry);
+        this.uploadDuration = Timer.builder("uninaswap.images.upload.duration")
+                .description("Time to write an upload to disk and move it into the store")
+                .register(meterRegistry);
     }
-    
+
     /**
      * Saves a Base64 encoded image to disk
      * @param base64Image Base64 encoded image data
      * @param format Image format (jpg, png, etc)
-     * @return The unique image ID that can be used to retrieve the image
+     * @return The image name that can be used to retrieve the image
      */
     public String saveImage(String base64Image, String format) throws IOException {
-        // Generate a unique ID for the image
-        String imageId = UUID.randomUUID().toString();
-        
-        // Decode the base64 string
-        byte[] imageBytes = Base64.getDecoder().decode(base64Image);
-        
-        // Create the file path
-        String filename = imageId + "." + format;
-        String filePath = uploadDir + File.separator + filename;
-        
-        // Write the file to disk
-        try (FileOutputStream fos = new FileOutputStream(filePath)) {
-            fos.write(imageBytes);
+        return storeImage(Base64.getDecoder().decode(base64Image), format);
+    }
+
+    /**
+     * Stores image bytes under the hash of their content
+     * @param data The image data
+     * @param extension The file extension (e.g., jpg, png)
+     * @return The image name, e.g. "hash.jpg"
+     * @throws IOException If an I/O error occurs
+     */
+    public String storeImage(byte[] data, String extension) throws IOException {
+        return storeImage(new ByteArrayInputStream(data), extension);
+    }
+
+    /**
+     * Stores an image read from a stream under the hash of its content.
+     * The data is copied to a temporary file while being hashed, so it is never held in memory,
+     * and then moved into place atomically; readers never see a partial image.
+     * @param data The image data; not closed
+     * @param extension The file extension (e.g., jpg, png)
+     * @return The image name, e.g. "hash.jpg"
+     * @throws IOException If an I/O error occurs
+     */
+    public String storeImage(InputStream data, String extension) throws IOException {
+        String normalizedExtension = normalizeExtension(extension);
+        long started = System.nanoTime();
+        MessageDigest digest = sha256();
+
+        // Written at the top of the store, which is on the same file system as the final location
+        Path temp = Files.createTempFile(uploadDir, "upload-", ".tmp");
+        try {
+            long size;
+            try (OutputStream out = Files.newOutputStream(temp)) {
+                size = new DigestInputStream(data, digest).transferTo(out);
+            }
+
+            String filename = moveIntoStore(temp, digest, normalizedExtension);
+            recordUpload(size, System.nanoTime() - started);
+            return filename;
+        } finally {
+            Files.deleteIfExists(temp);
         }
-        
-        return imageId;
     }
-    
+
     /**
-     * Saves an image file to disk
-     * @param imageId The unique ID of the image
+     * Creates an empty temporary file at the top of the store, for an upload to be written to
+     * and then passed to {@link #storeImageFile(Path, String)}
+     */
+    public Path createUploadFile() throws IOException {
+        return Files.createTempFile(uploadDir, "upload-", ".tmp");
+    }
+
+    /**
+     * Stores an image already written to disk under the hash of its content.
+     * The file is read once to hash it and then moved into place rather than copied.
+     * @param file The image file, on the store's file system (see {@link #createUploadFile()});
+     *             moved into the store, or left for the caller to delete if the content is already stored
      * @param extension The file extension (e.g., jpg, png)
-     * @param data The image data as a byte array
+     * @return The image name, e.g. "hash.jpg"
      * @throws IOException If an I/O error occurs
      */
-    public void saveImageFile(String imageId, String extension, byte[] data) throws IOException {
-        String filename = imageId + "." + extension;
-        Path path = Paths.get(uploadDir, filename);
-        Files.write(path, data);
+    public String storeImageFile(Path file, String extension) throws IOException {
+        String normalizedExtension = normalizeExtension(extension);
+        long started = System.nanoTime();
+        MessageDigest digest = sha256();
+
+        long size;
+        try (InputStream in = new DigestInputStream(Files.newInputStream(file), digest)) {
+            size = in.transferTo(OutputStream.nullOutputStream());
+        }
+        String filename = moveIntoStore(file, digest, normalizedExtension);
+        recordUpload(size, System.nanoTime() - started);
+        return filename;
     }
-    
+
     /**
      * Retrieves an image from disk as Base64
      * @param imageId The ID of the image to retrieve
@@ -69,17 +162,58 @@ public class ImageService {
      * @return Base64 encoded image data
      */
     public String getImage(String imageId, String format) throws IOException {
-        String filename = imageId + "." + format;
-        Path path = Paths.get(uploadDir, filename);
-        
-        if (!Files.exists(path)) {
+        Optional<Path> path = findImageFile(imageId + "." + format);
+
+        if (path.isEmpty()) {
             throw new IOException("Image not found: " + imageId);
         }
-        
-        byte[] imageBytes = Files.readAllBytes(path);
+
+        byte[] imageBytes = Files.readAllBytes(path.get());
         return Base64.getEncoder().encodeToString(imageBytes);
     }
-    
+
+    /**
+     * Resolves a stored image file by its name
+     * @param filename The image name as returned by an upload, e.g. "id.jpg"
+     * @return The file path, or empty if the name is invalid or no such image exists
+     */
+    public Optional<Path> findImageFile(String filename) {
+        if (filename == null || !IMAGE_FILENAME.matcher(filename).matches()) {
+            return Optional.empty();
+        }
+        Path path = blobPath(filename);
+        if (Files.isRegularFile(path)) {
+            return Optional.of(path);
+        }
+        // Stored before content addressing, in the flat uploads directory
+        Path legacyPath = uploadDir.resolve(filename);
+        return Files.isRegularFile(legacyPath) ? Optional.of(legacyPath) : Optional.empty();
+    }
+
+    /**
+     * Where the downscaled variant of an image is kept
+     * @param filename The original image name
+     * @param size The variant
+     */
+    public Path variantPath(String filename, ImageSize size) {
+        String baseName = filename.substring(0, filename.lastIndexOf('.'));
+        return shard(uploadDir.resolve(VARIANTS_DIRECTORY).resolve(size.getParameter()), baseName + "." + VARIANT_EXTENSION);
+    }
+
+    /**
+     * Visits every stored original image, both content-addressed and legacy ones
+     */
+    public void forEachStoredImage(Consumer<Path> action) throws IOException {
+        Path variants = uploadDir.resolve(VARIANTS_DIRECTORY);
+        try (Stream<Path> files = Files.walk(uploadDir)) {
+            files.filter(path -> !path.startsWith(variants))
+                    .filter(Files::isRegularFile)
+                    .filter(path -> !path.getFileName().toString().endsWith(".tmp"))
+                    .filter(path -> IMAGE_FILENAME.matcher(path.getFileName().toString()).matches())
+                    .forEach(action);
+        }
+    }
+
     /**
      * Deletes an image from disk
      * @param imageId The ID of the image to delete
@@ -87,13 +221,73 @@ public class ImageService {
      * @return true if deletion was successful
      */
     public boolean deleteImage(String imageId, String format) {
-        String filename = imageId + "." + format;
-        Path path = Paths.get(uploadDir, filename);
-        
+        Optional<Path> path = findImageFile(imageId + "." + format);
+
         try {
-            return Files.deleteIfExists(path);
+            return path.isPresent() && Files.deleteIfExists(path.get());
         } catch (IOException e) {
             return false;
         }
     }
-}
\ No newline at end of file
+
+    /**
+     * Moves a fully written file to the path named after its digest, unless that content is already stored
+     */
+    private String moveIntoStore(Path file, MessageDigest digest, String extension) throws IOException {
+        String filename = HexFormat.of().formatHex(digest.digest()) + "." + extension;
+        Path path = blobPath(filename);
+        if (!markExisting(path)) {
+            Files.createDirectories(path.getParent());
+            Files.move(file, path, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        }
+        return filename;
+    }
+
+    /**
+     * If the content is already stored, refreshes its timestamp so a garbage collection running
+     * before the new reference is saved does not treat it as abandoned
+     */
+    private boolean markExisting(Path path) throws IOException {
+        if (!Files.isRegularFile(path)) {
+            return false;
+        }
+        Files.setLastModifiedTime(path, FileTime.fromMillis(System.currentTimeMillis()));
+        deduplicatedUploads.increment();
+        return true;
+    }
+
+    private void recordUpload(long size, long elapsedNanos) {
+        uploadSize.record(size);
+        uploadDuration.record(elapsedNanos, TimeUnit.NANOSECONDS);
+        if (elapsedNanos > 0) {
+            uploadThroughput.record(size * 1_000_000_000.0 / elapsedNanos);
+        }
+    }
+
+    private Path blobPath(String filename) {
+        return shard(uploadDir, filename);
+    }
+
+    private static Path shard(Path root, String filename) {
+        if (filename.length() < 4) {
+            return root.resolve(filename);
+        }
+        return root.resolve(filename.substring(0, 2)).resolve(filename.substring(2, 4)).resolve(filename);
+    }
+
+    private static String normalizeExtension(String extension) {
+        String normalized = extension.toLowerCase(Locale.ROOT);
+        if (!IMAGE_FILENAME.matcher("x." + normalized).matches()) {
+            throw new IllegalArgumentException("Invalid image extension: " + extension);
+        }
+        return normalized.equals("jpeg") ? "jpg" : normalized;
+    }
+
+    private static MessageDigest sha256() {
+        try {
+            return MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not available", e);
+        }
+    }
+}
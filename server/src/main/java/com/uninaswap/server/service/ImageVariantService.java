@@ -0,0 +1,288 @@
+package com.uninaswap.server.service;
+
+import com.uninaswap.common.enums.ImageSize;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import javax.imageio.IIOImage;
+import jakarta.annotation.PreDestroy;
+import javax.imageio.ImageIO;
+import javax.imageio.ImageReader;
+import javax.imageio.ImageWriteParam;
+import javax.imageio.ImageWriter;
+import javax.imageio.stream.ImageInputStream;
+import javax.imageio.stream.ImageOutputStream;
+import java.awt.Color;
+import java.awt.Graphics2D;
+import java.awt.RenderingHints;
+import java.awt.image.BufferedImage;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Produces the downscaled {@link ImageSize} variants of stored images.
+ * Variants are JPEGs kept under {@code uploads/variants/<size>/}. They are
+ * written right after an upload and generated on first request for images that predate this,
+ * so a listing card downloads and decodes a few tens of kilobytes instead of the full photo.
+ * Decoding runs on a small pool of its own rather than on request threads, and only for images
+ * whose header declares at most {@code uninaswap.images.max-pixels} pixels, so a small file
+ * claiming huge dimensions cannot exhaust the heap.
+ */
+@Service
+public class ImageVariantService {
+    private static final Logger logger = LoggerFactory.getLogger(ImageVariantService.class);
+
+    private final ImageService imageService;
+    private final float jpegQuality;
+    private final long maxPixels;
+    private final Timer generationTimer;
+    private final ExecutorService executor;
+    // Original name -> generation in progress, so concurrent requests for one image decode it once
+    private final Map<String, CompletableFuture<Void>> generations = new ConcurrentHashMap<>();
+
+    public ImageVariantService(ImageService imageService, MeterRegistry meterRegistry,
+            @Value("${uninaswap.images.variant-quality:0.82}") float jpegQuality,
+            @Value("${uninaswap.images.max-pixels:40000000}") long maxPixels,
+            @Value("${uninaswap.images.variant-threads:2}") int threads) {
+        this.imageService = imageService;
+        this.jpegQuality = jpegQuality;
+        this.maxPixels = maxPixels;
+        this.generationTimer = Timer.builder("uninaswap.images.variant.generation")
+                .description("Time spent decoding an original and writing its variants")
+                .register(meterRegistry);
+        this.executor = Executors.newFixedThreadPool(threads, runnable -> {
+            Thread thread = new Thread(runnable, "image-variants");
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    /**
+     * Resolves a variant of a stored image, generating it if it does not exist yet.
+     * The caller waits for the generation, which runs on the variant pool.
+     * @param filename The original image name, e.g. "id.jpg"
+     * @param size The requested variant
+     * @return The variant file, the original if it cannot be decoded or is over the pixel limit,
+     *         or empty if there is no such image
+     */
+    public Optional<Path> findVariant(String filename, ImageSize size) {
+        Optional<Path> original = imageService.findImageFile(filename);
+        if (original.isEmpty()) {
+            return Optional.empty();
+        }
+
+        Path variant = imageService.variantPath(filename, size);
+        if (!Files.isRegularFile(variant)) {
+            generateVariants(filename).join();
+        }
+        // Not a format we can decode, or too large to; serve the original as it is
+        return Files.isRegularFile(variant) ? Optional.of(variant) : original;
+    }
+
+    /**
+     * Rejects a stored image whose header declares more pixels than the limit.
+     * Only the header is read, so this is cheap enough to run before accepting an upload.
+     * Formats without an image reader are let through, since nothing here will decode them.
+     * @param filename The stored image name
+     * @throws IllegalArgumentException If the image is over the limit
+     */
+    public void checkDimensions(String filename) throws IOException {
+        Optional<Path> original = imageService.findImageFile(filename);
+        if (original.isEmpty()) {
+            return;
+        }
+        try (ImageInputStream input = ImageIO.createImageInputStream(original.get().toFile())) {
+            ImageReader reader = openReader(input);
+            if (reader != null) {
+                try {
+                    checkPixels(reader);
+                } finally {
+                    reader.dispose();
+                }
+            }
+        }
+    }
+
+    /**
+     * Writes every variant of a stored image on the variant pool.
+     * The original is decoded once and each size is scaled from the next larger one.
+     * Failures are logged and the variants left missing, so they never fail the upload.
+     * @param filename The stored image name
+     * @return Completes, never exceptionally, once the variants are written or given up on
+     */
+    public CompletableFuture<Void> generateVariants(String filename) {
+        CompletableFuture<Void> generation = new CompletableFuture<>();
+        CompletableFuture<Void> running = generations.putIfAbsent(filename, generation);
+        if (running != null) {
+            return running;
+        }
+        try {
+            executor.execute(() -> {
+                try {
+                    writeVariants(filename);
+                } finally {
+                    generation.complete(null);
+                    generations.remove(filename, generation);
+                }
+            });
+        } catch (RejectedExecutionException e) {
+            // Shutting down
+            generation.complete(null);
+            generations.remove(filename, generation);
+        }
+        return generation;
+    }
+
+    private void writeVariants(String filename) {
+        Optional<Path> original = imageService.findImageFile(filename);
+        if (original.isEmpty()) {
+            return;
+        }
+
+        try {
+            BufferedImage source = decode(original.get());
+            if (source == null) {
+                logger.info("No image reader for {}, variants will not be generated", filename);
+                return;
+            }
+
+            long started = System.nanoTime();
+            ImageSize[] sizes = ImageSize.values();
+            BufferedImage current = source;
+            // Largest first, so each step scales an already reduced image
+            for (int i = sizes.length - 1; i >= 0; i--) {
+                current = resize(current, sizes[i]);
+                writeVariant(current, imageService.variantPath(filename, sizes[i]));
+            }
+            generationTimer.record(System.nanoTime() - started, TimeUnit.NANOSECONDS);
+        } catch (IOException | RuntimeException e) {
+            logger.warn("Failed to generate variants for {}", filename, e);
+        }
+    }
+
+    /**
+     * Removes the variants of an image whose original is being deleted
+     * @param filename The original image name
+     */
+    public void deleteVariants(String filename) throws IOException {
+        for (ImageSize size : ImageSize.values()) {
+            Files.deleteIfExists(imageService.variantPath(filename, size));
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() throws InterruptedException {
+        executor.shutdown();
+        if (!executor.awaitTermination(10, TimeUnit.SECONDS)) {
+            logger.warn("Variant generation did not finish before shutdown");
+            executor.shutdownNow();
+        }
+    }
+
+    /**
+     * Decodes an image after checking the dimensions in its header
+     * @return The image, or null if there is no reader for its format
+     * @throws IllegalArgumentException If the image is over the pixel limit
+     */
+    private BufferedImage decode(Path path) throws IOException {
+        try (ImageInputStream input = ImageIO.createImageInputStream(path.toFile())) {
+            ImageReader reader = openReader(input);
+            if (reader == null) {
+                return null;
+            }
+            try {
+                checkPixels(reader);
+                return reader.read(0);
+            } finally {
+                reader.dispose();
+            }
+        }
+    }
+
+    private static ImageReader openReader(ImageInputStream input) {
+        if (input == null) {
+            return null;
+        }
+        Iterator<ImageReader> readers = ImageIO.getImageReaders(input);
+        if (!readers.hasNext()) {
+            return null;
+        }
+        ImageReader reader = readers.next();
+        // Only the first image is read, and its metadata is not needed
+        reader.setInput(input, true, true);
+        return reader;
+    }
+
+    private void checkPixels(ImageReader reader) throws IOException {
+        int width = reader.getWidth(0);
+        int height = reader.getHeight(0);
+        if ((long) width * height > maxPixels) {
+            throw new IllegalArgumentException("Image is " + width + "x" + height
+                    + " pixels, more than the " + maxPixels + " allowed");
+        }
+    }
+
+    /**
+     * Scales an image down so its longest side fits the size, keeping the aspect ratio; smaller
+     * images keep their dimensions. Transparent areas are flattened onto white since the output is JPEG.
+     */
+    private BufferedImage resize(BufferedImage source, ImageSize size) {
+        int longestSide = Math.max(source.getWidth(), source.getHeight());
+        double ratio = Math.min(1.0, (double) size.getMaxDimension() / longestSide);
+        int width = Math.max(1, (int) Math.round(source.getWidth() * ratio));
+        int height = Math.max(1, (int) Math.round(source.getHeight() * ratio));
+
+        BufferedImage scaled = new BufferedImage(width, height, BufferedImage.TYPE_INT_RGB);
+        Graphics2D graphics = scaled.createGraphics();
+        try {
+            graphics.setRenderingHint(RenderingHints.KEY_INTERPOLATION, RenderingHints.VALUE_INTERPOLATION_BICUBIC);
+            graphics.setRenderingHint(RenderingHints.KEY_RENDERING, RenderingHints.VALUE_RENDER_QUALITY);
+            graphics.setRenderingHint(RenderingHints.KEY_ANTIALIASING, RenderingHints.VALUE_ANTIALIAS_ON);
+            graphics.setColor(Color.WHITE);
+            graphics.fillRect(0, 0, width, height);
+            graphics.drawImage(source, 0, 0, width, height, null);
+        } finally {
+            graphics.dispose();
+        }
+        return scaled;
+    }
+
+    /**
+     * Encodes to a temporary file and moves it into place, so readers never see a partial variant
+     */
+    private void writeVariant(BufferedImage image, Path variant) throws IOException {
+        Files.createDirectories(variant.getParent());
+        Path temp = Files.createTempFile(variant.getParent(), "variant-", ".tmp");
+        try {
+            ImageWriter writer = ImageIO.getImageWritersByFormatName("jpeg").next();
+            try (ImageOutputStream output = ImageIO.createImageOutputStream(temp.toFile())) {
+                ImageWriteParam param = writer.getDefaultWriteParam();
+                param.setCompressionMode(ImageWriteParam.MODE_EXPLICIT);
+                param.setCompressionQuality(jpegQuality);
+                param.setProgressiveMode(ImageWriteParam.MODE_DEFAULT);
+                writer.setOutput(output);
+                writer.write(null, new IIOImage(image, null, null), param);
+            } finally {
+                writer.dispose();
+            }
+            Files.move(temp, variant, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } finally {
+            Files.deleteIfExists(temp);
+        }
+    }
+}
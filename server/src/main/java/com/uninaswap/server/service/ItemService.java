@@ -17,9 +17,11 @@ import org.springframework.transaction.annotation.Transactional;
 
 import java.time.LocalDateTime;
 import java.util.HashMap;
+import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
 import java.util.stream.Collectors;
 
 @Service
@@ -30,16 +32,19 @@ public class ItemService {
     private final UserRepository userRepository;
     private final ListingItemRepository listingItemRepository;
     private final ItemMapper itemMapper;
+    private final ListingSearchService listingSearchService;
 
     @Autowired
     public ItemService(ItemRepository itemRepository,
             UserRepository userRepository,
             ListingItemRepository listingItemRepository,
-            ItemMapper itemMapper) {
+            ItemMapper itemMapper,
+            ListingSearchService listingSearchService) {
         this.itemRepository = itemRepository;
         this.userRepository = userRepository;
         this.listingItemRepository = listingItemRepository;
         this.itemMapper = itemMapper;
+        this.listingSearchService = listingSearchService;
     }
 
     /**
@@ -127,9 +132,24 @@ public class ItemService {
         item.setUpdatedAt(LocalDateTime.now());
 
         ItemEntity updatedItem = itemRepository.save(item);
+        reindexListingsContaining(updatedItem);
         return itemMapper.toDto(updatedItem);
     }
 
+    /**
+     * Re-index the listings offering an item, since their search terms include its name,
+     * brand, model and category
+     */
+    private void reindexListingsContaining(ItemEntity item) {
+        Set<String> reindexed = new HashSet<>();
+        for (ListingItemEntity listingItem : listingItemRepository.findByItemId(item.getId())) {
+            ListingEntity listing = listingItem.getListing();
+            if (reindexed.add(listing.getId())) {
+                listingSearchService.indexListing(listing);
+            }
+        }
+    }
+
     /**
      * Delete an item
      */
@@ -0,0 +1,54 @@
+package com.uninaswap.server.service;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.Base64;
+
+/**
+ * Position in a newest-first listing feed, encoded as an opaque string for clients.
+ * A cursor points at the last listing a client has seen; the next page starts strictly after it.
+ */
+public final class ListingCursor {
+
+    private static final String SEPARATOR = "|";
+
+    private final LocalDateTime createdAt;
+    private final String listingId;
+
+    public ListingCursor(LocalDateTime createdAt, String listingId) {
+        this.createdAt = createdAt;
+        this.listingId = listingId;
+    }
+
+    public LocalDateTime getCreatedAt() {
+        return createdAt;
+    }
+
+    public String getListingId() {
+        return listingId;
+    }
+
+    public String encode() {
+        String raw = createdAt + SEPARATOR + listingId;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * Decode a cursor previously produced by {@link #encode()}
+     *
+     * @throws IllegalArgumentException if the cursor is malformed
+     */
+    public static ListingCursor decode(String cursor) {
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+            int separator = raw.indexOf(SEPARATOR);
+            if (separator <= 0 || separator == raw.length() - 1) {
+                throw new IllegalArgumentException("Invalid listing cursor");
+            }
+            return new ListingCursor(LocalDateTime.parse(raw.substring(0, separator)), raw.substring(separator + 1));
+        } catch (DateTimeParseException e) {
+            throw new IllegalArgumentException("Invalid listing cursor", e);
+        }
+    }
+}
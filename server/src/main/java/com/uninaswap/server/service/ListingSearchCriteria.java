@@ -0,0 +1,124 @@
+package com.uninaswap.server.service;
+
+import com.uninaswap.common.enums.Category;
+import com.uninaswap.common.enums.ItemCondition;
+import com.uninaswap.common.enums.ListingStatus;
+
+import java.math.BigDecimal;
+
+/**
+ * Filters for a listing search. Every filter is optional and they are combined with AND.
+ */
+public class ListingSearchCriteria {
+
+    private String query;
+    private String listingType;
+    private Category category;
+    private BigDecimal minPrice;
+    private BigDecimal maxPrice;
+    private ItemCondition condition;
+    private Long creatorId;
+    private ListingStatus status = ListingStatus.ACTIVE;
+
+    public boolean hasText() {
+        return query != null && !query.trim().isEmpty();
+    }
+
+    public boolean hasListingType() {
+        return listingType != null && !listingType.trim().isEmpty() && !listingType.equalsIgnoreCase("all");
+    }
+
+    public boolean hasCategory() {
+        return category != null && category != Category.ALL;
+    }
+
+    public boolean hasPriceRange() {
+        return minPrice != null || maxPrice != null;
+    }
+
+    /**
+     * Whether any filter is set that the full-text index cannot evaluate on its own
+     */
+    public boolean hasDatabaseOnlyFilters() {
+        return hasPriceRange() || condition != null || creatorId != null;
+    }
+
+    // Getters and setters
+    public String getQuery() {
+        return query;
+    }
+
+    public void setQuery(String query) {
+        this.query = query;
+    }
+
+    public String getListingType() {
+        return listingType;
+    }
+
+    public void setListingType(String listingType) {
+        this.listingType = listingType;
+    }
+
+    public Category getCategory() {
+        return category;
+    }
+
+    public void setCategory(Category category) {
+        this.category = category;
+    }
+
+    public BigDecimal getMinPrice() {
+        return minPrice;
+    }
+
+    public void setMinPrice(BigDecimal minPrice) {
+        this.minPrice = minPrice;
+    }
+
+    public BigDecimal getMaxPrice() {
+        return maxPrice;
+    }
+
+    public void setMaxPrice(BigDecimal maxPrice) {
+        this.maxPrice = maxPrice;
+    }
+
+    public ItemCondition getCondition() {
+        return condition;
+    }
+
+    public void setCondition(ItemCondition condition) {
+        this.condition = condition;
+    }
+
+    public Long getCreatorId() {
+        return creatorId;
+    }
+
+    public void setCreatorId(Long creatorId) {
+        this.creatorId = creatorId;
+    }
+
+    public ListingStatus getStatus() {
+        return status;
+    }
+
+    public void setStatus(ListingStatus status) {
+        this.status = status;
+    }
+
+    @Override
+    public String toString() {
+        return "ListingSearchCriteria{" +
+                "query='" + query + '\'' +
+                ", listingType='" + listingType + '\'' +
+                ", category=" + category +
+                ", minPrice=" + minPrice +
+                ", maxPrice=" + maxPrice +
+                ", condition=" + condition +
+                ", creatorId=" + creatorId +
+                ", status=" + status +
+                '}';
+    }
+}
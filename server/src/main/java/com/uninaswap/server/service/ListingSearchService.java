@@ -0,0 +1,416 @@
+package com.uninaswap.server.service;
+
+import com.uninaswap.common.enums.Category;
+import com.uninaswap.common.enums.ListingStatus;
+import com.uninaswap.server.entity.ItemEntity;
+import com.uninaswap.server.entity.ListingEntity;
+import com.uninaswap.server.repository.ListingRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.Pageable;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.text.Normalizer;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.regex.Pattern;
+
+/**
+ * In-memory inverted index over listings used for full-text search.
+ * Indexes title, description, item name/brand/model and item category,
+ * and returns ranked pages of listing IDs that the caller hydrates from the database.
+ */
+@Service
+public class ListingSearchService {
+    private static final Logger logger = LoggerFactory.getLogger(ListingSearchService.class);
+
+    private static final Pattern DIACRITICS = Pattern.compile("\\p{M}+");
+    private static final Pattern TOKEN_SEPARATOR = Pattern.compile("[^\\p{L}\\p{N}]+");
+    private static final int MIN_TOKEN_LENGTH = 2;
+
+    // Field weights used when scoring a term occurrence
+    private static final float TITLE_WEIGHT = 3.0f;
+    private static final float ITEM_NAME_WEIGHT = 2.0f;
+    private static final float BRAND_MODEL_WEIGHT = 1.5f;
+    private static final float CATEGORY_WEIGHT = 1.0f;
+    private static final float DESCRIPTION_WEIGHT = 1.0f;
+
+    // Score multiplier for terms that only match as a prefix (e.g. while the user is typing)
+    private static final float PREFIX_MATCH_FACTOR = 0.7f;
+
+    private final ListingRepository listingRepository;
+
+    // term -> (listing ID -> accumulated field weight)
+    private final NavigableMap<String, Map<String, Float>> postings = new TreeMap<>();
+
+    // listing ID -> indexed document
+    private final Map<String, IndexedListing> documents = new HashMap<>();
+
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+
+    // Changes applied while a rebuild reads the listings, replayed on the rebuilt index; null otherwise
+    private List<Runnable> changesDuringRebuild;
+
+    @Autowired
+    public ListingSearchService(ListingRepository listingRepository) {
+        this.listingRepository = listingRepository;
+    }
+
+    /**
+     * Build the index from the database once the application is ready.
+     * Listings may be created or changed while they are being read; those changes are recorded
+     * and applied again on top of the rebuilt index, so none is lost.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    @Transactional(readOnly = true)
+    public void rebuildIndex() {
+        long start = System.currentTimeMillis();
+        List<Runnable> changes = new ArrayList<>();
+        lock.writeLock().lock();
+        try {
+            changesDuringRebuild = changes;
+        } finally {
+            lock.writeLock().unlock();
+        }
+
+        List<IndexedListing> built = null;
+        try {
+            List<ListingEntity> listings = listingRepository.findAllWithItems();
+            built = new ArrayList<>(listings.size());
+            for (ListingEntity listing : listings) {
+                built.add(buildDocument(listing, listing.getItems()));
+            }
+        } finally {
+            lock.writeLock().lock();
+            try {
+                changesDuringRebuild = null;
+                if (built != null) {
+                    postings.clear();
+                    documents.clear();
+                    for (IndexedListing document : built) {
+                        addDocument(document);
+                    }
+                    // In commit order, so the last change to a listing wins over the possibly older snapshot
+                    for (Runnable change : changes) {
+                        change.run();
+                    }
+                }
+            } finally {
+                lock.writeLock().unlock();
+            }
+        }
+
+        logger.info("Listing search index built: {} listings, {} terms, {} concurrent changes replayed in {} ms",
+                built.size(), postings.size(), changes.size(), System.currentTimeMillis() - start);
+    }
+
+    /**
+     * Add or replace a listing in the index using its currently attached items
+     */
+    public void indexListing(ListingEntity listing) {
+        indexListing(listing, listing.getItems());
+    }
+
+    /**
+     * Add or replace a listing in the index.
+     * When called inside a transaction the change is applied only after commit.
+     */
+    public void indexListing(ListingEntity listing, Collection<ItemEntity> items) {
+        IndexedListing document = buildDocument(listing, items);
+        applyAfterCommit(() -> {
+            removeDocument(document.id);
+            addDocument(document);
+        });
+    }
+
+    /**
+     * Update the status of an indexed listing without re-tokenizing it
+     */
+    public void updateStatus(String listingId, ListingStatus status) {
+        applyAfterCommit(() -> {
+            IndexedListing document = documents.get(listingId);
+            if (document != null) {
+                document.status = status;
+            }
+        });
+    }
+
+    /**
+     * Remove a listing from the index
+     */
+    public void removeListing(String listingId) {
+        applyAfterCommit(() -> removeDocument(listingId));
+    }
+
+    /**
+     * Search the index and return a ranked page of listing IDs.
+     * Every query term must match; the best scoring listings come first, newest first on ties.
+     *
+     * @param query         Free text query
+     * @param listingType   Listing type discriminator ("SELL", "TRADE", ...) or null for any
+     * @param category      Item category name or null for any
+     * @param status        Required listing status
+     * @param pageable      Requested page
+     * @return Page of matching listing IDs in rank order
+     */
+    public Page<String> search(String query, String listingType, String category, ListingStatus status,
+            Pageable pageable) {
+        List<String> rankedIds = searchAll(query, listingType, category, status);
+
+        int from = (int) Math.min(pageable.getOffset(), rankedIds.size());
+        int to = Math.min(from + pageable.getPageSize(), rankedIds.size());
+
+        return new PageImpl<>(new ArrayList<>(rankedIds.subList(from, to)), pageable, rankedIds.size());
+    }
+
+    /**
+     * Search the index and return the IDs of every match in rank order.
+     * Only the last query term also matches as a prefix, since it may still be being typed.
+     */
+    public List<String> searchAll(String query, String listingType, String category, ListingStatus status) {
+        List<String> tokens = tokenize(query);
+        if (tokens.isEmpty()) {
+            return Collections.emptyList();
+        }
+
+        // term -> whether it may match as a prefix; a repeated term keeps the widest match
+        Map<String, Boolean> terms = new LinkedHashMap<>();
+        for (int i = 0; i < tokens.size(); i++) {
+            terms.merge(tokens.get(i), i == tokens.size() - 1, Boolean::logicalOr);
+        }
+
+        List<ScoredListing> matches = new ArrayList<>();
+
+        lock.readLock().lock();
+        try {
+            Map<String, Float> scores = null;
+            for (Map.Entry<String, Boolean> term : terms.entrySet()) {
+                Map<String, Float> termScores = scoreTerm(term.getKey(), term.getValue());
+                if (scores == null) {
+                    scores = termScores;
+                } else {
+                    scores.keySet().retainAll(termScores.keySet());
+                    for (Map.Entry<String, Float> entry : scores.entrySet()) {
+                        entry.setValue(entry.getValue() + termScores.get(entry.getKey()));
+                    }
+                }
+                if (scores.isEmpty()) {
+                    break;
+                }
+            }
+
+            for (Map.Entry<String, Float> entry : scores.entrySet()) {
+                IndexedListing document = documents.get(entry.getKey());
+                if (document != null && document.matches(listingType, category, status)) {
+                    matches.add(new ScoredListing(document, entry.getValue()));
+                }
+            }
+        } finally {
+            lock.readLock().unlock();
+        }
+
+        matches.sort(Comparator.comparingDouble((ScoredListing m) -> m.score).reversed()
+                .thenComparing(m -> m.document.createdAt, Comparator.nullsLast(Comparator.<LocalDateTime>reverseOrder())));
+
+        List<String> rankedIds = new ArrayList<>(matches.size());
+        for (ScoredListing match : matches) {
+            rankedIds.add(match.document.id);
+        }
+        return rankedIds;
+    }
+
+    /**
+     * Score every listing containing the term exactly or, when allowed, as a prefix
+     */
+    private Map<String, Float> scoreTerm(String term, boolean prefix) {
+        Map<String, Float> scores = new HashMap<>();
+        int totalDocuments = Math.max(1, documents.size());
+
+        Map<String, Map<String, Float>> matching;
+        if (prefix) {
+            matching = postings.subMap(term, true, term + Character.MAX_VALUE, false);
+        } else {
+            Map<String, Float> exact = postings.get(term);
+            matching = exact != null ? Map.of(term, exact) : Map.of();
+        }
+
+        for (Map.Entry<String, Map<String, Float>> posting : matching.entrySet()) {
+            Map<String, Float> listingWeights = posting.getValue();
+            float idf = (float) Math.log(1.0 + (double) totalDocuments / listingWeights.size());
+            float factor = posting.getKey().equals(term) ? 1.0f : PREFIX_MATCH_FACTOR;
+
+            for (Map.Entry<String, Float> entry : listingWeights.entrySet()) {
+                float score = entry.getValue() * idf * factor;
+                scores.merge(entry.getKey(), score, Math::max);
+            }
+        }
+        return scores;
+    }
+
+    private void addDocument(IndexedListing document) {
+        documents.put(document.id, document);
+        for (Map.Entry<String, Float> entry : document.termWeights.entrySet()) {
+            postings.computeIfAbsent(entry.getKey(), k -> new HashMap<>()).put(document.id, entry.getValue());
+        }
+    }
+
+    private void removeDocument(String listingId) {
+        IndexedListing existing = documents.remove(listingId);
+        if (existing == null) {
+            return;
+        }
+        for (String term : existing.termWeights.keySet()) {
+            Map<String, Float> listingWeights = postings.get(term);
+            if (listingWeights != null) {
+                listingWeights.remove(listingId);
+                if (listingWeights.isEmpty()) {
+                    postings.remove(term);
+                }
+            }
+        }
+    }
+
+    private IndexedListing buildDocument(ListingEntity listing, Collection<ItemEntity> items) {
+        Map<String, Float> termWeights = new HashMap<>();
+        Set<String> categories = new HashSet<>();
+
+        addTerms(termWeights, listing.getTitle(), TITLE_WEIGHT);
+        addTerms(termWeights, listing.getDescription(), DESCRIPTION_WEIGHT);
+
+        if (items != null) {
+            for (ItemEntity item : items) {
+                if (item == null) {
+                    continue;
+                }
+                addTerms(termWeights, item.getName(), ITEM_NAME_WEIGHT);
+                addTerms(termWeights, item.getBrand(), BRAND_MODEL_WEIGHT);
+                addTerms(termWeights, item.getModel(), BRAND_MODEL_WEIGHT);
+
+                if (item.getCategory() != null) {
+                    categories.add(item.getCategory());
+                    Category category = Category.fromString(item.getCategory());
+                    addTerms(termWeights, category.getDisplayName(), CATEGORY_WEIGHT);
+                    addTerms(termWeights, category.name(), CATEGORY_WEIGHT);
+                }
+            }
+        }
+
+        return new IndexedListing(listing.getId(), listing.getListingType(), listing.getStatus(),
+                listing.getCreatedAt(), categories, termWeights);
+    }
+
+    private static void addTerms(Map<String, Float> termWeights, String text, float weight) {
+        for (String token : tokenize(text)) {
+            termWeights.merge(token, weight, Float::sum);
+        }
+    }
+
+    /**
+     * Lower-case, accent-insensitive tokenization shared by indexing and querying
+     */
+    static List<String> tokenize(String text) {
+        if (text == null || text.isBlank()) {
+            return Collections.emptyList();
+        }
+
+        String normalized = DIACRITICS.matcher(Normalizer.normalize(text, Normalizer.Form.NFD))
+                .replaceAll("")
+                .toLowerCase(Locale.ROOT);
+
+        List<String> tokens = new ArrayList<>();
+        for (String token : TOKEN_SEPARATOR.split(normalized)) {
+            if (token.length() >= MIN_TOKEN_LENGTH) {
+                tokens.add(token);
+            }
+        }
+        return tokens;
+    }
+
+    /**
+     * Apply a change to the index under the write lock once the current transaction commits,
+     * recording it if a rebuild is reading the listings meanwhile
+     */
+    private void applyAfterCommit(Runnable change) {
+        afterCommit(() -> {
+            lock.writeLock().lock();
+            try {
+                change.run();
+                if (changesDuringRebuild != null) {
+                    changesDuringRebuild.add(change);
+                }
+            } finally {
+                lock.writeLock().unlock();
+            }
+        });
+    }
+
+    private static void afterCommit(Runnable action) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    action.run();
+                }
+            });
+        } else {
+            action.run();
+        }
+    }
+
+    private static final class IndexedListing {
+        private final String id;
+        private final String listingType;
+        private final LocalDateTime createdAt;
+        private final Set<String> categories;
+        private final Map<String, Float> termWeights;
+        private volatile ListingStatus status;
+
+        private IndexedListing(String id, String listingType, ListingStatus status, LocalDateTime createdAt,
+                Set<String> categories, Map<String, Float> termWeights) {
+            this.id = id;
+            this.listingType = listingType;
+            this.status = status;
+            this.createdAt = createdAt;
+            this.categories = categories;
+            this.termWeights = termWeights;
+        }
+
+        private boolean matches(String requiredType, String requiredCategory, ListingStatus requiredStatus) {
+            return (requiredStatus == null || requiredStatus == status)
+                    && (requiredType == null || requiredType.equalsIgnoreCase(listingType))
+                    && (requiredCategory == null || categories.contains(requiredCategory));
+        }
+    }
+
+    private static final class ScoredListing {
+        private final IndexedListing document;
+        private final float score;
+
+        private ScoredListing(IndexedListing document, float score) {
+            this.document = document;
+            this.score = score;
+        }
+    }
+}
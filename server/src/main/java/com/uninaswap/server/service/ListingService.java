@@ -1,7 +1,6 @@
 package com.uninaswap.server.service;
 
 import com.uninaswap.common.dto.*;
-import com.uninaswap.common.enums.Category;
 import com.uninaswap.common.enums.Currency;
 import com.uninaswap.common.enums.ListingStatus;
 import com.uninaswap.server.entity.*;
@@ -11,26 +10,45 @@ import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.SliceImpl;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.math.BigDecimal;
 import java.time.LocalDateTime;
 import java.util.ArrayList;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
 import java.util.Optional;
+import java.util.Set;
+import java.util.function.Function;
 import java.util.stream.Collectors;
 
 @Service
 public class ListingService {
     private static final Logger logger = LoggerFactory.getLogger(ListingService.class);
 
+    // Maximum number of IDs bound into a single IN clause
+    private static final int ID_BATCH_SIZE = 1000;
+
+    // Default listing order: newest first, ID as a stable tie-breaker
+    private static final Sort NEWEST_FIRST = Sort.by(Sort.Order.desc("createdAt"), Sort.Order.desc("id"));
+
     private final ListingRepository listingRepository;
     private final ItemRepository itemRepository;
     private final ListingItemRepository listingItemRepository;
     private final UserRepository userRepository;
     private final ItemService itemService;
+    private final ListingSearchService listingSearchService;
+    private final AnalyticsRollupService analyticsRollupService;
 
     // Mappers
     private final ListingMapper listingMapper;
@@ -46,6 +64,8 @@ public class ListingService {
             ListingItemRepository listingItemRepository,
             UserRepository userRepository,
             ItemService itemService,
+            ListingSearchService listingSearchService,
+            AnalyticsRollupService analyticsRollupService,
             ListingMapper listingMapper,
             SellListingMapper sellListingMapper,
             TradeListingMapper tradeListingMapper,
@@ -56,6 +76,8 @@ public class ListingService {
         this.listingItemRepository = listingItemRepository;
         this.userRepository = userRepository;
         this.itemService = itemService;
+        this.listingSearchService = listingSearchService;
+        this.analyticsRollupService = analyticsRollupService;
         this.listingMapper = listingMapper;
         this.sellListingMapper = sellListingMapper;
         this.tradeListingMapper = tradeListingMapper;
@@ -70,10 +92,58 @@ public class ListingService {
     public Page<ListingDTO> getActiveListings(Pageable pageable) {
         logger.info("Getting active listings with pagination: {}", pageable);
 
-        // Use JOIN FETCH to eagerly load the listingItems collection
-        Page<ListingEntity> listingEntities = listingRepository.findByStatusWithItems(ListingStatus.ACTIVE, pageable);
+        // Page over IDs in the database, then fetch items and creators for just that page
+        Page<String> listingIds = listingRepository.findIdPage(
+                ListingSpecifications.hasStatus(ListingStatus.ACTIVE), newestFirst(pageable));
 
-        return listingEntities.map(listingMapper::toDto);
+        return new PageImpl<>(loadInOrder(listingIds.getContent()), pageable, listingIds.getTotalElements());
+    }
+
+    /**
+     * Get active listings after a feed cursor (keyset pagination)
+     */
+    @Transactional(readOnly = true)
+    public Slice<ListingDTO> getActiveListingsAfter(String cursor, int size) {
+        logger.info("Getting active listings after cursor: {}", cursor);
+
+        return searchListingsAfter(new ListingSearchCriteria(), cursor, size);
+    }
+
+    /**
+     * Search listings newest first, continuing after a feed cursor.
+     * Each page is an index range scan from the cursor position, so its cost does not grow
+     * with scroll depth and listings created meanwhile do not shift later pages.
+     *
+     * @param criteria Non-text filters to apply
+     * @param cursor   Cursor returned with the previous page, or null for the first page
+     * @param size     Page size
+     * @return Slice of listings with hasNext telling whether another page exists
+     */
+    @Transactional(readOnly = true)
+    public Slice<ListingDTO> searchListingsAfter(ListingSearchCriteria criteria, String cursor, int size) {
+        if (criteria.hasText()) {
+            throw new IllegalArgumentException("Cursor paging is not supported for ranked text searches");
+        }
+
+        Specification<ListingEntity> spec = buildSpecification(criteria);
+        if (cursor != null && !cursor.isEmpty()) {
+            ListingCursor position = ListingCursor.decode(cursor);
+            spec = spec.and(ListingSpecifications.olderThan(position.getCreatedAt(), position.getListingId()));
+        }
+
+        // Fetch one extra ID to learn whether another page exists
+        List<String> listingIds = listingRepository.findIds(spec, NEWEST_FIRST, size + 1);
+        boolean hasNext = listingIds.size() > size;
+        List<String> pageIds = hasNext ? listingIds.subList(0, size) : listingIds;
+
+        return new SliceImpl<>(loadInOrder(pageIds), PageRequest.of(0, size, NEWEST_FIRST), hasNext);
+    }
+
+    /**
+     * Build the cursor that continues a newest-first feed after the given listing
+     */
+    public String cursorAfter(ListingDTO listing) {
+        return new ListingCursor(listing.getCreatedAt(), listing.getId()).encode();
     }
 
     /**
@@ -121,6 +191,7 @@ public class ListingService {
         // Prepare items to add to listing
         List<String> itemIds = new ArrayList<>();
         List<Integer> quantities = new ArrayList<>();
+        List<ItemEntity> listedItems = new ArrayList<>();
 
         // Create the appropriate listing type
         ListingEntity listing;
@@ -166,6 +237,7 @@ public class ListingService {
 
         // Save the listing first to get the ID
         ListingEntity savedListing = listingRepository.save(listing);
+        analyticsRollupService.listingCreated(savedListing);
 
         // Now add items to the listing
         for (ListingItemDTO itemDTO : listingDTO.getItems()) {
@@ -184,6 +256,7 @@ public class ListingService {
             // Add to lists for reservation
             itemIds.add(item.getId());
             quantities.add(itemDTO.getQuantity());
+            listedItems.add(item);
 
             // Create listing item
             ListingItemEntity listingItem = new ListingItemEntity();
@@ -197,6 +270,8 @@ public class ListingService {
         // Reserve the items
         itemService.reserveItems(itemIds, quantities);
 
+        listingSearchService.indexListing(savedListing, listedItems);
+
         // Return the DTO using the appropriate mapper based on the listing type
         switch (listingType.toUpperCase()) {
             case "SELL":
@@ -337,6 +412,8 @@ public class ListingService {
         // Handle items - this is more complex for updates
         // For simplicity, we'll assume no item changes in updates right now
 
+        listingSearchService.indexListing(savedListing);
+
         // Return the DTO using the appropriate mapper
         switch (listingType.toUpperCase()) {
             case "SELL":
@@ -450,6 +527,8 @@ public class ListingService {
 
         // Delete the listing
         listingRepository.delete(listing);
+        analyticsRollupService.listingDeleted(listing);
+        listingSearchService.removeListing(listingId);
     }
 
     /**
@@ -465,141 +544,119 @@ public class ListingService {
     }
 
     /**
-     * Search listings by text query
+     * Search listings with any combination of filters.
+     * Without a text query the filters run as a single database query ordered by newest first;
+     * with a text query the search index ranks the results and the database applies the
+     * filters the index does not know about.
      */
-    @Transactional(readOnly = true)  // Add this annotation
-    public Page<ListingDTO> searchListingsByText(String query, Pageable pageable) {
+    @Transactional(readOnly = true)
+    public Page<ListingDTO> searchListings(ListingSearchCriteria criteria, Pageable pageable) {
         try {
-            Page<ListingEntity> entities = listingRepository.findByTitleContainingIgnoreCaseAndStatus(
-                    query, ListingStatus.ACTIVE, pageable);
-            return entities.map(listingMapper::toDto);
-        } catch (Exception e) {
-            logger.error("Error searching listings by text: {}", e.getMessage());
-            throw new RuntimeException("Failed to search listings by text", e);
-        }
-    }
+            if (!criteria.hasText()) {
+                Page<String> listingIds = listingRepository.findIdPage(buildSpecification(criteria),
+                        newestFirst(pageable));
+                return new PageImpl<>(loadInOrder(listingIds.getContent()), pageable,
+                        listingIds.getTotalElements());
+            }
 
-    /**
-     * Get listings by type
-     */
-    @Transactional(readOnly = true)  // Add this annotation
-    public Page<ListingDTO> getListingsByType(String listingType, Pageable pageable) {
-        try {
-            Page<ListingEntity> entities;
-            
-            Class<?> entityClass = mapListingTypeToClass(listingType);
-            entities = listingRepository.findByListingTypeAndStatus(entityClass, ListingStatus.ACTIVE, pageable);
-            
-            return entities.map(listingMapper::toDto);
+            // Unknown listing types fall back to searching all types
+            String typeFilter = criteria.hasListingType() && mapListingTypeToClass(criteria.getListingType()) != null
+                    ? mapListingType(criteria.getListingType())
+                    : null;
+            String categoryFilter = criteria.hasCategory() ? criteria.getCategory().name() : null;
+            String query = criteria.getQuery().trim();
+
+            if (!criteria.hasDatabaseOnlyFilters()) {
+                Page<String> hits = listingSearchService.search(query, typeFilter, categoryFilter,
+                        criteria.getStatus(), pageable);
+                return new PageImpl<>(loadInOrder(hits.getContent()), pageable, hits.getTotalElements());
+            }
+
+            List<String> rankedIds = listingSearchService.searchAll(query, typeFilter, categoryFilter,
+                    criteria.getStatus());
+            List<String> filteredIds = filterIds(rankedIds, buildSpecification(criteria));
+
+            int from = (int) Math.min(pageable.getOffset(), filteredIds.size());
+            int to = Math.min(from + pageable.getPageSize(), filteredIds.size());
+            return new PageImpl<>(loadInOrder(filteredIds.subList(from, to)), pageable, filteredIds.size());
         } catch (Exception e) {
-            logger.error("Error getting listings by type: {}", e.getMessage());
-            throw new RuntimeException("Failed to get listings by type", e);
+            logger.error("Error searching listings with {}: {}", criteria, e.getMessage());
+            throw new RuntimeException("Failed to search listings", e);
         }
     }
 
     /**
-     * Search listings by text and type
+     * Compose the non-text filters of a search into one specification
      */
-    @Transactional(readOnly = true)  // Add this annotation
-    public Page<ListingDTO> searchListingsByTextAndType(String query, String listingType, Pageable pageable) {
-        try {
-            Page<ListingEntity> entities;
-            
-            Class<?> entityClass = mapListingTypeToClass(listingType);
+    private Specification<ListingEntity> buildSpecification(ListingSearchCriteria criteria) {
+        Specification<ListingEntity> spec = ListingSpecifications.any();
+
+        if (criteria.getStatus() != null) {
+            spec = spec.and(ListingSpecifications.hasStatus(criteria.getStatus()));
+        }
+        if (criteria.hasListingType()) {
+            Class<? extends ListingEntity> entityClass = mapListingTypeToClass(criteria.getListingType());
             if (entityClass != null) {
-                entities = listingRepository.findByTitleContainingIgnoreCaseAndListingTypeAndStatus(
-                        query, entityClass, ListingStatus.ACTIVE, pageable);
-            } else {
-                entities = listingRepository.findByTitleContainingIgnoreCaseAndStatus(
-                        query, ListingStatus.ACTIVE, pageable);
+                spec = spec.and(ListingSpecifications.hasType(entityClass));
             }
-            
-            return entities.map(listingMapper::toDto);
-        } catch (Exception e) {
-            logger.error("Error searching listings by text and type: {}", e.getMessage());
-            throw new RuntimeException("Failed to search listings by text and type", e);
         }
+        if (criteria.hasCategory()) {
+            spec = spec.and(ListingSpecifications.hasItemCategory(criteria.getCategory().name()));
+        }
+        if (criteria.hasPriceRange()) {
+            spec = spec.and(ListingSpecifications.priceBetween(criteria.getMinPrice(), criteria.getMaxPrice()));
+        }
+        if (criteria.getCondition() != null) {
+            spec = spec.and(ListingSpecifications.hasItemCondition(criteria.getCondition()));
+        }
+        if (criteria.getCreatorId() != null) {
+            spec = spec.and(ListingSpecifications.createdBy(criteria.getCreatorId()));
+        }
+
+        return spec;
     }
 
     /**
-     * Get listings by category
+     * Keep only the ranked IDs that also satisfy the specification, preserving rank order
      */
-    @Transactional(readOnly = true)  // Add this annotation
-    public Page<ListingDTO> getListingsByCategory(Category category, Pageable pageable) {
-        try {
-            Page<ListingEntity> entities = listingRepository.findByItemsCategoryAndStatus(
-                    category.name(), ListingStatus.ACTIVE, pageable);
-            return entities.map(listingMapper::toDto);
-        } catch (Exception e) {
-            logger.error("Error getting listings by category: {}", e.getMessage());
-            throw new RuntimeException("Failed to get listings by category", e);
+    private List<String> filterIds(List<String> rankedIds, Specification<ListingEntity> spec) {
+        Set<String> allowed = new HashSet<>();
+        for (int i = 0; i < rankedIds.size(); i += ID_BATCH_SIZE) {
+            List<String> batch = rankedIds.subList(i, Math.min(i + ID_BATCH_SIZE, rankedIds.size()));
+            allowed.addAll(listingRepository.findIds(spec.and(ListingSpecifications.idIn(batch))));
         }
+
+        return rankedIds.stream()
+                .filter(allowed::contains)
+                .collect(Collectors.toList());
     }
 
     /**
-     * Get listings by type and category
+     * Load listings with their items and creator by ID and map them in the given order
      */
-    @Transactional(readOnly = true)  // Add this annotation
-    public Page<ListingDTO> getListingsByTypeAndCategory(String listingType, Category category, Pageable pageable) {
-        try {
-            Class<?> entityClass = mapListingTypeToClass(listingType);
-            Page<ListingEntity> entities;
-            
-            if (entityClass != null) {
-                entities = listingRepository.findByListingTypeAndItemsCategoryAndStatus(
-                        entityClass, category.name(), ListingStatus.ACTIVE, pageable);
-            } else {
-                entities = listingRepository.findByItemsCategoryAndStatus(
-                        category.name(), ListingStatus.ACTIVE, pageable);
-            }
-            
-            return entities.map(listingMapper::toDto);
-        } catch (Exception e) {
-            logger.error("Error getting listings by type and category: {}", e.getMessage());
-            throw new RuntimeException("Failed to get listings by type and category", e);
+    private List<ListingDTO> loadInOrder(List<String> listingIds) {
+        if (listingIds.isEmpty()) {
+            return new ArrayList<>();
         }
-    }
 
-    @Transactional(readOnly = true)  // Add this annotation
-    public Page<ListingDTO> searchListingsByTextAndCategory(String query, Category category, Pageable pageable) {
-        try {
-            Page<ListingEntity> entities = listingRepository.findByTitleContainingIgnoreCaseAndItemsCategoryAndStatus(
-                    query, category.name(), ListingStatus.ACTIVE, pageable);
-            return entities.map(listingMapper::toDto);
-        } catch (Exception e) {
-            logger.error("Error searching listings by text and category: {}", e.getMessage());
-            throw new RuntimeException("Failed to search listings by text and category", e);
-        }
+        Map<String, ListingEntity> entitiesById = listingRepository.findAllWithItemsByIdIn(listingIds).stream()
+                .collect(Collectors.toMap(ListingEntity::getId, Function.identity()));
+
+        return listingIds.stream()
+                .map(entitiesById::get)
+                .filter(Objects::nonNull)
+                .map(listingMapper::toDto)
+                .collect(Collectors.toList());
     }
 
-    /**
-     * Search listings by text, type, and category
-     */
-    @Transactional(readOnly = true)  // Add this annotation
-    public Page<ListingDTO> searchListingsByTextTypeAndCategory(String query, String listingType, Category category, Pageable pageable) {
-        try {
-            Class<?> entityClass = mapListingTypeToClass(listingType);
-            Page<ListingEntity> entities;
-            
-            if (entityClass != null) {
-                entities = listingRepository.findByTitleContainingIgnoreCaseAndListingTypeAndItemsCategoryAndStatus(
-                        query, entityClass, category.name(), ListingStatus.ACTIVE, pageable);
-            } else {
-                entities = listingRepository.findByTitleContainingIgnoreCaseAndItemsCategoryAndStatus(
-                        query, category.name(), ListingStatus.ACTIVE, pageable);
-            }
-            
-            return entities.map(listingMapper::toDto);
-        } catch (Exception e) {
-            logger.error("Error searching listings by text, type and category: {}", e.getMessage());
-            throw new RuntimeException("Failed to search listings by text, type and category", e);
-        }
+    private Pageable newestFirst(Pageable pageable) {
+        return PageRequest.of(pageable.getPageNumber(), pageable.getPageSize(), NEWEST_FIRST);
     }
 
     /**
      * Helper method to map listing type strings to entity classes
      */
-    private Class<?> mapListingTypeToClass(String listingType) {
+    private Class<? extends ListingEntity> mapListingTypeToClass(String listingType) {
         if (listingType == null) return null;
         
         switch (listingType.toLowerCase()) {
@@ -53,6 +53,12 @@ public class OfferService {
     @Autowired 
     private NotificationService notificationService;
 
+    @Autowired
+    private ListingSearchService listingSearchService;
+
+    @Autowired
+    private AnalyticsRollupService analyticsRollupService;
+
     /**
      * Create a new offer
      */
@@ -91,6 +97,7 @@ public class OfferService {
 
         // Save the offer first
         OfferEntity savedOffer = offerRepository.save(offer);
+        analyticsRollupService.offerCreated(savedOffer);
 
         // Handle offer items if present
         if (offerDTO.getOfferItems() != null && !offerDTO.getOfferItems().isEmpty()) {
@@ -218,6 +225,7 @@ public class OfferService {
         handleItemReservationsOnStatusChange(offer, oldStatus, newStatus);
 
         OfferEntity savedOffer = offerRepository.save(offer);
+        analyticsRollupService.offerStatusChanged(savedOffer, oldStatus);
         logger.info("Successfully updated offer status to: {}", newStatus);
 
         return offerMapper.toDto(savedOffer);
@@ -315,13 +323,17 @@ public class OfferService {
         offer.setStatus(newStatus);
         offer.setUpdatedAt(LocalDateTime.now());
         OfferEntity savedOffer = offerRepository.save(offer);
+        analyticsRollupService.offerStatusChanged(savedOffer, currentStatus);
 
         // If completed, update listing status
         if (newStatus == OfferStatus.COMPLETED) {
             ListingEntity listing = offer.getListing();
+            ListingStatus oldListingStatus = listing.getStatus();
             listing.setStatus(ListingStatus.COMPLETED);
             listing.setUpdatedAt(LocalDateTime.now());
             listingRepository.save(listing);
+            analyticsRollupService.listingStatusChanged(listing, oldListingStatus);
+            listingSearchService.updateStatus(listing.getId(), ListingStatus.COMPLETED);
             
             logger.info("Transaction completed - offer {} and listing {} marked as completed", offerId, listing.getId());
         }
@@ -365,8 +377,12 @@ public class OfferService {
         offer.setStatus(OfferStatus.CANCELLED);
         offer.setUpdatedAt(LocalDateTime.now());
         OfferEntity savedOffer = offerRepository.save(offer);
+        analyticsRollupService.offerStatusChanged(savedOffer, currentStatus);
 
+        ListingStatus oldListingStatus = offer.getListing().getStatus();
         offer.getListing().setStatus(ListingStatus.PENDING);
+        analyticsRollupService.listingStatusChanged(offer.getListing(), oldListingStatus);
+        listingSearchService.updateStatus(offer.getListing().getId(), ListingStatus.PENDING);
 
         // If there's an associated pickup, cancel it too
         Optional<PickupEntity> pickup = pickupRepository.findByOfferId(offerId);
@@ -492,6 +508,7 @@ public class OfferService {
         handleItemReservationsOnStatusChange(offer, oldStatus, nextStatus);
 
         OfferEntity savedOffer = offerRepository.save(offer);
+        analyticsRollupService.offerStatusChanged(savedOffer, oldStatus);
         logger.info("Successfully accepted offer {} with status {}", offerId, nextStatus);
 
         return offerMapper.toDto(savedOffer);
@@ -51,6 +51,12 @@ public class PickupService {
     @Autowired
     private PickupMapper pickupMapper;
 
+    @Autowired
+    private ListingSearchService listingSearchService;
+
+    @Autowired
+    private AnalyticsRollupService analyticsRollupService;
+
     /**
      * Create a pickup arrangement and update offer status to PICKUPSCHEDULING
      */
@@ -74,6 +80,7 @@ public class PickupService {
         }
 
         // Check if pickup already exists for this offer
+        OfferStatus oldOfferStatus = offer.getStatus();
         Optional<PickupEntity> existingPickupOpt = pickupRepository.findByOfferId(pickupDTO.getOfferId());
         
         if (existingPickupOpt.isPresent()) {
@@ -145,6 +152,7 @@ public class PickupService {
         // Update offer status to PICKUPSCHEDULING
         offer.setUpdatedAt(LocalDateTime.now());
         offerRepository.save(offer);
+        analyticsRollupService.offerStatusChanged(offer, oldOfferStatus);
 
         logger.info("Successfully created pickup {} for offer {} and updated status to PICKUPSCHEDULING",
                 pickup.getId(), pickupDTO.getOfferId());
@@ -174,9 +182,11 @@ public class PickupService {
 
         // Update offer status to PICKUPSCHEDULING (or keep it in PICKUPRESCHEDULING)
         if (offer.getStatus() != OfferStatus.PICKUPRESCHEDULING) {
+            OfferStatus oldStatus = offer.getStatus();
             offer.setStatus(OfferStatus.PICKUPSCHEDULING);
             offer.setUpdatedAt(LocalDateTime.now());
             offerRepository.save(offer);
+            analyticsRollupService.offerStatusChanged(offer, oldStatus);
         }
 
         logger.info("Successfully updated existing pickup {} for offer {}", existingPickup.getId(), pickupDTO.getOfferId());
@@ -232,6 +242,7 @@ public class PickupService {
         offer.setStatus(OfferStatus.CONFIRMED);
         offer.setUpdatedAt(LocalDateTime.now());
         offerRepository.save(offer);
+        analyticsRollupService.offerStatusChanged(offer, oldStatus);
 
         logger.info("Successfully accepted pickup {} for {} and updated offer status from {} to CONFIRMED",
                 pickupId, selectedDate.atTime(selectedTime), oldStatus);
@@ -295,9 +306,11 @@ public class PickupService {
         pickupRepository.save(pickup);
 
         // Update offer status to CANCELLED
+        OfferStatus oldOfferStatus = offer.getStatus();
         offer.setStatus(OfferStatus.CANCELLED);
         offer.setUpdatedAt(LocalDateTime.now());
         offerRepository.save(offer);
+        analyticsRollupService.offerStatusChanged(offer, oldOfferStatus);
 
         logger.info("Successfully cancelled pickup arrangement {} and updated offer {} status to CANCELLED",
                 pickupId, offer.getId());
@@ -342,6 +355,7 @@ public class PickupService {
             offer.setStatus(OfferStatus.PICKUPRESCHEDULING);
             offer.setUpdatedAt(LocalDateTime.now());
             offerRepository.save(offer);
+            analyticsRollupService.offerStatusChanged(offer, currentOfferStatus);
 
             logger.info("Pickup rejected, offer {} status updated to PICKUPRESCHEDULING", offer.getId());
         }
@@ -396,9 +410,11 @@ public class PickupService {
 
         // If no other pending pickups, revert offer to PENDING
         if (otherPickups.isEmpty()) {
+            OfferStatus oldOfferStatus = offer.getStatus();
             offer.setStatus(OfferStatus.PENDING);
             offer.setUpdatedAt(LocalDateTime.now());
             offerRepository.save(offer);
+            analyticsRollupService.offerStatusChanged(offer, oldOfferStatus);
 
             // Also revert listing status
             ListingEntity listing = offer.getListing();
@@ -406,6 +422,8 @@ public class PickupService {
                 listing.setStatus(ListingStatus.ACTIVE);
                 listing.setUpdatedAt(LocalDateTime.now());
                 listingRepository.save(listing);
+                analyticsRollupService.listingStatusChanged(listing, ListingStatus.COMPLETED);
+                listingSearchService.updateStatus(listing.getId(), ListingStatus.ACTIVE);
             }
         }
     }
@@ -414,15 +432,20 @@ public class PickupService {
         OfferEntity offer = pickup.getOffer();
 
         // Mark offer as completed
+        OfferStatus oldOfferStatus = offer.getStatus();
         offer.setStatus(OfferStatus.COMPLETED);
         offer.setUpdatedAt(LocalDateTime.now());
         offerRepository.save(offer);
+        analyticsRollupService.offerStatusChanged(offer, oldOfferStatus);
 
         // Mark listing as completed
         ListingEntity listing = offer.getListing();
+        ListingStatus oldListingStatus = listing.getStatus();
         listing.setStatus(ListingStatus.COMPLETED);
         listing.setUpdatedAt(LocalDateTime.now());
         listingRepository.save(listing);
+        analyticsRollupService.listingStatusChanged(listing, oldListingStatus);
+        listingSearchService.updateStatus(listing.getId(), ListingStatus.COMPLETED);
     }
 
     /**
@@ -0,0 +1,189 @@
+package com.uninaswap.server.service;
+
+import com.uninaswap.common.dto.AnalyticsDTO;
+import com.uninaswap.server.repository.ReviewRepository;
+import com.uninaswap.server.repository.UserDailyStatsRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * Platform-wide analytics the users' own figures are compared with.
+ * A snapshot per period is computed in the background from the daily rollup, one query over
+ * the users active in the period plus one over its reviews, and replaced as a whole on every
+ * refresh; comparisons only look it up. Until the first refresh the snapshots are empty.
+ */
+@Service
+public class PlatformAnalyticsService {
+    private static final Logger logger = LoggerFactory.getLogger(PlatformAnalyticsService.class);
+
+    // The periods AnalyticsService understands; anything else is treated as "month"
+    private static final List<String> PERIODS = List.of("week", "month", "quarter", "year", "all");
+    private static final String DEFAULT_PERIOD = "month";
+
+    private final UserDailyStatsRepository userDailyStatsRepository;
+    private final ReviewRepository reviewRepository;
+
+    private volatile Map<String, Snapshot> snapshots = Map.of();
+
+    public PlatformAnalyticsService(UserDailyStatsRepository userDailyStatsRepository, ReviewRepository reviewRepository) {
+        this.userDailyStatsRepository = userDailyStatsRepository;
+        this.reviewRepository = reviewRepository;
+    }
+
+    /**
+     * The latest snapshot for the period, or an empty one before the first refresh
+     */
+    public Snapshot getSnapshot(String period) {
+        String key = PERIODS.contains(period.toLowerCase()) ? period.toLowerCase() : DEFAULT_PERIOD;
+        Snapshot snapshot = snapshots.get(key);
+        return snapshot != null ? snapshot : Snapshot.empty(key);
+    }
+
+    @Scheduled(fixedDelayString = "${uninaswap.analytics.platform-refresh-interval:PT15M}",
+            initialDelayString = "${uninaswap.analytics.platform-initial-delay:PT1M}")
+    @Transactional(readOnly = true)
+    public void refresh() {
+        long started = System.nanoTime();
+        LocalDateTime now = LocalDateTime.now();
+        Map<String, Snapshot> refreshed = new HashMap<>();
+        for (String period : PERIODS) {
+            refreshed.put(period, computeSnapshot(period, AnalyticsService.calculateStartDate(period, now), now));
+        }
+        snapshots = Collections.unmodifiableMap(refreshed);
+        logger.debug("Refreshed platform analytics in {} ms", (System.nanoTime() - started) / 1_000_000);
+    }
+
+    private Snapshot computeSnapshot(String period, LocalDateTime since, LocalDateTime now) {
+        Object[] row = userDailyStatsRepository.summarizeUsersSince(since.toLocalDate()).get(0);
+        long reviewCount = longValue(row[10]);
+
+        Map<Integer, Long> ratingDistribution = new TreeMap<>();
+        for (Object[] stars : reviewRepository.countByStarsSince(since)) {
+            ratingDistribution.put(((Number) stars[0]).intValue(), longValue(stars[1]));
+        }
+
+        return new Snapshot(period, now, longValue(row[0]),
+                new Distribution(doubleValue(row[1]), doubleValue(row[2]), doubleValue(row[3])),
+                new Distribution(doubleValue(row[4]), doubleValue(row[5]), doubleValue(row[6])),
+                new Distribution(doubleValue(row[7]), doubleValue(row[8]), doubleValue(row[9])),
+                reviewCount > 0 ? doubleValue(row[11]) / reviewCount : 0.0,
+                Collections.unmodifiableMap(ratingDistribution));
+    }
+
+    // Aggregates over no rows are null
+    private static long longValue(Object value) {
+        return value != null ? ((Number) value).longValue() : 0;
+    }
+
+    private static double doubleValue(Object value) {
+        return value != null ? ((Number) value).doubleValue() : 0.0;
+    }
+
+    /**
+     * Average, median and 90th percentile of a rate over the users it is defined for
+     */
+    public static class Distribution {
+        private static final Distribution EMPTY = new Distribution(0, 0, 0);
+
+        private final double average;
+        private final double median;
+        private final double p90;
+
+        Distribution(double average, double median, double p90) {
+            this.average = average;
+            this.median = median;
+            this.p90 = p90;
+        }
+
+        public double getAverage() {
+            return average;
+        }
+
+        public double getMedian() {
+            return median;
+        }
+
+        public double getP90() {
+            return p90;
+        }
+    }
+
+    /**
+     * Platform-wide figures for one period, as of a refresh
+     */
+    public static class Snapshot {
+        private final String period;
+        private final LocalDateTime computedAt;
+        private final long activeUsers;
+        private final Distribution listingSuccessRate;
+        private final Distribution offerAcceptanceRate;
+        private final Distribution customerSatisfactionRate;
+        private final double averageRating;
+        private final Map<Integer, Long> ratingDistribution;
+
+        Snapshot(String period, LocalDateTime computedAt, long activeUsers,
+                Distribution listingSuccessRate, Distribution offerAcceptanceRate,
+                Distribution customerSatisfactionRate, double averageRating, Map<Integer, Long> ratingDistribution) {
+            this.period = period;
+            this.computedAt = computedAt;
+            this.activeUsers = activeUsers;
+            this.listingSuccessRate = listingSuccessRate;
+            this.offerAcceptanceRate = offerAcceptanceRate;
+            this.customerSatisfactionRate = customerSatisfactionRate;
+            this.averageRating = averageRating;
+            this.ratingDistribution = ratingDistribution;
+        }
+
+        static Snapshot empty(String period) {
+            return new Snapshot(period, null, 0, Distribution.EMPTY, Distribution.EMPTY, Distribution.EMPTY, 0.0, Map.of());
+        }
+
+        public String getPeriod() {
+            return period;
+        }
+
+        /**
+         * When the snapshot was computed, or null for an empty one
+         */
+        public LocalDateTime getComputedAt() {
+            return computedAt;
+        }
+
+        public long getActiveUsers() {
+            return activeUsers;
+        }
+
+        public Distribution getListingSuccessRate() {
+            return listingSuccessRate;
+        }
+
+        public Distribution getOfferAcceptanceRate() {
+            return offerAcceptanceRate;
+        }
+
+        public Distribution getCustomerSatisfactionRate() {
+            return customerSatisfactionRate;
+        }
+
+        public double getAverageRating() {
+            return averageRating;
+        }
+
+        /**
+         * Number of reviews per score rounded to whole stars
+         */
+        public Map<Integer, Long> getRatingDistribution() {
+            return ratingDistribution;
+        }
+    }
+}
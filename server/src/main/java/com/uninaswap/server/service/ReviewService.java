@@ -39,6 +39,9 @@ public class ReviewService {
     @Autowired
     private ReviewMapper reviewMapper;
 
+    @Autowired
+    private AnalyticsRollupService analyticsRollupService;
+
     /**
      * Create a new review
      */
@@ -93,11 +96,13 @@ public class ReviewService {
 
         // Save review
         ReviewEntity savedReview = reviewRepository.save(review);
+        analyticsRollupService.reviewCreated(savedReview);
 
         // UPDATE: Change offer status from COMPLETED to REVIEWED
         offer.setStatus(OfferStatus.REVIEWED);
         offer.setUpdatedAt(LocalDateTime.now());
         offerRepository.save(offer);
+        analyticsRollupService.offerStatusChanged(offer, OfferStatus.COMPLETED);
 
         logger.info("Successfully created review {} and updated offer status to REVIEWED", savedReview.getId());
 
@@ -125,11 +130,13 @@ public class ReviewService {
         }
 
         // Update fields
+        double oldScore = review.getScore();
         review.setScore(reviewDTO.getScore());
         review.setComment(reviewDTO.getComment());
         review.setUpdatedAt(LocalDateTime.now());
 
         ReviewEntity updatedReview = reviewRepository.save(review);
+        analyticsRollupService.reviewScoreChanged(updatedReview, oldScore);
 
         logger.info("Successfully updated review {}", reviewId);
         return reviewMapper.toDto(updatedReview);
@@ -241,6 +248,7 @@ public class ReviewService {
         }
 
         reviewRepository.delete(review);
+        analyticsRollupService.reviewDeleted(review);
         logger.info("Successfully deleted review {}", reviewId);
     }
 
@@ -1,121 +1,221 @@
 package com.uninaswap.server.service;
 
 import com.uninaswap.server.entity.UserEntity;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.stereotype.Service;
 import org.springframework.web.socket.WebSocketSession;
 
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
 import java.util.Map;
-import java.util.UUID;
+import java.util.Set;
 import java.util.concurrent.ConcurrentHashMap;
 
 /**
- * Service to manage WebSocket sessions and authentication state
+ * Service to manage WebSocket sessions and authentication state.
+ * Sessions are indexed both ways so every lookup is a map access; a user may have
+ * several sessions open at once (one per device). Tokens are delegated to {@link TokenService}.
  */
 @Service
 public class SessionService {
     private static final Logger logger = LoggerFactory.getLogger(SessionService.class);
-    
-    // Map WebSocketSession IDs to UserEntities for authenticated users
-    private final Map<WebSocketSession, UserEntity> authenticatedSessions = new ConcurrentHashMap<>();
-    
-    // Map tokens to UserEntities for token-based authentication
-    private final Map<String, UserEntity> tokenToUserMap = new ConcurrentHashMap<>();
-    
+
+    // Session id -> authenticated session and its user
+    private final Map<String, AuthenticatedSession> sessionsById = new ConcurrentHashMap<>();
+
+    // User id -> open sessions of that user
+    private final Map<Long, Set<WebSocketSession>> sessionsByUserId = new ConcurrentHashMap<>();
+
+    // Guards updates spanning several indexes; lookups never take it
+    private final Object registryLock = new Object();
+
+    private final TokenService tokenService;
+
+    public SessionService(TokenService tokenService, MeterRegistry meterRegistry) {
+        this.tokenService = tokenService;
+        Gauge.builder("uninaswap.websocket.sessions", sessionsById, Map::size)
+                .description("Authenticated WebSocket sessions")
+                .register(meterRegistry);
+        Gauge.builder("uninaswap.websocket.users", sessionsByUserId, Map::size)
+                .description("Users with at least one authenticated WebSocket session")
+                .register(meterRegistry);
+    }
+
     /**
      * Validates if a session is authenticated and returns the associated user
-     * 
+     *
      * @param session The WebSocket session to validate
      * @return The authenticated user, or null if not authenticated
      */
-    public UserEntity validateSession(WebSocketSession session) {
-        String sessionId = session.getId();
-        UserEntity user = authenticatedSessions.get(session);
-        
-        if (user == null) {
-            logger.debug("Session not authenticated: {}", sessionId);
+    public AuthenticatedUser validateSession(WebSocketSession session) {
+        AuthenticatedSession authenticated = sessionsById.get(session.getId());
+
+        if (authenticated == null) {
+            logger.debug("Session not authenticated: {}", session.getId());
             return null;
         }
-        
-        logger.debug("Session authenticated for user: {}", user.getUsername());
-        return user;
+
+        return authenticated.user;
     }
-    
+
     public void InvalidateTokenAndSessionForUser(UserEntity user) {
-        // Remove the user from the authenticated sessions
-        authenticatedSessions.entrySet().removeIf(entry -> entry.getValue().getId().equals(user.getId()));
-        
-        // Invalidate all tokens associated with this user
-        tokenToUserMap.entrySet().removeIf(entry -> entry.getValue().getId().equals(user.getId()));
-        
+        synchronized (registryLock) {
+            Set<WebSocketSession> sessions = sessionsByUserId.remove(user.getId());
+            if (sessions != null) {
+                for (WebSocketSession session : sessions) {
+                    sessionsById.remove(session.getId());
+                }
+            }
+        }
+        tokenService.revokeAllForUser(user.getId());
+
         logger.info("Invalidated session and tokens for user: {}", user.getUsername());
     }
 
     /**
      * Creates an authenticated session for a user
-     * 
+     *
      * @param session The WebSocket session
      * @param user The authenticated user
      * @return A new authentication token
      */
     public String createAuthenticatedSession(WebSocketSession session, UserEntity user) {
-        authenticatedSessions.put(session, user);
-        
         // Generate a token that can be used for authentication in other contexts (like HTTP requests)
-        String token = UUID.randomUUID().toString();
-        tokenToUserMap.put(token, user);
-        
+        String token = tokenService.issueToken(user);
+
+        synchronized (registryLock) {
+            bind(session, AuthenticatedUser.of(user));
+        }
+
         logger.info("Created authenticated session for user: {}", user.getUsername());
         return token;
     }
-    
+
+    /**
+     * Associates a session with a user that already holds a valid token, without issuing a new one.
+     * Does nothing when the session is already bound to that user.
+     *
+     * @param session The WebSocket session
+     * @param user The user the session's token belongs to
+     */
+    public void attachSession(WebSocketSession session, AuthenticatedUser user) {
+        AuthenticatedSession current = sessionsById.get(session.getId());
+        if (current != null && current.user.getId().equals(user.getId())) {
+            return;
+        }
+
+        synchronized (registryLock) {
+            bind(session, user);
+        }
+        logger.debug("Attached session {} to user: {}", session.getId(), user.getUsername());
+    }
+
     /**
      * Validates a token and returns the associated user
-     * 
+     *
      * @param token The authentication token
      * @return The authenticated user, or null if token is invalid
      */
-    public UserEntity validateToken(String token) {
-        return tokenToUserMap.get(token);
+    public AuthenticatedUser validateToken(String token) {
+        return tokenService.authenticate(token);
     }
-    
+
     /**
-     * Removes an authenticated session when a user logs out or disconnects
-     * 
+     * Removes an authenticated session when the connection closes.
+     * Tokens stay valid so the client can reconnect with them.
+     *
      * @param session The WebSocket session to invalidate
      */
     public void removeSession(WebSocketSession session) {
-        String sessionId = session.getId();
-        UserEntity user = authenticatedSessions.remove(sessionId);
-        
-        if (user != null) {
-            logger.info("Removed authenticated session for user: {}", user.getUsername());
-            
-            // Also remove any tokens associated with this user
-            tokenToUserMap.entrySet().removeIf(entry -> entry.getValue().equals(user));
+        AuthenticatedSession removed;
+        synchronized (registryLock) {
+            removed = sessionsById.remove(session.getId());
+            if (removed != null) {
+                removeFromUser(removed.user.getId(), removed.session);
+            }
+        }
+
+        if (removed != null) {
+            logger.info("Removed authenticated session for user: {}", removed.user.getUsername());
         }
     }
-    
+
     /**
      * Invalidate a specific token
-     * 
+     *
      * @param token The token to invalidate
      */
     public void invalidateToken(String token) {
-        UserEntity user = tokenToUserMap.remove(token);
-        if (user != null) {
-            logger.info("Invalidated token for user: {}", user.getUsername());
+        tokenService.revoke(token);
+    }
+
+    /**
+     * All open sessions of a user, one per connected device
+     *
+     * @param userId The user id
+     * @return The user's open sessions, empty when the user is offline
+     */
+    public Collection<WebSocketSession> getSessionsByUserId(long userId) {
+        Set<WebSocketSession> sessions = sessionsByUserId.get(userId);
+        if (sessions == null) {
+            return Collections.emptyList();
+        }
+
+        List<WebSocketSession> open = new ArrayList<>(sessions.size());
+        for (WebSocketSession session : sessions) {
+            if (session.isOpen()) {
+                open.add(session);
+            }
         }
+        return open;
     }
 
+    /**
+     * Any open session of a user, or null when the user is offline
+     */
     public WebSocketSession getSessionByUserId(long userId) {
-        for (Map.Entry<WebSocketSession, UserEntity> entry : authenticatedSessions.entrySet()) {
-            if (entry.getValue().getId() == userId) {
-                // Assuming you have a way to get the WebSocketSession by session ID
-                return entry.getKey();
+        Collection<WebSocketSession> sessions = getSessionsByUserId(userId);
+        return sessions.isEmpty() ? null : sessions.iterator().next();
+    }
+
+    public boolean isUserOnline(long userId) {
+        return !getSessionsByUserId(userId).isEmpty();
+    }
+
+    public int getActiveSessionCount() {
+        return sessionsById.size();
+    }
+
+    private void bind(WebSocketSession session, AuthenticatedUser user) {
+        AuthenticatedSession previous = sessionsById.put(session.getId(), new AuthenticatedSession(session, user));
+        if (previous != null && !previous.user.getId().equals(user.getId())) {
+            removeFromUser(previous.user.getId(), previous.session);
+        }
+        sessionsByUserId.computeIfAbsent(user.getId(), id -> ConcurrentHashMap.newKeySet()).add(session);
+    }
+
+    private void removeFromUser(Long userId, WebSocketSession session) {
+        Set<WebSocketSession> sessions = sessionsByUserId.get(userId);
+        if (sessions != null) {
+            sessions.remove(session);
+            if (sessions.isEmpty()) {
+                sessionsByUserId.remove(userId);
             }
         }
-        return null;
     }
-}
\ No newline at end of file
+
+    private static class AuthenticatedSession {
+        private final WebSocketSession session;
+        private final AuthenticatedUser user;
+
+        AuthenticatedSession(WebSocketSession session, AuthenticatedUser user) {
+            this.session = session;
+            this.user = user;
+        }
+    }
+}
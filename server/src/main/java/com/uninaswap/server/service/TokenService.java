@@ -0,0 +1,208 @@
+package com.uninaswap.server.service;
+
+import com.uninaswap.server.entity.AuthTokenEntity;
+import com.uninaswap.server.entity.UserEntity;
+import com.uninaswap.server.repository.AuthTokenRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.Collections;
+import java.util.HexFormat;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+
+/**
+ * Issues and validates authentication tokens.
+ * Tokens are persisted (as hashes) so they survive a restart; a bounded LRU cache of
+ * lightweight principals sits in front of the table so validating a token on every message
+ * does not hit the database. Tokens expire after a fixed lifetime or when left unused
+ * for the idle timeout, and a scheduled sweep removes them from both the cache and the table.
+ */
+@Service
+public class TokenService {
+    private static final Logger logger = LoggerFactory.getLogger(TokenService.class);
+
+    // How often last-use timestamps are written back, so a busy token is not an UPDATE per message
+    private static final Duration TOUCH_INTERVAL = Duration.ofMinutes(5);
+
+    private final AuthTokenRepository authTokenRepository;
+    private final Duration tokenTtl;
+    private final Duration idleTimeout;
+    private final Map<String, CachedToken> cache;
+    private final Counter cacheHits;
+    private final Counter cacheMisses;
+
+    public TokenService(AuthTokenRepository authTokenRepository,
+            MeterRegistry meterRegistry,
+            @Value("${uninaswap.auth.token-ttl:P30D}") Duration tokenTtl,
+            @Value("${uninaswap.auth.token-idle-timeout:P7D}") Duration idleTimeout,
+            @Value("${uninaswap.auth.token-cache-size:10000}") int cacheSize) {
+        this.authTokenRepository = authTokenRepository;
+        this.tokenTtl = tokenTtl;
+        this.idleTimeout = idleTimeout;
+        this.cache = Collections.synchronizedMap(new LinkedHashMap<String, CachedToken>(256, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, CachedToken> eldest) {
+                return size() > cacheSize;
+            }
+        });
+
+        Gauge.builder("uninaswap.auth.token.cache.size", cache, Map::size)
+                .description("Authentication tokens held in memory")
+                .register(meterRegistry);
+        this.cacheHits = Counter.builder("uninaswap.auth.token.cache.requests")
+                .tag("result", "hit")
+                .register(meterRegistry);
+        this.cacheMisses = Counter.builder("uninaswap.auth.token.cache.requests")
+                .tag("result", "miss")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Issue a new token for a user
+     *
+     * @param user The authenticated user
+     * @return The token to hand to the client
+     */
+    public String issueToken(UserEntity user) {
+        String token = UUID.randomUUID().toString();
+        String tokenHash = hash(token);
+        LocalDateTime now = LocalDateTime.now();
+
+        AuthTokenEntity entity = new AuthTokenEntity(tokenHash, user, now, now.plus(tokenTtl));
+        authTokenRepository.save(entity);
+        cache.put(tokenHash, new CachedToken(AuthenticatedUser.of(user), entity.getExpiresAt(), now));
+
+        logger.debug("Issued token for user: {}", user.getUsername());
+        return token;
+    }
+
+    /**
+     * Resolve a token to its user, refreshing its idle timer
+     *
+     * @param token The token presented by the client
+     * @return The token's user, or null if the token is unknown or expired
+     */
+    public AuthenticatedUser authenticate(String token) {
+        String tokenHash = hash(token);
+        LocalDateTime now = LocalDateTime.now();
+
+        CachedToken cached = cache.get(tokenHash);
+        if (cached != null) {
+            cacheHits.increment();
+        } else {
+            cacheMisses.increment();
+            cached = load(tokenHash);
+            if (cached == null) {
+                return null;
+            }
+            cache.put(tokenHash, cached);
+        }
+
+        if (cached.isExpired(now, idleTimeout)) {
+            revokeHash(tokenHash);
+            logger.info("Token expired for user: {}", cached.principal.getUsername());
+            return null;
+        }
+
+        cached.lastUsedAt = now;
+        if (cached.lastPersistedUse.plus(TOUCH_INTERVAL).isBefore(now)) {
+            cached.lastPersistedUse = now;
+            authTokenRepository.touch(tokenHash, now);
+        }
+        return cached.principal;
+    }
+
+    /**
+     * Revoke a single token
+     */
+    public void revoke(String token) {
+        revokeHash(hash(token));
+    }
+
+    /**
+     * Revoke every token issued to a user
+     *
+     * @return The number of persisted tokens removed
+     */
+    public int revokeAllForUser(Long userId) {
+        synchronized (cache) {
+            cache.values().removeIf(cached -> cached.principal.getId().equals(userId));
+        }
+        return authTokenRepository.deleteByUserId(userId);
+    }
+
+    /**
+     * Drop expired and idle tokens from the cache and the token table
+     */
+    @Scheduled(fixedDelayString = "${uninaswap.auth.token-sweep-interval:PT10M}")
+    public void sweepExpiredTokens() {
+        LocalDateTime now = LocalDateTime.now();
+
+        int evicted;
+        synchronized (cache) {
+            int before = cache.size();
+            cache.values().removeIf(cached -> cached.isExpired(now, idleTimeout));
+            evicted = before - cache.size();
+        }
+        int deleted = authTokenRepository.deleteExpired(now, now.minus(idleTimeout));
+
+        if (evicted > 0 || deleted > 0) {
+            logger.info("Token sweep removed {} cached and {} stored tokens", evicted, deleted);
+        }
+    }
+
+    private CachedToken load(String tokenHash) {
+        Optional<AuthTokenEntity> stored = authTokenRepository.findWithUser(tokenHash);
+        if (stored.isEmpty()) {
+            return null;
+        }
+        AuthTokenEntity entity = stored.get();
+        return new CachedToken(AuthenticatedUser.of(entity.getUser()), entity.getExpiresAt(), entity.getLastUsedAt());
+    }
+
+    private void revokeHash(String tokenHash) {
+        cache.remove(tokenHash);
+        authTokenRepository.deleteById(tokenHash);
+    }
+
+    private static String hash(String token) {
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            return HexFormat.of().formatHex(digest.digest(token.getBytes(StandardCharsets.UTF_8)));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not available", e);
+        }
+    }
+
+    private static class CachedToken {
+        private final AuthenticatedUser principal;
+        private final LocalDateTime expiresAt;
+        private volatile LocalDateTime lastUsedAt;
+        private volatile LocalDateTime lastPersistedUse;
+
+        CachedToken(AuthenticatedUser principal, LocalDateTime expiresAt, LocalDateTime lastUsedAt) {
+            this.principal = principal;
+            this.expiresAt = expiresAt;
+            this.lastUsedAt = lastUsedAt;
+            this.lastPersistedUse = lastUsedAt;
+        }
+
+        boolean isExpired(LocalDateTime now, Duration idleTimeout) {
+            return !now.isBefore(expiresAt) || lastUsedAt.plus(idleTimeout).isBefore(now);
+        }
+    }
+}
@@ -3,21 +3,19 @@ package com.uninaswap.server.websocket;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.uninaswap.common.dto.AnalyticsDTO;
 import com.uninaswap.common.message.AnalyticsMessage;
-import com.uninaswap.server.entity.UserEntity;
+import com.uninaswap.server.service.AuthenticatedUser;
 import com.uninaswap.server.exception.UnauthorizedException;
 import com.uninaswap.server.service.AnalyticsService;
 import com.uninaswap.server.service.SessionService;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
-import org.springframework.lang.NonNull;
 import org.springframework.stereotype.Component;
 import org.springframework.web.socket.TextMessage;
 import org.springframework.web.socket.WebSocketSession;
-import org.springframework.web.socket.handler.TextWebSocketHandler;
 
 @Component
-public class AnalyticsWebSocketHandler extends TextWebSocketHandler {
+public class AnalyticsWebSocketHandler implements MessageHandler<AnalyticsMessage> {
     
     private static final Logger logger = LoggerFactory.getLogger(AnalyticsWebSocketHandler.class);
     
@@ -34,77 +32,71 @@ public class AnalyticsWebSocketHandler extends TextWebSocketHandler {
     }
     
     @Override
-    public void handleTextMessage(@NonNull WebSocketSession session, @NonNull TextMessage message) throws Exception {
-        logger.debug("Received analytics message: {}", message.getPayload());
+    public Class<AnalyticsMessage> getMessageClass() {
+        return AnalyticsMessage.class;
+    }
+
+    @Override
+    public boolean isOrdered() {
+        // Read-only, so requests can overlap with the session's other messages
+        return false;
+    }
+
+    @Override
+    public void handle(WebSocketSession session, AnalyticsMessage analyticsMessage) throws Exception {
+        AnalyticsMessage response = new AnalyticsMessage();
+        response.setMessageId(analyticsMessage.getMessageId());
         
         try {
-            AnalyticsMessage analyticsMessage = objectMapper.readValue(message.getPayload(), AnalyticsMessage.class);
-            AnalyticsMessage response = new AnalyticsMessage();
-            response.setMessageId(analyticsMessage.getMessageId());
-            
-            try {
-                // All analytics operations require authentication
-                UserEntity currentUser = sessionService.validateSession(session);
-                if (currentUser == null) {
-                    throw new UnauthorizedException("Not authenticated");
-                }
-                
-                logger.info("Processing analytics request type: {} for user: {}", 
-                           analyticsMessage.getType(), currentUser.getUsername());
-                
-                switch (analyticsMessage.getType()) {
-                    case GET_ANALYTICS_REQUEST:
-                        handleGetAnalytics(analyticsMessage, response, currentUser);
-                        break;
-                        
-                    case GET_CATEGORY_ANALYTICS_REQUEST:
-                        handleGetCategoryAnalytics(analyticsMessage, response, currentUser);
-                        break;
-                        
-                    case GET_PERFORMANCE_COMPARISON_REQUEST:
-                        handleGetPerformanceComparison(analyticsMessage, response, currentUser);
-                        break;
-                        
-                    case EXPORT_ANALYTICS_REQUEST:
-                        handleExportAnalytics(analyticsMessage, response, currentUser);
-                        break;
-                        
-                    default:
-                        response.setSuccess(false);
-                        response.setErrorMessage("Unknown analytics message type: " + analyticsMessage.getType());
-                        logger.warn("Unknown analytics message type: {}", analyticsMessage.getType());
-                        break;
-                }
-                
-            } catch (UnauthorizedException e) {
-                response.setSuccess(false);
-                response.setErrorMessage("Authentication required: " + e.getMessage());
-                logger.warn("Authentication failed for analytics operation: {}", e.getMessage());
-            } catch (Exception e) {
-                response.setSuccess(false);
-                response.setErrorMessage("Error processing analytics request: " + e.getMessage());
-                logger.error("Error processing analytics message: {}", analyticsMessage.getType(), e);
+            // All analytics operations require authentication
+            AuthenticatedUser currentUser = sessionService.validateSession(session);
+            if (currentUser == null) {
+                throw new UnauthorizedException("Not authenticated");
             }
             
-            // Send the response back to the client
-            logger.debug("Sending analytics response: {}", response.getType());
-            session.sendMessage(new TextMessage(objectMapper.writeValueAsString(response)));
+            logger.info("Processing analytics request type: {} for user: {}", 
+                       analyticsMessage.getType(), currentUser.getUsername());
+            
+            switch (analyticsMessage.getType()) {
+                case GET_ANALYTICS_REQUEST:
+                    handleGetAnalytics(analyticsMessage, response, currentUser);
+                    break;
+                    
+                case GET_CATEGORY_ANALYTICS_REQUEST:
+                    handleGetCategoryAnalytics(analyticsMessage, response, currentUser);
+                    break;
+                    
+                case GET_PERFORMANCE_COMPARISON_REQUEST:
+                    handleGetPerformanceComparison(analyticsMessage, response, currentUser);
+                    break;
+                    
+                case EXPORT_ANALYTICS_REQUEST:
+                    handleExportAnalytics(analyticsMessage, response, currentUser);
+                    break;
+                    
+                default:
+                    response.setSuccess(false);
+                    response.setErrorMessage("Unknown analytics message type: " + analyticsMessage.getType());
+                    logger.warn("Unknown analytics message type: {}", analyticsMessage.getType());
+                    break;
+            }
             
+        } catch (UnauthorizedException e) {
+            response.setSuccess(false);
+            response.setErrorMessage("Authentication required: " + e.getMessage());
+            logger.warn("Authentication failed for analytics operation: {}", e.getMessage());
         } catch (Exception e) {
-            logger.error("Error parsing analytics message", e);
-            AnalyticsMessage errorResponse = new AnalyticsMessage();
-            errorResponse.setSuccess(false);
-            errorResponse.setErrorMessage("Error processing request: " + e.getMessage());
-            
-            try {
-                session.sendMessage(new TextMessage(objectMapper.writeValueAsString(errorResponse)));
-            } catch (Exception sendException) {
-                logger.error("Failed to send error response", sendException);
-            }
+            response.setSuccess(false);
+            response.setErrorMessage("Error processing analytics request: " + e.getMessage());
+            logger.error("Error processing analytics message: {}", analyticsMessage.getType(), e);
         }
+        
+        // Send the response back to the client
+        logger.debug("Sending analytics response: {}", response.getType());
+        session.sendMessage(new TextMessage(objectMapper.writeValueAsString(response)));
     }
     
-    private void handleGetAnalytics(AnalyticsMessage request, AnalyticsMessage response, UserEntity currentUser) {
+    private void handleGetAnalytics(AnalyticsMessage request, AnalyticsMessage response, AuthenticatedUser currentUser) {
         try {
             logger.info("Getting analytics for user: {}", currentUser.getUsername());
             
@@ -135,7 +127,7 @@ public class AnalyticsWebSocketHandler extends TextWebSocketHandler {
         }
     }
     
-    private void handleGetCategoryAnalytics(AnalyticsMessage request, AnalyticsMessage response, UserEntity currentUser) {
+    private void handleGetCategoryAnalytics(AnalyticsMessage request, AnalyticsMessage response, AuthenticatedUser currentUser) {
         try {
             logger.info("Getting category analytics for user: {} category: {}", 
                        currentUser.getUsername(), request.getCategory());
@@ -161,7 +153,7 @@ public class AnalyticsWebSocketHandler extends TextWebSocketHandler {
         }
     }
     
-    private void handleGetPerformanceComparison(AnalyticsMessage request, AnalyticsMessage response, UserEntity currentUser) {
+    private void handleGetPerformanceComparison(AnalyticsMessage request, AnalyticsMessage response, AuthenticatedUser currentUser) {
         try {
             logger.info("Getting performance comparison for user: {}", currentUser.getUsername());
             
@@ -185,7 +177,7 @@ public class AnalyticsWebSocketHandler extends TextWebSocketHandler {
         }
     }
     
-    private void handleExportAnalytics(AnalyticsMessage request, AnalyticsMessage response, UserEntity currentUser) {
+    private void handleExportAnalytics(AnalyticsMessage request, AnalyticsMessage response, AuthenticatedUser currentUser) {
         try {
             logger.info("Exporting analytics for user: {} format: {}", 
                        currentUser.getUsername(), request.getExportFormat());
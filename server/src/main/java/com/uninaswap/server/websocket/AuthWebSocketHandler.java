@@ -1,16 +1,14 @@
 package com.uninaswap.server.websocket;
 
 import org.springframework.beans.factory.annotation.Autowired;
-import org.springframework.lang.NonNull;
 import org.springframework.stereotype.Component;
-import org.springframework.web.socket.CloseStatus;
 import org.springframework.web.socket.TextMessage;
 import org.springframework.web.socket.WebSocketSession;
-import org.springframework.web.socket.handler.TextWebSocketHandler;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.uninaswap.common.dto.UserDTO;
 import com.uninaswap.common.message.AuthMessage;
+import com.uninaswap.common.message.Message;
 import com.uninaswap.server.service.AuthService;
 import com.uninaswap.server.service.SessionService;
 import com.uninaswap.server.entity.UserEntity;
@@ -19,7 +17,7 @@ import com.uninaswap.server.mapper.UserMapper;
 import java.util.Optional;
 
 @Component
-public class AuthWebSocketHandler extends TextWebSocketHandler {
+public class AuthWebSocketHandler implements MessageHandler<AuthMessage> {
 
     private final AuthService authService;
     private final SessionService sessionService;
@@ -39,39 +37,37 @@ public class AuthWebSocketHandler extends TextWebSocketHandler {
     }
 
     @Override
-    public void handleTextMessage(@NonNull WebSocketSession session, @NonNull TextMessage message) throws Exception {
-        try {
-            AuthMessage authMessage = objectMapper.readValue(message.getPayload(), AuthMessage.class);
-            AuthMessage response = new AuthMessage();
-
-            switch (authMessage.getType()) {
-                case LOGIN_REQUEST:
-                    processUserAuthentication(authMessage, response, session);
-                    break;
-                case REGISTER_REQUEST:
-                    processUserRegistration(authMessage, response);
-                    break;
-                default:
-                    response.setSuccess(false);
-                    response.setMessage("Unknown message type: " + authMessage.getType());
-                    System.out.println("Unknown message type: " + authMessage.getType());
-            }
-
-            String responseJson = objectMapper.writeValueAsString(response);
-            System.out.println("SERVER SENDING: " + responseJson);
-            session.sendMessage(new TextMessage(responseJson));
-
-        } catch (Exception e) {
-            System.err.println("Error processing auth message: " + e.getMessage());
-            e.printStackTrace();
-
-            AuthMessage errorResponse = new AuthMessage();
-            errorResponse.setType(AuthMessage.Type.LOGIN_RESPONSE); // Use LOGIN_RESPONSE as fallback
-            errorResponse.setSuccess(false);
-            errorResponse.setMessage("Server error: " + e.getMessage());
-
-            session.sendMessage(new TextMessage(objectMapper.writeValueAsString(errorResponse)));
+    public Class<AuthMessage> getMessageClass() {
+        return AuthMessage.class;
+    }
+
+    @Override
+    public void handle(WebSocketSession session, AuthMessage authMessage) throws Exception {
+        AuthMessage response = new AuthMessage();
+
+        switch (authMessage.getType()) {
+            case LOGIN_REQUEST:
+                processUserAuthentication(authMessage, response, session);
+                break;
+            case REGISTER_REQUEST:
+                processUserRegistration(authMessage, response);
+                break;
+            default:
+                response.setSuccess(false);
+                response.setMessage("Unknown message type: " + authMessage.getType());
+                System.out.println("Unknown message type: " + authMessage.getType());
         }
+
+        session.sendMessage(new TextMessage(objectMapper.writeValueAsString(response)));
+    }
+
+    @Override
+    public Message errorResponse(String errorMessage) {
+        AuthMessage errorResponse = new AuthMessage();
+        errorResponse.setType(AuthMessage.Type.LOGIN_RESPONSE);
+        errorResponse.setSuccess(false);
+        errorResponse.setMessage(errorMessage);
+        return errorResponse;
     }
 
     private void processUserRegistration(AuthMessage authMessage, AuthMessage response) {
@@ -120,15 +116,4 @@ public class AuthWebSocketHandler extends TextWebSocketHandler {
         response.setUser(userMapper.toDto(user));
         response.setMessage("Login successful");
     }
-
-    @Override
-    public void afterConnectionEstablished(@NonNull WebSocketSession session) {
-        System.out.println("WebSocket connection established: " + session.getId());
-    }
-
-    @Override
-    public void afterConnectionClosed(@NonNull WebSocketSession session, @NonNull CloseStatus status) {
-        sessionService.removeSession(session);
-        System.out.println("WebSocket connection closed: " + session.getId() + ", status: " + status);
-    }
-}
\ No newline at end of file
+}
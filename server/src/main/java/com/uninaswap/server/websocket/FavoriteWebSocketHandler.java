@@ -4,23 +4,21 @@ import com.fasterxml.jackson.databind.ObjectMapper;
 import com.uninaswap.common.dto.FavoriteDTO;
 import com.uninaswap.common.dto.ListingDTO;
 import com.uninaswap.common.message.FavoriteMessage;
-import com.uninaswap.server.entity.UserEntity;
+import com.uninaswap.server.service.AuthenticatedUser;
 import com.uninaswap.server.exception.UnauthorizedException;
 import com.uninaswap.server.service.FavoriteService;
 import com.uninaswap.server.service.SessionService;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
-import org.springframework.lang.NonNull;
 import org.springframework.stereotype.Component;
 import org.springframework.web.socket.TextMessage;
 import org.springframework.web.socket.WebSocketSession;
-import org.springframework.web.socket.handler.TextWebSocketHandler;
 
 import java.util.List;
 
 @Component
-public class FavoriteWebSocketHandler extends TextWebSocketHandler {
+public class FavoriteWebSocketHandler implements MessageHandler<FavoriteMessage> {
 
     private static final Logger logger = LoggerFactory.getLogger(FavoriteWebSocketHandler.class);
     private final ObjectMapper objectMapper;
@@ -36,67 +34,60 @@ public class FavoriteWebSocketHandler extends TextWebSocketHandler {
     }
 
     @Override
-    public void handleTextMessage(@NonNull WebSocketSession session, @NonNull TextMessage message) throws Exception {
-        logger.debug("Received favorite message: {}", message.getPayload());
+    public Class<FavoriteMessage> getMessageClass() {
+        return FavoriteMessage.class;
+    }
+
+    @Override
+    public void handle(WebSocketSession session, FavoriteMessage favoriteMessage) throws Exception {
+        FavoriteMessage response = new FavoriteMessage();
 
         try {
-            FavoriteMessage favoriteMessage = objectMapper.readValue(message.getPayload(), FavoriteMessage.class);
-            FavoriteMessage response = new FavoriteMessage();
-
-            try {
-                UserEntity currentUser = sessionService.validateSession(session);
-                if (currentUser == null) {
-                    throw new UnauthorizedException("Not authenticated");
-                }
-
-                switch (favoriteMessage.getType()) {
-                    case ADD_FAVORITE_REQUEST:
-                        handleAddFavorite(favoriteMessage, response, currentUser);
-                        break;
-
-                    case REMOVE_FAVORITE_REQUEST:
-                        handleRemoveFavorite(favoriteMessage, response, currentUser);
-                        break;
-
-                    case GET_USER_FAVORITES_REQUEST:
-                        handleGetUserFavorites(favoriteMessage, response, currentUser);
-                        break;
-
-                    case IS_FAVORITE_REQUEST:
-                        handleIsFavorite(favoriteMessage, response, currentUser);
-                        break;
-
-                    case TOGGLE_FAVORITE_REQUEST:
-                        handleToggleFavorite(favoriteMessage, response, currentUser);
-                        break;
-
-                    default:
-                        response.setSuccess(false);
-                        response.setErrorMessage("Unknown favorite message type: " + favoriteMessage.getType());
-                        break;
-                }
-            } catch (UnauthorizedException e) {
-                response.setSuccess(false);
-                response.setErrorMessage("Authentication required: " + e.getMessage());
-                logger.warn("Authentication failed for favorite operation: {}", e.getMessage());
-            } catch (Exception e) {
-                response.setSuccess(false);
-                response.setErrorMessage("Error processing favorite request: " + e.getMessage());
-                logger.error("Error processing favorite message", e);
+            AuthenticatedUser currentUser = sessionService.validateSession(session);
+            if (currentUser == null) {
+                throw new UnauthorizedException("Not authenticated");
             }
 
-            session.sendMessage(new TextMessage(objectMapper.writeValueAsString(response)));
+            switch (favoriteMessage.getType()) {
+                case ADD_FAVORITE_REQUEST:
+                    handleAddFavorite(favoriteMessage, response, currentUser);
+                    break;
+
+                case REMOVE_FAVORITE_REQUEST:
+                    handleRemoveFavorite(favoriteMessage, response, currentUser);
+                    break;
+
+                case GET_USER_FAVORITES_REQUEST:
+                    handleGetUserFavorites(favoriteMessage, response, currentUser);
+                    break;
+
+                case IS_FAVORITE_REQUEST:
+                    handleIsFavorite(favoriteMessage, response, currentUser);
+                    break;
 
+                case TOGGLE_FAVORITE_REQUEST:
+                    handleToggleFavorite(favoriteMessage, response, currentUser);
+                    break;
+
+                default:
+                    response.setSuccess(false);
+                    response.setErrorMessage("Unknown favorite message type: " + favoriteMessage.getType());
+                    break;
+            }
+        } catch (UnauthorizedException e) {
+            response.setSuccess(false);
+            response.setErrorMessage("Authentication required: " + e.getMessage());
+            logger.warn("Authentication failed for favorite operation: {}", e.getMessage());
         } catch (Exception e) {
-            logger.error("Error parsing favorite message", e);
-            FavoriteMessage errorResponse = new FavoriteMessage();
-            errorResponse.setSuccess(false);
-            errorResponse.setErrorMessage("Error processing request: " + e.getMessage());
-            session.sendMessage(new TextMessage(objectMapper.writeValueAsString(errorResponse)));
+            response.setSuccess(false);
+            response.setErrorMessage("Error processing favorite request: " + e.getMessage());
+            logger.error("Error processing favorite message", e);
         }
+
+        session.sendMessage(new TextMessage(objectMapper.writeValueAsString(response)));
     }
 
-    private void handleAddFavorite(FavoriteMessage request, FavoriteMessage response, UserEntity currentUser) {
+    private void handleAddFavorite(FavoriteMessage request, FavoriteMessage response, AuthenticatedUser currentUser) {
         String listingId = request.getListingId();
 
         try {
@@ -116,7 +107,7 @@ public class FavoriteWebSocketHandler extends TextWebSocketHandler {
         }
     }
 
-    private void handleRemoveFavorite(FavoriteMessage request, FavoriteMessage response, UserEntity currentUser) {
+    private void handleRemoveFavorite(FavoriteMessage request, FavoriteMessage response, AuthenticatedUser currentUser) {
         String listingId = request.getListingId();
 
         favoriteService.removeFavorite(currentUser.getId(), listingId);
@@ -128,7 +119,7 @@ public class FavoriteWebSocketHandler extends TextWebSocketHandler {
         logger.info("Removed favorite: user {} listing {}", currentUser.getUsername(), listingId);
     }
 
-    private void handleGetUserFavorites(FavoriteMessage request, FavoriteMessage response, UserEntity currentUser) {
+    private void handleGetUserFavorites(FavoriteMessage request, FavoriteMessage response, AuthenticatedUser currentUser) {
         List<FavoriteDTO> favorites = favoriteService.getUserFavorites(currentUser.getId());
         List<ListingDTO> favoriteListings = favoriteService.getUserFavoriteListings(currentUser.getId());
 
@@ -140,7 +131,7 @@ public class FavoriteWebSocketHandler extends TextWebSocketHandler {
         logger.info("Retrieved {} favorites for user {}", favorites.size(), currentUser.getUsername());
     }
 
-    private void handleIsFavorite(FavoriteMessage request, FavoriteMessage response, UserEntity currentUser) {
+    private void handleIsFavorite(FavoriteMessage request, FavoriteMessage response, AuthenticatedUser currentUser) {
         String listingId = request.getListingId();
 
         boolean isFavorite = favoriteService.isFavorite(currentUser.getId(), listingId);
@@ -153,7 +144,7 @@ public class FavoriteWebSocketHandler extends TextWebSocketHandler {
                 currentUser.getUsername(), listingId, isFavorite);
     }
 
-    private void handleToggleFavorite(FavoriteMessage request, FavoriteMessage response, UserEntity currentUser) {
+    private void handleToggleFavorite(FavoriteMessage request, FavoriteMessage response, AuthenticatedUser currentUser) {
         String listingId = request.getListingId();
 
         boolean isFavorite = favoriteService.toggleFavorite(currentUser.getId(), listingId);
@@ -1,17 +1,21 @@
 package com.uninaswap.server.websocket;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
-import org.springframework.lang.NonNull;
 import org.springframework.stereotype.Component;
 import org.springframework.web.socket.TextMessage;
 import org.springframework.web.socket.WebSocketSession;
-import org.springframework.web.socket.handler.TextWebSocketHandler;
 
 import com.uninaswap.common.message.ImageMessage;
+import com.uninaswap.common.message.Message;
 import com.uninaswap.server.service.ImageService;
 
+/**
+ * Base64 image fetch over the WebSocket, kept for older clients.
+ * Clients should load images from {@code GET /api/images/{name}}, which streams the file
+ * with HTTP caching instead of inflating it into a JSON frame.
+ */
 @Component
-public class ImageWebSocketHandler extends TextWebSocketHandler {
+public class ImageWebSocketHandler implements MessageHandler<ImageMessage> {
 
     private final ImageService imageService;
     private final ObjectMapper objectMapper;
@@ -22,33 +26,37 @@ public class ImageWebSocketHandler extends TextWebSocketHandler {
     }
 
     @Override
-    public void handleTextMessage(@NonNull WebSocketSession session, @NonNull TextMessage message) throws Exception {
-        System.out.println("SERVER RECEIVED IMAGE REQUEST: "
-                + message.getPayload().substring(0, Math.min(100, message.getPayload().length())) + "...");
+    public Class<ImageMessage> getMessageClass() {
+        return ImageMessage.class;
+    }
 
-        try {
-            ImageMessage imageMessage = objectMapper.readValue(message.getPayload(), ImageMessage.class);
-            ImageMessage response = new ImageMessage();
-
-            if (imageMessage.getType() == ImageMessage.Type.FETCH_REQUEST) {
-                handleImageFetch(imageMessage, response);
-            } else {
-                response.setSuccess(false);
-                response.setMessage("Unknown image message type");
-            }
+    @Override
+    public boolean isOrdered() {
+        // Read-only, so requests can overlap with the session's other messages
+        return false;
+    }
 
-            session.sendMessage(new TextMessage(objectMapper.writeValueAsString(response)));
+    @Override
+    public void handle(WebSocketSession session, ImageMessage imageMessage) throws Exception {
+        ImageMessage response = new ImageMessage();
 
-        } catch (Exception e) {
-            System.err.println("Error handling image message: " + e.getMessage());
+        if (imageMessage.getType() == ImageMessage.Type.FETCH_REQUEST) {
+            handleImageFetch(imageMessage, response);
+        } else {
+            response.setSuccess(false);
+            response.setMessage("Unknown image message type");
+        }
 
-            ImageMessage errorResponse = new ImageMessage();
-            errorResponse.setType(ImageMessage.Type.FETCH_RESPONSE); // Default to fetch response
-            errorResponse.setSuccess(false);
-            errorResponse.setMessage("Error processing image: " + e.getMessage());
+        session.sendMessage(new TextMessage(objectMapper.writeValueAsString(response)));
+    }
 
-            session.sendMessage(new TextMessage(objectMapper.writeValueAsString(errorResponse)));
-        }
+    @Override
+    public Message errorResponse(String errorMessage) {
+        ImageMessage errorResponse = new ImageMessage();
+        errorResponse.setType(ImageMessage.Type.FETCH_RESPONSE);
+        errorResponse.setSuccess(false);
+        errorResponse.setMessage(errorMessage);
+        return errorResponse;
     }
 
     private void handleImageFetch(ImageMessage request, ImageMessage response) {
@@ -3,23 +3,21 @@ package com.uninaswap.server.websocket;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.uninaswap.common.dto.ItemDTO;
 import com.uninaswap.common.message.ItemMessage;
-import com.uninaswap.server.entity.UserEntity;
+import com.uninaswap.server.service.AuthenticatedUser;
 import com.uninaswap.server.exception.UnauthorizedException;
 import com.uninaswap.server.service.ItemService;
 import com.uninaswap.server.service.SessionService;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
-import org.springframework.lang.NonNull;
 import org.springframework.stereotype.Component;
 import org.springframework.web.socket.TextMessage;
 import org.springframework.web.socket.WebSocketSession;
-import org.springframework.web.socket.handler.TextWebSocketHandler;
 
 import java.util.List;
 
 @Component
-public class ItemWebSocketHandler extends TextWebSocketHandler {
+public class ItemWebSocketHandler implements MessageHandler<ItemMessage> {
     
     private static final Logger logger = LoggerFactory.getLogger(ItemWebSocketHandler.class);
     private final ObjectMapper objectMapper;
@@ -34,65 +32,58 @@ public class ItemWebSocketHandler extends TextWebSocketHandler {
     }
     
     @Override
-    public void handleTextMessage(@NonNull WebSocketSession session, @NonNull TextMessage message) throws Exception {
-        logger.debug("Received item message: {}", message.getPayload());
+    public Class<ItemMessage> getMessageClass() {
+        return ItemMessage.class;
+    }
+
+    @Override
+    public void handle(WebSocketSession session, ItemMessage itemMessage) throws Exception {
+        ItemMessage response = new ItemMessage();
         
         try {
-            ItemMessage itemMessage = objectMapper.readValue(message.getPayload(), ItemMessage.class);
-            ItemMessage response = new ItemMessage();
-            
-            try {
-                // Check if session is authenticated for operations that require it
-                UserEntity currentUser = null;
-                if (requiresAuthentication(itemMessage.getType())) {
-                    currentUser = sessionService.validateSession(session);
-                    if (currentUser == null) {
-                        throw new UnauthorizedException("Not authenticated");
-                    }
-                }
-                
-                switch (itemMessage.getType()) {
-                    case GET_ITEMS_REQUEST:
-                        handleGetItems(itemMessage, response, currentUser);
-                        break;
-                        
-                    case ADD_ITEM_REQUEST:
-                        handleAddItem(itemMessage, response, currentUser);
-                        break;
-                        
-                    case UPDATE_ITEM_REQUEST:
-                        handleUpdateItem(itemMessage, response, currentUser);
-                        break;
-                        
-                    case DELETE_ITEM_REQUEST:
-                        handleDeleteItem(itemMessage, response, currentUser);
-                        break;
-                        
-                    default:
-                        response.setSuccess(false);
-                        response.setErrorMessage("Unknown item message type: " + itemMessage.getType());
-                        break;
+            // Check if session is authenticated for operations that require it
+            AuthenticatedUser currentUser = null;
+            if (requiresAuthentication(itemMessage.getType())) {
+                currentUser = sessionService.validateSession(session);
+                if (currentUser == null) {
+                    throw new UnauthorizedException("Not authenticated");
                 }
-            } catch (UnauthorizedException e) {
-                response.setSuccess(false);
-                response.setErrorMessage("Authentication required: " + e.getMessage());
-                logger.warn("Authentication failed for item operation: {}", e.getMessage());
-            } catch (Exception e) {
-                response.setSuccess(false);
-                response.setErrorMessage("Error processing item request: " + e.getMessage());
-                logger.error("Error processing item message", e);
             }
             
-            // Send the response back to the client
-            session.sendMessage(new TextMessage(objectMapper.writeValueAsString(response)));
-            
+            switch (itemMessage.getType()) {
+                case GET_ITEMS_REQUEST:
+                    handleGetItems(itemMessage, response, currentUser);
+                    break;
+                    
+                case ADD_ITEM_REQUEST:
+                    handleAddItem(itemMessage, response, currentUser);
+                    break;
+                    
+                case UPDATE_ITEM_REQUEST:
+                    handleUpdateItem(itemMessage, response, currentUser);
+                    break;
+                    
+                case DELETE_ITEM_REQUEST:
+                    handleDeleteItem(itemMessage, response, currentUser);
+                    break;
+                    
+                default:
+                    response.setSuccess(false);
+                    response.setErrorMessage("Unknown item message type: " + itemMessage.getType());
+                    break;
+            }
+        } catch (UnauthorizedException e) {
+            response.setSuccess(false);
+            response.setErrorMessage("Authentication required: " + e.getMessage());
+            logger.warn("Authentication failed for item operation: {}", e.getMessage());
         } catch (Exception e) {
-            logger.error("Error parsing item message", e);
-            ItemMessage errorResponse = new ItemMessage();
-            errorResponse.setSuccess(false);
-            errorResponse.setErrorMessage("Error processing request: " + e.getMessage());
-            session.sendMessage(new TextMessage(objectMapper.writeValueAsString(errorResponse)));
+            response.setSuccess(false);
+            response.setErrorMessage("Error processing item request: " + e.getMessage());
+            logger.error("Error processing item message", e);
         }
+        
+        // Send the response back to the client
+        session.sendMessage(new TextMessage(objectMapper.writeValueAsString(response)));
     }
     
     private boolean requiresAuthentication(ItemMessage.Type type) {
@@ -100,7 +91,7 @@ public class ItemWebSocketHandler extends TextWebSocketHandler {
         return true;
     }
     
-    private void handleGetItems(ItemMessage request, ItemMessage response, UserEntity currentUser) {
+    private void handleGetItems(ItemMessage request, ItemMessage response, AuthenticatedUser currentUser) {
         List<ItemDTO> items = itemService.getUserItems(currentUser.getId());
         response.setType(ItemMessage.Type.GET_ITEMS_RESPONSE);
         response.setItems(items);
@@ -109,7 +100,7 @@ public class ItemWebSocketHandler extends TextWebSocketHandler {
         logger.info("Retrieved {} items for user {}", items.size(), currentUser.getUsername());
     }
     
-    private void handleAddItem(ItemMessage request, ItemMessage response, UserEntity currentUser) {
+    private void handleAddItem(ItemMessage request, ItemMessage response, AuthenticatedUser currentUser) {
         ItemDTO newItem = request.getItem();
         
         // Set owner to current user
@@ -124,7 +115,7 @@ public class ItemWebSocketHandler extends TextWebSocketHandler {
         logger.info("Added new item: {} for user {}", savedItem.getId(), currentUser.getUsername());
     }
     
-    private void handleUpdateItem(ItemMessage request, ItemMessage response, UserEntity currentUser) {
+    private void handleUpdateItem(ItemMessage request, ItemMessage response, AuthenticatedUser currentUser) {
         ItemDTO itemToUpdate = request.getItem();
         
         // Verify ownership
@@ -147,7 +138,7 @@ public class ItemWebSocketHandler extends TextWebSocketHandler {
         logger.info("Updated item: {} for user {}", updatedItem.getId(), currentUser.getUsername());
     }
     
-    private void handleDeleteItem(ItemMessage request, ItemMessage response, UserEntity currentUser) {
+    private void handleDeleteItem(ItemMessage request, ItemMessage response, AuthenticatedUser currentUser) {
         String itemId = request.getItem().getId();
         
         // Verify ownership
@@ -3,7 +3,7 @@ package com.uninaswap.server.websocket;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.uninaswap.common.dto.ListingDTO;
 import com.uninaswap.common.message.ListingMessage;
-import com.uninaswap.server.entity.UserEntity;
+import com.uninaswap.server.service.AuthenticatedUser;
 import com.uninaswap.server.exception.UnauthorizedException;
 import com.uninaswap.server.service.ListingService;
 import com.uninaswap.server.service.SessionService;
@@ -13,16 +13,15 @@ import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
-import org.springframework.lang.NonNull;
+import org.springframework.data.domain.Slice;
 import org.springframework.stereotype.Component;
 import org.springframework.web.socket.TextMessage;
 import org.springframework.web.socket.WebSocketSession;
-import org.springframework.web.socket.handler.TextWebSocketHandler;
 
 import java.util.List;
 
 @Component
-public class ListingWebSocketHandler extends TextWebSocketHandler {
+public class ListingWebSocketHandler implements MessageHandler<ListingMessage> {
 
     private static final Logger logger = LoggerFactory.getLogger(ListingWebSocketHandler.class);
     private final ObjectMapper objectMapper;
@@ -38,77 +37,70 @@ public class ListingWebSocketHandler extends TextWebSocketHandler {
     }
 
     @Override
-    public void handleTextMessage(@NonNull WebSocketSession session, @NonNull TextMessage message) throws Exception {
-        logger.debug("Received listing message: {}", message.getPayload());
+    public Class<ListingMessage> getMessageClass() {
+        return ListingMessage.class;
+    }
+
+    @Override
+    public void handle(WebSocketSession session, ListingMessage listingMessage) throws Exception {
+        ListingMessage response = new ListingMessage();
 
         try {
-            ListingMessage listingMessage = objectMapper.readValue(message.getPayload(), ListingMessage.class);
-            ListingMessage response = new ListingMessage();
-
-            try {
-                // Check if session is authenticated for operations that require it
-                UserEntity currentUser = null;
-                if (requiresAuthentication(listingMessage.getType())) {
-                    currentUser = sessionService.validateSession(session);
-                    if (currentUser == null) {
-                        throw new UnauthorizedException("Not authenticated");
-                    }
+            // Check if session is authenticated for operations that require it
+            AuthenticatedUser currentUser = null;
+            if (requiresAuthentication(listingMessage.getType())) {
+                currentUser = sessionService.validateSession(session);
+                if (currentUser == null) {
+                    throw new UnauthorizedException("Not authenticated");
                 }
+            }
 
-                switch (listingMessage.getType()) {
-                    case GET_LISTINGS_REQUEST:
-                        handleGetListings(listingMessage, response);
-                        break;
+            switch (listingMessage.getType()) {
+                case GET_LISTINGS_REQUEST:
+                    handleGetListings(listingMessage, response);
+                    break;
 
-                    case GET_MY_LISTINGS_REQUEST:
-                        handleGetMyListings(listingMessage, response, currentUser);
-                        break;
+                case GET_MY_LISTINGS_REQUEST:
+                    handleGetMyListings(listingMessage, response, currentUser);
+                    break;
 
-                    case CREATE_LISTING_REQUEST:
-                        handleCreateListing(listingMessage, response, currentUser);
-                        break;
+                case CREATE_LISTING_REQUEST:
+                    handleCreateListing(listingMessage, response, currentUser);
+                    break;
 
-                    case UPDATE_LISTING_REQUEST:
-                        handleUpdateListing(listingMessage, response, currentUser);
-                        break;
+                case UPDATE_LISTING_REQUEST:
+                    handleUpdateListing(listingMessage, response, currentUser);
+                    break;
 
-                    case DELETE_LISTING_REQUEST:
-                        handleDeleteListing(listingMessage, response, currentUser);
-                        break;
+                case DELETE_LISTING_REQUEST:
+                    handleDeleteListing(listingMessage, response, currentUser);
+                    break;
 
-                    case GET_LISTING_DETAIL_REQUEST:
-                        handleGetListingDetail(listingMessage, response);
-                        break;
+                case GET_LISTING_DETAIL_REQUEST:
+                    handleGetListingDetail(listingMessage, response);
+                    break;
 
-                    case GET_USER_LISTINGS_REQUEST:
-                        handleGetUserListings(listingMessage, response, currentUser);
-                        break;
+                case GET_USER_LISTINGS_REQUEST:
+                    handleGetUserListings(listingMessage, response, currentUser);
+                    break;
 
-                    default:
-                        response.setSuccess(false);
-                        response.setErrorMessage("Unknown listing message type: " + listingMessage.getType());
-                        break;
-                }
-            } catch (UnauthorizedException e) {
-                response.setSuccess(false);
-                response.setErrorMessage("Authentication required: " + e.getMessage());
-                logger.warn("Authentication failed for listing operation: {}", e.getMessage());
-            } catch (Exception e) {
-                response.setSuccess(false);
-                response.setErrorMessage("Error processing listing request: " + e.getMessage());
-                logger.error("Error processing listing message", e);
+                default:
+                    response.setSuccess(false);
+                    response.setErrorMessage("Unknown listing message type: " + listingMessage.getType());
+                    break;
             }
-
-            // Send the response back to the client
-            session.sendMessage(new TextMessage(objectMapper.writeValueAsString(response)));
-
+        } catch (UnauthorizedException e) {
+            response.setSuccess(false);
+            response.setErrorMessage("Authentication required: " + e.getMessage());
+            logger.warn("Authentication failed for listing operation: {}", e.getMessage());
         } catch (Exception e) {
-            logger.error("Error parsing listing message", e);
-            ListingMessage errorResponse = new ListingMessage();
-            errorResponse.setSuccess(false);
-            errorResponse.setErrorMessage("Error processing request: " + e.getMessage());
-            session.sendMessage(new TextMessage(objectMapper.writeValueAsString(errorResponse)));
+            response.setSuccess(false);
+            response.setErrorMessage("Error processing listing request: " + e.getMessage());
+            logger.error("Error processing listing message", e);
         }
+
+        // Send the response back to the client
+        session.sendMessage(new TextMessage(objectMapper.writeValueAsString(response)));
     }
 
     private boolean requiresAuthentication(ListingMessage.Type type) {
@@ -122,6 +114,22 @@ public class ListingWebSocketHandler extends TextWebSocketHandler {
             int page = Math.max(0, request.getPage());
             int size = Math.min(50, Math.max(1, request.getSize()));
 
+            if (request.getCursor() != null && !request.getCursor().isEmpty()) {
+                // Keyset paging: continue after the last listing the client has
+                Slice<ListingDTO> listings = listingService.getActiveListingsAfter(request.getCursor(), size);
+
+                response.setType(ListingMessage.Type.GET_LISTINGS_RESPONSE);
+                response.setListings(listings.getContent());
+                response.setSize(size);
+                response.setHasMore(listings.hasNext());
+                response.setNextCursor(nextCursor(listings));
+                response.setSuccess(true);
+
+                logger.info("Retrieved {} listings after cursor, hasMore={}",
+                        listings.getContent().size(), listings.hasNext());
+                return;
+            }
+
             Pageable pageable = PageRequest.of(page, size);
             Page<ListingDTO> listings = listingService.getActiveListings(pageable);
 
@@ -131,6 +139,8 @@ public class ListingWebSocketHandler extends TextWebSocketHandler {
             response.setSize(size);
             response.setTotalElements(listings.getTotalElements());
             response.setTotalPages(listings.getTotalPages());
+            response.setHasMore(listings.hasNext());
+            response.setNextCursor(nextCursor(listings));
             response.setSuccess(true);
 
             logger.info("Retrieved {} listings (page {}/{})",
@@ -144,7 +154,15 @@ public class ListingWebSocketHandler extends TextWebSocketHandler {
         }
     }
 
-    private void handleGetMyListings(ListingMessage request, ListingMessage response, UserEntity currentUser) {
+    private String nextCursor(Slice<ListingDTO> listings) {
+        if (!listings.hasNext() || listings.getContent().isEmpty()) {
+            return null;
+        }
+        List<ListingDTO> content = listings.getContent();
+        return listingService.cursorAfter(content.get(content.size() - 1));
+    }
+
+    private void handleGetMyListings(ListingMessage request, ListingMessage response, AuthenticatedUser currentUser) {
         List<ListingDTO> userListings = listingService.getUserListings(currentUser.getId());
 
         response.setType(ListingMessage.Type.GET_MY_LISTINGS_RESPONSE);
@@ -154,7 +172,7 @@ public class ListingWebSocketHandler extends TextWebSocketHandler {
         logger.info("Retrieved {} listings for user {}", userListings.size(), currentUser.getUsername());
     }
 
-    private void handleCreateListing(ListingMessage request, ListingMessage response, UserEntity currentUser) {
+    private void handleCreateListing(ListingMessage request, ListingMessage response, AuthenticatedUser currentUser) {
         ListingDTO newListing = request.getListing();
         String listingTypeValue = request.getListingTypeValue();
 
@@ -175,7 +193,7 @@ public class ListingWebSocketHandler extends TextWebSocketHandler {
                 listingTypeValue, createdListing.getId(), currentUser.getUsername());
     }
 
-    private void handleUpdateListing(ListingMessage request, ListingMessage response, UserEntity currentUser) {
+    private void handleUpdateListing(ListingMessage request, ListingMessage response, AuthenticatedUser currentUser) {
         ListingDTO listingToUpdate = request.getListing();
         String listingTypeValue = request.getListingTypeValue();
 
@@ -198,7 +216,7 @@ public class ListingWebSocketHandler extends TextWebSocketHandler {
                 listingTypeValue, updatedListing.getId(), currentUser.getUsername());
     }
 
-    private void handleDeleteListing(ListingMessage request, ListingMessage response, UserEntity currentUser) {
+    private void handleDeleteListing(ListingMessage request, ListingMessage response, AuthenticatedUser currentUser) {
         String listingId = request.getListingId();
 
         // Verify ownership
@@ -234,7 +252,7 @@ public class ListingWebSocketHandler extends TextWebSocketHandler {
         logger.info("Retrieved listing details for: {}", listingId);
     }
 
-    private void handleGetUserListings(ListingMessage request, ListingMessage response, UserEntity currentUser) {
+    private void handleGetUserListings(ListingMessage request, ListingMessage response, AuthenticatedUser currentUser) {
         Long userId = request.getUserId();
         
         if (userId == null) {
@@ -0,0 +1,193 @@
+package com.uninaswap.server.websocket;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.web.socket.WebSocketSession;
+
+import java.util.Map;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Runs message handling off the WebSocket container threads on virtual threads.
+ * Ordered messages of one session run one at a time in arrival order, so a session's requests
+ * keep the ordering they had when handled inline, while different sessions proceed in parallel.
+ * Unordered messages start immediately alongside them.
+ * Each session may have a bounded number of messages queued or running; beyond that new
+ * messages are refused instead of piling up.
+ */
+@Component
+public class MessageDispatcher {
+    private static final Logger logger = LoggerFactory.getLogger(MessageDispatcher.class);
+
+    private final ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor();
+    private final Map<String, SessionLane> lanes = new ConcurrentHashMap<>();
+    private final AtomicInteger queued = new AtomicInteger();
+    private final AtomicInteger running = new AtomicInteger();
+    private final int maxInFlightPerSession;
+    private final MeterRegistry meterRegistry;
+    private final Timer queueWait;
+    private final Counter rejected;
+
+    public MessageDispatcher(MeterRegistry meterRegistry,
+            @Value("${uninaswap.websocket.max-in-flight-per-session:32}") int maxInFlightPerSession) {
+        this.meterRegistry = meterRegistry;
+        this.maxInFlightPerSession = maxInFlightPerSession;
+
+        Gauge.builder("uninaswap.websocket.dispatch.queued", queued, AtomicInteger::get)
+                .description("Messages waiting for their session's turn")
+                .register(meterRegistry);
+        Gauge.builder("uninaswap.websocket.dispatch.running", running, AtomicInteger::get)
+                .description("Messages being handled")
+                .register(meterRegistry);
+        this.queueWait = Timer.builder("uninaswap.websocket.dispatch.wait")
+                .description("Time from arrival until a message starts being handled")
+                .register(meterRegistry);
+        this.rejected = Counter.builder("uninaswap.websocket.dispatch.rejected")
+                .description("Messages refused because their session had too many in flight")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Queue a message for handling
+     *
+     * @param session The session the message arrived on
+     * @param messageType The message type, used to tag the latency metric
+     * @param ordered Whether the message must wait for the session's earlier ordered messages
+     * @param task The handling work
+     * @return false if the session already has the maximum number of messages in flight
+     */
+    public boolean submit(WebSocketSession session, String messageType, boolean ordered, Runnable task) {
+        SessionLane lane = lanes.computeIfAbsent(session.getId(), id -> new SessionLane());
+        if (lane.inFlight.incrementAndGet() > maxInFlightPerSession) {
+            lane.inFlight.decrementAndGet();
+            rejected.increment();
+            logger.warn("Session {} has {} messages in flight, refusing {}", session.getId(),
+                    maxInFlightPerSession, messageType);
+            return false;
+        }
+
+        queued.incrementAndGet();
+        QueuedTask queuedTask = new QueuedTask(messageType, task, System.nanoTime());
+        if (!ordered) {
+            executor.execute(() -> {
+                try {
+                    run(queuedTask);
+                } finally {
+                    lane.inFlight.decrementAndGet();
+                }
+            });
+            return true;
+        }
+
+        lane.tasks.add(queuedTask);
+        if (lane.draining.compareAndSet(false, true)) {
+            executor.execute(() -> drain(lane));
+        }
+        return true;
+    }
+
+    /**
+     * Forget a closed session. Messages already queued still run.
+     */
+    public void sessionClosed(WebSocketSession session) {
+        lanes.remove(session.getId());
+    }
+
+    @PreDestroy
+    public void shutdown() throws InterruptedException {
+        executor.shutdown();
+        if (!executor.awaitTermination(10, TimeUnit.SECONDS)) {
+            logger.warn("Message handling did not finish before shutdown");
+            executor.shutdownNow();
+        }
+    }
+
+    private void drain(SessionLane lane) {
+        while (true) {
+            QueuedTask next;
+            try {
+                while ((next = lane.tasks.poll()) != null) {
+                    try {
+                        run(next);
+                    } finally {
+                        lane.inFlight.decrementAndGet();
+                    }
+                }
+            } catch (Throwable e) {
+                // An Error from a handler ends this drain; the session's later messages get a new one
+                lane.draining.set(false);
+                if (!lane.tasks.isEmpty() && lane.draining.compareAndSet(false, true)) {
+                    try {
+                        executor.execute(() -> drain(lane));
+                    } catch (RejectedExecutionException rejected) {
+                        // Shutting down
+                        e.addSuppressed(rejected);
+                    }
+                }
+                throw e;
+            }
+            lane.draining.set(false);
+
+            // A message may have been queued after the last poll but before the flag was cleared
+            if (lane.tasks.isEmpty() || !lane.draining.compareAndSet(false, true)) {
+                return;
+            }
+        }
+    }
+
+    private void run(QueuedTask queuedTask) {
+        long started = System.nanoTime();
+        queued.decrementAndGet();
+        running.incrementAndGet();
+        queueWait.record(started - queuedTask.enqueuedAt, TimeUnit.NANOSECONDS);
+        try {
+            queuedTask.task.run();
+        } catch (RuntimeException e) {
+            logger.error("Unhandled error handling {} message", queuedTask.messageType, e);
+        } catch (Error e) {
+            // Not swallowed, but the caller still releases the session's lane
+            logger.error("Error handling {} message", queuedTask.messageType, e);
+            throw e;
+        } finally {
+            running.decrementAndGet();
+            Timer.builder("uninaswap.websocket.handler.latency")
+                    .description("Time spent handling a message")
+                    .tag("type", queuedTask.messageType != null ? queuedTask.messageType : "unknown")
+                    .register(meterRegistry)
+                    .record(System.nanoTime() - started, TimeUnit.NANOSECONDS);
+        }
+    }
+
+    private static class SessionLane {
+        private final Queue<QueuedTask> tasks = new ConcurrentLinkedQueue<>();
+        private final AtomicBoolean draining = new AtomicBoolean();
+        private final AtomicInteger inFlight = new AtomicInteger();
+    }
+
+    private static class QueuedTask {
+        private final String messageType;
+        private final Runnable task;
+        private final long enqueuedAt;
+
+        QueuedTask(String messageType, Runnable task, long enqueuedAt) {
+            this.messageType = messageType;
+            this.task = task;
+            this.enqueuedAt = enqueuedAt;
+        }
+    }
+}
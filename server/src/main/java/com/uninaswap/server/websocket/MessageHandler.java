@@ -0,0 +1,43 @@
+package com.uninaswap.server.websocket;
+
+import com.uninaswap.common.message.Message;
+import org.springframework.web.socket.WebSocketSession;
+
+/**
+ * Handles one type of inbound message.
+ * The router parses each frame once into the {@link Message} hierarchy and dispatches it
+ * to the handler registered for its class.
+ */
+public interface MessageHandler<T extends Message> {
+
+    /**
+     * The message class this handler accepts
+     */
+    Class<T> getMessageClass();
+
+    void handle(WebSocketSession session, T message) throws Exception;
+
+    /**
+     * Whether messages of this type must be handled in arrival order with the session's other
+     * messages. Read-only handlers whose responses do not depend on earlier requests can
+     * return false to run concurrently.
+     */
+    default boolean isOrdered() {
+        return true;
+    }
+
+    /**
+     * Response sent to the client when a message of this type cannot be parsed
+     * or its handler fails without answering
+     */
+    default Message errorResponse(String errorMessage) {
+        try {
+            Message response = getMessageClass().getDeclaredConstructor().newInstance();
+            response.setSuccess(false);
+            response.setErrorMessage(errorMessage);
+            return response;
+        } catch (ReflectiveOperationException e) {
+            throw new IllegalStateException("Cannot instantiate " + getMessageClass().getName(), e);
+        }
+    }
+}
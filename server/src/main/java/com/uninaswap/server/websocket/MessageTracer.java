@@ -0,0 +1,75 @@
+package com.uninaswap.server.websocket;
+
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.web.socket.WebSocketSession;
+
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Records WebSocket traffic without printing it.
+ * Every frame is counted and sized per direction and message type. Logging happens at DEBUG on
+ * this class's logger for a sampled fraction of frames and shows only type and size; the body is
+ * added only when {@code uninaswap.websocket.trace.bodies} is on. Bodies can contain tokens and
+ * multi-megabyte images, so leave it off outside local debugging.
+ */
+@Component
+public class MessageTracer {
+    private static final Logger logger = LoggerFactory.getLogger(MessageTracer.class);
+
+    private static final String INBOUND = "in";
+    private static final String OUTBOUND = "out";
+    private static final int MAX_BODY_CHARS = 2000;
+
+    private final MeterRegistry meterRegistry;
+    private final double sampleRate;
+    private final boolean logBodies;
+
+    public MessageTracer(MeterRegistry meterRegistry,
+            @Value("${uninaswap.websocket.trace.sample-rate:0.01}") double sampleRate,
+            @Value("${uninaswap.websocket.trace.bodies:false}") boolean logBodies) {
+        this.meterRegistry = meterRegistry;
+        this.sampleRate = sampleRate;
+        this.logBodies = logBodies;
+    }
+
+    public void inbound(WebSocketSession session, String messageType, String payload) {
+        record(INBOUND, session, messageType, payload);
+    }
+
+    /**
+     * Outbound frames are traced below the handlers, where only the serialized payload is known
+     */
+    public void outbound(WebSocketSession session, String payload) {
+        record(OUTBOUND, session, null, payload);
+    }
+
+    private void record(String direction, WebSocketSession session, String messageType, String payload) {
+        String type = messageType != null ? messageType : "any";
+        DistributionSummary.builder("uninaswap.websocket.message.size")
+                .description("Size of WebSocket frames; its count is the number of frames")
+                .baseUnit("characters")
+                .tag("direction", direction)
+                .tag("type", type)
+                .register(meterRegistry)
+                .record(payload.length());
+
+        if (!logger.isDebugEnabled() || ThreadLocalRandom.current().nextDouble() >= sampleRate) {
+            return;
+        }
+        if (logBodies) {
+            logger.debug("{} session={} type={} chars={} body={}", direction, session.getId(), type,
+                    payload.length(), abbreviate(payload));
+        } else {
+            logger.debug("{} session={} type={} chars={}", direction, session.getId(), type, payload.length());
+        }
+    }
+
+    private static String abbreviate(String payload) {
+        return payload.length() <= MAX_BODY_CHARS ? payload : payload.substring(0, MAX_BODY_CHARS) + "...";
+    }
+}
@@ -3,7 +3,7 @@ package com.uninaswap.server.websocket;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.uninaswap.common.dto.NotificationDTO;
 import com.uninaswap.common.message.NotificationMessage;
-import com.uninaswap.server.entity.UserEntity;
+import com.uninaswap.server.service.AuthenticatedUser;
 import com.uninaswap.server.service.NotificationService;
 import com.uninaswap.server.service.SessionService;
 import com.uninaswap.common.enums.NotificationType;
@@ -13,14 +13,14 @@ import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.context.event.EventListener;
 import org.springframework.data.domain.Page;
-import org.springframework.lang.NonNull;
 import org.springframework.stereotype.Component;
 import org.springframework.web.socket.TextMessage;
 import org.springframework.web.socket.WebSocketSession;
-import org.springframework.web.socket.handler.TextWebSocketHandler;
+
+import java.util.Collection;
 
 @Component
-public class NotificationWebSocketHandler extends TextWebSocketHandler {
+public class NotificationWebSocketHandler implements MessageHandler<NotificationMessage> {
     private static final Logger logger = LoggerFactory.getLogger(ListingWebSocketHandler.class);
     
     @Autowired
@@ -32,12 +32,17 @@ public class NotificationWebSocketHandler extends TextWebSocketHandler {
     @Autowired
     private ObjectMapper objectMapper;
     
+    @Autowired
+    private OutboundMessageSender outboundMessageSender;
+    
     @Override
-    public void handleTextMessage(@NonNull WebSocketSession session, @NonNull TextMessage message) throws Exception {
-        String payload = message.getPayload();
-        NotificationMessage notificationMessage = objectMapper.readValue(payload, NotificationMessage.class);
-        
-        UserEntity authenticatedUser = sessionService.validateSession(session);
+    public Class<NotificationMessage> getMessageClass() {
+        return NotificationMessage.class;
+    }
+    
+    @Override
+    public void handle(WebSocketSession session, NotificationMessage notificationMessage) throws Exception {
+        AuthenticatedUser authenticatedUser = sessionService.validateSession(session);
         if (authenticatedUser == null) {
             sendError(session, "Authentication required", notificationMessage.getMessageId());
             return;
@@ -144,22 +149,20 @@ public class NotificationWebSocketHandler extends TextWebSocketHandler {
      * Send real-time notification to a specific user
      */
     private void sendNotificationToUser(long userId, NotificationDTO notification) {
-        WebSocketSession userSession = sessionService.getSessionByUserId(userId);
-        logger.info("Sending notification to user {}", userId);
-        if (userSession != null && userSession.isOpen()) {
-            logger.info("User session is open for user {}", userId);
-            try {
-                NotificationMessage message = new NotificationMessage();
-                message.setType(NotificationMessage.NotificationMessageType.NOTIFICATION_RECEIVED);
-                message.setNotification(notification);
-                message.setSuccess(true);
-                
-                String jsonMessage = objectMapper.writeValueAsString(message);
-                userSession.sendMessage(new TextMessage(jsonMessage));
-                logger.info("Notification sent to user {}", userId);
-            } catch (Exception e) {
-                System.err.println("Failed to send real-time notification to user " + userId + ": " + e.getMessage());
-            }
+        Collection<WebSocketSession> userSessions = sessionService.getSessionsByUserId(userId);
+        logger.info("Sending notification to user {} on {} session(s)", userId, userSessions.size());
+        if (userSessions.isEmpty()) {
+            return;
+        }
+        try {
+            NotificationMessage message = new NotificationMessage();
+            message.setType(NotificationMessage.NotificationMessageType.NOTIFICATION_RECEIVED);
+            message.setNotification(notification);
+            message.setSuccess(true);
+            
+            sendToSessions(userId, userSessions, objectMapper.writeValueAsString(message));
+        } catch (Exception e) {
+            logger.warn("Failed to send real-time notification to user {}: {}", userId, e.getMessage());
         }
     }
     
@@ -167,18 +170,38 @@ public class NotificationWebSocketHandler extends TextWebSocketHandler {
      * Send unread count update to a specific user
      */
     private void sendUnreadCountUpdate(long userId, long unreadCount) {
-        WebSocketSession userSession = sessionService.getSessionByUserId(userId);
-        if (userSession != null && userSession.isOpen()) {
+        Collection<WebSocketSession> userSessions = sessionService.getSessionsByUserId(userId);
+        if (userSessions.isEmpty()) {
+            return;
+        }
+        try {
+            NotificationMessage message = new NotificationMessage();
+            message.setType(NotificationMessage.NotificationMessageType.GET_UNREAD_COUNT_RESPONSE);
+            message.setUnreadCount((int) unreadCount);
+            message.setSuccess(true);
+            
+            // Only the newest count matters, so a burst of changes is sent as one update
+            for (WebSocketSession userSession : userSessions) {
+                try {
+                    outboundMessageSender.sendLatest(userSession, "unread-count", message);
+                } catch (Exception e) {
+                    logger.warn("Failed to push to session {} of user {}: {}", userSession.getId(), userId, e.getMessage());
+                }
+            }
+        } catch (Exception e) {
+            logger.warn("Failed to send unread count update to user {}: {}", userId, e.getMessage());
+        }
+    }
+    
+    /**
+     * Push a payload to every open session of a user; a failing session does not stop the others
+     */
+    private void sendToSessions(long userId, Collection<WebSocketSession> sessions, String jsonMessage) {
+        for (WebSocketSession userSession : sessions) {
             try {
-                NotificationMessage message = new NotificationMessage();
-                message.setType(NotificationMessage.NotificationMessageType.GET_UNREAD_COUNT_RESPONSE);
-                message.setUnreadCount((int) unreadCount);
-                message.setSuccess(true);
-                
-                String jsonMessage = objectMapper.writeValueAsString(message);
                 userSession.sendMessage(new TextMessage(jsonMessage));
             } catch (Exception e) {
-                System.err.println("Failed to send unread count update to user " + userId + ": " + e.getMessage());
+                logger.warn("Failed to push to session {} of user {}: {}", userSession.getId(), userId, e.getMessage());
             }
         }
     }
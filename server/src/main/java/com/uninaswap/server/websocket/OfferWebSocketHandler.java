@@ -4,25 +4,23 @@ import com.fasterxml.jackson.databind.ObjectMapper;
 import com.uninaswap.common.dto.OfferDTO;
 import com.uninaswap.common.enums.OfferStatus;
 import com.uninaswap.common.message.OfferMessage;
-import com.uninaswap.server.entity.UserEntity;
+import com.uninaswap.server.service.AuthenticatedUser;
 import com.uninaswap.server.exception.UnauthorizedException;
 import com.uninaswap.server.service.OfferService;
 import com.uninaswap.server.service.SessionService;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
-import org.springframework.lang.NonNull;
 import org.springframework.stereotype.Component;
 import org.springframework.web.socket.TextMessage;
 import org.springframework.web.socket.WebSocketSession;
-import org.springframework.web.socket.handler.TextWebSocketHandler;
 
 import java.util.ArrayList;
 import java.util.List;
 import java.util.UUID;
 
 @Component
-public class OfferWebSocketHandler extends TextWebSocketHandler {
+public class OfferWebSocketHandler implements MessageHandler<OfferMessage> {
 
     private static final Logger logger = LoggerFactory.getLogger(OfferWebSocketHandler.class);
     private final ObjectMapper objectMapper;
@@ -37,93 +35,86 @@ public class OfferWebSocketHandler extends TextWebSocketHandler {
     }
 
     @Override
-    public void handleTextMessage(@NonNull WebSocketSession session, @NonNull TextMessage message) throws Exception {
-        logger.debug("Received offer message: {}", message.getPayload());
+    public Class<OfferMessage> getMessageClass() {
+        return OfferMessage.class;
+    }
+
+    @Override
+    public void handle(WebSocketSession session, OfferMessage offerMessage) throws Exception {
+        OfferMessage response = new OfferMessage();
 
         try {
-            OfferMessage offerMessage = objectMapper.readValue(message.getPayload(), OfferMessage.class);
-            OfferMessage response = new OfferMessage();
-
-            try {
-                // All offer operations require authentication
-                UserEntity currentUser = sessionService.validateSession(session);
-                if (currentUser == null) {
-                    throw new UnauthorizedException("Not authenticated");
-                }
-
-                switch (offerMessage.getType()) {
-                    case CREATE_OFFER_REQUEST:
-                        handleCreateOffer(offerMessage, response, currentUser);
-                        break;
-
-                    case GET_SENT_OFFERS_REQUEST:
-                        handleGetSentOffers(offerMessage, response, currentUser);
-                        break;
-
-                    case GET_RECEIVED_OFFERS_REQUEST:
-                        handleGetReceivedOffers(offerMessage, response, currentUser);
-                        break;
-
-                    case GET_LISTING_OFFERS_REQUEST:
-                        handleGetListingOffers(offerMessage, response, currentUser);
-                        break;
-
-                    case GET_OFFER_HISTORY_REQUEST:
-                        handleGetOfferHistory(offerMessage, response, currentUser);
-                        break;
-
-                    case ACCEPT_OFFER_REQUEST:
-                        handleAcceptOffer(offerMessage, response, currentUser);
-                        break;
-
-                    case REJECT_OFFER_REQUEST:
-                        handleRejectOffer(offerMessage, response, currentUser);
-                        break;
-
-                    case WITHDRAW_OFFER_REQUEST:
-                        handleWithdrawOffer(offerMessage, response, currentUser);
-                        break;
-
-                    case UPDATE_OFFER_STATUS_REQUEST:
-                        handleUpdateOfferStatus(offerMessage, response, currentUser);
-                        break;
-
-                    case CONFIRM_TRANSACTION_REQUEST:
-                        handleConfirmTransaction(offerMessage, response, currentUser);
-                        break;
-                        
-                    case CANCEL_TRANSACTION_REQUEST:
-                        handleCancelTransaction(offerMessage, response, currentUser);
-                        break;
-
-                    default:
-                        response.setSuccess(false);
-                        response.setErrorMessage("Unknown offer message type: " + offerMessage.getType());
-                        break;
-                }
-            } catch (UnauthorizedException e) {
-                response.setSuccess(false);
-                response.setErrorMessage("Authentication required: " + e.getMessage());
-                logger.warn("Authentication failed for offer operation: {}", e.getMessage());
-            } catch (Exception e) {
-                response.setSuccess(false);
-                response.setErrorMessage("Error processing offer request: " + e.getMessage());
-                logger.error("Error processing offer message", e);
+            // All offer operations require authentication
+            AuthenticatedUser currentUser = sessionService.validateSession(session);
+            if (currentUser == null) {
+                throw new UnauthorizedException("Not authenticated");
             }
 
-            // Send the response back to the client
-            session.sendMessage(new TextMessage(objectMapper.writeValueAsString(response)));
-
+            switch (offerMessage.getType()) {
+                case CREATE_OFFER_REQUEST:
+                    handleCreateOffer(offerMessage, response, currentUser);
+                    break;
+
+                case GET_SENT_OFFERS_REQUEST:
+                    handleGetSentOffers(offerMessage, response, currentUser);
+                    break;
+
+                case GET_RECEIVED_OFFERS_REQUEST:
+                    handleGetReceivedOffers(offerMessage, response, currentUser);
+                    break;
+
+                case GET_LISTING_OFFERS_REQUEST:
+                    handleGetListingOffers(offerMessage, response, currentUser);
+                    break;
+
+                case GET_OFFER_HISTORY_REQUEST:
+                    handleGetOfferHistory(offerMessage, response, currentUser);
+                    break;
+
+                case ACCEPT_OFFER_REQUEST:
+                    handleAcceptOffer(offerMessage, response, currentUser);
+                    break;
+
+                case REJECT_OFFER_REQUEST:
+                    handleRejectOffer(offerMessage, response, currentUser);
+                    break;
+
+                case WITHDRAW_OFFER_REQUEST:
+                    handleWithdrawOffer(offerMessage, response, currentUser);
+                    break;
+
+                case UPDATE_OFFER_STATUS_REQUEST:
+                    handleUpdateOfferStatus(offerMessage, response, currentUser);
+                    break;
+
+                case CONFIRM_TRANSACTION_REQUEST:
+                    handleConfirmTransaction(offerMessage, response, currentUser);
+                    break;
+                    
+                case CANCEL_TRANSACTION_REQUEST:
+                    handleCancelTransaction(offerMessage, response, currentUser);
+                    break;
+
+                default:
+                    response.setSuccess(false);
+                    response.setErrorMessage("Unknown offer message type: " + offerMessage.getType());
+                    break;
+            }
+        } catch (UnauthorizedException e) {
+            response.setSuccess(false);
+            response.setErrorMessage("Authentication required: " + e.getMessage());
+            logger.warn("Authentication failed for offer operation: {}", e.getMessage());
         } catch (Exception e) {
-            logger.error("Error parsing offer message", e);
-            OfferMessage errorResponse = new OfferMessage();
-            errorResponse.setSuccess(false);
-            errorResponse.setErrorMessage("Error processing request: " + e.getMessage());
-            session.sendMessage(new TextMessage(objectMapper.writeValueAsString(errorResponse)));
+            response.setSuccess(false);
+            response.setErrorMessage("Error processing offer request: " + e.getMessage());
+            logger.error("Error processing offer message", e);
         }
+
+        // Send the response back to the client
+        session.sendMessage(new TextMessage(objectMapper.writeValueAsString(response)));
     }
 
-    private void handleCreateOffer(OfferMessage request, OfferMessage response, UserEntity currentUser) {
+    private void handleCreateOffer(OfferMessage request, OfferMessage response, AuthenticatedUser currentUser) {
         OfferDTO newOffer = request.getOffer();
 
         // Create the offer
@@ -137,7 +128,7 @@ public class OfferWebSocketHandler extends TextWebSocketHandler {
                 createdOffer.getId(), createdOffer.getListingId(), currentUser.getUsername());
     }
 
-    private void handleGetSentOffers(OfferMessage request, OfferMessage response, UserEntity currentUser) {
+    private void handleGetSentOffers(OfferMessage request, OfferMessage response, AuthenticatedUser currentUser) {
         List<OfferDTO> userOffers = offerService.getUserOffers(currentUser.getId());
 
         response.setType(OfferMessage.Type.GET_SENT_OFFERS_RESPONSE);
@@ -147,7 +138,7 @@ public class OfferWebSocketHandler extends TextWebSocketHandler {
         logger.info("Retrieved {} offers for user {}", userOffers.size(), currentUser.getUsername());
     }
 
-    private void handleGetReceivedOffers(OfferMessage request, OfferMessage response, UserEntity currentUser) {
+    private void handleGetReceivedOffers(OfferMessage request, OfferMessage response, AuthenticatedUser currentUser) {
         List<OfferDTO> receivedOffers = offerService.getReceivedOffers(currentUser.getId());
 
         response.setType(OfferMessage.Type.GET_RECEIVED_OFFERS_RESPONSE);
@@ -157,7 +148,7 @@ public class OfferWebSocketHandler extends TextWebSocketHandler {
         logger.info("Retrieved {} received offers for user {}", receivedOffers.size(), currentUser.getUsername());
     }
 
-    private void handleGetListingOffers(OfferMessage request, OfferMessage response, UserEntity currentUser) {
+    private void handleGetListingOffers(OfferMessage request, OfferMessage response, AuthenticatedUser currentUser) {
         String listingId = request.getListingId();
 
         // TODO: Add permission check - user should own the listing to see its offers
@@ -173,7 +164,7 @@ public class OfferWebSocketHandler extends TextWebSocketHandler {
                 listingOffers.size(), listingId, currentUser.getUsername());
     }
 
-    private void handleGetOfferHistory(OfferMessage request, OfferMessage response, UserEntity currentUser) {
+    private void handleGetOfferHistory(OfferMessage request, OfferMessage response, AuthenticatedUser currentUser) {
         // Get all offers where the user was involved (sent or received)
         List<OfferDTO> userOffers = offerService.getUserOffers(currentUser.getId());
         List<OfferDTO> receivedOffers = offerService.getReceivedOffers(currentUser.getId());
@@ -200,7 +191,7 @@ public class OfferWebSocketHandler extends TextWebSocketHandler {
         logger.info("Retrieved {} history offers for user {}", historyOffers.size(), currentUser.getUsername());
     }
 
-    private void handleAcceptOffer(OfferMessage request, OfferMessage response, UserEntity currentUser) {
+    private void handleAcceptOffer(OfferMessage request, OfferMessage response, AuthenticatedUser currentUser) {
         String offerId = request.getOfferId();
 
         try {
@@ -220,7 +211,7 @@ public class OfferWebSocketHandler extends TextWebSocketHandler {
         }
     }
 
-    private void handleRejectOffer(OfferMessage request, OfferMessage response, UserEntity currentUser) {
+    private void handleRejectOffer(OfferMessage request, OfferMessage response, AuthenticatedUser currentUser) {
         String offerId = request.getOfferId();
 
         try {
@@ -240,7 +231,7 @@ public class OfferWebSocketHandler extends TextWebSocketHandler {
         }
     }
 
-    private void handleConfirmTransaction(OfferMessage message, OfferMessage response, UserEntity user) {
+    private void handleConfirmTransaction(OfferMessage message, OfferMessage response, AuthenticatedUser user) {
         try {
             Long userId = user.getId();
             OfferDTO result = offerService.confirmTransaction(message.getOfferId(), userId);
@@ -260,7 +251,7 @@ public class OfferWebSocketHandler extends TextWebSocketHandler {
         }
     }
 
-    private void handleCancelTransaction(OfferMessage message, OfferMessage response, UserEntity user) {
+    private void handleCancelTransaction(OfferMessage message, OfferMessage response, AuthenticatedUser user) {
         try {
             Long userId = user.getId();
             OfferDTO result = offerService.cancelTransaction(message.getOfferId(), userId);
@@ -278,7 +269,7 @@ public class OfferWebSocketHandler extends TextWebSocketHandler {
         }
     }
 
-    private void handleWithdrawOffer(OfferMessage request, OfferMessage response, UserEntity currentUser) {
+    private void handleWithdrawOffer(OfferMessage request, OfferMessage response, AuthenticatedUser currentUser) {
         String offerId = request.getOfferId();
 
         try {
@@ -298,7 +289,7 @@ public class OfferWebSocketHandler extends TextWebSocketHandler {
         }
     }
 
-    private void handleUpdateOfferStatus(OfferMessage request, OfferMessage response, UserEntity currentUser) {
+    private void handleUpdateOfferStatus(OfferMessage request, OfferMessage response, AuthenticatedUser currentUser) {
         String offerId = request.getOfferId();
         OfferDTO offerData = request.getOffer();
 
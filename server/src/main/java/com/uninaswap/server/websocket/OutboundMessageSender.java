@@ -0,0 +1,165 @@
+package com.uninaswap.server.websocket;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.uninaswap.common.message.Message;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.web.socket.CloseStatus;
+import org.springframework.web.socket.TextMessage;
+import org.springframework.web.socket.WebSocketMessage;
+import org.springframework.web.socket.WebSocketSession;
+import org.springframework.web.socket.handler.ConcurrentWebSocketSessionDecorator;
+import org.springframework.web.socket.handler.ConcurrentWebSocketSessionDecorator.OverflowStrategy;
+import org.springframework.web.socket.handler.SessionLimitExceededException;
+
+import java.io.IOException;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * Owns the outbound side of every WebSocket session.
+ * Each session is wrapped in a {@link ConcurrentWebSocketSessionDecorator} so handlers, event
+ * listeners and the router can send to it from any thread: one thread writes while the others
+ * buffer and return. A session whose buffer grows past the limit or whose send stalls past the
+ * time limit is a slow consumer and is closed (or, if configured, its overflow is dropped)
+ * instead of holding server threads. A closed slow consumer keeps its wrapper, which drops
+ * further sends, until the connection-closed callback unregisters it, so the raw session is
+ * never wrapped a second time while the first wrapper may still be flushing.
+ */
+@Component
+public class OutboundMessageSender {
+    private static final Logger logger = LoggerFactory.getLogger(OutboundMessageSender.class);
+
+    private final Map<String, WebSocketSession> sessions = new ConcurrentHashMap<>();
+    // Ids of sessions closed as slow consumers and not yet unregistered
+    private final Set<String> terminated = ConcurrentHashMap.newKeySet();
+    // Session id -> update key -> newest value not yet sent
+    private final Map<String, Map<String, AtomicReference<Message>>> pendingLatest = new ConcurrentHashMap<>();
+    private final ObjectMapper objectMapper;
+    private final MessageTracer messageTracer;
+    private final int sendTimeLimit;
+    private final int bufferSizeLimit;
+    private final OverflowStrategy overflowStrategy;
+    private final Counter slowConsumers;
+
+    public OutboundMessageSender(ObjectMapper objectMapper, MessageTracer messageTracer, MeterRegistry meterRegistry,
+            @Value("${uninaswap.websocket.send-time-limit-ms:10000}") int sendTimeLimit,
+            @Value("${uninaswap.websocket.send-buffer-size-limit:8388608}") int bufferSizeLimit,
+            @Value("${uninaswap.websocket.send-overflow:TERMINATE}") OverflowStrategy overflowStrategy) {
+        this.objectMapper = objectMapper;
+        this.messageTracer = messageTracer;
+        this.sendTimeLimit = sendTimeLimit;
+        this.bufferSizeLimit = bufferSizeLimit;
+        this.overflowStrategy = overflowStrategy;
+        this.slowConsumers = Counter.builder("uninaswap.websocket.slow.consumers")
+                .description("Sessions that exceeded the send buffer or send time limit")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Wrap a newly opened session for concurrent sending
+     *
+     * @return The session to use for every send on this connection
+     */
+    public WebSocketSession register(WebSocketSession session) {
+        if (terminated.contains(session.getId())) {
+            return sessions.getOrDefault(session.getId(), session);
+        }
+        return sessions.computeIfAbsent(session.getId(), id -> new SlowConsumerAwareSession(session));
+    }
+
+    /**
+     * The concurrent-safe wrapper of a session, registering it if it is still open.
+     * A session closed as a slow consumer is not registered again.
+     */
+    public WebSocketSession outbound(WebSocketSession session) {
+        WebSocketSession outbound = sessions.get(session.getId());
+        if (outbound != null || !session.isOpen() || terminated.contains(session.getId())) {
+            return outbound != null ? outbound : session;
+        }
+        return register(session);
+    }
+
+    public void unregister(WebSocketSession session) {
+        sessions.remove(session.getId());
+        pendingLatest.remove(session.getId());
+        terminated.remove(session.getId());
+    }
+
+    /**
+     * Send a state update where only the newest value matters, such as a counter.
+     * If an earlier update with the same key has not gone out yet it is replaced rather than
+     * sent as well, so bursts of updates collapse into one frame.
+     *
+     * @param session The target session
+     * @param key Identifies the kind of update within the session
+     * @param message The update
+     */
+    public void sendLatest(WebSocketSession session, String key, Message message) throws IOException {
+        AtomicReference<Message> slot = pendingLatest
+                .computeIfAbsent(session.getId(), id -> new ConcurrentHashMap<>())
+                .computeIfAbsent(key, k -> new AtomicReference<>());
+        if (slot.getAndSet(message) != null) {
+            // Another thread is sending this key and will pick up our value when it finishes
+            return;
+        }
+
+        Message current = message;
+        try {
+            while (true) {
+                outbound(session).sendMessage(new TextMessage(objectMapper.writeValueAsString(current)));
+                if (slot.compareAndSet(current, null)) {
+                    return;
+                }
+                current = slot.get();
+            }
+        } catch (IOException | RuntimeException e) {
+            slot.set(null);
+            throw e;
+        }
+    }
+
+    private void onSlowConsumer(SlowConsumerAwareSession session, SessionLimitExceededException e) {
+        slowConsumers.increment();
+        logger.warn("Slow consumer on session {}: {}", session.getId(), e.getMessage());
+        if (overflowStrategy != OverflowStrategy.TERMINATE) {
+            return;
+        }
+
+        // The decorator leaves closing to the caller; the wrapper stays registered and drops
+        // sends until the connection-closed callback unregisters it
+        terminated.add(session.getId());
+        pendingLatest.remove(session.getId());
+        try {
+            session.close(CloseStatus.SESSION_NOT_RELIABLE);
+        } catch (IOException closeFailure) {
+            logger.debug("Failed to close slow consumer session {}", session.getId(), closeFailure);
+        }
+    }
+
+    private class SlowConsumerAwareSession extends ConcurrentWebSocketSessionDecorator {
+
+        SlowConsumerAwareSession(WebSocketSession delegate) {
+            super(delegate, sendTimeLimit, bufferSizeLimit, overflowStrategy);
+        }
+
+        @Override
+        public void sendMessage(WebSocketMessage<?> message) throws IOException {
+            if (message instanceof TextMessage textMessage) {
+                messageTracer.outbound(this, textMessage.getPayload());
+            }
+            try {
+                super.sendMessage(message);
+            } catch (SessionLimitExceededException e) {
+                onSlowConsumer(this, e);
+                throw e;
+            }
+        }
+    }
+}
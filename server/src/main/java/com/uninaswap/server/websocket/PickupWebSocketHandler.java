@@ -4,25 +4,23 @@ import com.fasterxml.jackson.databind.ObjectMapper;
 import com.uninaswap.common.dto.PickupDTO;
 import com.uninaswap.common.enums.PickupStatus;
 import com.uninaswap.common.message.PickupMessage;
-import com.uninaswap.server.entity.UserEntity;
+import com.uninaswap.server.service.AuthenticatedUser;
 import com.uninaswap.server.exception.UnauthorizedException;
 import com.uninaswap.server.service.PickupService;
 import com.uninaswap.server.service.SessionService;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
-import org.springframework.lang.NonNull;
 import org.springframework.stereotype.Component;
 import org.springframework.web.socket.TextMessage;
 import org.springframework.web.socket.WebSocketSession;
-import org.springframework.web.socket.handler.TextWebSocketHandler;
 
 import java.time.LocalDate;
 import java.time.LocalTime;
 import java.util.List;
 
 @Component
-public class PickupWebSocketHandler extends TextWebSocketHandler {
+public class PickupWebSocketHandler implements MessageHandler<PickupMessage> {
 
     private static final Logger logger = LoggerFactory.getLogger(PickupWebSocketHandler.class);
     private final ObjectMapper objectMapper;
@@ -38,105 +36,98 @@ public class PickupWebSocketHandler extends TextWebSocketHandler {
     }
 
     @Override
-    public void handleTextMessage(@NonNull WebSocketSession session, @NonNull TextMessage message) throws Exception {
-        logger.debug("Received pickup message: {}", message.getPayload());
+    public Class<PickupMessage> getMessageClass() {
+        return PickupMessage.class;
+    }
+
+    @Override
+    public void handle(WebSocketSession session, PickupMessage pickupMessage) throws Exception {
+        PickupMessage response = new PickupMessage();
 
         try {
-            PickupMessage pickupMessage = objectMapper.readValue(message.getPayload(), PickupMessage.class);
-            PickupMessage response = new PickupMessage();
-
-            try {
-                // All pickup operations require authentication
-                UserEntity currentUser = sessionService.validateSession(session);
-                if (currentUser == null) {
-                    throw new UnauthorizedException("Not authenticated");
-                }
-
-                switch (pickupMessage.getType()) {
-                    case CREATE_PICKUP_REQUEST:
-                        handleCreatePickup(pickupMessage, response, currentUser);
-                        break;
-
-                    case ACCEPT_PICKUP_REQUEST:
-                        handleAcceptPickup(pickupMessage, response, currentUser);
-                        break;
-
-                    case UPDATE_PICKUP_STATUS_REQUEST:
-                        handleUpdatePickupStatus(pickupMessage, response, currentUser);
-                        break;
-
-                    case UPDATE_PICKUP_REQUEST:
-                        handleUpdatePickup(pickupMessage, response, currentUser);
-                        break;
-
-                    case GET_PICKUP_REQUEST:
-                        handleGetPickup(pickupMessage, response, currentUser);
-                        break;
-
-                    case GET_PICKUP_BY_OFFER_REQUEST:
-                        handleGetPickupByOffer(pickupMessage, response, currentUser);
-                        break;
-
-                    case GET_USER_PICKUPS_REQUEST:
-                        handleGetUserPickups(pickupMessage, response, currentUser);
-                        break;
-
-                    case GET_UPCOMING_PICKUPS_REQUEST:
-                        handleGetUpcomingPickups(pickupMessage, response, currentUser);
-                        break;
-
-                    case GET_PAST_PICKUPS_REQUEST:
-                        handleGetPastPickups(pickupMessage, response, currentUser);
-                        break;
-
-                    case GET_PICKUPS_BY_STATUS_REQUEST:
-                        handleGetPickupsByStatus(pickupMessage, response, currentUser);
-                        break;
-
-                    case DELETE_PICKUP_REQUEST:
-                        handleDeletePickup(pickupMessage, response, currentUser);
-                        break;
-
-                    case REJECT_PICKUP_REQUEST:
-                        handleRejectPickup(pickupMessage, response, currentUser);
-                        break;
-
-                    case CANCEL_PICKUP_REQUEST:
-                        handleCancelPickup(pickupMessage, response, currentUser);
-                        break;
-
-                    case CANCEL_PICKUP_ARRANGEMENT_REQUEST:
-                        handleCancelPickupArrangement(pickupMessage, response, currentUser);
-                        break;
-
-                    default:
-                        response.setSuccess(false);
-                        response.setErrorMessage("Unknown pickup message type: " + pickupMessage.getType());
-                        break;
-                }
-            } catch (UnauthorizedException e) {
-                response.setSuccess(false);
-                response.setErrorMessage("Authentication required: " + e.getMessage());
-                logger.warn("Authentication failed for pickup operation: {}", e.getMessage());
-            } catch (Exception e) {
-                response.setSuccess(false);
-                response.setErrorMessage("Error processing pickup request: " + e.getMessage());
-                logger.error("Error processing pickup message", e);
+            // All pickup operations require authentication
+            AuthenticatedUser currentUser = sessionService.validateSession(session);
+            if (currentUser == null) {
+                throw new UnauthorizedException("Not authenticated");
             }
 
-            // Send the response back to the client
-            session.sendMessage(new TextMessage(objectMapper.writeValueAsString(response)));
+            switch (pickupMessage.getType()) {
+                case CREATE_PICKUP_REQUEST:
+                    handleCreatePickup(pickupMessage, response, currentUser);
+                    break;
+
+                case ACCEPT_PICKUP_REQUEST:
+                    handleAcceptPickup(pickupMessage, response, currentUser);
+                    break;
+
+                case UPDATE_PICKUP_STATUS_REQUEST:
+                    handleUpdatePickupStatus(pickupMessage, response, currentUser);
+                    break;
+
+                case UPDATE_PICKUP_REQUEST:
+                    handleUpdatePickup(pickupMessage, response, currentUser);
+                    break;
+
+                case GET_PICKUP_REQUEST:
+                    handleGetPickup(pickupMessage, response, currentUser);
+                    break;
+
+                case GET_PICKUP_BY_OFFER_REQUEST:
+                    handleGetPickupByOffer(pickupMessage, response, currentUser);
+                    break;
+
+                case GET_USER_PICKUPS_REQUEST:
+                    handleGetUserPickups(pickupMessage, response, currentUser);
+                    break;
+
+                case GET_UPCOMING_PICKUPS_REQUEST:
+                    handleGetUpcomingPickups(pickupMessage, response, currentUser);
+                    break;
 
+                case GET_PAST_PICKUPS_REQUEST:
+                    handleGetPastPickups(pickupMessage, response, currentUser);
+                    break;
+
+                case GET_PICKUPS_BY_STATUS_REQUEST:
+                    handleGetPickupsByStatus(pickupMessage, response, currentUser);
+                    break;
+
+                case DELETE_PICKUP_REQUEST:
+                    handleDeletePickup(pickupMessage, response, currentUser);
+                    break;
+
+                case REJECT_PICKUP_REQUEST:
+                    handleRejectPickup(pickupMessage, response, currentUser);
+                    break;
+
+                case CANCEL_PICKUP_REQUEST:
+                    handleCancelPickup(pickupMessage, response, currentUser);
+                    break;
+
+                case CANCEL_PICKUP_ARRANGEMENT_REQUEST:
+                    handleCancelPickupArrangement(pickupMessage, response, currentUser);
+                    break;
+
+                default:
+                    response.setSuccess(false);
+                    response.setErrorMessage("Unknown pickup message type: " + pickupMessage.getType());
+                    break;
+            }
+        } catch (UnauthorizedException e) {
+            response.setSuccess(false);
+            response.setErrorMessage("Authentication required: " + e.getMessage());
+            logger.warn("Authentication failed for pickup operation: {}", e.getMessage());
         } catch (Exception e) {
-            logger.error("Error parsing pickup message", e);
-            PickupMessage errorResponse = new PickupMessage();
-            errorResponse.setSuccess(false);
-            errorResponse.setErrorMessage("Error processing request: " + e.getMessage());
-            session.sendMessage(new TextMessage(objectMapper.writeValueAsString(errorResponse)));
+            response.setSuccess(false);
+            response.setErrorMessage("Error processing pickup request: " + e.getMessage());
+            logger.error("Error processing pickup message", e);
         }
+
+        // Send the response back to the client
+        session.sendMessage(new TextMessage(objectMapper.writeValueAsString(response)));
     }
 
-    private void handleCreatePickup(PickupMessage request, PickupMessage response, UserEntity currentUser) {
+    private void handleCreatePickup(PickupMessage request, PickupMessage response, AuthenticatedUser currentUser) {
         try {
             PickupDTO newPickup = request.getPickup();
             PickupDTO createdPickup = pickupService.createPickup(newPickup, currentUser.getId());
@@ -155,7 +146,7 @@ public class PickupWebSocketHandler extends TextWebSocketHandler {
         }
     }
 
-    private void handleAcceptPickup(PickupMessage request, PickupMessage response, UserEntity currentUser) {
+    private void handleAcceptPickup(PickupMessage request, PickupMessage response, AuthenticatedUser currentUser) {
         try {
             Long pickupId = request.getPickupId();
             LocalDate selectedDate = request.getSelectedDate();
@@ -178,7 +169,7 @@ public class PickupWebSocketHandler extends TextWebSocketHandler {
         }
     }
 
-    private void handleUpdatePickupStatus(PickupMessage request, PickupMessage response, UserEntity currentUser) {
+    private void handleUpdatePickupStatus(PickupMessage request, PickupMessage response, AuthenticatedUser currentUser) {
         try {
             Long pickupId = request.getPickupId();
             PickupStatus newStatus = request.getStatus();
@@ -199,7 +190,7 @@ public class PickupWebSocketHandler extends TextWebSocketHandler {
         }
     }
 
-    private void handleUpdatePickup(PickupMessage request, PickupMessage response, UserEntity currentUser) {
+    private void handleUpdatePickup(PickupMessage request, PickupMessage response, AuthenticatedUser currentUser) {
         try {
             Long pickupId = request.getPickupId();
             PickupDTO pickupDTO = request.getPickup();
@@ -219,7 +210,7 @@ public class PickupWebSocketHandler extends TextWebSocketHandler {
         }
     }
 
-    private void handleGetPickup(PickupMessage request, PickupMessage response, UserEntity currentUser) {
+    private void handleGetPickup(PickupMessage request, PickupMessage response, AuthenticatedUser currentUser) {
         try {
             Long pickupId = request.getPickupId();
             PickupDTO pickup = pickupService.getPickupById(pickupId);
@@ -237,7 +228,7 @@ public class PickupWebSocketHandler extends TextWebSocketHandler {
         }
     }
 
-    private void handleGetUserPickups(PickupMessage request, PickupMessage response, UserEntity currentUser) {
+    private void handleGetUserPickups(PickupMessage request, PickupMessage response, AuthenticatedUser currentUser) {
         try {
             List<PickupDTO> pickups = pickupService.getUserPickups(currentUser.getId());
 
@@ -254,7 +245,7 @@ public class PickupWebSocketHandler extends TextWebSocketHandler {
         }
     }
 
-    private void handleGetUpcomingPickups(PickupMessage request, PickupMessage response, UserEntity currentUser) {
+    private void handleGetUpcomingPickups(PickupMessage request, PickupMessage response, AuthenticatedUser currentUser) {
         try {
             List<PickupDTO> pickups = pickupService.getUpcomingPickups(currentUser.getId());
 
@@ -271,7 +262,7 @@ public class PickupWebSocketHandler extends TextWebSocketHandler {
         }
     }
 
-    private void handleGetPastPickups(PickupMessage request, PickupMessage response, UserEntity currentUser) {
+    private void handleGetPastPickups(PickupMessage request, PickupMessage response, AuthenticatedUser currentUser) {
         try {
             List<PickupDTO> pickups = pickupService.getPastPickups(currentUser.getId());
 
@@ -288,7 +279,7 @@ public class PickupWebSocketHandler extends TextWebSocketHandler {
         }
     }
 
-    private void handleGetPickupsByStatus(PickupMessage request, PickupMessage response, UserEntity currentUser) {
+    private void handleGetPickupsByStatus(PickupMessage request, PickupMessage response, AuthenticatedUser currentUser) {
         try {
             PickupStatus status = request.getStatus();
             List<PickupDTO> pickups = pickupService.getPickupsByStatus(currentUser.getId(), status);
@@ -307,7 +298,7 @@ public class PickupWebSocketHandler extends TextWebSocketHandler {
         }
     }
 
-    private void handleDeletePickup(PickupMessage request, PickupMessage response, UserEntity currentUser) {
+    private void handleDeletePickup(PickupMessage request, PickupMessage response, AuthenticatedUser currentUser) {
         try {
             Long pickupId = request.getPickupId();
             pickupService.deletePickup(pickupId, currentUser.getId());
@@ -324,7 +315,7 @@ public class PickupWebSocketHandler extends TextWebSocketHandler {
         }
     }
 
-    private void handleRejectPickup(PickupMessage request, PickupMessage response, UserEntity currentUser) {
+    private void handleRejectPickup(PickupMessage request, PickupMessage response, AuthenticatedUser currentUser) {
         try {
             Long pickupId = request.getPickupId();
             PickupDTO rejectedPickup = pickupService.rejectPickup(pickupId, currentUser.getId());
@@ -342,7 +333,7 @@ public class PickupWebSocketHandler extends TextWebSocketHandler {
         }
     }
 
-    private void handleCancelPickup(PickupMessage request, PickupMessage response, UserEntity currentUser) {
+    private void handleCancelPickup(PickupMessage request, PickupMessage response, AuthenticatedUser currentUser) {
         try {
             Long pickupId = request.getPickupId();
             pickupService.cancelPickupArrangement(pickupId, currentUser.getId());
@@ -359,7 +350,7 @@ public class PickupWebSocketHandler extends TextWebSocketHandler {
         }
     }
 
-    private void handleCancelPickupArrangement(PickupMessage message, PickupMessage response, UserEntity currentUser) {
+    private void handleCancelPickupArrangement(PickupMessage message, PickupMessage response, AuthenticatedUser currentUser) {
         try {
             Long pickupId = message.getPickupId();
             Long userIdLong = Long.parseLong(currentUser.getId().toString());
@@ -381,7 +372,7 @@ public class PickupWebSocketHandler extends TextWebSocketHandler {
         }
     }
 
-    private void handleGetPickupByOffer(PickupMessage message, PickupMessage response, UserEntity currentUser) {
+    private void handleGetPickupByOffer(PickupMessage message, PickupMessage response, AuthenticatedUser currentUser) {
         try {
             String offerId = message.getOfferId();
             // Get the pickup for the specific offer
@@ -4,23 +4,21 @@ import com.fasterxml.jackson.databind.ObjectMapper;
 import com.uninaswap.common.dto.ListingReportDTO;
 import com.uninaswap.common.dto.UserReportDTO;
 import com.uninaswap.common.message.ReportMessage;
-import com.uninaswap.server.entity.UserEntity;
+import com.uninaswap.server.service.AuthenticatedUser;
 import com.uninaswap.server.exception.UnauthorizedException;
 import com.uninaswap.server.service.ReportService;
 import com.uninaswap.server.service.SessionService;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
-import org.springframework.lang.NonNull;
 import org.springframework.stereotype.Component;
 import org.springframework.web.socket.TextMessage;
 import org.springframework.web.socket.WebSocketSession;
-import org.springframework.web.socket.handler.TextWebSocketHandler;
 
 import java.util.List;
 
 @Component
-public class ReportWebSocketHandler extends TextWebSocketHandler {
+public class ReportWebSocketHandler implements MessageHandler<ReportMessage> {
 
     private static final Logger logger = LoggerFactory.getLogger(ReportWebSocketHandler.class);
     private final ObjectMapper objectMapper;
@@ -36,81 +34,74 @@ public class ReportWebSocketHandler extends TextWebSocketHandler {
     }
 
     @Override
-    public void handleTextMessage(@NonNull WebSocketSession session, @NonNull TextMessage message) throws Exception {
-        logger.debug("Received report message: {}", message.getPayload());
+    public Class<ReportMessage> getMessageClass() {
+        return ReportMessage.class;
+    }
+
+    @Override
+    public void handle(WebSocketSession session, ReportMessage reportMessage) throws Exception {
+        ReportMessage response = new ReportMessage();
 
         try {
-            ReportMessage reportMessage = objectMapper.readValue(message.getPayload(), ReportMessage.class);
-            ReportMessage response = new ReportMessage();
-
-            try {
-                // All report operations require authentication
-                UserEntity currentUser = sessionService.validateSession(session);
-                if (currentUser == null) {
-                    throw new UnauthorizedException("Not authenticated");
-                }
-
-                switch (reportMessage.getType()) {
-                    case CREATE_USER_REPORT_REQUEST:
-                        handleCreateUserReport(reportMessage, response, currentUser);
-                        break;
-
-                    case CREATE_LISTING_REPORT_REQUEST:
-                        handleCreateListingReport(reportMessage, response, currentUser);
-                        break;
-
-                    case GET_USER_REPORTS_REQUEST:
-                        handleGetUserReports(reportMessage, response, currentUser);
-                        break;
-
-                    case GET_LISTING_REPORTS_REQUEST:
-                        handleGetListingReports(reportMessage, response, currentUser);
-                        break;
-
-                    case GET_ALL_USER_REPORTS_REQUEST:
-                        handleGetAllUserReports(reportMessage, response, currentUser);
-                        break;
-
-                    case GET_ALL_LISTING_REPORTS_REQUEST:
-                        handleGetAllListingReports(reportMessage, response, currentUser);
-                        break;
-
-                    case REVIEW_USER_REPORT_REQUEST:
-                        handleReviewUserReport(reportMessage, response, currentUser);
-                        break;
-
-                    case REVIEW_LISTING_REPORT_REQUEST:
-                        handleReviewListingReport(reportMessage, response, currentUser);
-                        break;
-
-                    default:
-                        response.setSuccess(false);
-                        response.setErrorMessage("Unknown report message type: " + reportMessage.getType());
-                        break;
-                }
-            } catch (UnauthorizedException e) {
-                response.setSuccess(false);
-                response.setErrorMessage("Authentication required: " + e.getMessage());
-                logger.warn("Authentication failed for report operation: {}", e.getMessage());
-            } catch (Exception e) {
-                response.setSuccess(false);
-                response.setErrorMessage("Error processing report request: " + e.getMessage());
-                logger.error("Error processing report message", e);
+            // All report operations require authentication
+            AuthenticatedUser currentUser = sessionService.validateSession(session);
+            if (currentUser == null) {
+                throw new UnauthorizedException("Not authenticated");
             }
 
-            // Send the response back to the client
-            session.sendMessage(new TextMessage(objectMapper.writeValueAsString(response)));
+            switch (reportMessage.getType()) {
+                case CREATE_USER_REPORT_REQUEST:
+                    handleCreateUserReport(reportMessage, response, currentUser);
+                    break;
+
+                case CREATE_LISTING_REPORT_REQUEST:
+                    handleCreateListingReport(reportMessage, response, currentUser);
+                    break;
+
+                case GET_USER_REPORTS_REQUEST:
+                    handleGetUserReports(reportMessage, response, currentUser);
+                    break;
+
+                case GET_LISTING_REPORTS_REQUEST:
+                    handleGetListingReports(reportMessage, response, currentUser);
+                    break;
+
+                case GET_ALL_USER_REPORTS_REQUEST:
+                    handleGetAllUserReports(reportMessage, response, currentUser);
+                    break;
 
+                case GET_ALL_LISTING_REPORTS_REQUEST:
+                    handleGetAllListingReports(reportMessage, response, currentUser);
+                    break;
+
+                case REVIEW_USER_REPORT_REQUEST:
+                    handleReviewUserReport(reportMessage, response, currentUser);
+                    break;
+
+                case REVIEW_LISTING_REPORT_REQUEST:
+                    handleReviewListingReport(reportMessage, response, currentUser);
+                    break;
+
+                default:
+                    response.setSuccess(false);
+                    response.setErrorMessage("Unknown report message type: " + reportMessage.getType());
+                    break;
+            }
+        } catch (UnauthorizedException e) {
+            response.setSuccess(false);
+            response.setErrorMessage("Authentication required: " + e.getMessage());
+            logger.warn("Authentication failed for report operation: {}", e.getMessage());
         } catch (Exception e) {
-            logger.error("Error parsing report message", e);
-            ReportMessage errorResponse = new ReportMessage();
-            errorResponse.setSuccess(false);
-            errorResponse.setErrorMessage("Error processing request: " + e.getMessage());
-            session.sendMessage(new TextMessage(objectMapper.writeValueAsString(errorResponse)));
+            response.setSuccess(false);
+            response.setErrorMessage("Error processing report request: " + e.getMessage());
+            logger.error("Error processing report message", e);
         }
+
+        // Send the response back to the client
+        session.sendMessage(new TextMessage(objectMapper.writeValueAsString(response)));
     }
 
-    private void handleCreateUserReport(ReportMessage request, ReportMessage response, UserEntity currentUser) {
+    private void handleCreateUserReport(ReportMessage request, ReportMessage response, AuthenticatedUser currentUser) {
         try {
             UserReportDTO reportDTO = request.getUserReport();
             UserReportDTO createdReport = reportService.createUserReport(reportDTO, currentUser.getId());
@@ -128,7 +119,7 @@ public class ReportWebSocketHandler extends TextWebSocketHandler {
         }
     }
 
-    private void handleCreateListingReport(ReportMessage request, ReportMessage response, UserEntity currentUser) {
+    private void handleCreateListingReport(ReportMessage request, ReportMessage response, AuthenticatedUser currentUser) {
         try {
             ListingReportDTO reportDTO = request.getListingReport();
             ListingReportDTO createdReport = reportService.createListingReport(reportDTO, currentUser.getId());
@@ -146,7 +137,7 @@ public class ReportWebSocketHandler extends TextWebSocketHandler {
         }
     }
 
-    private void handleGetUserReports(ReportMessage request, ReportMessage response, UserEntity currentUser) {
+    private void handleGetUserReports(ReportMessage request, ReportMessage response, AuthenticatedUser currentUser) {
         try {
             List<UserReportDTO> reports = reportService.getUserReportsByReporter(currentUser.getId());
 
@@ -163,7 +154,7 @@ public class ReportWebSocketHandler extends TextWebSocketHandler {
         }
     }
 
-    private void handleGetListingReports(ReportMessage request, ReportMessage response, UserEntity currentUser) {
+    private void handleGetListingReports(ReportMessage request, ReportMessage response, AuthenticatedUser currentUser) {
         try {
             List<ListingReportDTO> reports = reportService.getListingReportsByReporter(currentUser.getId());
 
@@ -180,7 +171,7 @@ public class ReportWebSocketHandler extends TextWebSocketHandler {
         }
     }
 
-    private void handleGetAllUserReports(ReportMessage request, ReportMessage response, UserEntity currentUser) {
+    private void handleGetAllUserReports(ReportMessage request, ReportMessage response, AuthenticatedUser currentUser) {
         try {
             // TODO: Add admin role check
             List<UserReportDTO> reports = reportService.getUnreviewedUserReports();
@@ -198,7 +189,7 @@ public class ReportWebSocketHandler extends TextWebSocketHandler {
         }
     }
 
-    private void handleGetAllListingReports(ReportMessage request, ReportMessage response, UserEntity currentUser) {
+    private void handleGetAllListingReports(ReportMessage request, ReportMessage response, AuthenticatedUser currentUser) {
         try {
             // TODO: Add admin role check
             List<ListingReportDTO> reports = reportService.getUnreviewedListingReports();
@@ -217,7 +208,7 @@ public class ReportWebSocketHandler extends TextWebSocketHandler {
         }
     }
 
-    private void handleReviewUserReport(ReportMessage request, ReportMessage response, UserEntity currentUser) {
+    private void handleReviewUserReport(ReportMessage request, ReportMessage response, AuthenticatedUser currentUser) {
         try {
             // TODO: Add admin role check
             String reportId = request.getReportId();
@@ -238,7 +229,7 @@ public class ReportWebSocketHandler extends TextWebSocketHandler {
         }
     }
 
-    private void handleReviewListingReport(ReportMessage request, ReportMessage response, UserEntity currentUser) {
+    private void handleReviewListingReport(ReportMessage request, ReportMessage response, AuthenticatedUser currentUser) {
         try {
             // TODO: Add admin role check
             String reportId = request.getReportId();
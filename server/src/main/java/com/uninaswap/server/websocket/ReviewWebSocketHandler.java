@@ -3,7 +3,7 @@ package com.uninaswap.server.websocket;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.uninaswap.common.dto.ReviewDTO;
 import com.uninaswap.common.message.ReviewMessage;
-import com.uninaswap.server.entity.UserEntity;
+import com.uninaswap.server.service.AuthenticatedUser;
 import com.uninaswap.server.exception.UnauthorizedException;
 import com.uninaswap.server.service.ReviewService;
 import com.uninaswap.server.service.SessionService;
@@ -11,17 +11,15 @@ import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.data.domain.Page;
-import org.springframework.lang.NonNull;
 import org.springframework.stereotype.Component;
 import org.springframework.web.socket.TextMessage;
 import org.springframework.web.socket.WebSocketSession;
-import org.springframework.web.socket.handler.TextWebSocketHandler;
 
 import java.util.List;
 import java.util.Optional;
 
 @Component
-public class ReviewWebSocketHandler extends TextWebSocketHandler {
+public class ReviewWebSocketHandler implements MessageHandler<ReviewMessage> {
 
     private static final Logger logger = LoggerFactory.getLogger(ReviewWebSocketHandler.class);
     private final ObjectMapper objectMapper;
@@ -37,81 +35,74 @@ public class ReviewWebSocketHandler extends TextWebSocketHandler {
     }
 
     @Override
-    public void handleTextMessage(@NonNull WebSocketSession session, @NonNull TextMessage message) throws Exception {
-        logger.debug("Received review message: {}", message.getPayload());
+    public Class<ReviewMessage> getMessageClass() {
+        return ReviewMessage.class;
+    }
+
+    @Override
+    public void handle(WebSocketSession session, ReviewMessage reviewMessage) throws Exception {
+        ReviewMessage response = new ReviewMessage();
 
         try {
-            ReviewMessage reviewMessage = objectMapper.readValue(message.getPayload(), ReviewMessage.class);
-            ReviewMessage response = new ReviewMessage();
-
-            try {
-                // All review operations require authentication
-                UserEntity currentUser = sessionService.validateSession(session);
-                if (currentUser == null) {
-                    throw new UnauthorizedException("Not authenticated");
-                }
-
-                switch (reviewMessage.getType()) {
-                    case CREATE_REVIEW_REQUEST:
-                        handleCreateReview(reviewMessage, response, currentUser);
-                        break;
-
-                    case UPDATE_REVIEW_REQUEST:
-                        handleUpdateReview(reviewMessage, response, currentUser);
-                        break;
-
-                    case GET_REVIEW_REQUEST:
-                        handleGetReview(reviewMessage, response, currentUser);
-                        break;
-
-                    case GET_USER_RECEIVED_REVIEWS_REQUEST:
-                        handleGetReceivedReviews(reviewMessage, response, currentUser);
-                        break;
-
-                    case GET_USER_GIVEN_REVIEWS_REQUEST:
-                        handleGetGivenReviews(reviewMessage, response, currentUser);
-                        break;
-
-                    case GET_USER_RATING_SUMMARY_REQUEST:
-                        handleGetRatingSummary(reviewMessage, response, currentUser);
-                        break;
-
-                    case GET_OFFER_REVIEW_REQUEST:
-                        handleGetOfferReview(reviewMessage, response, currentUser);
-                        break;
-
-                    case DELETE_REVIEW_REQUEST:
-                        handleDeleteReview(reviewMessage, response, currentUser);
-                        break;
-
-                    default:
-                        response.setSuccess(false);
-                        response.setErrorMessage("Unknown review message type: " + reviewMessage.getType());
-                        break;
-                }
-            } catch (UnauthorizedException e) {
-                response.setSuccess(false);
-                response.setErrorMessage("Authentication required: " + e.getMessage());
-                logger.warn("Authentication failed for review operation: {}", e.getMessage());
-            } catch (Exception e) {
-                response.setSuccess(false);
-                response.setErrorMessage("Error processing review request: " + e.getMessage());
-                logger.error("Error processing review message", e);
+            // All review operations require authentication
+            AuthenticatedUser currentUser = sessionService.validateSession(session);
+            if (currentUser == null) {
+                throw new UnauthorizedException("Not authenticated");
             }
 
-            // Send the response back to the client
-            session.sendMessage(new TextMessage(objectMapper.writeValueAsString(response)));
+            switch (reviewMessage.getType()) {
+                case CREATE_REVIEW_REQUEST:
+                    handleCreateReview(reviewMessage, response, currentUser);
+                    break;
+
+                case UPDATE_REVIEW_REQUEST:
+                    handleUpdateReview(reviewMessage, response, currentUser);
+                    break;
+
+                case GET_REVIEW_REQUEST:
+                    handleGetReview(reviewMessage, response, currentUser);
+                    break;
+
+                case GET_USER_RECEIVED_REVIEWS_REQUEST:
+                    handleGetReceivedReviews(reviewMessage, response, currentUser);
+                    break;
+
+                case GET_USER_GIVEN_REVIEWS_REQUEST:
+                    handleGetGivenReviews(reviewMessage, response, currentUser);
+                    break;
 
+                case GET_USER_RATING_SUMMARY_REQUEST:
+                    handleGetRatingSummary(reviewMessage, response, currentUser);
+                    break;
+
+                case GET_OFFER_REVIEW_REQUEST:
+                    handleGetOfferReview(reviewMessage, response, currentUser);
+                    break;
+
+                case DELETE_REVIEW_REQUEST:
+                    handleDeleteReview(reviewMessage, response, currentUser);
+                    break;
+
+                default:
+                    response.setSuccess(false);
+                    response.setErrorMessage("Unknown review message type: " + reviewMessage.getType());
+                    break;
+            }
+        } catch (UnauthorizedException e) {
+            response.setSuccess(false);
+            response.setErrorMessage("Authentication required: " + e.getMessage());
+            logger.warn("Authentication failed for review operation: {}", e.getMessage());
         } catch (Exception e) {
-            logger.error("Error parsing review message", e);
-            ReviewMessage errorResponse = new ReviewMessage();
-            errorResponse.setSuccess(false);
-            errorResponse.setErrorMessage("Error processing request: " + e.getMessage());
-            session.sendMessage(new TextMessage(objectMapper.writeValueAsString(errorResponse)));
+            response.setSuccess(false);
+            response.setErrorMessage("Error processing review request: " + e.getMessage());
+            logger.error("Error processing review message", e);
         }
+
+        // Send the response back to the client
+        session.sendMessage(new TextMessage(objectMapper.writeValueAsString(response)));
     }
 
-    private void handleCreateReview(ReviewMessage request, ReviewMessage response, UserEntity currentUser) {
+    private void handleCreateReview(ReviewMessage request, ReviewMessage response, AuthenticatedUser currentUser) {
         try {
             ReviewDTO newReview = request.getReview();
             ReviewDTO createdReview = reviewService.createReview(newReview, currentUser.getId());
@@ -130,7 +121,7 @@ public class ReviewWebSocketHandler extends TextWebSocketHandler {
         }
     }
 
-    private void handleUpdateReview(ReviewMessage request, ReviewMessage response, UserEntity currentUser) {
+    private void handleUpdateReview(ReviewMessage request, ReviewMessage response, AuthenticatedUser currentUser) {
         try {
             String reviewId = request.getReviewId();
             ReviewDTO reviewData = request.getReview();
@@ -150,7 +141,7 @@ public class ReviewWebSocketHandler extends TextWebSocketHandler {
         }
     }
 
-    private void handleGetReview(ReviewMessage request, ReviewMessage response, UserEntity currentUser) {
+    private void handleGetReview(ReviewMessage request, ReviewMessage response, AuthenticatedUser currentUser) {
         try {
             String reviewId = request.getReviewId();
             ReviewDTO review = reviewService.getReviewById(reviewId);
@@ -168,7 +159,7 @@ public class ReviewWebSocketHandler extends TextWebSocketHandler {
         }
     }
 
-    private void handleGetReceivedReviews(ReviewMessage request, ReviewMessage response, UserEntity currentUser) {
+    private void handleGetReceivedReviews(ReviewMessage request, ReviewMessage response, AuthenticatedUser currentUser) {
         try {
             Long userId = request.getUserId() != null ? request.getUserId() : currentUser.getId();
 
@@ -200,7 +191,7 @@ public class ReviewWebSocketHandler extends TextWebSocketHandler {
         }
     }
 
-    private void handleGetGivenReviews(ReviewMessage request, ReviewMessage response, UserEntity currentUser) {
+    private void handleGetGivenReviews(ReviewMessage request, ReviewMessage response, AuthenticatedUser currentUser) {
         try {
             Long userId = request.getUserId() != null ? request.getUserId() : currentUser.getId();
 
@@ -232,7 +223,7 @@ public class ReviewWebSocketHandler extends TextWebSocketHandler {
         }
     }
 
-    private void handleGetRatingSummary(ReviewMessage request, ReviewMessage response, UserEntity currentUser) {
+    private void handleGetRatingSummary(ReviewMessage request, ReviewMessage response, AuthenticatedUser currentUser) {
         try {
             Long userId = request.getUserId() != null ? request.getUserId() : currentUser.getId();
 
@@ -254,7 +245,7 @@ public class ReviewWebSocketHandler extends TextWebSocketHandler {
         }
     }
 
-    private void handleGetOfferReview(ReviewMessage request, ReviewMessage response, UserEntity currentUser) {
+    private void handleGetOfferReview(ReviewMessage request, ReviewMessage response, AuthenticatedUser currentUser) {
         try {
             String offerId = request.getOfferId();
             Optional<ReviewDTO> review = reviewService.getReviewForOffer(offerId);
@@ -273,7 +264,7 @@ public class ReviewWebSocketHandler extends TextWebSocketHandler {
         }
     }
 
-    private void handleDeleteReview(ReviewMessage request, ReviewMessage response, UserEntity currentUser) {
+    private void handleDeleteReview(ReviewMessage request, ReviewMessage response, AuthenticatedUser currentUser) {
         try {
             String reviewId = request.getReviewId();
             reviewService.deleteReview(reviewId, currentUser.getId());
@@ -2,8 +2,8 @@ package com.uninaswap.server.websocket;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.uninaswap.common.dto.ListingDTO;
-import com.uninaswap.common.enums.Category;
 import com.uninaswap.common.message.SearchMessage;
+import com.uninaswap.server.service.ListingSearchCriteria;
 import com.uninaswap.server.service.ListingService;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -11,14 +11,15 @@ import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
-import org.springframework.lang.NonNull;
+import org.springframework.data.domain.Slice;
 import org.springframework.stereotype.Component;
 import org.springframework.web.socket.TextMessage;
 import org.springframework.web.socket.WebSocketSession;
-import org.springframework.web.socket.handler.TextWebSocketHandler;
+
+import java.util.List;
 
 @Component
-public class SearchWebSocketHandler extends TextWebSocketHandler {
+public class SearchWebSocketHandler implements MessageHandler<SearchMessage> {
 
     private static final Logger logger = LoggerFactory.getLogger(SearchWebSocketHandler.class);
     private final ObjectMapper objectMapper;
@@ -31,41 +32,34 @@ public class SearchWebSocketHandler extends TextWebSocketHandler {
     }
 
     @Override
-    public void handleTextMessage(@NonNull WebSocketSession session, @NonNull TextMessage message) throws Exception {
-        logger.debug("Received search message: {}", message.getPayload());
+    public Class<SearchMessage> getMessageClass() {
+        return SearchMessage.class;
+    }
+
+    @Override
+    public void handle(WebSocketSession session, SearchMessage searchMessage) throws Exception {
+        SearchMessage response = new SearchMessage();
 
         try {
-            SearchMessage searchMessage = objectMapper.readValue(message.getPayload(), SearchMessage.class);
-            SearchMessage response = new SearchMessage();
-
-            try {
-                // Search operations are public - no authentication required
-                switch (searchMessage.getType()) {
-                    case SEARCH_REQUEST:
-                        handleSearchRequest(searchMessage, response);
-                        break;
-
-                    default:
-                        response.setSuccess(false);
-                        response.setErrorMessage("Unknown search message type: " + searchMessage.getType());
-                        break;
-                }
-            } catch (Exception e) {
-                response.setSuccess(false);
-                response.setErrorMessage("Error processing search request: " + e.getMessage());
-                logger.error("Error processing search message", e);
+            // Search operations are public - no authentication required
+            switch (searchMessage.getType()) {
+                case SEARCH_REQUEST:
+                    handleSearchRequest(searchMessage, response);
+                    break;
+
+                default:
+                    response.setSuccess(false);
+                    response.setErrorMessage("Unknown search message type: " + searchMessage.getType());
+                    break;
             }
-
-            // Send the response back to the client
-            session.sendMessage(new TextMessage(objectMapper.writeValueAsString(response)));
-
         } catch (Exception e) {
-            logger.error("Error parsing search message", e);
-            SearchMessage errorResponse = new SearchMessage();
-            errorResponse.setSuccess(false);
-            errorResponse.setErrorMessage("Error processing request: " + e.getMessage());
-            session.sendMessage(new TextMessage(objectMapper.writeValueAsString(errorResponse)));
+            response.setSuccess(false);
+            response.setErrorMessage("Error processing search request: " + e.getMessage());
+            logger.error("Error processing search message", e);
         }
+
+        // Send the response back to the client
+        session.sendMessage(new TextMessage(objectMapper.writeValueAsString(response)));
     }
 
     private void handleSearchRequest(SearchMessage request, SearchMessage response) {
@@ -74,15 +68,36 @@ public class SearchWebSocketHandler extends TextWebSocketHandler {
             int page = Math.max(0, request.getPage());
             int size = Math.min(100, Math.max(1, request.getSize())); // Limit max size to 100
             
-            String query = request.getQuery();
-            String listingType = request.getListingType();
-            Category category = request.getCategory();
+            ListingSearchCriteria criteria = new ListingSearchCriteria();
+            criteria.setQuery(request.getQuery());
+            criteria.setListingType(request.getListingType());
+            criteria.setCategory(request.getCategory());
+            criteria.setMinPrice(request.getMinPrice());
+            criteria.setMaxPrice(request.getMaxPrice());
+            criteria.setCondition(request.getCondition());
+            criteria.setCreatorId(request.getCreatorId());
+
+            // Filter-only searches can continue from a cursor; ranked text searches page by offset
+            if (request.getCursor() != null && !request.getCursor().isEmpty() && !criteria.hasText()) {
+                Slice<ListingDTO> searchResults = listingService.searchListingsAfter(criteria, request.getCursor(), size);
+
+                response.setType(SearchMessage.Type.SEARCH_RESPONSE);
+                response.setResults(searchResults.getContent());
+                response.setSize(size);
+                response.setHasMore(searchResults.hasNext());
+                response.setNextCursor(nextCursor(searchResults, criteria));
+                response.setSuccess(true);
+
+                logger.info("Search completed: {}, after cursor, results={}, hasMore={}",
+                        criteria, searchResults.getContent().size(), searchResults.hasNext());
+                return;
+            }
 
             // Create pageable
             Pageable pageable = PageRequest.of(page, size);
 
-            // Perform search based on parameters
-            Page<ListingDTO> searchResults = performSearch(query, listingType, category, pageable);
+            // All filter combinations go through the same search pipeline
+            Page<ListingDTO> searchResults = listingService.searchListings(criteria, pageable);
 
             // Set response data
             response.setType(SearchMessage.Type.SEARCH_RESPONSE);
@@ -92,10 +107,11 @@ public class SearchWebSocketHandler extends TextWebSocketHandler {
             response.setTotalElements(searchResults.getTotalElements());
             response.setTotalPages(searchResults.getTotalPages());
             response.setHasMore(searchResults.hasNext());
+            response.setNextCursor(nextCursor(searchResults, criteria));
             response.setSuccess(true);
 
-            logger.info("Search completed: query='{}', type='{}', category={}, page={}, results={}, total={}",
-                    query, listingType, category, page, searchResults.getContent().size(), searchResults.getTotalElements());
+            logger.info("Search completed: {}, page={}, results={}, total={}",
+                    criteria, page, searchResults.getContent().size(), searchResults.getTotalElements());
 
         } catch (Exception e) {
             logger.error("Error performing search", e);
@@ -105,48 +121,12 @@ public class SearchWebSocketHandler extends TextWebSocketHandler {
         }
     }
 
-    private Page<ListingDTO> performSearch(String query, String listingType, Category category, Pageable pageable) {
-        // Determine search strategy based on provided parameters
-        boolean hasQuery = query != null && !query.trim().isEmpty();
-        boolean hasListingType = listingType != null && !listingType.trim().isEmpty() && !listingType.equalsIgnoreCase("all");
-        boolean hasCategory = category != null && category != Category.ALL;
-
-        if (!hasQuery && !hasListingType && !hasCategory) {
-            // No filters - return all active listings
-            return listingService.getActiveListings(pageable);
-        }
-
-        if (hasQuery && !hasListingType && !hasCategory) {
-            // Text search only
-            return listingService.searchListingsByText(query.trim(), pageable);
+    private String nextCursor(Slice<ListingDTO> results, ListingSearchCriteria criteria) {
+        // Ranked text results are not in feed order, so they cannot be continued by cursor
+        if (criteria.hasText() || !results.hasNext() || results.getContent().isEmpty()) {
+            return null;
         }
-
-        if (!hasQuery && hasListingType && !hasCategory) {
-            // Filter by listing type only
-            return listingService.getListingsByType(listingType, pageable);
-        }
-
-        if (!hasQuery && !hasListingType && hasCategory) {
-            // Filter by category only
-            return listingService.getListingsByCategory(category, pageable);
-        }
-
-        if (hasQuery && hasListingType && !hasCategory) {
-            // Text search + listing type filter
-            return listingService.searchListingsByTextAndType(query.trim(), listingType, pageable);
-        }
-
-        if (hasQuery && !hasListingType && hasCategory) {
-            // Text search + category filter
-            return listingService.searchListingsByTextAndCategory(query.trim(), category, pageable);
-        }
-
-        if (!hasQuery && hasListingType && hasCategory) {
-            // Listing type + category filter
-            return listingService.getListingsByTypeAndCategory(listingType, category, pageable);
-        }
-
-        // All filters: text search + listing type + category
-        return listingService.searchListingsByTextTypeAndCategory(query.trim(), listingType, category, pageable);
+        List<ListingDTO> content = results.getContent();
+        return listingService.cursorAfter(content.get(content.size() - 1));
     }
-}
+}
\ No newline at end of file
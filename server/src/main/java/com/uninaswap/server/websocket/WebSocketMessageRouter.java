@@ -1,126 +1,189 @@
 package com.uninaswap.server.websocket;
 
+import com.fasterxml.jackson.annotation.JsonSubTypes;
+import com.fasterxml.jackson.core.JsonProcessingException;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.uninaswap.common.message.AuthMessage;
 import com.uninaswap.common.message.AuthMessage.Type;
-import com.uninaswap.server.entity.UserEntity;
+import com.uninaswap.common.message.Message;
+import com.uninaswap.server.service.AuthenticatedUser;
 import com.uninaswap.server.service.SessionService;
 
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.lang.NonNull;
 import org.springframework.stereotype.Component;
+import org.springframework.web.socket.CloseStatus;
 import org.springframework.web.socket.TextMessage;
 import org.springframework.web.socket.WebSocketSession;
 import org.springframework.web.socket.handler.TextWebSocketHandler;
 
-import com.fasterxml.jackson.databind.JsonNode;
-
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
 
+/**
+ * Entry point for every WebSocket frame. Each frame is deserialized once into the
+ * {@link Message} hierarchy on the container thread; authentication and the
+ * {@link MessageHandler} registered for its class then run on the {@link MessageDispatcher}.
+ */
 @Component
 public class WebSocketMessageRouter extends TextWebSocketHandler {
     private static final Logger logger = LoggerFactory.getLogger(WebSocketMessageRouter.class);
-    
+
     private final ObjectMapper objectMapper;
-    private final Map<String, TextWebSocketHandler> handlerMap = new HashMap<>();
+    private final Map<Class<? extends Message>, MessageHandler<?>> handlerMap = new HashMap<>();
+    private final Map<String, Class<?>> messageClassByType = new HashMap<>();
     private final SessionService sessionService;
+    private final MessageDispatcher messageDispatcher;
+    private final OutboundMessageSender outboundMessageSender;
+    private final MessageTracer messageTracer;
 
     public WebSocketMessageRouter(
             ObjectMapper objectMapper,
-            AuthWebSocketHandler authHandler,
-            ProfileWebSocketHandler profileHandler,
-            ImageWebSocketHandler imageHandler,
-            ItemWebSocketHandler itemHandler,
-            ListingWebSocketHandler listingHandler,
-            OfferWebSocketHandler offerHandler,
-            PickupWebSocketHandler pickupHandler,
-            ReviewWebSocketHandler reviewHandler,
-            FavoriteWebSocketHandler favoriteHandler,
-            SearchWebSocketHandler searchHandler,
-            NotificationWebSocketHandler notificationHandler,
-            AnalyticsWebSocketHandler analyticsHandler,
-            SessionService sessionService) {
+            List<MessageHandler<?>> handlers,
+            SessionService sessionService,
+            MessageDispatcher messageDispatcher,
+            OutboundMessageSender outboundMessageSender,
+            MessageTracer messageTracer) {
         this.objectMapper = objectMapper;
         this.sessionService = sessionService;
+        this.messageDispatcher = messageDispatcher;
+        this.outboundMessageSender = outboundMessageSender;
+        this.messageTracer = messageTracer;
+
+        // Register handlers by the message class they accept
+        for (MessageHandler<?> handler : handlers) {
+            MessageHandler<?> previous = handlerMap.put(handler.getMessageClass(), handler);
+            if (previous != null) {
+                throw new IllegalStateException("Two handlers registered for " + handler.getMessageClass().getSimpleName());
+            }
+        }
 
-        // Register handlers for different message types
-        handlerMap.put("auth", authHandler);
-        handlerMap.put("profile", profileHandler);
-        handlerMap.put("favorite", favoriteHandler);
-        handlerMap.put("image", imageHandler);
-        handlerMap.put("item", itemHandler);
-        handlerMap.put("listing", listingHandler);
-        handlerMap.put("offer", offerHandler);
-        handlerMap.put("pickup", pickupHandler);
-        handlerMap.put("review", reviewHandler);
-        handlerMap.put("search", searchHandler);
-        handlerMap.put("notification", notificationHandler);
-        handlerMap.put("analytics", analyticsHandler);
+        // Type names are only needed to answer frames that fail to parse
+        for (JsonSubTypes.Type subType : Message.class.getAnnotation(JsonSubTypes.class).value()) {
+            messageClassByType.put(subType.name(), subType.value());
+        }
     }
 
     @Override
-    public void handleTextMessage(@NonNull WebSocketSession session, @NonNull TextMessage message) throws Exception {
+    public void handleTextMessage(@NonNull WebSocketSession connection, @NonNull TextMessage message) throws Exception {
+        // Everything downstream sends through the concurrent-safe wrapper
+        WebSocketSession session = outboundMessageSender.outbound(connection);
         String payload = message.getPayload();
-        System.out.println("SERVER RECEIVED: " + payload);
 
+        Message inbound;
         try {
-            // First parse as JsonNode to extract the message type
-            JsonNode jsonNode = objectMapper.readTree(payload);
-            JsonNode typeNode = jsonNode.get("messageType");
-            
-            // Check for token-based authentication
-            JsonNode tokenNode = jsonNode.get("token");
-            if (typeNode != null && !typeNode.asText().equals("auth"))
-            {
-                if (tokenNode != null && tokenNode.isTextual()) {
-                    String token = tokenNode.asText();
-                    UserEntity user = sessionService.validateToken(token);
-
-                    if (user != null) {
-                        // Update session authentication if token is valid
-                        sessionService.createAuthenticatedSession(session, user);
-                    } else {
-                        logger.info("Invalid token for session: {}", session.getId());
-                        AuthMessage response = new AuthMessage();
-                        response.setSuccess(false);
-                        response.setType(Type.AUTH_ERROR_RESPONSE);
-                        response.setErrorMessage("Invalid token");
-                        session.sendMessage(new TextMessage(objectMapper.writeValueAsString(response)));
-                        return;
-                    }
-                } else {
-                    AuthMessage response = new AuthMessage();
-                    response.setSuccess(false);
-                    response.setType(Type.AUTH_ERROR_RESPONSE);
-                    response.setErrorMessage("Token is required for this message type");
-                    session.sendMessage(new TextMessage(objectMapper.writeValueAsString(response)));
+            inbound = objectMapper.readValue(payload, Message.class);
+        } catch (JsonProcessingException e) {
+            messageTracer.inbound(session, null, payload);
+            logger.warn("Unreadable message on session {}: {}", session.getId(), e.getOriginalMessage());
+            MessageHandler<?> handler = handlerForPayload(payload);
+            if (handler != null) {
+                sendErrorResponse(session, handler, "Error processing request: " + e.getOriginalMessage());
+            }
+            return;
+        }
+        messageTracer.inbound(session, inbound.getMessageType(), payload);
 
-                    logger.info("Unauthenticated session for message type: {}", typeNode.asText());
+        MessageHandler<?> handler = handlerMap.get(inbound.getClass());
+        boolean ordered = handler == null || handler.isOrdered();
+        boolean accepted = messageDispatcher.submit(session, inbound.getMessageType(), ordered,
+                () -> process(session, inbound));
+        if (!accepted && handler != null) {
+            sendErrorResponse(session, handler, "Too many requests in progress, try again later");
+        }
+    }
+
+    /**
+     * Authenticate and handle a parsed message; runs on the dispatcher
+     */
+    private void process(WebSocketSession session, Message inbound) {
+        // Check for token-based authentication
+        if (!(inbound instanceof AuthMessage)) {
+            String token = inbound.getToken();
+            if (token != null) {
+                AuthenticatedUser user = sessionService.validateToken(token);
+
+                if (user != null) {
+                    // Bind the session to the token's user if it is not already
+                    sessionService.attachSession(session, user);
+                } else {
+                    logger.info("Invalid token for session: {}", session.getId());
+                    sendAuthError(session, "Invalid token");
                     return;
                 }
-            }
-            
-
-            if (typeNode == null || !typeNode.isTextual()) {
-                System.err.println("Invalid message format: missing or invalid 'messageType'");
+            } else {
+                logger.info("Unauthenticated session for message type: {}", inbound.getMessageType());
+                sendAuthError(session, "Token is required for this message type");
                 return;
             }
+        }
 
-            String messageType = typeNode.asText();
-            TextWebSocketHandler handler = handlerMap.get(messageType);
+        MessageHandler<?> handler = handlerMap.get(inbound.getClass());
+        if (handler == null) {
+            logger.warn("No handler registered for message type: {}", inbound.getMessageType());
+            return;
+        }
 
-            if (handler != null) {
-                // Forward to the appropriate handler
-                handler.handleMessage(session, message);
-            } else {
-                System.err.println("No handler registered for message type: " + messageType);
-            }
+        try {
+            dispatch(handler, session, inbound);
+        } catch (Exception e) {
+            logger.error("Error handling {} message", inbound.getMessageType(), e);
+            sendErrorResponse(session, handler, "Error processing request: " + e.getMessage());
+        }
+    }
+
+    @Override
+    public void afterConnectionEstablished(@NonNull WebSocketSession session) {
+        outboundMessageSender.register(session);
+        logger.debug("Session {} opened", session.getId());
+    }
+
+    @Override
+    public void afterConnectionClosed(@NonNull WebSocketSession session, @NonNull CloseStatus status) {
+        messageDispatcher.sessionClosed(session);
+        sessionService.removeSession(session);
+        outboundMessageSender.unregister(session);
+        logger.debug("Session {} closed: {}", session.getId(), status);
+    }
+
+    private <T extends Message> void dispatch(MessageHandler<T> handler, WebSocketSession session, Message message)
+            throws Exception {
+        handler.handle(session, handler.getMessageClass().cast(message));
+    }
+
+    /**
+     * Find the handler for a payload that failed to deserialize, so the client still gets a typed error
+     */
+    private MessageHandler<?> handlerForPayload(String payload) {
+        try {
+            String messageType = objectMapper.readTree(payload).path("messageType").asText(null);
+            Class<?> messageClass = messageType != null ? messageClassByType.get(messageType) : null;
+            return messageClass != null ? handlerMap.get(messageClass) : null;
+        } catch (JsonProcessingException e) {
+            return null;
+        }
+    }
 
+    private void sendErrorResponse(WebSocketSession session, MessageHandler<?> handler, String errorMessage) {
+        try {
+            Message response = handler.errorResponse(errorMessage);
+            session.sendMessage(new TextMessage(objectMapper.writeValueAsString(response)));
+        } catch (Exception e) {
+            logger.error("Failed to send error response", e);
+        }
+    }
+
+    private void sendAuthError(WebSocketSession session, String errorMessage) {
+        try {
+            AuthMessage response = new AuthMessage();
+            response.setSuccess(false);
+            response.setType(Type.AUTH_ERROR_RESPONSE);
+            response.setErrorMessage(errorMessage);
+            session.sendMessage(new TextMessage(objectMapper.writeValueAsString(response)));
         } catch (Exception e) {
-            System.err.println("Error routing message: " + e.getMessage());
-            e.printStackTrace();
+            logger.error("Failed to send auth error", e);
         }
     }
-}
\ No newline at end of file
+}
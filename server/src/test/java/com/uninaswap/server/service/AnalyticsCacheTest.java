@@ -0,0 +1,141 @@
+package com.uninaswap.server.service;
+
+import com.uninaswap.common.dto.AnalyticsDTO;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class AnalyticsCacheTest {
+
+    private SimpleMeterRegistry meterRegistry;
+    private AnalyticsCache cache;
+    private AtomicInteger computations;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        cache = new AnalyticsCache(meterRegistry, Duration.ofMinutes(1), 100);
+        computations = new AtomicInteger();
+    }
+
+    @AfterEach
+    void clearTransaction() {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+    }
+
+    @Test
+    void repeatedRequestsShareOneComputation() {
+        AnalyticsDTO first = cache.get(1L, "month", null, this::compute);
+        AnalyticsDTO second = cache.get(1L, "MONTH", null, this::compute);
+
+        assertThat(second).isSameAs(first);
+        assertThat(computations).hasValue(1);
+        assertThat(meterRegistry.get("uninaswap.analytics.cache.requests").tag("result", "hit").counter().count())
+                .isEqualTo(1);
+    }
+
+    @Test
+    void periodAndCategoryAreSeparateEntries() {
+        cache.get(1L, "month", null, this::compute);
+        cache.get(1L, "week", null, this::compute);
+        cache.get(1L, "month", "Books", this::compute);
+
+        assertThat(computations).hasValue(3);
+    }
+
+    @Test
+    void expiredEntriesAreRecomputed() throws InterruptedException {
+        cache = new AnalyticsCache(meterRegistry, Duration.ofNanos(1), 100);
+
+        cache.get(1L, "month", null, this::compute);
+        Thread.sleep(1);
+        cache.get(1L, "month", null, this::compute);
+
+        assertThat(computations).hasValue(2);
+    }
+
+    @Test
+    void invalidateDropsOnlyThatUsersEntries() {
+        cache.get(1L, "month", null, this::compute);
+        cache.get(1L, "week", null, this::compute);
+        cache.get(2L, "month", null, this::compute);
+
+        cache.invalidate(1L);
+        cache.get(1L, "month", null, this::compute);
+        cache.get(1L, "week", null, this::compute);
+        cache.get(2L, "month", null, this::compute);
+
+        assertThat(computations).hasValue(5);
+    }
+
+    @Test
+    void invalidateAllDropsEveryEntry() {
+        cache.get(1L, "month", null, this::compute);
+        cache.get(2L, "month", null, this::compute);
+
+        cache.invalidateAll();
+        cache.get(1L, "month", null, this::compute);
+        cache.get(2L, "month", null, this::compute);
+
+        assertThat(computations).hasValue(4);
+    }
+
+    @Test
+    void invalidationInATransactionWaitsForTheCommit() {
+        cache.get(1L, "month", null, this::compute);
+        TransactionSynchronizationManager.initSynchronization();
+
+        cache.invalidate(1L);
+        cache.get(1L, "month", null, this::compute);
+        assertThat(computations).hasValue(1);
+
+        TransactionSynchronizationManager.getSynchronizations().forEach(TransactionSynchronization::afterCommit);
+        cache.get(1L, "month", null, this::compute);
+        assertThat(computations).hasValue(2);
+    }
+
+    @Test
+    void failuresAreRethrownAndNotCached() {
+        assertThatThrownBy(() -> cache.get(1L, "month", null, failing(new IllegalStateException("database down"))))
+                .isInstanceOf(IllegalStateException.class);
+
+        assertThat(cache.get(1L, "month", null, this::compute)).isNotNull();
+        assertThat(computations).hasValue(1);
+    }
+
+    @Test
+    void errorsAreRethrownAndNotCached() {
+        // Left in place, an incomplete entry would make every later request for the key wait forever
+        assertThatThrownBy(() -> cache.get(1L, "month", null, failing(new OutOfMemoryError("simulated"))))
+                .isInstanceOf(OutOfMemoryError.class);
+
+        assertThat(cache.get(1L, "month", null, this::compute)).isNotNull();
+        assertThat(computations).hasValue(1);
+    }
+
+    private AnalyticsDTO compute() {
+        computations.incrementAndGet();
+        return new AnalyticsDTO();
+    }
+
+    private static Supplier<AnalyticsDTO> failing(Throwable failure) {
+        return () -> {
+            if (failure instanceof Error error) {
+                throw error;
+            }
+            throw (RuntimeException) failure;
+        };
+    }
+}
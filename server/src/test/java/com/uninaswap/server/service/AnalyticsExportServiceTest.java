@@ -0,0 +1,116 @@
+package com.uninaswap.server.service;
+
+import com.uninaswap.common.enums.OfferStatus;
+import com.uninaswap.server.repository.OfferRepository;
+import com.uninaswap.server.repository.UserDailyStatsRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.io.StringWriter;
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class AnalyticsExportServiceTest {
+
+    private UserDailyStatsRepository userDailyStatsRepository;
+    private OfferRepository offerRepository;
+    private AnalyticsExportService exportService;
+
+    @BeforeEach
+    void setUp() {
+        userDailyStatsRepository = mock(UserDailyStatsRepository.class);
+        offerRepository = mock(OfferRepository.class);
+        exportService = new AnalyticsExportService(userDailyStatsRepository, offerRepository);
+    }
+
+    @Test
+    void plainValuesAreWrittenAsTheyAre() throws IOException {
+        assertThat(field("Desk lamp")).isEqualTo("Desk lamp");
+        assertThat(field(null)).isEmpty();
+        assertThat(field(LocalDate.of(2025, 5, 1))).isEqualTo("2025-05-01");
+        assertThat(field(OfferStatus.COMPLETED)).isEqualTo("COMPLETED");
+    }
+
+    @Test
+    void decimalsAreWrittenWithoutExponent() throws IOException {
+        assertThat(field(new BigDecimal("1E+3"))).isEqualTo("1000");
+        assertThat(field(new BigDecimal("25.50"))).isEqualTo("25.50");
+    }
+
+    @Test
+    void separatorsQuotesAndLineBreaksAreQuoted() throws IOException {
+        assertThat(field("Chair, oak")).isEqualTo("\"Chair, oak\"");
+        assertThat(field("The \"good\" one")).isEqualTo("\"The \"\"good\"\" one\"");
+        assertThat(field("two\nlines")).isEqualTo("\"two\nlines\"");
+        assertThat(field("two\r\nlines")).isEqualTo("\"two\r\nlines\"");
+    }
+
+    @Test
+    void textThatLooksLikeAFormulaIsNeutralized() throws IOException {
+        assertThat(field("=1+1")).isEqualTo("'=1+1");
+        assertThat(field("+39 333")).isEqualTo("'+39 333");
+        assertThat(field("-2")).isEqualTo("'-2");
+        assertThat(field("@SUM(A1)")).isEqualTo("'@SUM(A1)");
+        assertThat(field("\tcmd")).isEqualTo("'\tcmd");
+        // Still quoted afterwards when it needs to be
+        assertThat(field("=HYPERLINK(\"http://x\",\"y\")")).isEqualTo("\"'=HYPERLINK(\"\"http://x\"\",\"\"y\"\")\"");
+    }
+
+    @Test
+    void negativeNumbersStayNumbers() throws IOException {
+        assertThat(field(new BigDecimal("-5.00"))).isEqualTo("-5.00");
+        assertThat(field(-3L)).isEqualTo("-3");
+        assertThat(field(-1.5)).isEqualTo("-1.5");
+    }
+
+    @Test
+    void dailyExportHasAHeaderAndARowPerDay() throws IOException {
+        when(userDailyStatsRepository.streamByUserIdSince(eq(7L), any())).thenReturn(Stream.of(
+                new Object[] { LocalDate.of(2025, 5, 1), 2L, 1L, 0L, 1L, 0L, 3L, 1L, 1L, 4.0, 1L, new BigDecimal("10.00") },
+                new Object[] { LocalDate.of(2025, 5, 2), 0L, -1L, 1L, 0L, 0L, 0L, 0L, 0L, 0.0, 0L, new BigDecimal("-2.50") }));
+        StringWriter out = new StringWriter();
+
+        long rows = exportService.writeDailyCsv(7L, "month", out);
+
+        assertThat(rows).isEqualTo(2);
+        assertThat(out.toString().split("\n", -1)).containsExactly(
+                "date,listings_created,listings_active,listings_completed,offers_made,offers_made_accepted,"
+                        + "offers_received,offers_received_accepted,review_count,review_score_sum,reviews_satisfied,earnings",
+                "2025-05-01,2,1,0,1,0,3,1,1,4.0,1,10.00",
+                "2025-05-02,0,-1,1,0,0,0,0,0,0.0,0,-2.50",
+                "");
+    }
+
+    @Test
+    void transactionsExportNeutralizesUserTextAndAddsTheRole() throws IOException {
+        LocalDateTime at = LocalDateTime.of(2025, 5, 1, 10, 30);
+        when(offerRepository.streamTransactionsByUserIdSince(eq(7L), any())).thenReturn(Stream.of(
+                new Object[] { "o1", at, at, OfferStatus.ACCEPTED, new BigDecimal("12"), null, null,
+                        "l1", "=cmd|' /C calc'!A0", 7L, "buyer7", 8L, "@seller" },
+                new Object[] { "o2", at, at, OfferStatus.PENDING, null, null, null,
+                        "l2", "Lamp, brass", 9L, "-dash", 7L, "me" }));
+        StringWriter out = new StringWriter();
+
+        long rows = exportService.writeTransactionsCsv(7L, "month", out);
+
+        assertThat(rows).isEqualTo(2);
+        String[] lines = out.toString().split("\n");
+        assertThat(lines[1]).isEqualTo("o1,2025-05-01T10:30,2025-05-01T10:30,ACCEPTED,12,,,l1,'=cmd|' /C calc'!A0,7,buyer7,8,'@seller,buyer");
+        assertThat(lines[2]).isEqualTo("o2,2025-05-01T10:30,2025-05-01T10:30,PENDING,,,,l2,\"Lamp, brass\",9,'-dash,7,me,seller");
+    }
+
+    private static String field(Object value) throws IOException {
+        StringWriter out = new StringWriter();
+        AnalyticsExportService.writeField(value, out);
+        return out.toString();
+    }
+}
@@ -0,0 +1,271 @@
+package com.uninaswap.server.service;
+
+import com.uninaswap.common.enums.ListingStatus;
+import com.uninaswap.common.enums.OfferStatus;
+import com.uninaswap.server.entity.ListingEntity;
+import com.uninaswap.server.entity.OfferEntity;
+import com.uninaswap.server.entity.ReviewEntity;
+import com.uninaswap.server.entity.SellListingEntity;
+import com.uninaswap.server.entity.UserEntity;
+import com.uninaswap.server.repository.UserDailyStatsRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyDouble;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+
+/**
+ * Applies sequences of changes through the rollup hooks and checks that the accumulated
+ * counters equal what rebuildFromSources computes from the final rows, using the same rules.
+ */
+class AnalyticsRollupServiceTest {
+
+    private UserDailyStatsRepository repository;
+    private AnalyticsCache analyticsCache;
+    private AnalyticsRollupService rollupService;
+    // (user id, day) -> counters, as the addToDay upserts leave them
+    private Map<List<Object>, Day> rollup;
+
+    private UserEntity seller;
+    private UserEntity buyer;
+
+    @BeforeEach
+    void setUp() {
+        repository = mock(UserDailyStatsRepository.class);
+        analyticsCache = mock(AnalyticsCache.class);
+        rollupService = new AnalyticsRollupService(repository, analyticsCache);
+        rollup = new HashMap<>();
+        doAnswer(invocation -> {
+            Day delta = new Day(invocation.getArgument(2), invocation.getArgument(3), invocation.getArgument(4),
+                    invocation.getArgument(5), invocation.getArgument(6), invocation.getArgument(7),
+                    invocation.getArgument(8), invocation.getArgument(9), invocation.getArgument(10),
+                    invocation.getArgument(11), invocation.getArgument(12));
+            rollup.merge(List.of(invocation.getArgument(0), invocation.getArgument(1)), delta, Day::plus);
+            return null;
+        }).when(repository).addToDay(any(), any(), anyLong(), anyLong(), anyLong(), anyLong(), anyLong(),
+                anyLong(), anyLong(), anyLong(), anyDouble(), anyLong(), any());
+
+        seller = user(1L);
+        buyer = user(2L);
+    }
+
+    @Test
+    void listingChangesMatchARebuild() {
+        ListingEntity sold = listing(LocalDateTime.of(2025, 5, 1, 10, 0), ListingStatus.ACTIVE);
+        ListingEntity cancelled = listing(LocalDateTime.of(2025, 5, 1, 18, 0), ListingStatus.PENDING);
+        ListingEntity deleted = listing(LocalDateTime.of(2025, 5, 2, 9, 0), ListingStatus.ACTIVE);
+
+        rollupService.listingCreated(sold);
+        rollupService.listingCreated(cancelled);
+        rollupService.listingCreated(deleted);
+        changeStatus(sold, ListingStatus.COMPLETED);
+        changeStatus(cancelled, ListingStatus.ACTIVE);
+        changeStatus(cancelled, ListingStatus.CANCELLED);
+        rollupService.listingDeleted(deleted);
+
+        assertThat(withoutEmptyDays()).isEqualTo(rebuild(List.of(sold, cancelled), List.of(), List.of()));
+    }
+
+    @Test
+    void offerChangesMatchARebuild() {
+        ListingEntity listing = listing(LocalDateTime.of(2025, 5, 1, 10, 0), ListingStatus.ACTIVE);
+        OfferEntity completed = offer(listing, new BigDecimal("25.50"));
+        OfferEntity reopened = offer(listing, new BigDecimal("10"));
+        OfferEntity withoutAmount = offer(listing, null);
+        OfferEntity rejected = offer(listing, new BigDecimal("5"));
+
+        for (OfferEntity offer : List.of(completed, reopened, withoutAmount, rejected)) {
+            rollupService.offerCreated(offer);
+        }
+        changeStatus(completed, OfferStatus.ACCEPTED);
+        changeStatus(completed, OfferStatus.COMPLETED);
+        changeStatus(completed, OfferStatus.REVIEWED);
+        // Earnings counted on completion are taken back if the offer leaves that state
+        changeStatus(reopened, OfferStatus.COMPLETED);
+        changeStatus(reopened, OfferStatus.CANCELLED);
+        changeStatus(withoutAmount, OfferStatus.COMPLETED);
+        changeStatus(rejected, OfferStatus.REJECTED);
+
+        Map<List<Object>, Day> rebuilt = rebuild(List.of(), List.of(completed, reopened, withoutAmount, rejected), List.of());
+        assertThat(withoutEmptyDays()).isEqualTo(rebuilt);
+        assertThat(rebuilt.get(List.of(seller.getId(), LocalDate.now())).earnings())
+                .isEqualByComparingTo("25.50");
+    }
+
+    @Test
+    void offersCreatedAlreadyAcceptedOrCompletedMatchARebuild() {
+        ListingEntity listing = listing(LocalDateTime.of(2025, 5, 1, 10, 0), ListingStatus.ACTIVE);
+        OfferEntity accepted = offer(listing, new BigDecimal("3"));
+        accepted.setStatus(OfferStatus.ACCEPTED);
+        OfferEntity completed = offer(listing, new BigDecimal("7"));
+        completed.setStatus(OfferStatus.COMPLETED);
+
+        rollupService.offerCreated(accepted);
+        rollupService.offerCreated(completed);
+
+        assertThat(withoutEmptyDays()).isEqualTo(rebuild(List.of(), List.of(accepted, completed), List.of()));
+    }
+
+    @Test
+    void reviewChangesMatchARebuild() {
+        ReviewEntity lowered = review(5.0);
+        ReviewEntity raised = review(2.0);
+        ReviewEntity deleted = review(4.0);
+
+        rollupService.reviewCreated(lowered);
+        rollupService.reviewCreated(raised);
+        rollupService.reviewCreated(deleted);
+        changeScore(lowered, 3.0);
+        changeScore(raised, 4.0);
+        rollupService.reviewDeleted(deleted);
+
+        assertThat(withoutEmptyDays()).isEqualTo(rebuild(List.of(), List.of(), List.of(lowered, raised)));
+    }
+
+    @Test
+    void everyWriteInvalidatesTheUsersCachedAnalytics() {
+        ListingEntity listing = listing(LocalDateTime.of(2025, 5, 1, 10, 0), ListingStatus.ACTIVE);
+        rollupService.listingCreated(listing);
+        verify(analyticsCache).invalidate(seller.getId());
+
+        rollupService.offerCreated(offer(listing, BigDecimal.ONE));
+        verify(analyticsCache).invalidate(buyer.getId());
+    }
+
+    @Test
+    void changesThatMoveNoCounterWriteNothing() {
+        ListingEntity listing = listing(LocalDateTime.of(2025, 5, 1, 10, 0), ListingStatus.ACTIVE);
+        rollupService.listingStatusChanged(listing, ListingStatus.ACTIVE);
+        // Neither accepted nor earned before or after
+        OfferEntity offer = offer(listing, BigDecimal.TEN);
+        offer.setStatus(OfferStatus.CANCELLED);
+        rollupService.offerStatusChanged(offer, OfferStatus.PENDING);
+
+        verify(repository, never()).addToDay(any(), any(), anyLong(), anyLong(), anyLong(), anyLong(), anyLong(),
+                anyLong(), anyLong(), anyLong(), anyDouble(), anyLong(), any());
+        verifyNoInteractions(analyticsCache);
+    }
+
+    private void changeStatus(ListingEntity listing, ListingStatus status) {
+        ListingStatus oldStatus = listing.getStatus();
+        listing.setStatus(status);
+        rollupService.listingStatusChanged(listing, oldStatus);
+    }
+
+    private void changeStatus(OfferEntity offer, OfferStatus status) {
+        OfferStatus oldStatus = offer.getStatus();
+        offer.setStatus(status);
+        rollupService.offerStatusChanged(offer, oldStatus);
+    }
+
+    private void changeScore(ReviewEntity review, double score) {
+        double oldScore = review.getScore();
+        review.setScore(score);
+        rollupService.reviewScoreChanged(review, oldScore);
+    }
+
+    /**
+     * Days whose counters all went back to zero; the rebuild has no row for them
+     */
+    private Map<List<Object>, Day> withoutEmptyDays() {
+        Map<List<Object>, Day> days = new HashMap<>(rollup);
+        days.values().removeIf(Day::isEmpty);
+        return days;
+    }
+
+    /**
+     * What UserDailyStatsRepository.rebuildFromSources computes from these rows
+     */
+    private static Map<List<Object>, Day> rebuild(List<ListingEntity> listings, List<OfferEntity> offers,
+            List<ReviewEntity> reviews) {
+        Map<List<Object>, Day> days = new HashMap<>();
+        for (ListingEntity l : listings) {
+            days.merge(key(l.getCreator(), l.getCreatedAt()), new Day(1,
+                    l.getStatus() == ListingStatus.ACTIVE ? 1 : 0, l.getStatus() == ListingStatus.COMPLETED ? 1 : 0,
+                    0, 0, 0, 0, 0, 0, 0, BigDecimal.ZERO), Day::plus);
+        }
+        for (OfferEntity o : offers) {
+            long accepted = o.getStatus() == OfferStatus.ACCEPTED ? 1 : 0;
+            boolean earned = o.getStatus() == OfferStatus.COMPLETED || o.getStatus() == OfferStatus.REVIEWED;
+            BigDecimal amount = o.getAmount() != null ? o.getAmount() : BigDecimal.ZERO;
+            days.merge(key(o.getUser(), o.getCreatedAt()),
+                    new Day(0, 0, 0, 1, accepted, 0, 0, 0, 0, 0, BigDecimal.ZERO), Day::plus);
+            days.merge(key(o.getListing().getCreator(), o.getCreatedAt()),
+                    new Day(0, 0, 0, 0, 0, 1, accepted, 0, 0, 0, earned ? amount : BigDecimal.ZERO), Day::plus);
+        }
+        for (ReviewEntity r : reviews) {
+            days.merge(key(r.getReviewedUser(), r.getCreatedAt()),
+                    new Day(0, 0, 0, 0, 0, 0, 0, 1, r.getScore(), r.getScore() >= 4 ? 1 : 0, BigDecimal.ZERO), Day::plus);
+        }
+        return days;
+    }
+
+    private static List<Object> key(UserEntity user, LocalDateTime createdAt) {
+        return List.of(user.getId(), createdAt.toLocalDate());
+    }
+
+    private ListingEntity listing(LocalDateTime createdAt, ListingStatus status) {
+        ListingEntity listing = new SellListingEntity();
+        listing.setCreator(seller);
+        listing.setCreatedAt(createdAt);
+        listing.setStatus(status);
+        return listing;
+    }
+
+    private OfferEntity offer(ListingEntity listing, BigDecimal amount) {
+        OfferEntity offer = new OfferEntity();
+        offer.setListing(listing);
+        offer.setUser(buyer);
+        offer.setAmount(amount);
+        return offer;
+    }
+
+    private ReviewEntity review(double score) {
+        return new ReviewEntity(buyer, seller, null, score, null);
+    }
+
+    private static UserEntity user(Long id) {
+        UserEntity user = new UserEntity();
+        user.setId(id);
+        return user;
+    }
+
+    /**
+     * The counters of one user's day; earnings are compared regardless of scale
+     */
+    private record Day(long listingsCreated, long listingsActive, long listingsCompleted,
+            long offersMade, long offersMadeAccepted, long offersReceived, long offersReceivedAccepted,
+            long reviewCount, double reviewScoreSum, long reviewsSatisfied, BigDecimal earnings) {
+
+        Day {
+            earnings = earnings.stripTrailingZeros();
+        }
+
+        Day plus(Day other) {
+            return new Day(listingsCreated + other.listingsCreated, listingsActive + other.listingsActive,
+                    listingsCompleted + other.listingsCompleted, offersMade + other.offersMade,
+                    offersMadeAccepted + other.offersMadeAccepted, offersReceived + other.offersReceived,
+                    offersReceivedAccepted + other.offersReceivedAccepted, reviewCount + other.reviewCount,
+                    reviewScoreSum + other.reviewScoreSum, reviewsSatisfied + other.reviewsSatisfied,
+                    earnings.add(other.earnings));
+        }
+
+        boolean isEmpty() {
+            return equals(new Day(0, 0, 0, 0, 0, 0, 0, 0, 0, 0, BigDecimal.ZERO));
+        }
+    }
+}
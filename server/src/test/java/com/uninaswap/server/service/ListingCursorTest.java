@@ -0,0 +1,57 @@
+package com.uninaswap.server.service;
+
+import org.junit.jupiter.api.Test;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.Base64;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class ListingCursorTest {
+
+    @Test
+    void roundTripsCreatedAtAndId() {
+        LocalDateTime createdAt = LocalDateTime.of(2025, 3, 14, 15, 9, 26, 535_897_000);
+        ListingCursor decoded = ListingCursor.decode(new ListingCursor(createdAt, "a1b2-c3").encode());
+
+        assertThat(decoded.getCreatedAt()).isEqualTo(createdAt);
+        assertThat(decoded.getListingId()).isEqualTo("a1b2-c3");
+    }
+
+    @Test
+    void roundTripsTimesWithoutSeconds() {
+        // LocalDateTime.toString omits zero seconds ("2025-01-01T00:00"), which must still parse
+        LocalDateTime midnight = LocalDateTime.of(2025, 1, 1, 0, 0);
+
+        assertThat(ListingCursor.decode(new ListingCursor(midnight, "id").encode()).getCreatedAt()).isEqualTo(midnight);
+    }
+
+    @Test
+    void keepsSeparatorsInsideTheId() {
+        LocalDateTime createdAt = LocalDateTime.of(2025, 6, 1, 12, 30, 45);
+
+        assertThat(ListingCursor.decode(new ListingCursor(createdAt, "odd|id").encode()).getListingId()).isEqualTo("odd|id");
+    }
+
+    @Test
+    void encodesAsUrlSafeTextWithoutPadding() {
+        String cursor = new ListingCursor(LocalDateTime.of(2025, 6, 1, 12, 30, 45, 1), "id?&/+").encode();
+
+        assertThat(cursor).matches("[A-Za-z0-9_-]+");
+    }
+
+    @Test
+    void rejectsMalformedCursors() {
+        assertThatThrownBy(() -> ListingCursor.decode("not base64!")).isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> ListingCursor.decode(encodeRaw("no separator"))).isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> ListingCursor.decode(encodeRaw("|id"))).isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> ListingCursor.decode(encodeRaw("2025-06-01T12:30|"))).isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> ListingCursor.decode(encodeRaw("yesterday|id"))).isInstanceOf(IllegalArgumentException.class);
+    }
+
+    private static String encodeRaw(String raw) {
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+}
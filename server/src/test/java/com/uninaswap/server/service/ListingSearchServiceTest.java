@@ -0,0 +1,155 @@
+package com.uninaswap.server.service;
+
+import com.uninaswap.common.enums.ListingStatus;
+import com.uninaswap.server.entity.ItemEntity;
+import com.uninaswap.server.entity.ListingEntity;
+import com.uninaswap.server.entity.SellListingEntity;
+import com.uninaswap.server.repository.ListingRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class ListingSearchServiceTest {
+
+    private ListingRepository listingRepository;
+    private ListingSearchService searchService;
+
+    @BeforeEach
+    void setUp() {
+        listingRepository = mock(ListingRepository.class);
+        searchService = new ListingSearchService(listingRepository);
+    }
+
+    @Test
+    void onlyTheLastTermMatchesAsPrefix() {
+        ListingEntity lite = index("Nintendo Switch Lite", "Handheld console");
+        ListingEntity cable = index("Switch cable", "HDMI");
+
+        // "swi" is not the last term, so it must match a whole token; no listing has one
+        assertThat(search("swi lite")).isEmpty();
+        // As the last term it matches "switch" as a prefix
+        assertThat(search("lite swi")).containsExactly(lite.getId());
+        assertThat(search("swi")).containsExactlyInAnyOrder(lite.getId(), cable.getId());
+    }
+
+    @Test
+    void exactMatchesRankAbovePrefixMatches() {
+        ListingEntity prefix = index("Bicycle helmet", null);
+        ListingEntity exact = index("Bic pens", null);
+
+        assertThat(search("bic")).containsExactly(exact.getId(), prefix.getId());
+    }
+
+    @Test
+    void everyTermMustMatch() {
+        ListingEntity lamp = index("Desk lamp", "Warm white light");
+        index("Desk chair", "Ergonomic");
+
+        assertThat(search("desk light")).containsExactly(lamp.getId());
+    }
+
+    @Test
+    void tokenizationIgnoresCaseAccentsAndShortTokens() {
+        assertThat(ListingSearchService.tokenize("Caffè LATTE a 2x")).containsExactly("caffe", "latte", "2x");
+        assertThat(ListingSearchService.tokenize("  ")).isEmpty();
+        assertThat(ListingSearchService.tokenize(null)).isEmpty();
+    }
+
+    @Test
+    void reindexingReplacesTheListingsTerms() {
+        ItemEntity item = new ItemEntity();
+        item.setName("Guitar");
+        ListingEntity listing = new SellListingEntity();
+        listing.setTitle("Instrument");
+        listing.addItem(item, 1);
+        searchService.indexListing(listing);
+        assertThat(search("guitar")).containsExactly(listing.getId());
+
+        item.setName("Violin");
+        searchService.indexListing(listing);
+        assertThat(search("guitar")).isEmpty();
+        assertThat(search("violin")).containsExactly(listing.getId());
+    }
+
+    @Test
+    void removedAndFilteredListingsAreNotReturned() {
+        ListingEntity sold = index("Vintage camera", null);
+        ListingEntity removed = index("Vintage radio", null);
+
+        searchService.updateStatus(sold.getId(), ListingStatus.COMPLETED);
+        searchService.removeListing(removed.getId());
+
+        assertThat(search("vintage")).isEmpty();
+        assertThat(searchService.searchAll("vintage", null, null, ListingStatus.COMPLETED)).containsExactly(sold.getId());
+    }
+
+    @Test
+    void rebuildReplacesTheIndexWithTheStoredListings() {
+        index("Old lamp", null);
+        ListingEntity stored = listing("Stored lamp");
+        when(listingRepository.findAllWithItems()).thenReturn(List.of(stored));
+
+        searchService.rebuildIndex();
+
+        assertThat(search("lamp")).containsExactly(stored.getId());
+        assertThat(search("old")).isEmpty();
+    }
+
+    @Test
+    void changesMadeWhileRebuildingAreKept() {
+        ListingEntity edited = listing("Wooden table");
+        ListingEntity sold = listing("Wooden chair");
+        ListingEntity deleted = listing("Wooden shelf");
+        ListingEntity created = listing("Wooden stool");
+        when(listingRepository.findAllWithItems()).thenAnswer(invocation -> {
+            // Committed after the snapshot was taken, which still holds the previous versions
+            edited.setTitle("Oak table");
+            searchService.indexListing(edited, List.of());
+            searchService.updateStatus(sold.getId(), ListingStatus.COMPLETED);
+            searchService.removeListing(deleted.getId());
+            searchService.indexListing(created, List.of());
+            return List.of(previousVersion(edited, "Wooden table"), sold, deleted);
+        });
+
+        searchService.rebuildIndex();
+
+        assertThat(search("oak")).containsExactly(edited.getId());
+        assertThat(search("wooden")).containsExactly(created.getId());
+        assertThat(searchService.searchAll("chair", null, null, ListingStatus.COMPLETED)).containsExactly(sold.getId());
+    }
+
+    private static ListingEntity listing(String title) {
+        ListingEntity listing = new SellListingEntity();
+        listing.setTitle(title);
+        return listing;
+    }
+
+    /**
+     * An earlier version of a listing, as read before it was changed
+     */
+    private static ListingEntity previousVersion(ListingEntity current, String title) {
+        ListingEntity previous = mock(ListingEntity.class);
+        when(previous.getId()).thenReturn(current.getId());
+        when(previous.getTitle()).thenReturn(title);
+        when(previous.getStatus()).thenReturn(ListingStatus.ACTIVE);
+        return previous;
+    }
+
+    private ListingEntity index(String title, String description) {
+        ListingEntity listing = new SellListingEntity();
+        listing.setTitle(title);
+        listing.setDescription(description);
+        // Outside a transaction the index is updated immediately
+        searchService.indexListing(listing, List.of());
+        return listing;
+    }
+
+    private List<String> search(String query) {
+        return searchService.searchAll(query, null, null, ListingStatus.ACTIVE);
+    }
+}
@@ -0,0 +1,166 @@
+package com.uninaswap.server.service;
+
+import com.uninaswap.server.entity.AuthTokenEntity;
+import com.uninaswap.server.entity.UserEntity;
+import com.uninaswap.server.repository.AuthTokenRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.HexFormat;
+import java.util.Optional;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class TokenServiceTest {
+
+    private static final Duration TTL = Duration.ofDays(30);
+    private static final Duration IDLE_TIMEOUT = Duration.ofDays(7);
+
+    private AuthTokenRepository repository;
+    private TokenService tokenService;
+    private UserEntity user;
+
+    @BeforeEach
+    void setUp() {
+        repository = mock(AuthTokenRepository.class);
+        when(repository.findWithUser(anyString())).thenReturn(Optional.empty());
+        tokenService = newService();
+
+        user = new UserEntity();
+        user.setId(42L);
+        user.setUsername("alice");
+    }
+
+    @Test
+    void storesOnlyTheHashOfIssuedTokens() throws Exception {
+        String token = tokenService.issueToken(user);
+
+        ArgumentCaptor<AuthTokenEntity> saved = ArgumentCaptor.forClass(AuthTokenEntity.class);
+        verify(repository).save(saved.capture());
+        assertThat(saved.getValue().getTokenHash())
+                .isEqualTo(sha256(token))
+                .doesNotContain(token);
+        assertThat(saved.getValue().getExpiresAt()).isAfter(LocalDateTime.now().plus(TTL).minusMinutes(1));
+    }
+
+    @Test
+    void authenticatesIssuedTokensFromTheCache() {
+        String token = tokenService.issueToken(user);
+
+        AuthenticatedUser principal = tokenService.authenticate(token);
+
+        assertThat(principal.getId()).isEqualTo(42L);
+        assertThat(principal.getUsername()).isEqualTo("alice");
+        verify(repository, never()).findWithUser(anyString());
+    }
+
+    @Test
+    void loadsUnknownTokensFromTheTableOnce() throws Exception {
+        String token = "persisted-token";
+        LocalDateTime now = LocalDateTime.now();
+        stored(token, now.minusHours(1), now.plusDays(1));
+
+        assertThat(tokenService.authenticate(token).getId()).isEqualTo(42L);
+        assertThat(tokenService.authenticate(token).getId()).isEqualTo(42L);
+        verify(repository, times(1)).findWithUser(sha256(token));
+    }
+
+    @Test
+    void rejectsUnknownTokens() {
+        assertThat(tokenService.authenticate("never-issued")).isNull();
+    }
+
+    @Test
+    void rejectsAndDeletesTokensPastTheirLifetime() throws Exception {
+        String token = "expired-token";
+        LocalDateTime now = LocalDateTime.now();
+        stored(token, now.minusMinutes(1), now.minusSeconds(1));
+
+        assertThat(tokenService.authenticate(token)).isNull();
+        verify(repository).deleteById(sha256(token));
+    }
+
+    @Test
+    void rejectsAndDeletesTokensLeftIdle() throws Exception {
+        String token = "idle-token";
+        LocalDateTime now = LocalDateTime.now();
+        stored(token, now.minus(IDLE_TIMEOUT).minusMinutes(1), now.plusDays(10));
+
+        assertThat(tokenService.authenticate(token)).isNull();
+        verify(repository).deleteById(sha256(token));
+    }
+
+    @Test
+    void writesLastUseBackOnlyWhenStale() throws Exception {
+        String fresh = "fresh-token";
+        String stale = "stale-token";
+        LocalDateTime now = LocalDateTime.now();
+        stored(fresh, now.minusMinutes(1), now.plusDays(1));
+        stored(stale, now.minusHours(1), now.plusDays(1));
+
+        tokenService.authenticate(fresh);
+        tokenService.authenticate(stale);
+
+        // Only the token last written back more than the touch interval ago is updated
+        verify(repository).touch(eq(sha256(stale)), any());
+        verify(repository, never()).touch(eq(sha256(fresh)), any());
+    }
+
+    @Test
+    void revokedTokensNoLongerAuthenticate() {
+        String token = tokenService.issueToken(user);
+
+        tokenService.revoke(token);
+
+        assertThat(tokenService.authenticate(token)).isNull();
+    }
+
+    @Test
+    void revokingAUserDropsAllTheirCachedTokens() {
+        String first = tokenService.issueToken(user);
+        String second = tokenService.issueToken(user);
+
+        tokenService.revokeAllForUser(42L);
+
+        assertThat(tokenService.authenticate(first)).isNull();
+        assertThat(tokenService.authenticate(second)).isNull();
+        verify(repository).deleteByUserId(42L);
+    }
+
+    @Test
+    void sweepDeletesTokensExpiredOrIdleInTheTable() {
+        tokenService.sweepExpiredTokens();
+
+        ArgumentCaptor<LocalDateTime> now = ArgumentCaptor.forClass(LocalDateTime.class);
+        ArgumentCaptor<LocalDateTime> idleCutoff = ArgumentCaptor.forClass(LocalDateTime.class);
+        verify(repository).deleteExpired(now.capture(), idleCutoff.capture());
+        assertThat(idleCutoff.getValue()).isEqualTo(now.getValue().minus(IDLE_TIMEOUT));
+    }
+
+    private TokenService newService() {
+        return new TokenService(repository, new SimpleMeterRegistry(), TTL, IDLE_TIMEOUT, 100);
+    }
+
+    private void stored(String token, LocalDateTime lastUsedAt, LocalDateTime expiresAt) throws Exception {
+        AuthTokenEntity entity = new AuthTokenEntity(sha256(token), user, lastUsedAt, expiresAt);
+        when(repository.findWithUser(sha256(token))).thenReturn(Optional.of(entity));
+    }
+
+    private static String sha256(String token) throws Exception {
+        return HexFormat.of().formatHex(MessageDigest.getInstance("SHA-256").digest(token.getBytes(StandardCharsets.UTF_8)));
+    }
+}
@@ -0,0 +1,121 @@
+package com.uninaswap.server.websocket;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.web.socket.WebSocketSession;
+
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class MessageDispatcherTest {
+
+    private MessageDispatcher dispatcher;
+    private WebSocketSession session;
+
+    @BeforeEach
+    void setUp() {
+        dispatcher = new MessageDispatcher(new SimpleMeterRegistry(), 2);
+        session = mock(WebSocketSession.class);
+        when(session.getId()).thenReturn("s1");
+    }
+
+    @AfterEach
+    void tearDown() throws InterruptedException {
+        dispatcher.shutdown();
+    }
+
+    @Test
+    void orderedMessagesRunInArrivalOrder() throws InterruptedException {
+        List<Integer> handled = new CopyOnWriteArrayList<>();
+        CountDownLatch done = new CountDownLatch(2);
+
+        dispatcher.submit(session, "A", true, () -> {
+            handled.add(1);
+            done.countDown();
+        });
+        dispatcher.submit(session, "B", true, () -> {
+            handled.add(2);
+            done.countDown();
+        });
+
+        assertThat(done.await(5, TimeUnit.SECONDS)).isTrue();
+        assertThat(handled).containsExactly(1, 2);
+    }
+
+    @Test
+    void refusesMessagesBeyondTheInFlightLimit() throws InterruptedException {
+        CountDownLatch release = new CountDownLatch(1);
+
+        assertThat(dispatcher.submit(session, "A", true, () -> await(release))).isTrue();
+        assertThat(dispatcher.submit(session, "B", true, () -> { })).isTrue();
+        assertThat(dispatcher.submit(session, "C", true, () -> { })).isFalse();
+        release.countDown();
+    }
+
+    @Test
+    void anErrorInAnOrderedHandlerDoesNotStallTheSession() throws InterruptedException {
+        CountDownLatch failing = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        CountDownLatch handled = new CountDownLatch(1);
+
+        dispatcher.submit(session, "A", true, () -> {
+            failing.countDown();
+            await(release);
+            throw new StackOverflowError("simulated");
+        });
+        // Queued behind the failing message, so the failed drain has to hand it on
+        dispatcher.submit(session, "B", true, handled::countDown);
+        assertThat(failing.await(5, TimeUnit.SECONDS)).isTrue();
+        release.countDown();
+
+        assertThat(handled.await(5, TimeUnit.SECONDS)).isTrue();
+        assertThat(submitWhenFree(true)).isTrue();
+    }
+
+    @Test
+    void anErrorInAnUnorderedHandlerReleasesItsSlot() throws InterruptedException {
+        for (int i = 0; i < 3; i++) {
+            CountDownLatch started = new CountDownLatch(1);
+            dispatcher.submit(session, "A", false, () -> {
+                started.countDown();
+                throw new AssertionError("simulated");
+            });
+            assertThat(started.await(5, TimeUnit.SECONDS)).isTrue();
+        }
+
+        assertThat(submitWhenFree(false)).isTrue();
+    }
+
+    /**
+     * Submits once the slots of the earlier messages are released, which happens just after they finish
+     */
+    private boolean submitWhenFree(boolean ordered) throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (System.nanoTime() < deadline) {
+            CountDownLatch first = new CountDownLatch(1);
+            CountDownLatch second = new CountDownLatch(1);
+            if (dispatcher.submit(session, "X", ordered, first::countDown)
+                    && dispatcher.submit(session, "Y", ordered, second::countDown)) {
+                return first.await(5, TimeUnit.SECONDS) && second.await(5, TimeUnit.SECONDS);
+            }
+            Thread.sleep(10);
+        }
+        return false;
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            latch.await(5, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}